@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+
+/**
+ * Benchmarks for method invocations on {@link JdkDynamicAopProxy} and
+ * {@link CglibAopProxy} instances, for advised and unadvised methods.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AopProxyBenchmark {
+
+	@Benchmark
+	public int advisedMethod(ProxyData data) {
+		return data.proxy.advised(data.value);
+	}
+
+	@Benchmark
+	public int unadvisedMethod(ProxyData data) {
+		return data.proxy.unadvised(data.value);
+	}
+
+	@Benchmark
+	public int directInvocation(ProxyData data) {
+		return data.target.advised(data.value);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ProxyData {
+
+		@Param({"jdk", "cglib"})
+		public String proxyType;
+
+		@Param({"false", "true"})
+		public boolean frozen;
+
+		public final Calculator target = new SimpleCalculator();
+
+		public Calculator proxy;
+
+		public int value = 42;
+
+		@Setup
+		public void setup() {
+			ProxyFactory proxyFactory = new ProxyFactory(this.target);
+			proxyFactory.setProxyTargetClass("cglib".equals(this.proxyType));
+			if (!proxyFactory.isProxyTargetClass()) {
+				proxyFactory.addInterface(Calculator.class);
+			}
+			NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(
+					(MethodInterceptor) invocation -> invocation.proceed());
+			advisor.setMappedName("advised");
+			proxyFactory.addAdvisor(advisor);
+			proxyFactory.setFrozen(this.frozen);
+			this.proxy = (Calculator) proxyFactory.getProxy();
+		}
+	}
+
+
+	public interface Calculator {
+
+		int advised(int value);
+
+		int unadvised(int value);
+	}
+
+
+	public static class SimpleCalculator implements Calculator {
+
+		@Override
+		public int advised(int value) {
+			return value * 2;
+		}
+
+		@Override
+		public int unadvised(int value) {
+			return value + 1;
+		}
+	}
+
+}
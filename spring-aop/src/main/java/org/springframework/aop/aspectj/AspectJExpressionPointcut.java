@@ -59,6 +59,7 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -118,6 +119,10 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Nullable
 	private transient PointcutExpression pointcutExpression;
 
+	private transient volatile boolean beanNameDependent;
+
+	private transient Map<Class<?>, Boolean> classMatchCache = new ConcurrentReferenceHashMap<>(32);
+
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
 
@@ -268,6 +273,20 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	@Override
 	public boolean matches(Class<?> targetClass) {
+		obtainPointcutExpression();
+		if (this.beanNameDependent) {
+			// bean() designator: the result varies with the bean currently being proxied
+			return couldMatchJoinPointsInType(targetClass);
+		}
+		Boolean matches = this.classMatchCache.get(targetClass);
+		if (matches == null) {
+			matches = couldMatchJoinPointsInType(targetClass);
+			this.classMatchCache.put(targetClass, matches);
+		}
+		return matches;
+	}
+
+	private boolean couldMatchJoinPointsInType(Class<?> targetClass) {
 		PointcutExpression pointcutExpression = obtainPointcutExpression();
 		try {
 			try {
@@ -431,65 +450,70 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		// Avoid lock contention for known Methods through concurrent access...
 		ShadowMatch shadowMatch = this.shadowMatchCache.get(targetMethod);
 		if (shadowMatch == null) {
-			synchronized (this.shadowMatchCache) {
-				// Not found - now check again with full lock...
-				PointcutExpression fallbackExpression = null;
-				Method methodToMatch = targetMethod;
-				shadowMatch = this.shadowMatchCache.get(targetMethod);
-				if (shadowMatch == null) {
+			// Not found - compute without holding a lock, accepting that concurrent
+			// callers may occasionally compute the same (equivalent) match in parallel.
+			shadowMatch = computeShadowMatch(targetMethod, originalMethod);
+			ShadowMatch existing = this.shadowMatchCache.putIfAbsent(targetMethod, shadowMatch);
+			if (existing != null) {
+				shadowMatch = existing;
+			}
+		}
+		return shadowMatch;
+	}
+
+	private ShadowMatch computeShadowMatch(Method targetMethod, Method originalMethod) {
+		PointcutExpression fallbackExpression = null;
+		Method methodToMatch = targetMethod;
+		ShadowMatch shadowMatch = null;
+		try {
+			try {
+				shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
+			}
+			catch (ReflectionWorldException ex) {
+				// Failed to introspect target method, probably because it has been loaded
+				// in a special ClassLoader. Let's try the declaring ClassLoader instead...
+				try {
+					fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
+					if (fallbackExpression != null) {
+						shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
+					}
+				}
+				catch (ReflectionWorldException ex2) {
+					fallbackExpression = null;
+				}
+			}
+			if (shadowMatch == null && targetMethod != originalMethod) {
+				methodToMatch = originalMethod;
+				try {
+					shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
+				}
+				catch (ReflectionWorldException ex3) {
+					// Could neither introspect the target class nor the proxy class ->
+					// let's try the original method's declaring class before we give up...
 					try {
-						try {
-							shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
-						}
-						catch (ReflectionWorldException ex) {
-							// Failed to introspect target method, probably because it has been loaded
-							// in a special ClassLoader. Let's try the declaring ClassLoader instead...
-							try {
-								fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
-								if (fallbackExpression != null) {
-									shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
-								}
-							}
-							catch (ReflectionWorldException ex2) {
-								fallbackExpression = null;
-							}
-						}
-						if (shadowMatch == null && targetMethod != originalMethod) {
-							methodToMatch = originalMethod;
-							try {
-								shadowMatch = obtainPointcutExpression().matchesMethodExecution(methodToMatch);
-							}
-							catch (ReflectionWorldException ex3) {
-								// Could neither introspect the target class nor the proxy class ->
-								// let's try the original method's declaring class before we give up...
-								try {
-									fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
-									if (fallbackExpression != null) {
-										shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
-									}
-								}
-								catch (ReflectionWorldException ex4) {
-									fallbackExpression = null;
-								}
-							}
+						fallbackExpression = getFallbackPointcutExpression(methodToMatch.getDeclaringClass());
+						if (fallbackExpression != null) {
+							shadowMatch = fallbackExpression.matchesMethodExecution(methodToMatch);
 						}
 					}
-					catch (Throwable ex) {
-						// Possibly AspectJ 1.8.10 encountering an invalid signature
-						logger.debug("PointcutExpression matching rejected target method", ex);
+					catch (ReflectionWorldException ex4) {
 						fallbackExpression = null;
 					}
-					if (shadowMatch == null) {
-						shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
-					}
-					else if (shadowMatch.maybeMatches() && fallbackExpression != null) {
-						shadowMatch = new DefensiveShadowMatch(shadowMatch,
-								fallbackExpression.matchesMethodExecution(methodToMatch));
-					}
-					this.shadowMatchCache.put(targetMethod, shadowMatch);
 				}
 			}
 		}
+		catch (Throwable ex) {
+			// Possibly AspectJ 1.8.10 encountering an invalid signature
+			logger.debug("PointcutExpression matching rejected target method", ex);
+			fallbackExpression = null;
+		}
+		if (shadowMatch == null) {
+			shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
+		}
+		else if (shadowMatch.maybeMatches() && fallbackExpression != null) {
+			shadowMatch = new DefensiveShadowMatch(shadowMatch,
+					fallbackExpression.matchesMethodExecution(methodToMatch));
+		}
 		return shadowMatch;
 	}
 
@@ -562,6 +586,8 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 		@Override
 		public ContextBasedMatcher parse(String expression) {
+			// Class-level matching depends on the current bean name from now on
+			beanNameDependent = true;
 			return new BeanContextMatcher(expression);
 		}
 	}
@@ -648,6 +674,7 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 		// Initialize transient fields.
 		// pointcutExpression will be initialized lazily by checkReadyToMatch()
+		this.classMatchCache = new ConcurrentReferenceHashMap<>(32);
 		this.shadowMatchCache = new ConcurrentHashMap<>(32);
 	}
 
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -323,22 +324,26 @@ class CglibAopProxy implements AopProxy, Serializable {
 		// direct to the target using the fixed chain for that method.
 		if (isStatic && isFrozen) {
 			Method[] methods = rootClass.getMethods();
-			Callback[] fixedCallbacks = new Callback[methods.length];
+			List<Callback> fixedCallbacks = new ArrayList<>(methods.length);
 			this.fixedInterceptorMap = new HashMap<>(methods.length);
 
-			// TODO: small memory optimization here (can skip creation for methods with no advice)
-			for (int x = 0; x < methods.length; x++) {
-				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(methods[x], rootClass);
-				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(
-						chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
-				this.fixedInterceptorMap.put(methods[x].toString(), x);
+			// Methods without advice never get routed to a fixed chain: skip those.
+			for (Method method : methods) {
+				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, rootClass);
+				if (!chain.isEmpty()) {
+					this.fixedInterceptorMap.put(method.toString(), fixedCallbacks.size());
+					fixedCallbacks.add(new FixedChainStaticTargetInterceptor(chain,
+							this.advised.getTargetSource().getTarget(), this.advised.getTargetClass(), exposeProxy));
+				}
 			}
 
 			// Now copy both the callbacks from mainCallbacks
 			// and fixedCallbacks into the callbacks array.
-			callbacks = new Callback[mainCallbacks.length + fixedCallbacks.length];
+			callbacks = new Callback[mainCallbacks.length + fixedCallbacks.size()];
 			System.arraycopy(mainCallbacks, 0, callbacks, 0, mainCallbacks.length);
-			System.arraycopy(fixedCallbacks, 0, callbacks, mainCallbacks.length, fixedCallbacks.length);
+			for (int x = 0; x < fixedCallbacks.size(); x++) {
+				callbacks[mainCallbacks.length + x] = fixedCallbacks.get(x);
+			}
 			this.fixedInterceptorOffset = mainCallbacks.length;
 		}
 		else {
@@ -612,6 +617,7 @@ class CglibAopProxy implements AopProxy, Serializable {
 
 	/**
 	 * Interceptor used specifically for advised methods on a frozen, static proxy.
+	 * Exposes the proxy through {@link AopContext} if necessary.
 	 */
 	private static class FixedChainStaticTargetInterceptor implements MethodInterceptor, Serializable {
 
@@ -623,23 +629,37 @@ class CglibAopProxy implements AopProxy, Serializable {
 		@Nullable
 		private final Class<?> targetClass;
 
-		public FixedChainStaticTargetInterceptor(
-				List<Object> adviceChain, @Nullable Object target, @Nullable Class<?> targetClass) {
+		private final boolean exposeProxy;
+
+		public FixedChainStaticTargetInterceptor(List<Object> adviceChain,
+				@Nullable Object target, @Nullable Class<?> targetClass, boolean exposeProxy) {
 
 			this.adviceChain = adviceChain;
 			this.target = target;
 			this.targetClass = targetClass;
+			this.exposeProxy = exposeProxy;
 		}
 
 		@Override
 		@Nullable
 		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-			MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
-					this.targetClass, this.adviceChain, methodProxy);
-			// If we get here, we need to create a MethodInvocation.
-			Object retVal = invocation.proceed();
-			retVal = processReturnType(proxy, this.target, method, retVal);
-			return retVal;
+			Object oldProxy = null;
+			if (this.exposeProxy) {
+				oldProxy = AopContext.setCurrentProxy(proxy);
+			}
+			try {
+				MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
+						this.targetClass, this.adviceChain, methodProxy);
+				// If we get here, we need to create a MethodInvocation.
+				Object retVal = invocation.proceed();
+				retVal = processReturnType(proxy, this.target, method, retVal);
+				return retVal;
+			}
+			finally {
+				if (this.exposeProxy) {
+					AopContext.setCurrentProxy(oldProxy);
+				}
+			}
 		}
 	}
 
@@ -839,16 +859,9 @@ class CglibAopProxy implements AopProxy, Serializable {
 			boolean isStatic = this.advised.getTargetSource().isStatic();
 			boolean isFrozen = this.advised.isFrozen();
 			if (haveAdvice || !isFrozen) {
-				// If exposing the proxy, then AOP_PROXY must be used.
-				if (exposeProxy) {
-					if (logger.isDebugEnabled()) {
-						logger.debug("Must expose proxy on advised method: " + method);
-					}
-					return AOP_PROXY;
-				}
 				String key = method.toString();
-				// Check to see if we have fixed interceptor to serve this method.
-				// Else use the AOP_PROXY.
+				// Check to see if we have fixed interceptor to serve this method,
+				// exposing the proxy itself if necessary. Else use the AOP_PROXY.
 				if (isStatic && isFrozen && this.fixedInterceptorMap.containsKey(key)) {
 					if (logger.isDebugEnabled()) {
 						logger.debug("Method has advice and optimizations are enabled: " + method);
@@ -20,12 +20,15 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.aop.Advisor;
 import org.springframework.aop.AopInvocationException;
 import org.springframework.aop.RawTargetAccess;
 import org.springframework.aop.TargetSource;
@@ -92,6 +95,13 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Interceptor chains per proxied method, precomputed at proxy creation
+	 * for a frozen configuration with a static target.
+	 */
+	@Nullable
+	private transient volatile FrozenChains frozenChains;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -120,9 +130,45 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		}
 		Class<?>[] proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
 		findDefinedEqualsAndHashCodeMethods(proxiedInterfaces);
+		precomputeFrozenChains(proxiedInterfaces);
 		return Proxy.newProxyInstance(classLoader, proxiedInterfaces, this);
 	}
 
+	/**
+	 * Resolve the interceptor chains for all methods on the supplied set of
+	 * interfaces upfront if the configuration is frozen and the target is static,
+	 * avoiding the per-call lookup in the shared method cache of the configuration.
+	 * @param proxiedInterfaces the interfaces to introspect
+	 * @since 5.1
+	 */
+	private void precomputeFrozenChains(Class<?>[] proxiedInterfaces) {
+		TargetSource targetSource = this.advised.getTargetSource();
+		if (!this.advised.isFrozen() || !targetSource.isStatic()) {
+			return;
+		}
+		Object target;
+		try {
+			target = targetSource.getTarget();
+		}
+		catch (Exception ex) {
+			// Not able to determine the target class upfront: keep resolving chains per call.
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not obtain static target for precomputing interceptor chains", ex);
+			}
+			return;
+		}
+		Class<?> targetClass = (target != null ? target.getClass() : null);
+		Advisor[] advisors = this.advised.getAdvisors();
+		AdvisorChainFactory advisorChainFactory = this.advised.getAdvisorChainFactory();
+		Map<Method, List<Object>> chains = new HashMap<>();
+		for (Class<?> proxiedInterface : proxiedInterfaces) {
+			for (Method method : proxiedInterface.getMethods()) {
+				chains.put(method, this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			}
+		}
+		this.frozenChains = new FrozenChains(chains, targetClass, advisors, advisorChainFactory);
+	}
+
 	/**
 	 * Finds any {@link #equals} or {@link #hashCode} method that may be defined
 	 * on the supplied set of interfaces.
@@ -194,7 +240,7 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
 			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			List<Object> chain = getInterceptorChain(method, targetClass);
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -241,6 +287,31 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	}
 
 
+	/**
+	 * Determine the interceptor chain for the given method, preferably
+	 * from the chains precomputed for a frozen configuration.
+	 * <p>The precomputed chains get dropped once the configuration has been
+	 * unfrozen and modified, e.g. through the addition of further advice.
+	 */
+	private List<Object> getInterceptorChain(Method method, @Nullable Class<?> targetClass) {
+		FrozenChains frozenChains = this.frozenChains;
+		if (frozenChains != null) {
+			if (frozenChains.isValidFor(this.advised)) {
+				if (targetClass == frozenChains.targetClass) {
+					List<Object> chain = frozenChains.chains.get(method);
+					if (chain != null) {
+						return chain;
+					}
+				}
+			}
+			else {
+				this.frozenChains = null;
+			}
+		}
+		return this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+	}
+
+
 	/**
 	 * Equality means interfaces, advisors and TargetSource are equal.
 	 * <p>The compared object may be a JdkDynamicAopProxy instance itself
@@ -283,4 +354,39 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Interceptor chains precomputed for a frozen configuration, along with
+	 * the configuration state that they have been computed from.
+	 */
+	private static final class FrozenChains {
+
+		final Map<Method, List<Object>> chains;
+
+		@Nullable
+		final Class<?> targetClass;
+
+		private final Advisor[] advisors;
+
+		private final AdvisorChainFactory advisorChainFactory;
+
+		FrozenChains(Map<Method, List<Object>> chains, @Nullable Class<?> targetClass,
+				Advisor[] advisors, AdvisorChainFactory advisorChainFactory) {
+
+			this.chains = chains;
+			this.targetClass = targetClass;
+			this.advisors = advisors;
+			this.advisorChainFactory = advisorChainFactory;
+		}
+
+		/**
+		 * Check whether the given configuration is still frozen with the same
+		 * advisors and chain factory: every advisor change replaces the advisor array.
+		 */
+		boolean isValidFor(AdvisedSupport advised) {
+			return (advised.isFrozen() && advised.getAdvisors() == this.advisors &&
+					advised.getAdvisorChainFactory() == this.advisorChainFactory);
+		}
+	}
+
 }
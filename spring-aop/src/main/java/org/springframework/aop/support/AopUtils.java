@@ -20,9 +20,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.aop.Advisor;
@@ -315,12 +317,28 @@ public abstract class AopUtils {
 			}
 		}
 		boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+		// Advisors sharing an equal pointcut (e.g. several advice methods referring to
+		// the same named pointcut) only need to be matched against the class once.
+		Map<Pointcut, Boolean> pointcutMatches = new HashMap<>();
 		for (Advisor candidate : candidateAdvisors) {
 			if (candidate instanceof IntroductionAdvisor) {
 				// already processed
 				continue;
 			}
-			if (canApply(candidate, clazz, hasIntroductions)) {
+			boolean canApply;
+			if (candidate instanceof PointcutAdvisor) {
+				Pointcut pc = ((PointcutAdvisor) candidate).getPointcut();
+				Boolean matches = pointcutMatches.get(pc);
+				if (matches == null) {
+					matches = canApply(pc, clazz, hasIntroductions);
+					pointcutMatches.put(pc, matches);
+				}
+				canApply = matches;
+			}
+			else {
+				canApply = canApply(candidate, clazz, hasIntroductions);
+			}
+			if (canApply) {
 				eligibleAdvisors.add(candidate);
 			}
 		}
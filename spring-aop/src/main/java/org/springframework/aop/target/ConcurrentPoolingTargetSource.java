@@ -0,0 +1,421 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.aop.support.DefaultIntroductionAdvisor;
+import org.springframework.aop.support.DelegatingIntroductionInterceptor;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.aop.TargetSource} implementation that holds
+ * objects in a built-in lock-free pool, as an alternative to
+ * {@link CommonsPool2TargetSource} for highly concurrent access to
+ * non-thread-safe targets.
+ *
+ * <p>Each pooled target carries an atomic state flag, so borrowing and
+ * releasing a target does not require any locks. Every thread remembers the
+ * target it used last and tries to reacquire that one first, typically
+ * getting it back without contending with other threads. Otherwise, the
+ * shared set of pooled targets is scanned from a thread-specific starting
+ * point. New targets are only created when no idle target is available and
+ * the {@link #setMaxSize maximum size} has not been reached yet; beyond that,
+ * the borrowing thread waits for another thread to release a target, up to
+ * the configured {@link #setMaxWait maximum waiting time}.
+ *
+ * <p>Exposes {@link PoolingStats} for monitoring purposes, including borrow
+ * wait times and the number of created targets. The {@link #getPoolingConfigMixin()}
+ * method makes these stats available on proxied objects.
+ *
+ * <p>Pooled targets are never evicted: the pool only grows up to the peak
+ * number of concurrently borrowed targets. Configure a maximum size for
+ * an upper bound.
+ *
+ * @since 5.1
+ * @see #setMaxSize
+ * @see #setMaxWait
+ */
+@SuppressWarnings("serial")
+public class ConcurrentPoolingTargetSource extends AbstractPoolingTargetSource implements PoolingStats {
+
+	private static final int IDLE = 0;
+
+	private static final int IN_USE = 1;
+
+	private static final int REMOVED = -1;
+
+
+	private long maxWait = -1;
+
+	/**
+	 * The target that the current thread has used last, tried first on the next borrow.
+	 * Weakly referenced, not keeping targets alive on pooled threads after destruction.
+	 */
+	private final ThreadLocal<WeakReference<PooledTarget>> lastUsedTarget =
+			new NamedThreadLocal<>("Last used target of ConcurrentPoolingTargetSource");
+
+	/** All pooled targets, copied on write (which only happens on target creation) */
+	private volatile PooledTarget[] pooledTargets = new PooledTarget[0];
+
+	private final Object poolMonitor = new Object();
+
+	private final AtomicInteger targetCount = new AtomicInteger();
+
+	private final AtomicInteger waiterCount = new AtomicInteger();
+
+	private final ReentrantLock waitLock = new ReentrantLock();
+
+	private final Condition targetReleased = this.waitLock.newCondition();
+
+	private volatile boolean destroyed = false;
+
+	private final LongAdder borrowCount = new LongAdder();
+
+	private final LongAdder borrowWaitCount = new LongAdder();
+
+	private final LongAdder totalBorrowWaitTime = new LongAdder();
+
+	private final AtomicLong maxBorrowWaitTime = new AtomicLong();
+
+	private final LongAdder creationCount = new LongAdder();
+
+
+	/**
+	 * Set the maximum waiting time for fetching an object from the pool,
+	 * in milliseconds. Only applies once the maximum size has been reached.
+	 * <p>Default is -1, waiting forever. A value of 0 indicates that an
+	 * exhausted pool should fail immediately, throwing a
+	 * {@link NoSuchElementException}, just like a timeout does.
+	 * @see #setMaxSize
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum waiting time for fetching an object from the pool.
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+
+	@Override
+	protected void createPool() {
+		logger.debug("Creating concurrent object pool");
+	}
+
+	/**
+	 * Borrows an idle target from the pool, creating a new one if necessary,
+	 * or waits for another thread to release one when the pool is exhausted.
+	 * @throws NoSuchElementException if no target became available
+	 * within the configured maximum waiting time
+	 * @see #setMaxWait
+	 */
+	@Override
+	public Object getTarget() throws Exception {
+		Assert.state(!this.destroyed, "ConcurrentPoolingTargetSource has been destroyed");
+		this.borrowCount.increment();
+		PooledTarget pooledTarget = getLastUsedTarget();
+		if (pooledTarget != null && pooledTarget.acquire()) {
+			return pooledTarget.target;
+		}
+		pooledTarget = acquireIdleTarget();
+		if (pooledTarget == null) {
+			pooledTarget = createTargetIfPossible();
+			if (pooledTarget == null) {
+				pooledTarget = awaitReleasedTarget();
+			}
+		}
+		this.lastUsedTarget.set(new WeakReference<>(pooledTarget));
+		return pooledTarget.target;
+	}
+
+	/**
+	 * Returns the given target to the pool, waking up a waiting
+	 * thread if there is any.
+	 * @throws IllegalStateException if the given object has not been
+	 * borrowed from this pool
+	 */
+	@Override
+	public void releaseTarget(Object target) throws Exception {
+		PooledTarget pooledTarget = getLastUsedTarget();
+		if (pooledTarget == null || pooledTarget.target != target) {
+			pooledTarget = findPooledTarget(target);
+			if (pooledTarget == null) {
+				if (this.destroyed) {
+					// Pool destroyed while the target was in use
+					destroyPrototypeInstance(target);
+					return;
+				}
+				throw new IllegalStateException("Object [" + target + "] not part of this pool");
+			}
+			this.lastUsedTarget.set(new WeakReference<>(pooledTarget));
+		}
+		if (!pooledTarget.state.compareAndSet(IN_USE, IDLE)) {
+			if (pooledTarget.state.get() == REMOVED) {
+				// Pool destroyed while the target was in use
+				destroyPrototypeInstance(target);
+				return;
+			}
+			throw new IllegalStateException("Object [" + target + "] has already been returned to this pool");
+		}
+		if (this.waiterCount.get() > 0) {
+			// A waiter either sees the idle target on its next scan or gets signalled
+			signalWaiters(false);
+		}
+	}
+
+	@Nullable
+	private PooledTarget getLastUsedTarget() {
+		WeakReference<PooledTarget> ref = this.lastUsedTarget.get();
+		return (ref != null ? ref.get() : null);
+	}
+
+	/**
+	 * Scan the pool for an idle target, starting at a thread-specific
+	 * position in order to spread concurrent threads across the pool.
+	 */
+	@Nullable
+	private PooledTarget acquireIdleTarget() {
+		PooledTarget[] targets = this.pooledTargets;
+		int length = targets.length;
+		if (length > 0) {
+			int start = (int) (Thread.currentThread().getId() % length);
+			for (int i = 0; i < length; i++) {
+				PooledTarget candidate = targets[(start + i) % length];
+				if (candidate.acquire()) {
+					return candidate;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Create a new target in in-use state, unless the pool has
+	 * reached its maximum size already.
+	 */
+	@Nullable
+	private PooledTarget createTargetIfPossible() {
+		int maxSize = getMaxSize();
+		int count;
+		do {
+			count = this.targetCount.get();
+			if (maxSize >= 0 && count >= maxSize) {
+				return null;
+			}
+		}
+		while (!this.targetCount.compareAndSet(count, count + 1));
+
+		PooledTarget pooledTarget;
+		try {
+			pooledTarget = new PooledTarget(newPrototypeInstance());
+		}
+		catch (Throwable ex) {
+			this.targetCount.decrementAndGet();
+			throw ex;
+		}
+		synchronized (this.poolMonitor) {
+			if (this.destroyed) {
+				destroyPrototypeInstance(pooledTarget.target);
+				throw new IllegalStateException("ConcurrentPoolingTargetSource has been destroyed");
+			}
+			PooledTarget[] targets = this.pooledTargets;
+			PooledTarget[] newTargets = Arrays.copyOf(targets, targets.length + 1);
+			newTargets[targets.length] = pooledTarget;
+			this.pooledTargets = newTargets;
+		}
+		this.creationCount.increment();
+		return pooledTarget;
+	}
+
+	/**
+	 * Wait for another thread to release a target, up to the maximum waiting time.
+	 */
+	private PooledTarget awaitReleasedTarget() throws InterruptedException {
+		long startTime = System.nanoTime();
+		long remaining = (this.maxWait >= 0 ? TimeUnit.MILLISECONDS.toNanos(this.maxWait) : Long.MAX_VALUE);
+		this.waiterCount.incrementAndGet();
+		this.waitLock.lockInterruptibly();
+		try {
+			while (true) {
+				Assert.state(!this.destroyed, "ConcurrentPoolingTargetSource has been destroyed");
+				// A target may have been released before we registered as waiter,
+				// or may have been taken by another thread after we got signalled
+				PooledTarget pooledTarget = acquireIdleTarget();
+				if (pooledTarget != null) {
+					recordBorrowWait(System.nanoTime() - startTime);
+					return pooledTarget;
+				}
+				if (remaining <= 0) {
+					break;
+				}
+				remaining = this.targetReleased.awaitNanos(remaining);
+			}
+		}
+		finally {
+			this.waitLock.unlock();
+			this.waiterCount.decrementAndGet();
+		}
+		recordBorrowWait(System.nanoTime() - startTime);
+		throw new NoSuchElementException("Timeout waiting for idle object: pool for bean '" +
+				getTargetBeanName() + "' exhausted at maximum size " + getMaxSize());
+	}
+
+	private void signalWaiters(boolean all) {
+		this.waitLock.lock();
+		try {
+			if (all) {
+				this.targetReleased.signalAll();
+			}
+			else {
+				this.targetReleased.signal();
+			}
+		}
+		finally {
+			this.waitLock.unlock();
+		}
+	}
+
+	private void recordBorrowWait(long waitTime) {
+		this.borrowWaitCount.increment();
+		this.totalBorrowWaitTime.add(waitTime);
+		this.maxBorrowWaitTime.accumulateAndGet(waitTime, Math::max);
+	}
+
+	@Nullable
+	private PooledTarget findPooledTarget(Object target) {
+		for (PooledTarget candidate : this.pooledTargets) {
+			if (candidate.target == target) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private int countTargets(int state) {
+		int count = 0;
+		for (PooledTarget candidate : this.pooledTargets) {
+			if (candidate.state.get() == state) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+
+	@Override
+	public int getActiveCount() {
+		return countTargets(IN_USE);
+	}
+
+	@Override
+	public int getIdleCount() {
+		return countTargets(IDLE);
+	}
+
+	@Override
+	public long getBorrowCount() {
+		return this.borrowCount.sum();
+	}
+
+	@Override
+	public long getBorrowWaitCount() {
+		return this.borrowWaitCount.sum();
+	}
+
+	@Override
+	public long getTotalBorrowWaitTimeNanos() {
+		return this.totalBorrowWaitTime.sum();
+	}
+
+	@Override
+	public long getMaxBorrowWaitTimeNanos() {
+		return this.maxBorrowWaitTime.get();
+	}
+
+	@Override
+	public long getCreationCount() {
+		return this.creationCount.sum();
+	}
+
+	/**
+	 * Return an IntroductionAdvisor that provides a mixin
+	 * exposing {@link PoolingStats} for the pool maintained by this object.
+	 */
+	@Override
+	public DefaultIntroductionAdvisor getPoolingConfigMixin() {
+		DelegatingIntroductionInterceptor dii = new DelegatingIntroductionInterceptor(this);
+		return new DefaultIntroductionAdvisor(dii, PoolingStats.class);
+	}
+
+
+	/**
+	 * Destroys all idle targets when destroying this object. Targets which
+	 * are still in use get destroyed when they are returned to the pool.
+	 */
+	@Override
+	public void destroy() {
+		logger.debug("Destroying concurrent object pool");
+		PooledTarget[] targets;
+		synchronized (this.poolMonitor) {
+			this.destroyed = true;
+			targets = this.pooledTargets;
+			this.pooledTargets = new PooledTarget[0];
+		}
+		signalWaiters(true);
+		for (PooledTarget pooledTarget : targets) {
+			if (pooledTarget.state.getAndSet(REMOVED) == IDLE) {
+				destroyPrototypeInstance(pooledTarget.target);
+			}
+		}
+		this.lastUsedTarget.remove();
+	}
+
+
+	/**
+	 * Holder for a pooled target, with an atomic state flag
+	 * indicating whether the target is currently in use.
+	 */
+	private static final class PooledTarget {
+
+		final Object target;
+
+		final AtomicInteger state = new AtomicInteger(IN_USE);
+
+		PooledTarget(Object target) {
+			this.target = target;
+		}
+
+		boolean acquire() {
+			return this.state.compareAndSet(IDLE, IN_USE);
+		}
+	}
+
+}
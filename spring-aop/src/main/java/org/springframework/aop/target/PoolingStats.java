@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+/**
+ * Extended statistics interface for a pooling target source,
+ * exposing borrow and creation counters next to the basic
+ * {@link PoolingConfig} metrics.
+ *
+ * <p>All counters are cumulative since pool creation; rates such as
+ * creations per second can be derived by sampling them periodically.
+ *
+ * @since 5.1
+ * @see ConcurrentPoolingTargetSource
+ */
+public interface PoolingStats extends PoolingConfig {
+
+	/**
+	 * Return the number of targets borrowed from the pool.
+	 */
+	long getBorrowCount();
+
+	/**
+	 * Return the number of borrow attempts which had to wait
+	 * for another thread to release a target.
+	 */
+	long getBorrowWaitCount();
+
+	/**
+	 * Return the accumulated time that borrowing threads spent waiting
+	 * for a target to be released, in nanoseconds.
+	 */
+	long getTotalBorrowWaitTimeNanos();
+
+	/**
+	 * Return the longest time that a single borrow attempt spent waiting
+	 * for a target to be released, in nanoseconds.
+	 */
+	long getMaxBorrowWaitTimeNanos();
+
+	/**
+	 * Return the number of target instances created for the pool.
+	 */
+	long getCreationCount();
+
+}
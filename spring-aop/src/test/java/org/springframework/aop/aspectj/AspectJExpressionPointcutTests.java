@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,11 @@
 package org.springframework.aop.aspectj;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -99,6 +104,37 @@ public class AspectJExpressionPointcutTests {
 	}
 
 
+	@Test
+	public void testConcurrentMatching() throws Exception {
+		Pointcut pointcut = getPointcut("execution(* *..TestBean.*Age(..))");
+		MethodMatcher methodMatcher = pointcut.getMethodMatcher();
+		Method[] methods = TestBean.class.getMethods();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					assertTrue(pointcut.getClassFilter().matches(TestBean.class));
+					int matches = 0;
+					for (Method method : methods) {
+						if (methodMatcher.matches(method, TestBean.class)) {
+							matches++;
+						}
+					}
+					return matches;
+				}));
+			}
+			for (Future<Integer> result : results) {
+				assertEquals(2, result.get().intValue());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertTrue(methodMatcher.matches(getAge, TestBean.class));
+		assertFalse(methodMatcher.matches(setSomeNumber, TestBean.class));
+	}
+
 	@Test
 	public void testThis() throws SecurityException, NoSuchMethodException{
 		testThisOrTarget("this");
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,12 @@
 package org.springframework.aop.support;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
+import org.springframework.aop.Advisor;
 import org.springframework.aop.ClassFilter;
 import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
@@ -72,6 +75,34 @@ public class AopUtilsTests {
 		assertTrue(AopUtils.canApply(pc, Object.class));
 	}
 
+	@Test
+	public void testAdvisorsWithEqualPointcutMatchedOnce() {
+		class CountingPointcut extends StaticMethodMatcherPointcut {
+			int matches;
+			@Override
+			public boolean matches(Method method, @Nullable Class<?> clazz) {
+				this.matches++;
+				return method.getName().equals("getAge");
+			}
+			@Override
+			public boolean equals(Object other) {
+				return (other instanceof CountingPointcut);
+			}
+			@Override
+			public int hashCode() {
+				return CountingPointcut.class.hashCode();
+			}
+		}
+
+		CountingPointcut pc1 = new CountingPointcut();
+		CountingPointcut pc2 = new CountingPointcut();
+		List<Advisor> advisors = Arrays.asList(
+				new DefaultPointcutAdvisor(pc1, new NopInterceptor()), new DefaultPointcutAdvisor(pc2, new NopInterceptor()));
+		assertEquals(2, AopUtils.findAdvisorsThatCanApply(advisors, TestBean.class).size());
+		assertTrue(pc1.matches > 0);
+		assertEquals(0, pc2.matches);
+	}
+
 	/**
 	 * Test that when we serialize and deserialize various canonical instances
 	 * of AOP classes, they return the same instance, not a new instance
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.tests.sample.beans.Person;
+import org.springframework.tests.sample.beans.SerializablePerson;
+import org.springframework.util.SerializationTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 5.1
+ */
+public class ConcurrentPoolingTargetSourceTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final ConcurrentPoolingTargetSource targetSource = new ConcurrentPoolingTargetSource();
+
+
+	@Before
+	public void setup() {
+		RootBeanDefinition bd = new RootBeanDefinition(SerializablePerson.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("target", bd);
+		this.targetSource.setTargetBeanName("target");
+	}
+
+	@After
+	public void destroy() {
+		this.targetSource.destroy();
+	}
+
+
+	@Test
+	public void reuseReleasedTarget() throws Exception {
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		Object first = this.targetSource.getTarget();
+		assertTrue(first instanceof SerializablePerson);
+		assertEquals(1, this.targetSource.getActiveCount());
+		assertEquals(0, this.targetSource.getIdleCount());
+		this.targetSource.releaseTarget(first);
+		assertEquals(0, this.targetSource.getActiveCount());
+		assertEquals(1, this.targetSource.getIdleCount());
+
+		assertSame(first, this.targetSource.getTarget());
+		this.targetSource.releaseTarget(first);
+		assertEquals(2, this.targetSource.getBorrowCount());
+		assertEquals(1, this.targetSource.getCreationCount());
+	}
+
+	@Test
+	public void distinctTargetsForConcurrentBorrows() throws Exception {
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		Object first = this.targetSource.getTarget();
+		Object second = this.targetSource.getTarget();
+		assertNotSame(first, second);
+		assertEquals(2, this.targetSource.getActiveCount());
+
+		this.targetSource.releaseTarget(second);
+		this.targetSource.releaseTarget(first);
+		assertEquals(2, this.targetSource.getIdleCount());
+		assertEquals(2, this.targetSource.getCreationCount());
+	}
+
+	@Test
+	public void hitMaxSize() throws Exception {
+		int maxSize = 10;
+		this.targetSource.setMaxSize(maxSize);
+		this.targetSource.setMaxWait(1);
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		Object[] pooledInstances = new Object[maxSize];
+		for (int i = 0; i < maxSize; i++) {
+			pooledInstances[i] = this.targetSource.getTarget();
+		}
+		try {
+			this.targetSource.getTarget();
+			fail("Should have thrown NoSuchElementException");
+		}
+		catch (NoSuchElementException ex) {
+			// expected
+		}
+		assertEquals(1, this.targetSource.getBorrowWaitCount());
+		assertTrue(this.targetSource.getMaxBorrowWaitTimeNanos() >= TimeUnit.MILLISECONDS.toNanos(1));
+
+		this.targetSource.releaseTarget(pooledInstances[9]);
+		assertSame(pooledInstances[9], this.targetSource.getTarget());
+		for (Object pooledInstance : pooledInstances) {
+			this.targetSource.releaseTarget(pooledInstance);
+		}
+		assertEquals(maxSize, this.targetSource.getIdleCount());
+		assertEquals(maxSize, this.targetSource.getCreationCount());
+	}
+
+	@Test
+	public void handOffToWaitingThread() throws Exception {
+		this.targetSource.setMaxSize(1);
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		Object target = this.targetSource.getTarget();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> waiting = executor.submit(this.targetSource::getTarget);
+			while (this.targetSource.getBorrowCount() < 2) {
+				Thread.sleep(1);
+			}
+			this.targetSource.releaseTarget(target);
+			assertSame(target, waiting.get(5, TimeUnit.SECONDS));
+			assertEquals(1, this.targetSource.getActiveCount());
+			assertEquals(1, this.targetSource.getBorrowWaitCount());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void destroyWakesUpWaitingThread() throws Exception {
+		this.targetSource.setMaxSize(1);
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		this.targetSource.getTarget();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> waiting = executor.submit(this.targetSource::getTarget);
+			while (this.targetSource.getBorrowCount() < 2) {
+				Thread.sleep(1);
+			}
+			this.targetSource.destroy();
+			try {
+				waiting.get(5, TimeUnit.SECONDS);
+				fail("Should have thrown IllegalStateException");
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof IllegalStateException);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void concurrentBorrowAndRelease() throws Exception {
+		int maxSize = 4;
+		int threads = 8;
+		int iterations = 1000;
+		this.targetSource.setMaxSize(maxSize);
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		AtomicInteger failures = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int t = 0; t < threads; t++) {
+				executor.execute(() -> {
+					try {
+						for (int i = 0; i < iterations; i++) {
+							Person person = (Person) this.targetSource.getTarget();
+							// Non-thread-safe usage: must not be shared while borrowed
+							person.setAge(i);
+							Thread.yield();
+							if (person.getAge() != i) {
+								failures.incrementAndGet();
+							}
+							this.targetSource.releaseTarget(person);
+						}
+					}
+					catch (Exception ex) {
+						failures.incrementAndGet();
+					}
+					finally {
+						latch.countDown();
+					}
+				});
+			}
+			assertTrue(latch.await(30, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertEquals(0, failures.get());
+		assertEquals(threads * iterations, this.targetSource.getBorrowCount());
+		assertTrue(this.targetSource.getCreationCount() <= maxSize);
+		assertEquals(0, this.targetSource.getActiveCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void releaseForeignTarget() throws Exception {
+		this.targetSource.setBeanFactory(this.beanFactory);
+		this.targetSource.releaseTarget(new SerializablePerson());
+	}
+
+	@Test
+	public void poolingStatsMixin() throws Exception {
+		this.targetSource.setMaxSize(25);
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		ProxyFactory pf = new ProxyFactory();
+		pf.setTargetSource(this.targetSource);
+		pf.addInterface(Person.class);
+		pf.addAdvisor(this.targetSource.getPoolingConfigMixin());
+		Person proxy = (Person) pf.getProxy();
+		proxy.setAge(25);
+
+		PoolingStats stats = (PoolingStats) proxy;
+		assertEquals(25, stats.getMaxSize());
+		// The stats call itself borrows the target for the duration of the invocation
+		assertEquals(1, ((PoolingConfig) proxy).getActiveCount());
+		assertEquals(1, stats.getCreationCount());
+	}
+
+	@Test
+	public void proxySerializable() throws Exception {
+		this.targetSource.setBeanFactory(this.beanFactory);
+
+		ProxyFactory pf = new ProxyFactory();
+		pf.setTargetSource(this.targetSource);
+		pf.addInterface(Person.class);
+		Person serialized = (Person) SerializationTestUtils.serializeAndDeserialize(pf.getProxy());
+		serialized.setAge(25);
+		assertEquals(25, serialized.getAge());
+	}
+
+	@Test
+	public void destroyWhileInUse() throws Exception {
+		this.targetSource.setBeanFactory(this.beanFactory);
+		Object target = this.targetSource.getTarget();
+		this.targetSource.destroy();
+		this.targetSource.releaseTarget(target);
+		try {
+			this.targetSource.getTarget();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+
+/**
+ * Benchmarks for {@link BeanWrapperImpl#setPropertyValue} and
+ * {@link BeanWrapperImpl#getPropertyValue}, comparing the regular
+ * reflective variant against the {@link MethodHandleBeanWrapper}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanWrapperBenchmark {
+
+	@Benchmark
+	public Object setStringProperty(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValue("name", "Rod");
+		return data.bean;
+	}
+
+	@Benchmark
+	public Object setIntPropertyWithConversion(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValue("age", "42");
+		return data.bean;
+	}
+
+	@Benchmark
+	public Object setNestedProperty(BeanWrapperData data) {
+		data.beanWrapper.setPropertyValue("spouse.name", "Kerry");
+		return data.bean;
+	}
+
+	@Benchmark
+	public Object getIntProperty(BeanWrapperData data) {
+		return data.beanWrapper.getPropertyValue("age");
+	}
+
+	@Benchmark
+	public Object newBeanWrapperPerInstance(BeanWrapperData data) {
+		BeanWrapper beanWrapper = data.createBeanWrapper(new Person());
+		beanWrapper.setPropertyValue("name", "Rod");
+		beanWrapper.setPropertyValue("age", "42");
+		return beanWrapper.getWrappedInstance();
+	}
+
+
+	@State(Scope.Thread)
+	public static class BeanWrapperData {
+
+		@Param({"reflective", "methodHandle"})
+		public String accessor;
+
+		@Param({"false", "true"})
+		public boolean conversionService;
+
+		public Person bean;
+
+		public BeanWrapper beanWrapper;
+
+		@Setup
+		public void setup() {
+			this.bean = new Person();
+			this.bean.setSpouse(new Person());
+			this.beanWrapper = createBeanWrapper(this.bean);
+		}
+
+		public BeanWrapper createBeanWrapper(Object target) {
+			BeanWrapperImpl beanWrapper = ("methodHandle".equals(this.accessor) ?
+					new MethodHandleBeanWrapper(target) : new BeanWrapperImpl(target));
+			if (this.conversionService) {
+				beanWrapper.setConversionService(DefaultConversionService.getSharedInstance());
+			}
+			return beanWrapper;
+		}
+	}
+
+
+	public static class Person {
+
+		private String name;
+
+		private int age;
+
+		private Person spouse;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public Person getSpouse() {
+			return this.spouse;
+		}
+
+		public void setSpouse(Person spouse) {
+			this.spouse = spouse;
+		}
+	}
+
+}
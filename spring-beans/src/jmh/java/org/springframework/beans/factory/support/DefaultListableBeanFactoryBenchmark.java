@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * Benchmarks for {@link org.springframework.beans.factory.support.AbstractBeanFactory#getBean}
+ * with singleton and prototype beans, retrieved by name and by type, in a
+ * bean factory with a configurable number of further bean definitions.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@Benchmark
+	public Object singletonByName(BeanFactoryData data) {
+		return data.beanFactory.getBean("singleton");
+	}
+
+	@Benchmark
+	public Object singletonByType(BeanFactoryData data) {
+		return data.beanFactory.getBean(SingletonBean.class);
+	}
+
+	@Benchmark
+	public Object prototypeByName(BeanFactoryData data) {
+		return data.beanFactory.getBean("prototype");
+	}
+
+	@Benchmark
+	public Object prototypeByType(BeanFactoryData data) {
+		return data.beanFactory.getBean(PrototypeBean.class);
+	}
+
+	@Benchmark
+	public Object prototypeWithPropertyByName(BeanFactoryData data) {
+		return data.beanFactory.getBean("prototypeWithProperty");
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BeanFactoryData {
+
+		@Param({"10", "1000"})
+		public int beanCount;
+
+		@Param({"false", "true"})
+		public boolean frozen;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.registerBeanDefinition("singleton", new RootBeanDefinition(SingletonBean.class));
+			RootBeanDefinition prototype = new RootBeanDefinition(PrototypeBean.class);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			this.beanFactory.registerBeanDefinition("prototype", prototype);
+			RootBeanDefinition prototypeWithProperty = new RootBeanDefinition(PrototypeWithPropertyBean.class);
+			prototypeWithProperty.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototypeWithProperty.getPropertyValues().add("singleton", new RuntimeBeanReference("singleton"));
+			prototypeWithProperty.getPropertyValues().add("name", "value");
+			this.beanFactory.registerBeanDefinition("prototypeWithProperty", prototypeWithProperty);
+			for (int i = 0; i < this.beanCount; i++) {
+				this.beanFactory.registerBeanDefinition("other" + i, new RootBeanDefinition(OtherBean.class));
+			}
+			if (this.frozen) {
+				this.beanFactory.freezeConfiguration();
+			}
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	public static class SingletonBean {
+	}
+
+
+	public static class PrototypeBean {
+	}
+
+
+	public static class PrototypeWithPropertyBean {
+
+		private SingletonBean singleton;
+
+		private String name;
+
+		public void setSingleton(SingletonBean singleton) {
+			this.singleton = singleton;
+		}
+
+		public SingletonBean getSingleton() {
+			return this.singleton;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
+
+
+	public static class OtherBean {
+	}
+
+}
@@ -426,7 +426,18 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 				throw createNotWritablePropertyException(tokens.canonicalName);
 			}
 		}
+		applyLocalPropertyValue(ph, tokens.canonicalName, pv);
+	}
 
+	/**
+	 * Apply the given value to the given writable local property,
+	 * converting it to the property type if necessary.
+	 * @param ph the handler for the local property
+	 * @param propertyName the canonical name of the local property
+	 * @param pv the property value to apply
+	 * @since 5.1
+	 */
+	void applyLocalPropertyValue(PropertyHandler ph, String propertyName, PropertyValue pv) {
 		Object oldValue = null;
 		try {
 			Object originalValue = pv.getValue();
@@ -446,12 +457,12 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 							}
 							if (logger.isDebugEnabled()) {
 								logger.debug("Could not read previous value of property '" +
-										this.nestedPath + tokens.canonicalName + "'", ex);
+										this.nestedPath + propertyName + "'", ex);
 							}
 						}
 					}
 					valueToApply = convertForProperty(
-							tokens.canonicalName, oldValue, originalValue, ph.toTypeDescriptor());
+							propertyName, oldValue, originalValue, ph.toTypeDescriptor());
 				}
 				pv.getOriginalPropertyValue().conversionNecessary = (valueToApply != originalValue);
 			}
@@ -462,7 +473,7 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		}
 		catch (InvocationTargetException ex) {
 			PropertyChangeEvent propertyChangeEvent = new PropertyChangeEvent(
-					getRootInstance(), this.nestedPath + tokens.canonicalName, oldValue, pv.getValue());
+					getRootInstance(), this.nestedPath + propertyName, oldValue, pv.getValue());
 			if (ex.getTargetException() instanceof ClassCastException) {
 				throw new TypeMismatchException(propertyChangeEvent, ph.getPropertyType(), ex.getTargetException());
 			}
@@ -477,7 +488,7 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		}
 		catch (Exception ex) {
 			PropertyChangeEvent pce = new PropertyChangeEvent(
-					getRootInstance(), this.nestedPath + tokens.canonicalName, oldValue, pv.getValue());
+					getRootInstance(), this.nestedPath + propertyName, oldValue, pv.getValue());
 			throw new MethodInvocationException(pce, ex);
 		}
 	}
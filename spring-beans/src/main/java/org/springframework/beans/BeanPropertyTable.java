@@ -0,0 +1,354 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.convert.Property;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Precomputed, array-indexed view of the JavaBeans properties of a class,
+ * assigning each property a stable integer id within the class. Derived from
+ * {@link CachedIntrospectionResults} once per class and cached.
+ *
+ * <p>Each {@link PropertyHandle} holds the property's {@link TypeDescriptor}
+ * as well as {@link MethodHandle}-based accessors for its read and write
+ * methods, all lazily resolved on first use and shared across all instances
+ * of the class. This allows callers to resolve property names to ids once,
+ * e.g. per result set or per binding target class, and to access properties
+ * by id without any further name-based lookups.
+ *
+ * <p>Mainly for internal use within the framework.
+ *
+ * @since 5.1
+ * @see MethodHandleBeanWrapper
+ */
+public final class BeanPropertyTable {
+
+	/** Marker for accessor methods that cannot be invoked through a MethodHandle */
+	private static final Object NO_HANDLE = new Object();
+
+	private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final Map<Class<?>, BeanPropertyTable> tableCache = new ConcurrentReferenceHashMap<>(64);
+
+
+	private final Class<?> beanClass;
+
+	private final PropertyHandle[] properties;
+
+	private final Map<String, Integer> propertyIds;
+
+
+	private BeanPropertyTable(Class<?> beanClass) {
+		this.beanClass = beanClass;
+		PropertyDescriptor[] pds = CachedIntrospectionResults.forClass(beanClass).getPropertyDescriptors();
+		this.properties = new PropertyHandle[pds.length];
+		this.propertyIds = new HashMap<>(pds.length * 2);
+		for (int i = 0; i < pds.length; i++) {
+			this.properties[i] = new PropertyHandle(beanClass, i, pds[i]);
+			this.propertyIds.put(pds[i].getName(), i);
+		}
+	}
+
+
+	/**
+	 * Return the bean class that this table has been built for.
+	 */
+	public Class<?> getBeanClass() {
+		return this.beanClass;
+	}
+
+	/**
+	 * Return the number of properties in this table, with property ids
+	 * ranging from 0 to this count (exclusive).
+	 */
+	public int getPropertyCount() {
+		return this.properties.length;
+	}
+
+	/**
+	 * Determine the id of the given property, applying the same lenient
+	 * capitalization fallback as {@link BeanWrapperImpl}.
+	 * @param propertyName the name of the property (no nested or indexed path)
+	 * @return the property id, or -1 if no such property exists
+	 */
+	public int getPropertyId(String propertyName) {
+		Integer id = this.propertyIds.get(propertyName);
+		if (id == null && StringUtils.hasLength(propertyName)) {
+			id = this.propertyIds.get(StringUtils.uncapitalize(propertyName));
+			if (id == null) {
+				id = this.propertyIds.get(StringUtils.capitalize(propertyName));
+			}
+		}
+		return (id != null ? id : -1);
+	}
+
+	/**
+	 * Return the property with the given id.
+	 * @param propertyId the id of the property
+	 * @throws IndexOutOfBoundsException for an invalid property id
+	 */
+	public PropertyHandle getProperty(int propertyId) {
+		return this.properties[propertyId];
+	}
+
+	/**
+	 * Return the property with the given name, if any.
+	 * @param propertyName the name of the property (no nested or indexed path)
+	 * @see #getPropertyId
+	 */
+	@Nullable
+	public PropertyHandle getProperty(String propertyName) {
+		int id = getPropertyId(propertyName);
+		return (id >= 0 ? this.properties[id] : null);
+	}
+
+
+	@Override
+	public String toString() {
+		return "BeanPropertyTable for [" + this.beanClass.getName() + "] with " +
+				this.properties.length + " properties";
+	}
+
+
+	/**
+	 * Obtain the (cached) property table for the given bean class.
+	 * @param beanClass the bean class to introspect
+	 * @return the corresponding property table (never {@code null})
+	 * @throws BeansException in case of introspection failure
+	 */
+	public static BeanPropertyTable forClass(Class<?> beanClass) throws BeansException {
+		Assert.notNull(beanClass, "Bean class must not be null");
+		BeanPropertyTable table = tableCache.get(beanClass);
+		if (table == null) {
+			table = new BeanPropertyTable(beanClass);
+			BeanPropertyTable existing = tableCache.putIfAbsent(beanClass, table);
+			if (existing != null) {
+				table = existing;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Remove the property tables for all classes underneath the given ClassLoader.
+	 * @see CachedIntrospectionResults#clearClassLoader
+	 */
+	static void clearClassLoader(@Nullable ClassLoader classLoader) {
+		tableCache.keySet().removeIf(beanClass ->
+				CachedIntrospectionResults.isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
+	}
+
+
+	/**
+	 * A single property within a {@link BeanPropertyTable}.
+	 */
+	public static final class PropertyHandle {
+
+		private final Class<?> beanClass;
+
+		private final int id;
+
+		private final PropertyDescriptor propertyDescriptor;
+
+		@Nullable
+		private volatile Property property;
+
+		@Nullable
+		private volatile TypeDescriptor typeDescriptor;
+
+		@Nullable
+		private volatile Object readHandle;
+
+		@Nullable
+		private volatile Object writeHandle;
+
+		PropertyHandle(Class<?> beanClass, int id, PropertyDescriptor propertyDescriptor) {
+			this.beanClass = beanClass;
+			this.id = id;
+			this.propertyDescriptor = propertyDescriptor;
+		}
+
+		/**
+		 * Return the id of this property within its table.
+		 */
+		public int getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the name of this property.
+		 */
+		public String getName() {
+			return this.propertyDescriptor.getName();
+		}
+
+		/**
+		 * Return the type of this property.
+		 */
+		public Class<?> getPropertyType() {
+			return this.propertyDescriptor.getPropertyType();
+		}
+
+		/**
+		 * Return the underlying JavaBeans {@code PropertyDescriptor}.
+		 */
+		public PropertyDescriptor getPropertyDescriptor() {
+			return this.propertyDescriptor;
+		}
+
+		/**
+		 * Return whether this property has a read method.
+		 */
+		public boolean isReadable() {
+			return (this.propertyDescriptor.getReadMethod() != null);
+		}
+
+		/**
+		 * Return whether this property has a write method.
+		 */
+		public boolean isWritable() {
+			return (this.propertyDescriptor.getWriteMethod() != null);
+		}
+
+		/**
+		 * Return the (cached) {@code Property} abstraction for this property.
+		 */
+		public Property getProperty() {
+			Property property = this.property;
+			if (property == null) {
+				property = new Property(this.beanClass, this.propertyDescriptor.getReadMethod(),
+						this.propertyDescriptor.getWriteMethod(), getName());
+				this.property = property;
+			}
+			return property;
+		}
+
+		/**
+		 * Return the (cached) {@code TypeDescriptor} for this property.
+		 */
+		public TypeDescriptor getTypeDescriptor() {
+			TypeDescriptor typeDescriptor = this.typeDescriptor;
+			if (typeDescriptor == null) {
+				typeDescriptor = new TypeDescriptor(getProperty());
+				this.typeDescriptor = typeDescriptor;
+			}
+			return typeDescriptor;
+		}
+
+		/**
+		 * Read the value of this property from the given target object.
+		 * @param target the target object (an instance of the table's bean class)
+		 * @return the current property value
+		 * @throws IllegalAccessException if a reflective fallback failed to access the read method
+		 * @throws InvocationTargetException if the read method threw an exception
+		 */
+		@Nullable
+		public Object getValue(Object target) throws IllegalAccessException, InvocationTargetException {
+			Method readMethod = this.propertyDescriptor.getReadMethod();
+			Assert.state(readMethod != null, () -> "Property '" + getName() + "' is not readable");
+			Object handle = this.readHandle;
+			if (handle == null) {
+				handle = unreflect(readMethod, READ_TYPE);
+				this.readHandle = handle;
+			}
+			if (handle instanceof MethodHandle) {
+				try {
+					return (Object) ((MethodHandle) handle).invokeExact(target);
+				}
+				catch (Throwable ex) {
+					throw new InvocationTargetException(ex);
+				}
+			}
+			ReflectionUtils.makeAccessible(readMethod);
+			return readMethod.invoke(target);
+		}
+
+		/**
+		 * Write the given value to this property of the given target object.
+		 * @param target the target object (an instance of the table's bean class)
+		 * @param value the value to write (already converted to the property type)
+		 * @throws IllegalAccessException if a reflective fallback failed to access the write method
+		 * @throws InvocationTargetException if the write method threw an exception
+		 */
+		public void setValue(Object target, @Nullable Object value)
+				throws IllegalAccessException, InvocationTargetException {
+
+			Method writeMethod = (this.propertyDescriptor instanceof GenericTypeAwarePropertyDescriptor ?
+					((GenericTypeAwarePropertyDescriptor) this.propertyDescriptor).getWriteMethodForActualAccess() :
+					this.propertyDescriptor.getWriteMethod());
+			Assert.state(writeMethod != null, () -> "Property '" + getName() + "' is not writable");
+			Object handle = this.writeHandle;
+			if (handle == null) {
+				handle = unreflect(writeMethod, WRITE_TYPE);
+				this.writeHandle = handle;
+			}
+			// Let reflection report non-assignable values, as in regular BeanWrapper usage
+			if (handle instanceof MethodHandle && ClassUtils.isAssignableValue(writeMethod.getParameterTypes()[0], value)) {
+				try {
+					((MethodHandle) handle).invokeExact(target, value);
+					return;
+				}
+				catch (Throwable ex) {
+					throw new InvocationTargetException(ex);
+				}
+			}
+			ReflectionUtils.makeAccessible(writeMethod);
+			writeMethod.invoke(target, value);
+		}
+
+		@Override
+		public String toString() {
+			return "PropertyHandle '" + getName() + "' [" + this.id + "]";
+		}
+
+		private static Object unreflect(Method method, MethodType type) {
+			try {
+				ReflectionUtils.makeAccessible(method);
+				if (Modifier.isStatic(method.getModifiers())) {
+					// Static accessor methods ignore the target instance: keep using reflection
+					return NO_HANDLE;
+				}
+				// Fixed arity: a varargs setter receives the converted array as-is
+				return MethodHandles.lookup().unreflect(method).asFixedArity().asType(type);
+			}
+			catch (IllegalAccessException | SecurityException ex) {
+				// Keep using reflection for this method
+				return NO_HANDLE;
+			}
+		}
+	}
+
+}
@@ -75,6 +75,11 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private AccessControlContext acc;
 
+	/**
+	 * Whether to invoke property methods through generated accessors
+	 */
+	private boolean useGeneratedAccessors = false;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -128,10 +133,12 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	 * @param object object wrapped by this BeanWrapper
 	 * @param nestedPath the nested path of the object
 	 * @param parent the containing BeanWrapper (must not be {@code null})
+	 * @since 5.1 (previously private)
 	 */
-	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
+	protected BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
 		setSecurityContext(parent.acc);
+		setUseGeneratedAccessors(parent.useGeneratedAccessors);
 	}
 
 
@@ -193,6 +200,27 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		return this.acc;
 	}
 
+	/**
+	 * Set whether to invoke the property methods of the wrapped instance through
+	 * accessor classes generated at runtime instead of through reflection.
+	 * <p>Default is "false". Switch this to "true" for wrappers that keep
+	 * populating instances of the same classes, e.g. for prototype beans.
+	 * Not applied when running with a security context.
+	 * @since 5.1
+	 * @see GeneratedAccessorUtils#invokeMethod
+	 */
+	public void setUseGeneratedAccessors(boolean useGeneratedAccessors) {
+		this.useGeneratedAccessors = useGeneratedAccessors;
+	}
+
+	/**
+	 * Return whether to invoke property methods through generated accessors.
+	 * @since 5.1
+	 */
+	public boolean isUseGeneratedAccessors() {
+		return this.useGeneratedAccessors;
+	}
+
 
 	/**
 	 * Convert the given value for the specified property to the latter's type.
@@ -226,7 +254,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 	@Override
 	@Nullable
-	protected BeanPropertyHandler getLocalPropertyHandler(String propertyName) {
+	protected PropertyHandler getLocalPropertyHandler(String propertyName) {
 		PropertyDescriptor pd = getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
 		return (pd != null ? new BeanPropertyHandler(pd) : null);
 	}
@@ -303,6 +331,9 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 					throw pae.getException();
 				}
 			}
+			else if (BeanWrapperImpl.this.useGeneratedAccessors) {
+				return GeneratedAccessorUtils.invokeMethod(readMethod, getWrappedInstance());
+			}
 			else {
 				ReflectionUtils.makeAccessible(readMethod);
 				return readMethod.invoke(getWrappedInstance(), (Object[]) null);
@@ -327,6 +358,9 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 					throw ex.getException();
 				}
 			}
+			else if (BeanWrapperImpl.this.useGeneratedAccessors) {
+				GeneratedAccessorUtils.invokeMethod(writeMethod, getWrappedInstance(), new Object[] {value});
+			}
 			else {
 				ReflectionUtils.makeAccessible(writeMethod);
 				writeMethod.invoke(getWrappedInstance(), value);
@@ -155,6 +155,7 @@ public class CachedIntrospectionResults {
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
 		softClassCache.keySet().removeIf(beanClass ->
 				isUnderneathClassLoader(beanClass.getClassLoader(), classLoader));
+		BeanPropertyTable.clearClassLoader(classLoader);
 	}
 
 	/**
@@ -214,7 +215,7 @@ public class CachedIntrospectionResults {
 	 * @param candidate the candidate ClassLoader to check
 	 * @param parent the parent ClassLoader to check for
 	 */
-	private static boolean isUnderneathClassLoader(@Nullable ClassLoader candidate, @Nullable ClassLoader parent) {
+	static boolean isUnderneathClassLoader(@Nullable ClassLoader candidate, @Nullable ClassLoader parent) {
 		if (candidate == parent) {
 			return true;
 		}
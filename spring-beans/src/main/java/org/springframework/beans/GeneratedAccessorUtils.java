@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.springframework.cglib.core.CodeGenerationException;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastConstructor;
+import org.springframework.cglib.reflect.FastMember;
+import org.springframework.cglib.reflect.FastMethod;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Static convenience methods for invoking constructors and methods through
+ * accessor classes generated at runtime, as an alternative to reflection for
+ * bean instantiation and property injection on hot code paths.
+ *
+ * <p>Accessors are generated with CGLIB's {@link FastClass} (on top of the
+ * repackaged ASM) once per declaring class and cached, with each invocation
+ * being a plain indexed dispatch to the target member. Members which are not
+ * publicly accessible, members of JDK and Kotlin classes as well as any
+ * invocation with arguments not assignable to the parameter types fall back
+ * to regular reflection, with the same exception semantics as before.
+ *
+ * <p>Mainly for internal use within the framework.
+ *
+ * @since 5.1
+ * @see BeanWrapperImpl#setUseGeneratedAccessors
+ * @see org.springframework.beans.factory.support.GeneratedInstantiationStrategy
+ */
+public abstract class GeneratedAccessorUtils {
+
+	/** Marker for members that cannot be accessed through a generated accessor */
+	private static final Object NO_ACCESSOR = new Object();
+
+	private static final Map<Class<?>, Object> fastClassCache = new ConcurrentReferenceHashMap<>(64);
+
+	private static final Map<Member, Object> accessorCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	/**
+	 * Instantiate a class using the given constructor, through a generated
+	 * accessor if possible.
+	 * @param ctor the constructor to instantiate
+	 * @param args the constructor arguments to apply
+	 * @return the new instance
+	 * @throws BeanInstantiationException if the bean cannot be instantiated
+	 * @see BeanUtils#instantiateClass(Constructor, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T instantiateClass(Constructor<T> ctor, Object... args) throws BeanInstantiationException {
+		Assert.notNull(ctor, "Constructor must not be null");
+		Object accessor = getAccessor(ctor);
+		if (accessor instanceof FastConstructor && isAssignable(ctor.getParameterTypes(), args)) {
+			try {
+				return (T) ((FastConstructor) accessor).newInstance(args);
+			}
+			catch (InvocationTargetException ex) {
+				throw new BeanInstantiationException(ctor, "Constructor threw exception", ex.getTargetException());
+			}
+		}
+		return BeanUtils.instantiateClass(ctor, args);
+	}
+
+	/**
+	 * Invoke the given method on the supplied target, through a generated
+	 * accessor if possible.
+	 * @param method the method to invoke
+	 * @param target the target object to invoke the method on
+	 * (or {@code null} for a static method)
+	 * @param args the method arguments to apply
+	 * @return the invocation result, if any
+	 * @throws IllegalAccessException if a reflective fallback failed to access the method
+	 * @throws InvocationTargetException if the method threw an exception
+	 * @see Method#invoke
+	 */
+	@Nullable
+	public static Object invokeMethod(Method method, @Nullable Object target, Object... args)
+			throws IllegalAccessException, InvocationTargetException {
+
+		Assert.notNull(method, "Method must not be null");
+		Object accessor = getAccessor(method);
+		if (accessor instanceof FastMethod && (target != null || Modifier.isStatic(method.getModifiers())) &&
+				isAssignable(method.getParameterTypes(), args)) {
+			return ((FastMethod) accessor).invoke(target, args);
+		}
+		ReflectionUtils.makeAccessible(method);
+		return method.invoke(target, args);
+	}
+
+	/**
+	 * Clear the internal accessor cache, e.g. when shutting down an
+	 * application in a shared ClassLoader.
+	 */
+	public static void clearCache() {
+		accessorCache.clear();
+		fastClassCache.clear();
+	}
+
+
+	private static Object getAccessor(Member member) {
+		Object accessor = accessorCache.get(member);
+		if (accessor == null) {
+			accessor = NO_ACCESSOR;
+			FastClass fastClass = getFastClass(member);
+			if (fastClass != null) {
+				FastMember fastMember = (member instanceof Constructor ?
+						fastClass.getConstructor((Constructor<?>) member) : fastClass.getMethod((Method) member));
+				if (fastMember.getIndex() >= 0) {
+					accessor = fastMember;
+				}
+			}
+			accessorCache.put(member, accessor);
+		}
+		return accessor;
+	}
+
+	@Nullable
+	private static FastClass getFastClass(Member member) {
+		Class<?> declaringClass = member.getDeclaringClass();
+		if (!Modifier.isPublic(member.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()) ||
+				(member instanceof Constructor && Modifier.isAbstract(declaringClass.getModifiers()))) {
+			return null;
+		}
+		Object fastClass = fastClassCache.get(declaringClass);
+		if (fastClass == null) {
+			fastClass = NO_ACCESSOR;
+			ClassLoader classLoader = declaringClass.getClassLoader();
+			if (classLoader != null && !declaringClass.getName().startsWith("java.") &&
+					!KotlinDetector.isKotlinType(declaringClass)) {
+				try {
+					fastClass = FastClass.create(classLoader, declaringClass);
+				}
+				catch (CodeGenerationException | LinkageError ex) {
+					// Cannot generate an accessor class for this type: keep using reflection.
+				}
+			}
+			fastClassCache.put(declaringClass, fastClass);
+		}
+		return (fastClass instanceof FastClass ? (FastClass) fastClass : null);
+	}
+
+	private static boolean isAssignable(Class<?>[] paramTypes, @Nullable Object[] args) {
+		int argCount = (args != null ? args.length : 0);
+		if (paramTypes.length != argCount) {
+			return false;
+		}
+		for (int i = 0; i < argCount; i++) {
+			if (!ClassUtils.isAssignableValue(paramTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.springframework.beans.BeanPropertyTable.PropertyHandle;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BeanWrapperImpl} variant which accesses properties through a
+ * precomputed {@link BeanPropertyTable}, invoking property methods through
+ * {@link java.lang.invoke.MethodHandle MethodHandles} and reusing the
+ * property handlers and type descriptors for every access to the same property.
+ *
+ * <p>In addition to the regular property path based methods, this wrapper
+ * allows for accessing local properties by their {@link BeanPropertyTable}
+ * id, for callers which resolve property names upfront and then keep
+ * populating many instances of the same class (e.g. row mappers).
+ *
+ * <p>Falls back to the regular {@link BeanWrapperImpl} behavior when running
+ * with a SecurityManager.
+ *
+ * @since 5.1
+ * @see BeanPropertyTable
+ */
+public class MethodHandleBeanWrapper extends BeanWrapperImpl {
+
+	@Nullable
+	private BeanPropertyTable propertyTable;
+
+	@Nullable
+	private PropertyHandler[] propertyHandlers;
+
+
+	/**
+	 * Create a new empty MethodHandleBeanWrapper. Wrapped instance needs to be set afterwards.
+	 * @see #setWrappedInstance
+	 */
+	public MethodHandleBeanWrapper() {
+		super();
+	}
+
+	/**
+	 * Create a new MethodHandleBeanWrapper for the given object.
+	 * @param object object wrapped by this BeanWrapper
+	 */
+	public MethodHandleBeanWrapper(Object object) {
+		super(object);
+	}
+
+	/**
+	 * Create a new MethodHandleBeanWrapper, wrapping a new instance of the specified class.
+	 * @param clazz class to instantiate and wrap
+	 */
+	public MethodHandleBeanWrapper(Class<?> clazz) {
+		super(clazz);
+	}
+
+	/**
+	 * Create a new MethodHandleBeanWrapper for the given object,
+	 * registering a nested path that the object is in.
+	 * @param object object wrapped by this BeanWrapper
+	 * @param nestedPath the nested path of the object
+	 * @param parent the containing BeanWrapper (must not be {@code null})
+	 */
+	protected MethodHandleBeanWrapper(Object object, String nestedPath, MethodHandleBeanWrapper parent) {
+		super(object, nestedPath, parent);
+	}
+
+
+	@Override
+	protected void setIntrospectionClass(Class<?> clazz) {
+		super.setIntrospectionClass(clazz);
+		if (this.propertyTable != null && this.propertyTable.getBeanClass() != clazz) {
+			this.propertyTable = null;
+			this.propertyHandlers = null;
+		}
+	}
+
+	/**
+	 * Return the property table for the wrapped object's class.
+	 */
+	public BeanPropertyTable getPropertyTable() {
+		if (this.propertyTable == null) {
+			this.propertyTable = BeanPropertyTable.forClass(getWrappedClass());
+		}
+		return this.propertyTable;
+	}
+
+	/**
+	 * Get the current value of the local property with the given id.
+	 * @param propertyId the id of the property, as determined through
+	 * {@link BeanPropertyTable#getPropertyId} on {@link #getPropertyTable()}
+	 * @return the value of the property
+	 * @throws NotReadablePropertyException if the property is not readable
+	 * @throws InvalidPropertyException if the property's getter threw an exception
+	 */
+	@Nullable
+	public Object getPropertyValue(int propertyId) throws BeansException {
+		PropertyHandler ph = getPropertyHandler(propertyId);
+		String propertyName = getPropertyTable().getProperty(propertyId).getName();
+		if (!ph.isReadable()) {
+			throw new NotReadablePropertyException(getRootClass(), getNestedPath() + propertyName);
+		}
+		try {
+			return ph.getValue();
+		}
+		catch (InvocationTargetException ex) {
+			throw new InvalidPropertyException(getRootClass(), getNestedPath() + propertyName,
+					"Getter for property '" + propertyName + "' threw exception", ex);
+		}
+		catch (Exception ex) {
+			throw new InvalidPropertyException(getRootClass(), getNestedPath() + propertyName,
+					"Illegal attempt to get property '" + propertyName + "' threw exception", ex);
+		}
+	}
+
+	/**
+	 * Set the value of the local property with the given id,
+	 * with the same type conversion as {@link #setPropertyValue(String, Object)}.
+	 * @param propertyId the id of the property, as determined through
+	 * {@link BeanPropertyTable#getPropertyId} on {@link #getPropertyTable()}
+	 * @param value the new value
+	 * @throws NotWritablePropertyException if the property is not writable
+	 * @throws TypeMismatchException if type conversion failed
+	 * @throws MethodInvocationException if the property's setter threw an exception
+	 */
+	public void setPropertyValue(int propertyId, @Nullable Object value) throws BeansException {
+		PropertyHandler ph = getPropertyHandler(propertyId);
+		String propertyName = getPropertyTable().getProperty(propertyId).getName();
+		if (!ph.isWritable()) {
+			throw createNotWritablePropertyException(propertyName);
+		}
+		applyLocalPropertyValue(ph, propertyName, new PropertyValue(propertyName, value));
+	}
+
+	@Override
+	@Nullable
+	protected PropertyHandler getLocalPropertyHandler(String propertyName) {
+		if (System.getSecurityManager() != null) {
+			return super.getLocalPropertyHandler(propertyName);
+		}
+		int propertyId = getPropertyTable().getPropertyId(propertyName);
+		return (propertyId >= 0 ? getPropertyHandler(propertyId) : null);
+	}
+
+	private PropertyHandler getPropertyHandler(int propertyId) {
+		BeanPropertyTable table = getPropertyTable();
+		if (System.getSecurityManager() != null) {
+			PropertyHandler ph = super.getLocalPropertyHandler(table.getProperty(propertyId).getName());
+			Assert.state(ph != null, "Property table out of sync with introspection results");
+			return ph;
+		}
+		PropertyHandler[] handlers = this.propertyHandlers;
+		if (handlers == null) {
+			handlers = new PropertyHandler[table.getPropertyCount()];
+			this.propertyHandlers = handlers;
+		}
+		PropertyHandler ph = handlers[propertyId];
+		if (ph == null) {
+			ph = new MethodHandlePropertyHandler(table.getProperty(propertyId));
+			handlers[propertyId] = ph;
+		}
+		return ph;
+	}
+
+	@Override
+	protected MethodHandleBeanWrapper newNestedPropertyAccessor(Object object, String nestedPath) {
+		return new MethodHandleBeanWrapper(object, nestedPath, this);
+	}
+
+
+	private class MethodHandlePropertyHandler extends PropertyHandler {
+
+		private final PropertyHandle handle;
+
+		public MethodHandlePropertyHandler(PropertyHandle handle) {
+			super(handle.getPropertyType(), handle.isReadable(), handle.isWritable());
+			this.handle = handle;
+		}
+
+		@Override
+		public ResolvableType getResolvableType() {
+			return ResolvableType.forMethodReturnType(this.handle.getPropertyDescriptor().getReadMethod());
+		}
+
+		@Override
+		public TypeDescriptor toTypeDescriptor() {
+			return this.handle.getTypeDescriptor();
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor nested(int level) {
+			return TypeDescriptor.nested(this.handle.getProperty(), level);
+		}
+
+		@Override
+		@Nullable
+		public Object getValue() throws Exception {
+			return this.handle.getValue(getWrappedInstance());
+		}
+
+		@Override
+		public void setValue(@Nullable Object value) throws Exception {
+			this.handle.setValue(getWrappedInstance(), value);
+		}
+	}
+
+}
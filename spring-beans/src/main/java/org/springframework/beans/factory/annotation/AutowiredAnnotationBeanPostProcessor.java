@@ -39,6 +39,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.GeneratedAccessorUtils;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
@@ -51,6 +52,7 @@ import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.beans.factory.support.AbstractAutowireCapableBeanFactory;
 import org.springframework.beans.factory.support.LookupOverride;
 import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -58,8 +60,8 @@ import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
-import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.MergedAnnotationMetadata;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -625,8 +627,9 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 	@Nullable
 	private AnnotationAttributes findAutowiredAnnotation(AccessibleObject ao) {
 		if (ao.getAnnotations().length > 0) {
+			MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ao);
 			for (Class<? extends Annotation> type : this.autowiredAnnotationTypes) {
-				AnnotationAttributes attributes = AnnotatedElementUtils.getMergedAnnotationAttributes(ao, type);
+				AnnotationAttributes attributes = metadata.getAttributes(type);
 				if (attributes != null) {
 					return attributes;
 				}
@@ -883,8 +886,14 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 			}
 			if (arguments != null) {
 				try {
-					ReflectionUtils.makeAccessible(method);
-					method.invoke(bean, arguments);
+					if (beanFactory instanceof AbstractAutowireCapableBeanFactory &&
+							((AbstractAutowireCapableBeanFactory) beanFactory).isUseGeneratedAccessors()) {
+						GeneratedAccessorUtils.invokeMethod(method, bean, arguments);
+					}
+					else {
+						ReflectionUtils.makeAccessible(method);
+						method.invoke(bean, arguments);
+					}
 				}
 				catch (InvocationTargetException ex){
 					throw ex.getTargetException();
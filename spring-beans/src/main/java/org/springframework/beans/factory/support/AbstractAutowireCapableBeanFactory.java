@@ -75,6 +75,7 @@ import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -136,6 +137,9 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	private boolean allowRawInjectionDespiteWrapping = false;
 
+	/** Whether to populate bean properties through generated accessors */
+	private boolean useGeneratedAccessors = false;
+
 	/**
 	 * Dependency types to ignore on dependency check and autowire, as Set of
 	 * Class objects: for example, String. Default is none.
@@ -251,6 +255,32 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		this.allowRawInjectionDespiteWrapping = allowRawInjectionDespiteWrapping;
 	}
 
+	/**
+	 * Set whether to populate bean properties through accessor classes generated
+	 * at runtime instead of through reflective setter invocations.
+	 * <p>This also applies to {@code @Autowired} methods invoked by an
+	 * {@link org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor}.
+	 * {@code @Autowired} fields keep being set through {@link java.lang.reflect.Field}
+	 * access, since a generated class cannot write private fields of another class.
+	 * <p>Default is "false". Turn this on for bean factories that keep creating
+	 * instances of the same bean classes, e.g. prototype or request-scoped beans,
+	 * typically along with a {@link GeneratedInstantiationStrategy}.
+	 * @since 5.1
+	 * @see org.springframework.beans.BeanWrapperImpl#setUseGeneratedAccessors
+	 * @see #setInstantiationStrategy
+	 */
+	public void setUseGeneratedAccessors(boolean useGeneratedAccessors) {
+		this.useGeneratedAccessors = useGeneratedAccessors;
+	}
+
+	/**
+	 * Return whether to populate bean properties through generated accessors.
+	 * @since 5.1
+	 */
+	public boolean isUseGeneratedAccessors() {
+		return this.useGeneratedAccessors;
+	}
+
 	/**
 	 * Ignore the given dependency type for autowiring:
 	 * for example, String. Default is none.
@@ -281,6 +311,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 					(AbstractAutowireCapableBeanFactory) otherFactory;
 			this.instantiationStrategy = otherAutowireFactory.instantiationStrategy;
 			this.allowCircularReferences = otherAutowireFactory.allowCircularReferences;
+			this.useGeneratedAccessors = otherAutowireFactory.useGeneratedAccessors;
 			this.ignoredDependencyTypes.addAll(otherAutowireFactory.ignoredDependencyTypes);
 			this.ignoredDependencyInterfaces.addAll(otherAutowireFactory.ignoredDependencyInterfaces);
 		}
@@ -460,6 +491,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	// Implementation of relevant AbstractBeanFactory template methods
 	//---------------------------------------------------------------------
 
+	/**
+	 * Initialize the given BeanWrapper as in the superclass, additionally
+	 * switching it to generated accessors if configured for this factory.
+	 * @see #setUseGeneratedAccessors
+	 */
+	@Override
+	protected void initBeanWrapper(BeanWrapper bw) {
+		super.initBeanWrapper(bw);
+		if (this.useGeneratedAccessors && bw instanceof BeanWrapperImpl) {
+			((BeanWrapperImpl) bw).setUseGeneratedAccessors(true);
+		}
+	}
+
 	/**
 	 * 真正创建Bean的方法
 	 * Central method of this class: creates a bean instance,
@@ -470,6 +514,21 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	protected Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
 			throws BeanCreationException {
 
+		StartupStep beanCreation = getApplicationStartup().start("spring.beans.instantiate").tag("beanName", beanName);
+		try {
+			return createBeanInternal(beanName, mbd, args);
+		}
+		finally {
+			beanCreation.end();
+		}
+	}
+
+	/**
+	 * Create the bean instance, recorded as a startup step by {@link #createBean}.
+	 */
+	private Object createBeanInternal(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
+			throws BeanCreationException {
+
 		if (logger.isDebugEnabled()) {
 			logger.debug("Creating instance of bean '" + beanName + "'");
 		}
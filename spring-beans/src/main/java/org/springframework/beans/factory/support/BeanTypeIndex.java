@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Incrementally maintained index of bean definition names by type, covering
+ * all superclasses and interfaces of each bean's type. Used by
+ * {@link DefaultListableBeanFactory} to narrow down the bean definitions to
+ * check in a by-type lookup, instead of scanning all bean definitions.
+ *
+ * <p>Each bean name is either <i>indexed</i> under a set of types,
+ * <i>unindexed</i> (its type cannot be determined upfront, e.g. for a
+ * FactoryBean) or <i>stale</i> (to be re-evaluated on next lookup).
+ * Unindexed and stale bean names are always part of the candidates,
+ * so the candidates are a superset of the actual matches at any time.
+ *
+ * <p>All modifications are guarded by the index itself, whereas candidate
+ * retrieval is non-blocking. Callers are expected to determine a bean's types
+ * outside of any lock and to hand them in through {@link #update}, with the
+ * stamp obtained from {@link #getStaleBeanNames()} detecting any concurrent
+ * invalidation in the meantime.
+ *
+ * @since 5.1
+ */
+final class BeanTypeIndex {
+
+	/** Registration order of bean names, for sorting candidates accordingly */
+	private final Map<String, Integer> registrationOrder = new ConcurrentHashMap<>(256);
+
+	/** Indexed types, keyed by bean name */
+	private final Map<String, Set<Class<?>>> typesByBeanName = new ConcurrentHashMap<>(256);
+
+	/** Indexed bean names, keyed by type */
+	private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>(256);
+
+	/** Bean names to consider for any type */
+	private final Set<String> unindexedBeanNames = ConcurrentHashMap.newKeySet();
+
+	/** Bean names to re-evaluate, mapped to the stamp of their invalidation */
+	private final Map<String, Integer> staleBeanNames = new ConcurrentHashMap<>(256);
+
+	private int registrationCounter;
+
+	private int staleCounter;
+
+
+	/**
+	 * Register the given bean name, to be evaluated on next lookup.
+	 * Keeps the registration order of an already registered bean name.
+	 */
+	public synchronized void register(String beanName) {
+		if (!this.registrationOrder.containsKey(beanName)) {
+			this.registrationOrder.put(beanName, this.registrationCounter++);
+		}
+		markStale(beanName);
+	}
+
+	/**
+	 * Remove the given bean name from the index.
+	 */
+	public synchronized void remove(String beanName) {
+		this.registrationOrder.remove(beanName);
+		this.staleBeanNames.remove(beanName);
+		this.unindexedBeanNames.remove(beanName);
+		removeTypes(beanName);
+	}
+
+	/**
+	 * Mark the given bean name as stale, to be re-evaluated on next lookup.
+	 * Ignored for bean names which have not been registered.
+	 */
+	public synchronized void markStale(String beanName) {
+		if (this.registrationOrder.containsKey(beanName)) {
+			// Register as stale before removing the index entries: non-blocking readers
+			// need to see the bean name as candidate at any point in time.
+			this.staleBeanNames.put(beanName, ++this.staleCounter);
+			this.unindexedBeanNames.remove(beanName);
+			removeTypes(beanName);
+		}
+	}
+
+	/**
+	 * Mark all registered bean names as stale.
+	 */
+	public synchronized void markAllStale() {
+		for (String beanName : this.registrationOrder.keySet()) {
+			markStale(beanName);
+		}
+	}
+
+	/**
+	 * Return the currently stale bean names, mapped to their invalidation stamp.
+	 * @see #update
+	 */
+	public Map<String, Integer> getStaleBeanNames() {
+		return this.staleBeanNames;
+	}
+
+	/**
+	 * Update the index entry for the given stale bean name, unless it has been
+	 * invalidated again in the meantime.
+	 * @param beanName the name of the bean
+	 * @param stamp the invalidation stamp as obtained from {@link #getStaleBeanNames()}
+	 * @param types the types to index the bean under (typically its full type
+	 * hierarchy as built by {@link #addTypeHierarchy}), or {@code null} if the
+	 * bean needs to be considered for any type
+	 */
+	public synchronized void update(String beanName, Integer stamp, @Nullable Set<Class<?>> types) {
+		if (!stamp.equals(this.staleBeanNames.get(beanName))) {
+			return;
+		}
+		if (types != null) {
+			for (Class<?> type : types) {
+				this.beanNamesByType.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).add(beanName);
+			}
+			this.typesByBeanName.put(beanName, types);
+		}
+		else {
+			this.unindexedBeanNames.add(beanName);
+		}
+		this.staleBeanNames.remove(beanName);
+	}
+
+	/**
+	 * Return the names of all beans that might match the given type,
+	 * in registration order.
+	 * @param type the raw type to match
+	 */
+	public List<String> getCandidateBeanNames(Class<?> type) {
+		Set<String> candidates = new HashSet<>(this.staleBeanNames.keySet());
+		candidates.addAll(this.unindexedBeanNames);
+		Set<String> indexed = this.beanNamesByType.get(type);
+		if (indexed != null) {
+			candidates.addAll(indexed);
+		}
+		List<String> result = new ArrayList<>(candidates.size());
+		for (String beanName : candidates) {
+			// Skip bean names removed in the meantime
+			if (this.registrationOrder.containsKey(beanName)) {
+				result.add(beanName);
+			}
+		}
+		result.sort((name1, name2) -> {
+			Integer order1 = this.registrationOrder.get(name1);
+			Integer order2 = this.registrationOrder.get(name2);
+			return Integer.compare(order1 != null ? order1 : Integer.MAX_VALUE,
+					order2 != null ? order2 : Integer.MAX_VALUE);
+		});
+		return result;
+	}
+
+	private void removeTypes(String beanName) {
+		Set<Class<?>> types = this.typesByBeanName.remove(beanName);
+		if (types != null) {
+			for (Class<?> type : types) {
+				Set<String> beanNames = this.beanNamesByType.get(type);
+				if (beanNames != null) {
+					beanNames.remove(beanName);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Add the given type along with all of its superclasses (except for
+	 * {@code Object}) and all of its interfaces to the given set of types.
+	 */
+	public static void addTypeHierarchy(Class<?> type, Set<Class<?>> types) {
+		Class<?> current = type;
+		while (current != null && current != Object.class) {
+			if (types.add(current)) {
+				for (Class<?> ifc : current.getInterfaces()) {
+					addTypeHierarchy(ifc, types);
+				}
+			}
+			current = current.getSuperclass();
+		}
+	}
+
+}
@@ -30,7 +30,10 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -40,10 +43,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -64,10 +72,14 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -149,6 +161,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Nullable
 	private Comparator<Object> dependencyComparator;
 
+	/** Optional pool for pre-instantiating independent singletons in parallel */
+	@Nullable
+	private ForkJoinPool preInstantiationPool;
+
 	/** Resolver to use for checking if a bean definition is an autowire candidate */
 	private AutowireCandidateResolver autowireCandidateResolver = new SimpleAutowireCandidateResolver();
 
@@ -168,6 +184,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Index of bean definition names by type, narrowing down by-type lookups */
+	private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
 	/** List of bean definition names, in registration order */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -181,6 +200,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans */
 	private volatile boolean configurationFrozen = false;
 
+	/** Precomputed lookup table for bean retrieval in case of frozen configuration */
+	@Nullable
+	private volatile FrozenBeanLookup frozenBeanLookup;
+
+	/** Version of the bean registrations that a frozen bean lookup table is valid for */
+	private final AtomicInteger frozenBeanLookupVersion = new AtomicInteger();
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -284,6 +310,36 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.dependencyComparator;
 	}
 
+	/**
+	 * Set a {@link ForkJoinPool} for pre-instantiating singletons in parallel.
+	 * <p>Default is none, creating all non-lazy singletons one after another
+	 * on the calling thread. If a pool is specified, the singletons are grouped
+	 * by their declared dependencies ("depends-on" as well as bean references in
+	 * constructor arguments and property values), and independent groups are
+	 * instantiated concurrently. Dependencies which only become known at
+	 * creation time, e.g. through autowiring, are still resolved safely since
+	 * every singleton is created under a lock of its own in that mode.
+	 * <p>Only worth it for contexts with a considerable number of singletons
+	 * which are expensive to initialize, e.g. through I/O in init methods.
+	 * All singleton beans need to be safe for initialization in a thread other
+	 * than the one which refreshes the factory.
+	 * @since 5.1
+	 * @see #preInstantiateSingletons()
+	 * @see #setConcurrentSingletonCreation
+	 */
+	public void setPreInstantiationPool(@Nullable ForkJoinPool preInstantiationPool) {
+		this.preInstantiationPool = preInstantiationPool;
+	}
+
+	/**
+	 * Return the pool for pre-instantiating singletons in parallel, if any.
+	 * @since 5.1
+	 */
+	@Nullable
+	public ForkJoinPool getPreInstantiationPool() {
+		return this.preInstantiationPool;
+	}
+
 	/**
 	 * Set a custom autowire candidate resolver for this BeanFactory to use
 	 * when deciding whether a bean definition should be considered as a
@@ -321,6 +377,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.preInstantiationPool = otherListableFactory.preInstantiationPool;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well...
@@ -328,6 +385,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Re-evaluates the type index if the given post-processor may affect
+	 * the prediction of bean types.
+	 */
+	@Override
+	public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
+		super.addBeanPostProcessor(beanPostProcessor);
+		if (beanPostProcessor instanceof SmartInstantiationAwareBeanPostProcessor) {
+			this.beanTypeIndex.markAllStale();
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of remaining BeanFactory methods
@@ -351,6 +420,142 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		throw new NoSuchBeanDefinitionException(requiredType);
 	}
 
+	/**
+	 * Serves singleton and prototype beans from a precomputed lookup table once
+	 * the configuration has been frozen, without name canonicalization, merged
+	 * bean definition retrieval or any synchronization on the singleton registry.
+	 * Falls back to the regular retrieval algorithm for anything else, e.g. for
+	 * beans in other scopes, factory dereferences or explicit arguments.
+	 * @see #freezeConfiguration()
+	 */
+	@Override
+	protected <T> T doGetBean(String name, @Nullable Class<T> requiredType,
+			@Nullable Object[] args, boolean typeCheckOnly) throws BeansException {
+
+		if (this.configurationFrozen && args == null && !typeCheckOnly) {
+			Object bean = getBeanFromFrozenLookup(name);
+			if (bean != null) {
+				return adaptBeanInstance(name, bean, requiredType);
+			}
+		}
+		return super.doGetBean(name, requiredType, args, typeCheckOnly);
+	}
+
+	/**
+	 * Obtain the bean with the given name (or alias) from the frozen bean lookup table.
+	 * @param name the name of the bean to retrieve
+	 * @return the bean instance, or {@code null} if the regular retrieval algorithm
+	 * needs to be used for the given bean
+	 */
+	@Nullable
+	private Object getBeanFromFrozenLookup(String name) {
+		int version = this.frozenBeanLookupVersion.get();
+		FrozenBeanLookup lookup = this.frozenBeanLookup;
+		if (lookup == null || lookup.version != version) {
+			lookup = buildFrozenBeanLookup(version);
+			this.frozenBeanLookup = lookup;
+		}
+		FrozenBeanEntry entry = lookup.entries.get(name);
+		if (entry == null) {
+			return null;
+		}
+
+		String beanName = entry.beanName;
+		if (entry.singleton) {
+			Object singletonInstance = entry.singletonInstance;
+			if (singletonInstance == null) {
+				// Only pick up fully initialized singletons, never early references.
+				if (isSingletonCurrentlyInCreation(beanName)) {
+					return null;
+				}
+				singletonInstance = getSingleton(beanName, false);
+				if (singletonInstance == null) {
+					return null;
+				}
+				entry.singletonInstance = singletonInstance;
+			}
+			return getObjectForBeanInstance(singletonInstance, name, beanName, null);
+		}
+
+		RootBeanDefinition mbd = entry.prototypeDefinition;
+		if (mbd == null) {
+			// Only take over once the bean has been created through the regular algorithm,
+			// with its depends-on relationships checked and its merged definition stable.
+			if (!super.isBeanEligibleForMetadataCaching(beanName)) {
+				return null;
+			}
+			mbd = getMergedLocalBeanDefinition(beanName);
+			if (!mbd.isPrototype()) {
+				return null;
+			}
+			entry.prototypeDefinition = mbd;
+		}
+		if (isPrototypeCurrentlyInCreation(beanName)) {
+			return null;
+		}
+		try {
+			String[] dependsOn = mbd.getDependsOn();
+			if (dependsOn != null) {
+				for (String dep : dependsOn) {
+					getBean(dep);
+				}
+			}
+			Object prototypeInstance;
+			try {
+				beforePrototypeCreation(beanName);
+				prototypeInstance = createBean(beanName, mbd, null);
+			}
+			finally {
+				afterPrototypeCreation(beanName);
+			}
+			return getObjectForBeanInstance(prototypeInstance, name, beanName, mbd);
+		}
+		catch (BeansException ex) {
+			cleanupAfterBeanCreationFailure(beanName);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Build a lookup table for all singleton and prototype beans in this factory,
+	 * keyed by bean name as well as by alias.
+	 */
+	private FrozenBeanLookup buildFrozenBeanLookup(int version) {
+		Map<String, FrozenBeanEntry> entries = new HashMap<>(this.beanDefinitionMap.size() * 2);
+		for (String beanName : this.beanDefinitionNames) {
+			RootBeanDefinition mbd;
+			try {
+				mbd = getMergedLocalBeanDefinition(beanName);
+			}
+			catch (BeansException ex) {
+				// Leave it up to the regular retrieval algorithm to report the failure.
+				continue;
+			}
+			if (!mbd.isAbstract() && (mbd.isSingleton() || mbd.isPrototype())) {
+				addFrozenBeanEntry(entries, new FrozenBeanEntry(beanName, mbd.isSingleton()));
+			}
+		}
+		for (String beanName : this.manualSingletonNames) {
+			addFrozenBeanEntry(entries, new FrozenBeanEntry(beanName, true));
+		}
+		return new FrozenBeanLookup(version, entries);
+	}
+
+	private void addFrozenBeanEntry(Map<String, FrozenBeanEntry> entries, FrozenBeanEntry entry) {
+		entries.put(entry.beanName, entry);
+		for (String alias : getAliases(entry.beanName)) {
+			entries.put(alias, entry);
+		}
+	}
+
+	/**
+	 * Invalidate the frozen bean lookup table, to be rebuilt on next access.
+	 */
+	private void clearFrozenBeanLookup() {
+		this.frozenBeanLookupVersion.incrementAndGet();
+		this.frozenBeanLookup = null;
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of ListableBeanFactory interface
@@ -409,8 +614,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions that might match the given type.
+		for (String beanName : getCandidateBeanNamesForType(type, allowEagerInit)) {
 			// Only consider bean as eligible if the bean name
 			// is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
@@ -491,6 +696,87 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the names of all bean definitions that might match the given type,
+	 * in registration order: either the candidates from the type index or, if the
+	 * type cannot be matched through its raw class, all bean definition names.
+	 * <p>Brings the type index up to date for all stale bean definitions first,
+	 * not determining the types of any beans that a lookup with the given
+	 * {@code allowEagerInit} flag would not check either.
+	 * @param type the type to match
+	 * @param allowEagerInit whether type determination may trigger eager initialization
+	 */
+	private Collection<String> getCandidateBeanNamesForType(ResolvableType type, boolean allowEagerInit) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || rawType == Object.class || rawType.isArray() || rawType.isPrimitive() ||
+				getTempClassLoader() != null) {
+			return this.beanDefinitionNames;
+		}
+		for (Map.Entry<String, Integer> entry : this.beanTypeIndex.getStaleBeanNames().entrySet()) {
+			String beanName = entry.getKey();
+			if (allowEagerInit || isTypeDeterminationWithoutEagerInitPossible(beanName)) {
+				this.beanTypeIndex.update(beanName, entry.getValue(), determineIndexedTypes(beanName));
+			}
+		}
+		return this.beanTypeIndex.getCandidateBeanNames(rawType);
+	}
+
+	/**
+	 * Check whether the type of the specified bean can be determined without
+	 * eager initialization, following the rules of a non-eager by-type lookup.
+	 */
+	private boolean isTypeDeterminationWithoutEagerInitPossible(String beanName) {
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			return ((mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
+					!requiresEagerInitForType(mbd.getFactoryBeanName()));
+		}
+		catch (BeansException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Determine the types to index the specified bean under: the type hierarchy
+	 * of its predicted type as well as of its singleton instance, if any.
+	 * @param beanName the name of the bean
+	 * @return the types to index, or {@code null} if the bean needs to be checked
+	 * for any type (e.g. a FactoryBean or a bean whose type cannot be predicted)
+	 */
+	@Nullable
+	private Set<Class<?>> determineIndexedTypes(String beanName) {
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract()) {
+				return Collections.emptySet();
+			}
+			// Decorated definitions are matched against their target's type, and a singleton
+			// in creation might already expose an early reference of a different type.
+			if (mbd.getDecoratedDefinition() != null || isSingletonCurrentlyInCreation(beanName) ||
+					isFactoryBean(beanName, mbd)) {
+				return null;
+			}
+			Class<?> beanType = predictBeanType(beanName, mbd);
+			if (beanType == null || FactoryBean.class.isAssignableFrom(beanType)) {
+				return null;
+			}
+			Set<Class<?>> types = new HashSet<>();
+			BeanTypeIndex.addTypeHierarchy(beanType, types);
+			Object beanInstance = getSingleton(beanName, false);
+			if (beanInstance != null) {
+				if (beanInstance instanceof FactoryBean) {
+					return null;
+				}
+				BeanTypeIndex.addTypeHierarchy(beanInstance.getClass(), types);
+			}
+			return types;
+		}
+		catch (BeansException ex) {
+			// Leave it up to the by-type lookup to handle the failure.
+			return null;
+		}
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -704,12 +990,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		clearByTypeCache();
+		clearFrozenBeanLookup();
+		this.beanTypeIndex.markAllStale();
 	}
 
 	@Override
 	public void freezeConfiguration() {
 		this.configurationFrozen = true;
 		this.frozenBeanDefinitionNames = StringUtils.toStringArray(this.beanDefinitionNames);
+		clearFrozenBeanLookup();
 	}
 
 	@Override
@@ -743,53 +1032,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		/**
-		 * 触发所有的非延迟加载单例beans的初始化，主要步骤为调用getBean
-		 */
-		for (String beanName : beanNames) {
-			/**
-			 * 合并父BeanDefinition，以确保当前遍历的BeanDefinition如果设置了父BeanDefinition的话，
-			 * 最终的BeanDefinition描述的对象中可以包含父BeanDefinition描述的对象中的属性
-			 */
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			/**
-			 * bean对象被实例化的前提条件判断：
-			 * 1、不是抽象类
-			 * 2、是单例的对象
-			 * 3、不是延迟加载的
-			 */
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				/**
-				 * 判断Bean是否是FactoryBean
-				 */
-				if (isFactoryBean(beanName)) {
-					// 如果是FactoryBean则加上&
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					/**
-					 * 获取普通bean（非FactoryBean）
-					 * 如果要获取的bean已经被实例化过了，则直接返回，否则实例化
-					 * 所以是getBean而不是createBean
-					 */
-					getBean(beanName);
-				}
+		ForkJoinPool pool = this.preInstantiationPool;
+		if (pool != null) {
+			preInstantiateSingletonsInParallel(beanNames, pool);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -818,6 +1067,224 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * 触发所有的非延迟加载单例beans的初始化，主要步骤为调用getBean
+	 * Initialize the given bean if it is a non-lazy singleton.
+	 * @param beanName the name of the bean
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		/**
+		 * 合并父BeanDefinition，以确保当前遍历的BeanDefinition如果设置了父BeanDefinition的话，
+		 * 最终的BeanDefinition描述的对象中可以包含父BeanDefinition描述的对象中的属性
+		 */
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		/**
+		 * bean对象被实例化的前提条件判断：
+		 * 1、不是抽象类
+		 * 2、是单例的对象
+		 * 3、不是延迟加载的
+		 */
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			/**
+			 * 判断Bean是否是FactoryBean
+			 */
+			if (isFactoryBean(beanName)) {
+				// 如果是FactoryBean则加上&
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				if (bean instanceof FactoryBean) {
+					final FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+										((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			}
+			else {
+				/**
+				 * 获取普通bean（非FactoryBean）
+				 * 如果要获取的bean已经被实例化过了，则直接返回，否则实例化
+				 * 所以是getBean而不是createBean
+				 */
+				getBean(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Initialize the non-lazy singletons among the given beans in parallel,
+	 * with every group of singletons that depend on each other created
+	 * sequentially within a task of the given pool.
+	 * @param beanNames the names of the beans, in registration order
+	 * @param pool the pool to run the tasks with
+	 * @see #setPreInstantiationPool
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, ForkJoinPool pool) {
+		Collection<List<String>> groups = groupByDeclaredDependencies(beanNames);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Pre-instantiating " + groups.size() + " groups of singletons in parallel");
+		}
+		setConcurrentSingletonCreation(true);
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(groups.size());
+			for (List<String> group : groups) {
+				tasks.add(pool.submit(() -> group.forEach(this::preInstantiateSingleton)));
+			}
+			Throwable failure = null;
+			boolean interrupted = false;
+			boolean aborted = false;
+			for (ForkJoinTask<?> task : tasks) {
+				if (aborted) {
+					// Wait for running tasks to finish before turning off concurrent creation
+					failure = awaitPreInstantiationTask(task, failure);
+					continue;
+				}
+				try {
+					task.get();
+				}
+				catch (ExecutionException ex) {
+					failure = addPreInstantiationFailure(failure, ex.getCause());
+					aborted = (ex.getCause() instanceof Error);
+				}
+				catch (InterruptedException ex) {
+					interrupted = true;
+					failure = addPreInstantiationFailure(failure,
+							new BeanCreationException("Interrupted while waiting for singleton pre-instantiation", ex));
+					aborted = true;
+				}
+				if (aborted) {
+					for (ForkJoinTask<?> other : tasks) {
+						other.cancel(false);
+					}
+					if (interrupted) {
+						failure = awaitPreInstantiationTask(task, failure);
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			if (failure != null) {
+				throw (RuntimeException) failure;
+			}
+		}
+		finally {
+			setConcurrentSingletonCreation(false);
+		}
+	}
+
+	@Nullable
+	private static Throwable awaitPreInstantiationTask(ForkJoinTask<?> task, @Nullable Throwable failure) {
+		task.quietlyJoin();
+		Throwable ex = task.getException();
+		return (ex != null && !task.isCancelled() ? addPreInstantiationFailure(failure, ex) : failure);
+	}
+
+	private static Throwable addPreInstantiationFailure(@Nullable Throwable failure, Throwable ex) {
+		if (!(ex instanceof RuntimeException || ex instanceof Error)) {
+			ex = new BeanCreationException("Singleton pre-instantiation failed", ex);
+		}
+		if (failure == null) {
+			return ex;
+		}
+		failure.addSuppressed(ex);
+		return failure;
+	}
+
+	/**
+	 * Group the given beans by the dependencies declared in their bean definitions,
+	 * so that no bean of a group refers to a bean of another group.
+	 * @param beanNames the names of the beans, in registration order
+	 * @return the groups of bean names, each in registration order
+	 */
+	private Collection<List<String>> groupByDeclaredDependencies(List<String> beanNames) {
+		Map<String, String> groupRoots = new HashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			Set<String> dependencies = new LinkedHashSet<>();
+			collectReferencedBeanNames(getMergedLocalBeanDefinition(beanName), dependencies);
+			for (String dependency : dependencies) {
+				String root = findGroupRoot(groupRoots, transformedBeanName(dependency));
+				String ownRoot = findGroupRoot(groupRoots, beanName);
+				if (!root.equals(ownRoot)) {
+					groupRoots.put(root, ownRoot);
+				}
+			}
+		}
+		Map<String, List<String>> groups = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			groups.computeIfAbsent(findGroupRoot(groupRoots, beanName), key -> new ArrayList<>()).add(beanName);
+		}
+		return groups.values();
+	}
+
+	private static String findGroupRoot(Map<String, String> groupRoots, String beanName) {
+		String root = beanName;
+		String parent = groupRoots.get(root);
+		while (parent != null) {
+			root = parent;
+			parent = groupRoots.get(root);
+		}
+		if (!root.equals(beanName)) {
+			groupRoots.put(beanName, root);
+		}
+		return root;
+	}
+
+	private static void collectReferencedBeanNames(@Nullable Object value, Set<String> beanNames) {
+		if (value instanceof BeanReference) {
+			beanNames.add(((BeanReference) value).getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectReferencedBeanNames(((BeanDefinitionHolder) value).getBeanDefinition(), beanNames);
+		}
+		else if (value instanceof BeanDefinition) {
+			BeanDefinition bd = (BeanDefinition) value;
+			if (bd.getDependsOn() != null) {
+				Collections.addAll(beanNames, bd.getDependsOn());
+			}
+			if (bd.getFactoryBeanName() != null) {
+				beanNames.add(bd.getFactoryBeanName());
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+				collectReferencedBeanNames(valueHolder.getValue(), beanNames);
+			}
+			for (ConstructorArgumentValues.ValueHolder valueHolder : bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+				collectReferencedBeanNames(valueHolder.getValue(), beanNames);
+			}
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				collectReferencedBeanNames(pv.getValue(), beanNames);
+			}
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectReferencedBeanNames(element, beanNames);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectReferencedBeanNames(entry.getKey(), beanNames);
+				collectReferencedBeanNames(entry.getValue(), beanNames);
+			}
+		}
+		else if (value instanceof Object[]) {
+			for (Object element : (Object[]) value) {
+				collectReferencedBeanNames(element, beanNames);
+			}
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -895,6 +1362,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 				this.manualSingletonNames.remove(beanName);
 			}
 			this.frozenBeanDefinitionNames = null;
+			clearFrozenBeanLookup();
+			this.beanTypeIndex.register(beanName);
 		}
 
 		if (oldBeanDefinition != null || containsSingleton(beanName)) {
@@ -929,6 +1398,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		this.frozenBeanDefinitionNames = null;
 
 		resetBeanDefinition(beanName);
+		this.beanTypeIndex.remove(beanName);
 	}
 
 	/**
@@ -939,6 +1409,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	protected void resetBeanDefinition(String beanName) {
 		// Remove the merged bean definition for the given bean, if already created.
 		clearMergedBeanDefinition(beanName);
+		clearFrozenBeanLookup();
+		this.beanTypeIndex.markStale(beanName);
 
 		// Remove corresponding bean from singleton cache, if any. Shouldn't usually
 		// be necessary, rather just meant for overriding a context's default beans
@@ -964,6 +1436,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return isAllowBeanDefinitionOverriding();
 	}
 
+	@Override
+	public void registerAlias(String name, String alias) {
+		super.registerAlias(name, alias);
+		clearFrozenBeanLookup();
+	}
+
+	@Override
+	public void removeAlias(String alias) {
+		super.removeAlias(alias);
+		clearFrozenBeanLookup();
+	}
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
@@ -987,6 +1471,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 
 		clearByTypeCache();
+		clearFrozenBeanLookup();
 	}
 
 	@Override
@@ -994,6 +1479,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingleton(beanName);
 		this.manualSingletonNames.remove(beanName);
 		clearByTypeCache();
+		clearFrozenBeanLookup();
 	}
 
 	@Override
@@ -1001,6 +1487,39 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
+		clearFrozenBeanLookup();
+		this.beanTypeIndex.markAllStale();
+	}
+
+	/**
+	 * Re-evaluates the bean's entry in the type index, based on the instance.
+	 */
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		this.beanTypeIndex.markStale(beanName);
+	}
+
+	@Override
+	protected void removeSingleton(String beanName) {
+		super.removeSingleton(beanName);
+		this.beanTypeIndex.markStale(beanName);
+	}
+
+	/**
+	 * Re-evaluates the bean's entry in the type index, since an early reference
+	 * to the bean might get exposed during creation.
+	 */
+	@Override
+	protected void beforeSingletonCreation(String beanName) {
+		super.beforeSingletonCreation(beanName);
+		this.beanTypeIndex.markStale(beanName);
+	}
+
+	@Override
+	protected void afterSingletonCreation(String beanName) {
+		super.afterSingletonCreation(beanName);
+		this.beanTypeIndex.markStale(beanName);
 	}
 
 	/**
@@ -1922,4 +2441,44 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+
+	/**
+	 * Immutable lookup table for bean retrieval in case of frozen configuration,
+	 * valid for a specific version of the bean registrations.
+	 */
+	private static final class FrozenBeanLookup {
+
+		final int version;
+
+		final Map<String, FrozenBeanEntry> entries;
+
+		FrozenBeanLookup(int version, Map<String, FrozenBeanEntry> entries) {
+			this.version = version;
+			this.entries = entries;
+		}
+	}
+
+
+	/**
+	 * Lookup table entry for a singleton or prototype bean, lazily holding
+	 * the singleton instance or the merged prototype bean definition.
+	 */
+	private static final class FrozenBeanEntry {
+
+		final String beanName;
+
+		final boolean singleton;
+
+		@Nullable
+		volatile Object singletonInstance;
+
+		@Nullable
+		volatile RootBeanDefinition prototypeDefinition;
+
+		FrozenBeanEntry(String beanName, boolean singleton) {
+			this.beanName = beanName;
+			this.singleton = singleton;
+		}
+	}
+
 }
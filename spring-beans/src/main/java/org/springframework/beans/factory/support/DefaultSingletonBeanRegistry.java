@@ -25,6 +25,8 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -73,6 +75,9 @@ import org.springframework.util.StringUtils;
  */
 public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements SingletonBeanRegistry {
 
+	/** Interval for re-checking circular waits when waiting for a singleton in creation by another thread */
+	private static final long SINGLETON_CREATION_WAIT_MILLIS = 10;
+
 	/** Logger available to subclasses */
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -110,6 +115,19 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	@Nullable
 	private Set<Exception> suppressedExceptions;
 
+	/** Flag that indicates whether singletons may currently be created by several threads at once */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/** Creation locks used in concurrent mode: bean name --> lock held while creating the singleton */
+	private final Map<String, SingletonCreationLock> singletonCreationLocks = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for a singleton created by another thread: thread --> bean name */
+	private final Map<Thread, String> singletonCreationWaits = new ConcurrentHashMap<>(16);
+
+	/** Threads which wait in a circular reference that they cannot resolve via an early reference */
+	private final Set<Thread> stalledSingletonCreationWaits =
+			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
+
 	/** Flag that indicates whether we're currently within destroySingletons */
 	private boolean singletonsCurrentlyInDestruction = false;
 
@@ -202,33 +220,62 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		 * 如果一级缓存中不存在，则去判断该bean是否在创建中，如果该bean正在创建中，就说明了，
 		 * 之前已经被标记为正在创建了，但是现在又要创建这个bean，说明这个时候发生了循环依赖
 		 */
-		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-			synchronized (this.singletonObjects) {
-				/**
-				 * 如果发生循环依赖，首先去二级缓存中获取，如果获取到则返回，这个地方就是获取aop增强以后的bean
-				 */
-				singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName) &&
+				isEarlySingletonAccessible(beanName)) {
+			singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Return an early reference to the given singleton which is currently in creation,
+	 * either from the early singleton cache or from its registered singleton factory.
+	 * @param beanName the name of the bean to look for
+	 * @param allowEarlyReference whether early references should be created or not
+	 * @return the early singleton object, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+		synchronized (this.singletonObjects) {
+			/**
+			 * 如果发生循环依赖，首先去二级缓存中获取，如果获取到则返回，这个地方就是获取aop增强以后的bean
+			 */
+			Object singletonObject = this.earlySingletonObjects.get(beanName);
+			/**
+			 * 如果二级缓存中不存在，且允许提前访问三级引用
+			 */
+			if (singletonObject == null && allowEarlyReference) {
 				/**
-				 * 如果二级缓存中不存在，且允许提前访问三级引用
+				 * 去三级缓存中获取
 				 */
-				if (singletonObject == null && allowEarlyReference) {
+				ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+				if (singletonFactory != null) {
 					/**
-					 * 去三级缓存中获取
+					 * 如果三级缓存中的lambda表达式存在，执行aop，获取增强以后的对象，
+					 * 为了防止重复aop，将三级缓存删除，升级到二级缓存中
 					 */
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						/**
-						 * 如果三级缓存中的lambda表达式存在，执行aop，获取增强以后的对象，
-						 * 为了防止重复aop，将三级缓存删除，升级到二级缓存中
-						 */
-						singletonObject = singletonFactory.getObject();
-						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
-					}
+					singletonObject = singletonFactory.getObject();
+					this.earlySingletonObjects.put(beanName, singletonObject);
+					this.singletonFactories.remove(beanName);
 				}
 			}
+			return singletonObject;
 		}
-		return singletonObject;
+	}
+
+	/**
+	 * Determine whether an early reference to the given singleton may be exposed
+	 * to the current thread. In concurrent creation mode, only the thread which
+	 * is creating the singleton may see it before it is fully initialized; other
+	 * threads have to wait for its creation to complete.
+	 * @param beanName the name of the bean
+	 */
+	private boolean isEarlySingletonAccessible(String beanName) {
+		if (!this.concurrentSingletonCreation) {
+			return true;
+		}
+		SingletonCreationLock lock = this.singletonCreationLocks.get(beanName);
+		return (lock == null || lock.isHeldByCurrentThread());
 	}
 
 	/**
@@ -241,6 +288,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			/**
 			 * 尝试从单例池容器中直接获取
@@ -310,6 +360,188 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for concurrent creation
+	 * mode: creates the singleton under a lock for the given bean name only, so that
+	 * other singletons can be created by other threads at the same time.
+	 * <p>A circular reference between singletons created by different threads is
+	 * detected while waiting and resolved through an early reference, just like a
+	 * circular reference within a single thread.
+	 * @param beanName the name of the bean
+	 * @param singletonFactory the ObjectFactory to lazily create the singleton
+	 * with, if necessary
+	 * @return the registered singleton object
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+		SingletonCreationLock lock =
+				this.singletonCreationLocks.computeIfAbsent(beanName, name -> new SingletonCreationLock());
+		if (!acquireSingletonCreationLock(beanName, lock)) {
+			// Circular reference across threads: the early reference is all we can get.
+			singletonObject = getEarlySingleton(beanName, true);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			throw new BeanCurrentlyInCreationException(beanName,
+					"Requested bean is currently in creation by another thread which in turn waits for " +
+					"a bean in creation by the current thread: Is there an unresolvable circular reference?");
+		}
+		try {
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				if (this.singletonsCurrentlyInDestruction) {
+					throw new BeanCreationNotAllowedException(beanName,
+							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Creating shared instance of singleton bean '" + beanName + "' in thread [" +
+							Thread.currentThread().getName() + "]");
+				}
+				beforeSingletonCreation(beanName);
+				boolean newSingleton = false;
+				try {
+					singletonObject = singletonFactory.getObject();
+					newSingleton = true;
+				}
+				catch (IllegalStateException ex) {
+					// Has the singleton object implicitly appeared in the meantime ->
+					// if yes, proceed with it since the exception indicates that state.
+					singletonObject = this.singletonObjects.get(beanName);
+					if (singletonObject == null) {
+						throw ex;
+					}
+				}
+				finally {
+					afterSingletonCreation(beanName);
+				}
+				if (newSingleton) {
+					addSingleton(beanName, singletonObject);
+				}
+			}
+			return singletonObject;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Acquire the creation lock for the given singleton, waiting for another
+	 * thread to complete its creation if necessary.
+	 * <p>While waiting, the singleton mutex is temporarily released if held by
+	 * the current thread, since the creating thread needs it for registering
+	 * its singleton.
+	 * @param beanName the name of the bean
+	 * @param lock the creation lock for the bean
+	 * @return {@code true} if the lock has been acquired, or {@code false} if
+	 * the current thread has to resolve a circular reference with the thread
+	 * that holds the lock
+	 */
+	private boolean acquireSingletonCreationLock(String beanName, SingletonCreationLock lock) {
+		if (lock.tryLock()) {
+			return true;
+		}
+		Thread currentThread = Thread.currentThread();
+		boolean holdsMutex = Thread.holdsLock(this.singletonObjects);
+		this.singletonCreationWaits.put(currentThread, beanName);
+		try {
+			while (true) {
+				if (holdsMutex) {
+					this.singletonObjects.wait(SINGLETON_CREATION_WAIT_MILLIS);
+					if (lock.tryLock()) {
+						return true;
+					}
+				}
+				else if (lock.tryLock(SINGLETON_CREATION_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+				Set<Thread> waitCycle = getSingletonCreationWaitCycle(beanName);
+				if (waitCycle != null) {
+					if (hasEarlySingleton(beanName)) {
+						return false;
+					}
+					// No early reference available yet: let another thread in the cycle
+					// resolve it, unless all of them are stuck in the same situation.
+					this.stalledSingletonCreationWaits.add(currentThread);
+					if (this.stalledSingletonCreationWaits.containsAll(waitCycle)) {
+						return false;
+					}
+				}
+				else {
+					this.stalledSingletonCreationWaits.remove(currentThread);
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(beanName, "Interrupted while waiting for singleton creation in another thread");
+		}
+		finally {
+			this.singletonCreationWaits.remove(currentThread);
+			this.stalledSingletonCreationWaits.remove(currentThread);
+		}
+	}
+
+	/**
+	 * Determine whether the current thread, waiting for the given singleton,
+	 * is part of a cycle of threads waiting for each other's singletons.
+	 * @param beanName the name of the bean that the current thread waits for
+	 * @return the threads in the cycle, or {@code null} if there is no cycle
+	 */
+	@Nullable
+	private Set<Thread> getSingletonCreationWaitCycle(String beanName) {
+		Thread currentThread = Thread.currentThread();
+		Set<Thread> cycle = new HashSet<>();
+		String awaitedBeanName = beanName;
+		while (awaitedBeanName != null) {
+			SingletonCreationLock lock = this.singletonCreationLocks.get(awaitedBeanName);
+			Thread owner = (lock != null ? lock.getOwnerThread() : null);
+			if (owner == null || !cycle.add(owner)) {
+				return null;
+			}
+			if (owner == currentThread) {
+				return cycle;
+			}
+			awaitedBeanName = this.singletonCreationWaits.get(owner);
+		}
+		return null;
+	}
+
+	private boolean hasEarlySingleton(String beanName) {
+		synchronized (this.singletonObjects) {
+			return (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName));
+		}
+	}
+
+	/**
+	 * Specify whether singletons may be created by several threads at the same time,
+	 * e.g. for parallel pre-instantiation of independent singletons.
+	 * <p>Default is "false", serializing all singleton creation on the singleton
+	 * mutex. When switched on, each singleton is created under a lock of its own,
+	 * and early references to a singleton in creation are only exposed to other
+	 * threads for resolving circular references between those threads.
+	 * <p>Only to be switched while no singleton is in creation.
+	 * @since 5.1
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+		if (!concurrentSingletonCreation) {
+			this.singletonCreationLocks.clear();
+		}
+	}
+
+	/**
+	 * Return whether singletons may currently be created by several threads at the same time.
+	 * @since 5.1
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
 	/**
 	 * Register an Exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -678,4 +910,17 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Lock held by the thread which creates a singleton in concurrent creation mode.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonCreationLock extends ReentrantLock {
+
+		@Nullable
+		public Thread getOwnerThread() {
+			return getOwner();
+		}
+	}
+
 }
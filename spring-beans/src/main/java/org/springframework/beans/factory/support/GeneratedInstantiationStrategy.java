@@ -0,0 +1,66 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.GeneratedAccessorUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Instantiation strategy that invokes bean constructors and factory methods
+ * through accessor classes generated at runtime instead of through reflection,
+ * avoiding reflective overhead for beans that get instantiated very often,
+ * e.g. prototype and request-scoped beans.
+ *
+ * <p>Falls back to reflection for non-public constructors and factory methods
+ * as well as when running with a SecurityManager. Method Injection is supported
+ * through CGLIB subclassing, as in {@link CglibSubclassingInstantiationStrategy}.
+ *
+ * <p>Typically combined with
+ * {@link AbstractAutowireCapableBeanFactory#setUseGeneratedAccessors}
+ * for property injection through generated accessors as well.
+ *
+ * @since 5.1
+ * @see GeneratedAccessorUtils
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ */
+public class GeneratedInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	@Override
+	protected Object instantiateClass(Constructor<?> ctor, Object... args) throws BeanInstantiationException {
+		if (System.getSecurityManager() != null) {
+			return super.instantiateClass(ctor, args);
+		}
+		return GeneratedAccessorUtils.instantiateClass(ctor, args);
+	}
+
+	@Override
+	@Nullable
+	protected Object invokeFactoryMethod(@Nullable Object factoryBean, Method factoryMethod, @Nullable Object... args)
+			throws IllegalAccessException, InvocationTargetException {
+
+		if (System.getSecurityManager() != null) {
+			return super.invokeFactoryMethod(factoryBean, factoryMethod, args);
+		}
+		return GeneratedAccessorUtils.invokeMethod(factoryMethod, factoryBean, args);
+	}
+
+}
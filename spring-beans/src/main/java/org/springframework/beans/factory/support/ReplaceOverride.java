@@ -17,6 +17,7 @@
 package org.springframework.beans.factory.support;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -69,6 +70,16 @@ public class ReplaceOverride extends MethodOverride {
 		this.typeIdentifiers.add(identifier);
 	}
 
+	/**
+	 * Return the type identifiers (fragments of argument type names) that
+	 * this override has been restricted to.
+	 * @since 5.1
+	 * @see #addTypeIdentifier
+	 */
+	public List<String> getTypeIdentifiers() {
+		return Collections.unmodifiableList(this.typeIdentifiers);
+	}
+
 	@Override
 	public boolean matches(Method method) {
 		if (!method.getName().equals(getMethodName())) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Specific {@link MethodHandleBeanWrapper} tests, in addition to
+ * running all regular {@link BeanWrapperImpl} tests against it.
+ */
+public class MethodHandleBeanWrapperTests extends BeanWrapperTests {
+
+	@Override
+	protected MethodHandleBeanWrapper createAccessor(Object target) {
+		return new MethodHandleBeanWrapper(target);
+	}
+
+
+	@Test
+	public void propertyTableIsShared() {
+		BeanPropertyTable table = BeanPropertyTable.forClass(TestBean.class);
+		assertSame(table, createAccessor(new TestBean()).getPropertyTable());
+		assertSame(TestBean.class, table.getBeanClass());
+		int id = table.getPropertyId("name");
+		assertTrue(id >= 0);
+		assertEquals(id, table.getPropertyId("Name"));
+		assertEquals("name", table.getProperty(id).getName());
+		assertSame(table.getProperty(id), table.getProperty("name"));
+		assertEquals(String.class, table.getProperty(id).getTypeDescriptor().getType());
+		assertEquals(-1, table.getPropertyId("nonExisting"));
+		assertNull(table.getProperty("nonExisting"));
+	}
+
+	@Test
+	public void propertyValueById() {
+		TestBean target = new TestBean();
+		MethodHandleBeanWrapper accessor = createAccessor(target);
+		BeanPropertyTable table = accessor.getPropertyTable();
+		int nameId = table.getPropertyId("name");
+		int ageId = table.getPropertyId("age");
+
+		accessor.setPropertyValue(nameId, "tom");
+		accessor.setPropertyValue(ageId, "42");
+		assertEquals("tom", target.getName());
+		assertEquals(42, target.getAge());
+		assertEquals("tom", accessor.getPropertyValue(nameId));
+		assertEquals(42, accessor.getPropertyValue(ageId));
+	}
+
+	@Test
+	public void propertyValueByIdWithTypeMismatch() {
+		MethodHandleBeanWrapper accessor = createAccessor(new TestBean());
+		int ageId = accessor.getPropertyTable().getPropertyId("age");
+		try {
+			accessor.setPropertyValue(ageId, "not a number");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals("age", ex.getPropertyName());
+		}
+		try {
+			accessor.setPropertyValue(ageId, null);
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals("age", ex.getPropertyName());
+		}
+	}
+
+	@Test
+	public void propertyValueByIdWithExceptionFromSetter() {
+		MethodHandleBeanWrapper accessor = createAccessor(new ThrowingBean());
+		int id = accessor.getPropertyTable().getPropertyId("value");
+		try {
+			accessor.setPropertyValue(id, "value");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+		try {
+			accessor.getPropertyValue(id);
+			fail("Should have thrown InvalidPropertyException");
+		}
+		catch (InvalidPropertyException ex) {
+			assertTrue(ex.getCause().getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void readOnlyPropertyById() {
+		MethodHandleBeanWrapper accessor = createAccessor(new ThrowingBean());
+		int id = accessor.getPropertyTable().getPropertyId("readOnly");
+		assertEquals("readOnly", accessor.getPropertyValue(id));
+		try {
+			accessor.setPropertyValue(id, "value");
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			assertEquals("readOnly", ex.getPropertyName());
+		}
+	}
+
+	@Test
+	public void propertyTableResetOnNewWrappedInstance() {
+		MethodHandleBeanWrapper accessor = createAccessor(new TestBean());
+		assertSame(TestBean.class, accessor.getPropertyTable().getBeanClass());
+		accessor.setWrappedInstance(new ThrowingBean());
+		assertSame(ThrowingBean.class, accessor.getPropertyTable().getBeanClass());
+		assertEquals("readOnly", accessor.getPropertyValue("readOnly"));
+	}
+
+
+	public static class ThrowingBean {
+
+		public String getValue() {
+			throw new IllegalStateException("getter");
+		}
+
+		public void setValue(String value) {
+			throw new IllegalStateException("setter");
+		}
+
+		public String getReadOnly() {
+			return "readOnly";
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.beans.factory;
 import java.io.Closeable;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
 import java.net.MalformedURLException;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -35,6 +36,9 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
 
@@ -150,6 +154,172 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("singleton was instantiated", KnowsIfInstantiated.wasInstantiated());
 	}
 
+	@Test
+	public void testParallelPreInstantiation() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		for (int i = 0; i < 20; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("name", "tb" + i);
+			if (i % 2 == 1) {
+				bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb" + (i - 1)));
+			}
+			if (i % 5 == 4) {
+				bd.setDependsOn("tb0");
+			}
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			lbf.setPreInstantiationPool(pool);
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		for (int i = 0; i < 20; i++) {
+			assertTrue(lbf.containsSingleton("tb" + i));
+			TestBean tb = (TestBean) lbf.getBean("tb" + i);
+			assertEquals("tb" + i, tb.getName());
+			if (i % 2 == 1) {
+				assertSame(lbf.getBean("tb" + (i - 1)), tb.getSpouse());
+			}
+		}
+		assertFalse(lbf.containsSingleton("lazy"));
+		assertTrue(Arrays.asList(lbf.getDependentBeans("tb0")).contains("tb4"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferenceAcrossThreads() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		CircularBarrierBean.barrier = new CyclicBarrier(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(CircularBarrierBean.class);
+		bd1.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
+		lbf.registerBeanDefinition("other", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(CircularBarrierBean.class);
+		bd2.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_NAME);
+		lbf.registerBeanDefinition("bean", bd2);
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			lbf.setPreInstantiationPool(pool);
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		CircularBarrierBean bean = lbf.getBean("bean", CircularBarrierBean.class);
+		CircularBarrierBean other = lbf.getBean("other", CircularBarrierBean.class);
+		assertSame(other, bean.getOther());
+		assertSame(bean, other.getBean());
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getPropertyValues().add("age", "not a number");
+		lbf.registerBeanDefinition("broken", bd);
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			lbf.setPreInstantiationPool(pool);
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertEquals("broken", ex.getBeanName());
+		}
+		finally {
+			pool.shutdown();
+		}
+		assertTrue(lbf.containsSingleton("tb"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithMultipleFailures() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		for (int i = 0; i < 2; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("age", "not a number");
+			lbf.registerBeanDefinition("broken" + i, bd);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			lbf.setPreInstantiationPool(pool);
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertEquals("broken0", ex.getBeanName());
+			assertEquals(1, ex.getSuppressed().length);
+			assertEquals("broken1", ((BeanCreationException) ex.getSuppressed()[0]).getBeanName());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testGetBeanWithFrozenConfiguration() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("singleton", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		bd.setDependsOn("singleton");
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("singleton"));
+		lbf.registerBeanDefinition("prototype", bd);
+		lbf.registerAlias("prototype", "alias");
+		lbf.registerSingleton("manual", new NestedTestBean("manual"));
+		lbf.freezeConfiguration();
+		lbf.preInstantiateSingletons();
+
+		TestBean singleton = lbf.getBean("singleton", TestBean.class);
+		assertSame(singleton, lbf.getBean("singleton"));
+		for (int i = 0; i < 3; i++) {
+			TestBean prototype = lbf.getBean("alias", TestBean.class);
+			assertNotSame(prototype, lbf.getBean("prototype"));
+			assertSame(singleton, prototype.getSpouse());
+		}
+		assertEquals("manual", lbf.getBean("manual", NestedTestBean.class).getCompany());
+		try {
+			lbf.getBean("singleton", NestedTestBean.class);
+			fail("Should have thrown BeanNotOfRequiredTypeException");
+		}
+		catch (BeanNotOfRequiredTypeException ex) {
+			// expected
+		}
+
+		lbf.destroySingleton("singleton");
+		TestBean recreated = lbf.getBean("singleton", TestBean.class);
+		assertNotSame(singleton, recreated);
+		assertSame(recreated, lbf.getBean("prototype", TestBean.class).getSpouse());
+
+		lbf.registerBeanDefinition("late", new RootBeanDefinition(DerivedTestBean.class));
+		lbf.registerAlias("late", "lateAlias");
+		assertSame(lbf.getBean("late"), lbf.getBean("lateAlias"));
+	}
+
+	@Test
+	public void testGetFactoryBeanWithFrozenConfiguration() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		lbf.freezeConfiguration();
+		lbf.preInstantiateSingletons();
+
+		Object product = lbf.getBean("factory");
+		assertTrue(product instanceof TestBean);
+		assertSame(product, lbf.getBean("factory"));
+		assertTrue(lbf.getBean("&factory") instanceof DummyFactory);
+	}
+
 	@Test
 	public void testFactoryBeanDidNotCreatePrototype() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -1658,6 +1828,50 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals(0, lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, String.class)).length);
 	}
 
+	@Test
+	public void testGetBeanNamesForTypeWithChangingRegistrations() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		lbf.registerBeanDefinition("fb", new RootBeanDefinition(DummyFactory.class));
+		assertArrayEquals(new String[] {"tb1", "fb"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"&fb"}, lbf.getBeanNamesForType(DummyFactory.class));
+
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(DerivedTestBean.class));
+		assertArrayEquals(new String[] {"tb1", "fb", "tb2"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"tb2"}, lbf.getBeanNamesForType(DerivedTestBean.class));
+
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(NestedTestBean.class));
+		assertArrayEquals(new String[] {"fb", "tb2"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"tb1", "nested"}, lbf.getBeanNamesForType(NestedTestBean.class));
+
+		lbf.removeBeanDefinition("tb2");
+		assertArrayEquals(new String[] {"fb"}, lbf.getBeanNamesForType(ITestBean.class));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		assertArrayEquals(new String[] {"fb", "tb2"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"tb2"}, lbf.getBeanNamesForType(TestBean.class, true, false));
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeWithExposedProxy() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] {ITestBean.class, Runnable.class}, (proxy, method, args) -> null);
+			}
+		});
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		assertArrayEquals(new String[] {"tb"}, lbf.getBeanNamesForType(TestBean.class));
+		assertEquals(0, lbf.getBeanNamesForType(Runnable.class).length);
+
+		lbf.getBean("tb");
+		assertArrayEquals(new String[] {"tb"}, lbf.getBeanNamesForType(Runnable.class));
+		assertArrayEquals(new String[] {"tb"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertEquals(0, lbf.getBeanNamesForType(TestBean.class).length);
+	}
+
 	private RootBeanDefinition createConstructorDependencyBeanDefinition(int age) {
 		RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependency.class);
 		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
@@ -3294,6 +3508,37 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class CircularBarrierBean {
+
+		static CyclicBarrier barrier;
+
+		private CircularBarrierBean bean;
+
+		private CircularBarrierBean other;
+
+		public CircularBarrierBean() throws Exception {
+			// Make sure that both beans are in creation at the same time
+			barrier.await(10, TimeUnit.SECONDS);
+		}
+
+		public CircularBarrierBean getBean() {
+			return this.bean;
+		}
+
+		public void setBean(CircularBarrierBean bean) {
+			this.bean = bean;
+		}
+
+		public CircularBarrierBean getOther() {
+			return this.other;
+		}
+
+		public void setOther(CircularBarrierBean other) {
+			this.other = other;
+		}
+	}
+
+
 	private static class TestBeanRecipient {
 
 		public TestBean testBean;
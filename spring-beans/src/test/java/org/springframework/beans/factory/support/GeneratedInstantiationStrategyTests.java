@@ -0,0 +1,250 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GeneratedInstantiationStrategy} in combination with
+ * generated accessors for property injection.
+ */
+public class GeneratedInstantiationStrategyTests {
+
+	private DefaultListableBeanFactory beanFactory;
+
+
+	@Before
+	public void setUp() {
+		beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setInstantiationStrategy(new GeneratedInstantiationStrategy());
+		beanFactory.setUseGeneratedAccessors(true);
+	}
+
+
+	@Test
+	public void defaultConstructorAndProperties() {
+		RootBeanDefinition bd = new RootBeanDefinition(InvocationRecordingBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "name");
+		bd.getPropertyValues().add("age", "42");
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 3; i++) {
+			InvocationRecordingBean bean = beanFactory.getBean("bean", InvocationRecordingBean.class);
+			assertEquals("name", bean.getName());
+			assertEquals(42, bean.getAge());
+			assertFalse(bean.reflectiveConstructor);
+			assertFalse(bean.reflectiveSetter);
+		}
+	}
+
+	@Test
+	public void constructorArguments() {
+		RootBeanDefinition bd = new RootBeanDefinition(InvocationRecordingBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("name");
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		InvocationRecordingBean bean = beanFactory.getBean("bean", InvocationRecordingBean.class);
+		assertEquals("name", bean.getName());
+		assertFalse(bean.reflectiveConstructor);
+	}
+
+	@Test
+	public void staticAndInstanceFactoryMethods() {
+		RootBeanDefinition factoryBd = new RootBeanDefinition(InvocationRecordingBean.class);
+		factoryBd.setFactoryMethodName("create");
+		factoryBd.getConstructorArgumentValues().addGenericArgumentValue("factory");
+		beanFactory.registerBeanDefinition("factory", factoryBd);
+		RootBeanDefinition bd = new RootBeanDefinition();
+		bd.setFactoryBeanName("factory");
+		bd.setFactoryMethodName("createSpouse");
+		beanFactory.registerBeanDefinition("spouse", bd);
+
+		InvocationRecordingBean factory = beanFactory.getBean("factory", InvocationRecordingBean.class);
+		assertEquals("factory", factory.getName());
+		assertFalse(factory.reflectiveFactoryMethod);
+		TestBean spouse = beanFactory.getBean("spouse", TestBean.class);
+		assertSame(factory, spouse.getSpouse());
+	}
+
+	@Test
+	public void beanReferenceAndArrayProperty() {
+		beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(InvocationRecordingBean.class);
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		bd.getPropertyValues().add("stringArray", new String[] {"a", "b"});
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		InvocationRecordingBean bean = beanFactory.getBean("bean", InvocationRecordingBean.class);
+		assertSame(beanFactory.getBean("spouse"), bean.getSpouse());
+		assertArrayEquals(new String[] {"a", "b"}, bean.getStringArray());
+	}
+
+	@Test
+	public void autowiredMethod() {
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(bpp);
+		beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(AutowiredMethodBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		for (int i = 0; i < 3; i++) {
+			AutowiredMethodBean bean = beanFactory.getBean("bean", AutowiredMethodBean.class);
+			assertSame(beanFactory.getBean("spouse"), bean.spouse);
+			assertFalse(bean.reflectiveAutowiredMethod);
+		}
+	}
+
+	@Test
+	public void constructorException() {
+		RootBeanDefinition bd = new RootBeanDefinition(InvocationRecordingBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("fail");
+		beanFactory.registerBeanDefinition("bean", bd);
+		try {
+			beanFactory.getBean("bean");
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertTrue(ex.getCause() instanceof BeanInstantiationException);
+			assertTrue(ex.getCause().getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void typeMismatchOnProperty() {
+		RootBeanDefinition bd = new RootBeanDefinition(InvocationRecordingBean.class);
+		bd.getPropertyValues().add("age", "not a number");
+		beanFactory.registerBeanDefinition("bean", bd);
+		try {
+			beanFactory.getBean("bean");
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertTrue(ex.getMostSpecificCause() instanceof NumberFormatException ||
+					ex.contains(TypeMismatchException.class));
+		}
+	}
+
+	@Test
+	public void nonPublicBeanClassFallsBackToReflection() {
+		RootBeanDefinition bd = new RootBeanDefinition(PackagePrivateBean.class);
+		bd.getPropertyValues().add("name", "name");
+		beanFactory.registerBeanDefinition("bean", bd);
+
+		PackagePrivateBean bean = beanFactory.getBean("bean", PackagePrivateBean.class);
+		assertEquals("name", bean.name);
+	}
+
+
+	/**
+	 * Check whether the calling bean method got invoked through reflection,
+	 * looking at the stack frames up to the invoking framework class.
+	 */
+	private static boolean isReflectiveInvocation() {
+		StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+		for (int i = 2; i < stackTrace.length; i++) {
+			String className = stackTrace[i].getClassName();
+			if (className.startsWith("java.lang.reflect.") || className.startsWith("sun.reflect.")) {
+				return true;
+			}
+			if (className.startsWith("org.springframework.") && !className.contains("$$")) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+
+	public static class InvocationRecordingBean extends TestBean {
+
+		boolean reflectiveConstructor;
+
+		boolean reflectiveSetter;
+
+		boolean reflectiveFactoryMethod;
+
+		public InvocationRecordingBean() {
+			this.reflectiveConstructor = isReflectiveInvocation();
+		}
+
+		public InvocationRecordingBean(String name) {
+			if ("fail".equals(name)) {
+				throw new IllegalArgumentException(name);
+			}
+			setName(name);
+			this.reflectiveConstructor = isReflectiveInvocation();
+		}
+
+		public static InvocationRecordingBean create(String name) {
+			InvocationRecordingBean bean = new InvocationRecordingBean(name);
+			bean.reflectiveFactoryMethod = isReflectiveInvocation();
+			return bean;
+		}
+
+		public TestBean createSpouse() {
+			TestBean spouse = new TestBean();
+			spouse.setSpouse(this);
+			return spouse;
+		}
+
+		@Override
+		public void setAge(int age) {
+			super.setAge(age);
+			this.reflectiveSetter = isReflectiveInvocation();
+		}
+	}
+
+
+	public static class AutowiredMethodBean {
+
+		TestBean spouse;
+
+		boolean reflectiveAutowiredMethod;
+
+		@Autowired
+		public void inject(TestBean spouse) {
+			this.spouse = spouse;
+			this.reflectiveAutowiredMethod = isReflectiveInvocation();
+		}
+	}
+
+
+	static class PackagePrivateBean {
+
+		String name;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
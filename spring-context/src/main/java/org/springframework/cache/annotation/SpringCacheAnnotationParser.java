@@ -22,12 +22,14 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
 import org.springframework.cache.interceptor.CacheEvictOperation;
 import org.springframework.cache.interceptor.CacheOperation;
 import org.springframework.cache.interceptor.CachePutOperation;
 import org.springframework.cache.interceptor.CacheableOperation;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.MergedAnnotationMetadata;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
@@ -80,32 +82,28 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 
 		Collection<CacheOperation> ops = null;
 
-		Collection<Cacheable> cacheables = (localOnly ? AnnotatedElementUtils.getAllMergedAnnotations(ae, Cacheable.class) :
-				AnnotatedElementUtils.findAllMergedAnnotations(ae, Cacheable.class));
+		Collection<Cacheable> cacheables = getAnnotations(ae, Cacheable.class, localOnly);
 		if (!cacheables.isEmpty()) {
 			ops = lazyInit(null);
 			for (Cacheable cacheable : cacheables) {
 				ops.add(parseCacheableAnnotation(ae, cachingConfig, cacheable));
 			}
 		}
-		Collection<CacheEvict> evicts = (localOnly ? AnnotatedElementUtils.getAllMergedAnnotations(ae, CacheEvict.class) :
-				AnnotatedElementUtils.findAllMergedAnnotations(ae, CacheEvict.class));
+		Collection<CacheEvict> evicts = getAnnotations(ae, CacheEvict.class, localOnly);
 		if (!evicts.isEmpty()) {
 			ops = lazyInit(ops);
 			for (CacheEvict evict : evicts) {
 				ops.add(parseEvictAnnotation(ae, cachingConfig, evict));
 			}
 		}
-		Collection<CachePut> puts = (localOnly ? AnnotatedElementUtils.getAllMergedAnnotations(ae, CachePut.class) :
-				AnnotatedElementUtils.findAllMergedAnnotations(ae, CachePut.class));
+		Collection<CachePut> puts = getAnnotations(ae, CachePut.class, localOnly);
 		if (!puts.isEmpty()) {
 			ops = lazyInit(ops);
 			for (CachePut put : puts) {
 				ops.add(parsePutAnnotation(ae, cachingConfig, put));
 			}
 		}
-		Collection<Caching> cachings = (localOnly ? AnnotatedElementUtils.getAllMergedAnnotations(ae, Caching.class) :
-				AnnotatedElementUtils.findAllMergedAnnotations(ae, Caching.class));
+		Collection<Caching> cachings = getAnnotations(ae, Caching.class, localOnly);
 		if (!cachings.isEmpty()) {
 			ops = lazyInit(ops);
 			for (Caching caching : cachings) {
@@ -119,6 +117,17 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		return ops;
 	}
 
+	private <A extends Annotation> Collection<A> getAnnotations(
+			AnnotatedElement ae, Class<A> annotationType, boolean localOnly) {
+
+		if (localOnly) {
+			// Cached presence check before traversing the local annotation hierarchy...
+			return (MergedAnnotationMetadata.forElement(ae).isPresent(annotationType) ?
+					AnnotatedElementUtils.getAllMergedAnnotations(ae, annotationType) : Collections.emptySet());
+		}
+		return AnnotatedElementUtils.findAllMergedAnnotations(ae, annotationType);
+	}
+
 	private <T extends Annotation> Collection<CacheOperation> lazyInit(@Nullable Collection<CacheOperation> ops) {
 		return (ops != null ? ops : new ArrayList<>(1));
 	}
@@ -217,7 +226,7 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 	 * @return the default config (never {@code null})
 	 */
 	DefaultCacheConfig getDefaultCacheConfig(Class<?> target) {
-		CacheConfig annotation = AnnotatedElementUtils.findMergedAnnotation(target, CacheConfig.class);
+		CacheConfig annotation = MergedAnnotationMetadata.forElement(target).findAnnotation(CacheConfig.class);
 		if (annotation != null) {
 			return new DefaultCacheConfig(annotation.cacheNames(), annotation.keyGenerator(),
 					annotation.cacheManager(), annotation.cacheResolver());
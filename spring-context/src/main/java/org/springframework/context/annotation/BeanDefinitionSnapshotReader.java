@@ -0,0 +1,634 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.LookupOverride;
+import org.springframework.beans.factory.support.ManagedArray;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.ReplaceOverride;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.StandardAnnotationMetadata;
+import org.springframework.core.type.StandardMethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Reads a bean definition snapshot as written by {@link BeanDefinitionSnapshotWriter}
+ * into a given {@link BeanDefinitionRegistry}.
+ *
+ * <p>Configuration classes are registered in their already processed form, so a
+ * {@link ConfigurationClassPostProcessor} in the target registry will skip their
+ * parsing but still enhance {@code @Configuration} classes and apply
+ * {@link ImportAware} callbacks on refresh. Annotated bean definitions are restored
+ * with {@link AnnotatedBeanDefinition} metadata for their introspected class and
+ * {@code @Bean} factory method, introspecting the recorded classes via reflection.
+ *
+ * <p>If an {@link #setEnvironment Environment} is specified, the profiles that
+ * were active when writing the snapshot get activated in it, unless it declares
+ * active profiles of its own: in that case, those need to match the recorded ones.
+ *
+ * @since 5.1
+ * @see BeanDefinitionSnapshotWriter
+ * @see SnapshotApplicationContext
+ */
+public class BeanDefinitionSnapshotReader {
+
+	static final int MAGIC = 0x53424453;
+
+	static final short VERSION = 1;
+
+	static final byte OVERRIDE_LOOKUP = 1;
+
+	static final byte OVERRIDE_REPLACE = 2;
+
+	static final byte VALUE_NULL = 0;
+
+	static final byte VALUE_STRING = 1;
+
+	static final byte VALUE_TYPED_STRING = 2;
+
+	static final byte VALUE_BEAN_REFERENCE = 3;
+
+	static final byte VALUE_BEAN_NAME_REFERENCE = 4;
+
+	static final byte VALUE_BOOLEAN = 5;
+
+	static final byte VALUE_INTEGER = 6;
+
+	static final byte VALUE_LONG = 7;
+
+	static final byte VALUE_CLASS = 8;
+
+	static final byte VALUE_ENUM = 9;
+
+	static final byte VALUE_BEAN_DEFINITION_HOLDER = 10;
+
+	static final byte VALUE_BEAN_DEFINITION = 11;
+
+	static final byte VALUE_ARRAY = 12;
+
+	static final byte VALUE_MANAGED_LIST = 13;
+
+	static final byte VALUE_MANAGED_SET = 14;
+
+	static final byte VALUE_MANAGED_MAP = 15;
+
+	static final byte VALUE_MANAGED_PROPERTIES = 16;
+
+	static final byte VALUE_LIST = 17;
+
+	static final byte VALUE_SET = 18;
+
+	static final byte VALUE_MAP = 19;
+
+	static final byte VALUE_PROPERTIES = 20;
+
+	static final byte VALUE_STRING_ARRAY = 21;
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final BeanDefinitionRegistry registry;
+
+	@Nullable
+	private ConfigurableEnvironment environment;
+
+	@Nullable
+	private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
+
+
+	/**
+	 * Create a new {@code BeanDefinitionSnapshotReader} for the given registry.
+	 * @param registry the {@code BeanFactory} to load bean definitions into,
+	 * in the form of a {@code BeanDefinitionRegistry}
+	 */
+	public BeanDefinitionSnapshotReader(BeanDefinitionRegistry registry) {
+		Assert.notNull(registry, "BeanDefinitionRegistry must not be null");
+		this.registry = registry;
+	}
+
+
+	/**
+	 * Set the {@code Environment} to activate the recorded profiles in,
+	 * or to check its active profiles against the recorded ones.
+	 */
+	public void setEnvironment(@Nullable ConfigurableEnvironment environment) {
+		this.environment = environment;
+	}
+
+	/**
+	 * Set the ClassLoader to use for resolving class and enum values as well as
+	 * importing classes for {@link ImportAware} configuration classes.
+	 * <p>Default is the thread context ClassLoader.
+	 */
+	public void setBeanClassLoader(@Nullable ClassLoader beanClassLoader) {
+		this.beanClassLoader = beanClassLoader;
+	}
+
+
+	/**
+	 * Load bean definitions from the specified snapshot resource.
+	 * @param resource the resource descriptor for the snapshot file
+	 * @return the number of bean definitions found
+	 * @throws BeanDefinitionStoreException in case of loading or parsing errors
+	 */
+	public int loadBeanDefinitions(Resource resource) throws BeanDefinitionStoreException {
+		Assert.notNull(resource, "Resource must not be null");
+		if (logger.isInfoEnabled()) {
+			logger.info("Loading bean definition snapshot from " + resource);
+		}
+		try (InputStream is = resource.getInputStream()) {
+			return doLoadBeanDefinitions(new DataInputStream(is));
+		}
+		catch (IOException | ClassNotFoundException | IllegalArgumentException ex) {
+			throw new BeanDefinitionStoreException(resource.getDescription(),
+					"Failed to read bean definition snapshot", ex);
+		}
+	}
+
+	private int doLoadBeanDefinitions(DataInputStream dis) throws IOException, ClassNotFoundException {
+		if (dis.readInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a bean definition snapshot");
+		}
+		short version = dis.readShort();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported snapshot version " + version);
+		}
+		String[] profiles = readStrings(dis);
+		if (this.environment != null && profiles != null) {
+			applyProfiles(this.environment, profiles);
+		}
+
+		int count = dis.readInt();
+		for (int i = 0; i < count; i++) {
+			String beanName = dis.readUTF();
+			String[] aliases = readStrings(dis);
+			this.registry.registerBeanDefinition(beanName, readBeanDefinition(dis));
+			if (aliases != null) {
+				for (String alias : aliases) {
+					this.registry.registerAlias(beanName, alias);
+				}
+			}
+		}
+
+		int importCount = dis.readInt();
+		Map<String, String> imports = new ConcurrentHashMap<>(importCount);
+		for (int i = 0; i < importCount; i++) {
+			imports.put(dis.readUTF(), dis.readUTF());
+		}
+		SingletonBeanRegistry sbr = deduceSingletonRegistry(this.registry);
+		if (sbr != null) {
+			if (!sbr.containsSingleton(ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME)) {
+				sbr.registerSingleton(ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME,
+						new SnapshotImportRegistry(imports, this.beanClassLoader));
+			}
+		}
+		return count;
+	}
+
+	@Nullable
+	private static SingletonBeanRegistry deduceSingletonRegistry(BeanDefinitionRegistry registry) {
+		if (registry instanceof SingletonBeanRegistry) {
+			return (SingletonBeanRegistry) registry;
+		}
+		else if (registry instanceof GenericApplicationContext) {
+			return ((GenericApplicationContext) registry).getDefaultListableBeanFactory();
+		}
+		else {
+			return null;
+		}
+	}
+
+	private void applyProfiles(ConfigurableEnvironment environment, String[] profiles) {
+		String[] activeProfiles = environment.getActiveProfiles();
+		if (activeProfiles.length == 0) {
+			environment.setActiveProfiles(profiles);
+		}
+		else if (!new HashSet<>(Arrays.asList(activeProfiles)).equals(new HashSet<>(Arrays.asList(profiles)))) {
+			throw new IllegalStateException("Active profiles " + Arrays.toString(activeProfiles) +
+					" do not match the profiles the snapshot was written for: " + Arrays.toString(profiles));
+		}
+	}
+
+	private AbstractBeanDefinition readBeanDefinition(DataInputStream dis) throws IOException, ClassNotFoundException {
+		boolean root = dis.readBoolean();
+		String parentName = readNullableString(dis);
+		AnnotationMetadata metadata = null;
+		MethodMetadata factoryMethodMetadata = null;
+		String metadataClassName = readNullableString(dis);
+		if (metadataClassName != null) {
+			metadata = new StandardAnnotationMetadata(ClassUtils.forName(metadataClassName, this.beanClassLoader), true);
+			if (dis.readBoolean()) {
+				factoryMethodMetadata = new StandardMethodMetadata(readFactoryMethod(dis), true);
+			}
+		}
+		AbstractBeanDefinition bd;
+		if (root) {
+			bd = (metadata != null ? new SnapshotBeanDefinition(metadata, factoryMethodMetadata) :
+					new RootBeanDefinition());
+		}
+		else {
+			GenericBeanDefinition gbd = (metadata == null ? new GenericBeanDefinition() :
+					factoryMethodMetadata != null ? new AnnotatedGenericBeanDefinition(metadata, factoryMethodMetadata) :
+					new AnnotatedGenericBeanDefinition(metadata));
+			gbd.setParentName(parentName);
+			bd = gbd;
+		}
+		bd.setBeanClassName(readNullableString(dis));
+		bd.setScope(readNullableString(dis));
+		bd.setAbstract(dis.readBoolean());
+		bd.setLazyInit(dis.readBoolean());
+		bd.setAutowireMode(dis.readInt());
+		bd.setDependencyCheck(dis.readInt());
+		bd.setDependsOn(readStrings(dis));
+		bd.setAutowireCandidate(dis.readBoolean());
+		bd.setPrimary(dis.readBoolean());
+		bd.setNonPublicAccessAllowed(dis.readBoolean());
+		bd.setLenientConstructorResolution(dis.readBoolean());
+		bd.setFactoryBeanName(readNullableString(dis));
+		String factoryMethodName = readNullableString(dis);
+		boolean uniqueFactoryMethod = dis.readBoolean();
+		if (uniqueFactoryMethod && factoryMethodName != null && bd instanceof RootBeanDefinition) {
+			((RootBeanDefinition) bd).setUniqueFactoryMethodName(factoryMethodName);
+		}
+		else {
+			bd.setFactoryMethodName(factoryMethodName);
+		}
+		bd.setInitMethodName(readNullableString(dis));
+		bd.setEnforceInitMethod(dis.readBoolean());
+		bd.setDestroyMethodName(readNullableString(dis));
+		bd.setEnforceDestroyMethod(dis.readBoolean());
+		bd.setSynthetic(dis.readBoolean());
+		bd.setRole(dis.readInt());
+		bd.setDescription(readNullableString(dis));
+
+		int qualifierCount = dis.readInt();
+		for (int i = 0; i < qualifierCount; i++) {
+			AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(dis.readUTF());
+			int attributeCount = dis.readInt();
+			for (int j = 0; j < attributeCount; j++) {
+				qualifier.setAttribute(dis.readUTF(), readValue(dis));
+			}
+			bd.addQualifier(qualifier);
+		}
+
+		ConstructorArgumentValues cav = bd.getConstructorArgumentValues();
+		int indexedArgCount = dis.readInt();
+		for (int i = 0; i < indexedArgCount; i++) {
+			cav.addIndexedArgumentValue(dis.readInt(), readValueHolder(dis));
+		}
+		int genericArgCount = dis.readInt();
+		for (int i = 0; i < genericArgCount; i++) {
+			cav.addGenericArgumentValue(readValueHolder(dis));
+		}
+
+		int propertyCount = dis.readInt();
+		for (int i = 0; i < propertyCount; i++) {
+			bd.getPropertyValues().add(dis.readUTF(), readValue(dis));
+		}
+
+		int overrideCount = dis.readInt();
+		for (int i = 0; i < overrideCount; i++) {
+			byte kind = dis.readByte();
+			String methodName = dis.readUTF();
+			if (kind == OVERRIDE_LOOKUP) {
+				bd.getMethodOverrides().addOverride(new LookupOverride(methodName, readNullableString(dis)));
+			}
+			else if (kind == OVERRIDE_REPLACE) {
+				ReplaceOverride override = new ReplaceOverride(methodName, dis.readUTF());
+				String[] typeIdentifiers = readStrings(dis);
+				if (typeIdentifiers != null) {
+					for (String typeIdentifier : typeIdentifiers) {
+						override.addTypeIdentifier(typeIdentifier);
+					}
+				}
+				bd.getMethodOverrides().addOverride(override);
+			}
+			else {
+				throw new IllegalArgumentException("Unknown method override kind " + kind);
+			}
+		}
+
+		int attributeCount = dis.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			bd.setAttribute(dis.readUTF(), readValue(dis));
+		}
+
+		Object decoratedDefinition = readValue(dis);
+		if (decoratedDefinition instanceof BeanDefinitionHolder && bd instanceof RootBeanDefinition) {
+			((RootBeanDefinition) bd).setDecoratedDefinition((BeanDefinitionHolder) decoratedDefinition);
+		}
+		return bd;
+	}
+
+	private Method readFactoryMethod(DataInputStream dis) throws IOException, ClassNotFoundException {
+		Class<?> declaringClass = ClassUtils.forName(dis.readUTF(), this.beanClassLoader);
+		String methodName = dis.readUTF();
+		String[] parameterTypeNames = readStrings(dis);
+		Class<?>[] parameterTypes = new Class<?>[parameterTypeNames != null ? parameterTypeNames.length : 0];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			parameterTypes[i] = ClassUtils.forName(parameterTypeNames[i], this.beanClassLoader);
+		}
+		Method factoryMethod = ReflectionUtils.findMethod(declaringClass, methodName, parameterTypes);
+		if (factoryMethod == null) {
+			throw new IllegalArgumentException("Factory method '" + methodName + "' with parameter types " +
+					Arrays.toString(parameterTypeNames) + " not found in " + declaringClass.getName());
+		}
+		return factoryMethod;
+	}
+
+	private ConstructorArgumentValues.ValueHolder readValueHolder(DataInputStream dis)
+			throws IOException, ClassNotFoundException {
+
+		Object value = readValue(dis);
+		return new ConstructorArgumentValues.ValueHolder(value, readNullableString(dis), readNullableString(dis));
+	}
+
+	@Nullable
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private Object readValue(DataInputStream dis) throws IOException, ClassNotFoundException {
+		byte tag = dis.readByte();
+		switch (tag) {
+			case VALUE_NULL:
+				return null;
+			case VALUE_STRING:
+				return dis.readUTF();
+			case VALUE_TYPED_STRING: {
+				TypedStringValue typedValue = new TypedStringValue(readNullableString(dis));
+				typedValue.setTargetTypeName(readNullableString(dis));
+				if (dis.readBoolean()) {
+					typedValue.setDynamic();
+				}
+				return typedValue;
+			}
+			case VALUE_BEAN_REFERENCE: {
+				String beanName = dis.readUTF();
+				return new RuntimeBeanReference(beanName, dis.readBoolean());
+			}
+			case VALUE_BEAN_NAME_REFERENCE:
+				return new RuntimeBeanNameReference(dis.readUTF());
+			case VALUE_BOOLEAN:
+				return dis.readBoolean();
+			case VALUE_INTEGER:
+				return dis.readInt();
+			case VALUE_LONG:
+				return dis.readLong();
+			case VALUE_CLASS:
+				return ClassUtils.forName(dis.readUTF(), this.beanClassLoader);
+			case VALUE_ENUM: {
+				Class<?> enumType = ClassUtils.forName(dis.readUTF(), this.beanClassLoader);
+				return Enum.valueOf((Class<Enum>) enumType, dis.readUTF());
+			}
+			case VALUE_BEAN_DEFINITION_HOLDER: {
+				String beanName = dis.readUTF();
+				String[] aliases = readStrings(dis);
+				return new BeanDefinitionHolder(readBeanDefinition(dis), beanName, aliases);
+			}
+			case VALUE_BEAN_DEFINITION:
+				return readBeanDefinition(dis);
+			case VALUE_ARRAY: {
+				String elementTypeName = readNullableString(dis);
+				boolean merge = dis.readBoolean();
+				int size = dis.readInt();
+				ManagedArray array = new ManagedArray(elementTypeName != null ? elementTypeName : "", size);
+				array.setMergeEnabled(merge);
+				readElements(dis, array, size);
+				return array;
+			}
+			case VALUE_MANAGED_LIST: {
+				ManagedList<Object> list = new ManagedList<>();
+				list.setElementTypeName(readNullableString(dis));
+				list.setMergeEnabled(dis.readBoolean());
+				readElements(dis, list, dis.readInt());
+				return list;
+			}
+			case VALUE_MANAGED_SET: {
+				ManagedSet<Object> set = new ManagedSet<>();
+				set.setElementTypeName(readNullableString(dis));
+				set.setMergeEnabled(dis.readBoolean());
+				readElements(dis, set, dis.readInt());
+				return set;
+			}
+			case VALUE_MANAGED_MAP: {
+				ManagedMap<Object, Object> map = new ManagedMap<>();
+				map.setKeyTypeName(readNullableString(dis));
+				map.setValueTypeName(readNullableString(dis));
+				map.setMergeEnabled(dis.readBoolean());
+				readEntries(dis, map);
+				return map;
+			}
+			case VALUE_MANAGED_PROPERTIES: {
+				ManagedProperties props = new ManagedProperties();
+				props.setMergeEnabled(dis.readBoolean());
+				readEntries(dis, props);
+				return props;
+			}
+			case VALUE_LIST: {
+				int size = dis.readInt();
+				List<Object> list = new ArrayList<>(size);
+				readElements(dis, list, size);
+				return list;
+			}
+			case VALUE_SET: {
+				int size = dis.readInt();
+				Set<Object> set = new LinkedHashSet<>(size);
+				readElements(dis, set, size);
+				return set;
+			}
+			case VALUE_MAP: {
+				Map<Object, Object> map = new LinkedHashMap<>();
+				readEntries(dis, map);
+				return map;
+			}
+			case VALUE_PROPERTIES: {
+				Properties props = new Properties();
+				readEntries(dis, props);
+				return props;
+			}
+			case VALUE_STRING_ARRAY:
+				return readStrings(dis);
+			default:
+				throw new IllegalArgumentException("Unknown snapshot value tag " + tag);
+		}
+	}
+
+	private void readElements(DataInputStream dis, Collection<Object> target, int size)
+			throws IOException, ClassNotFoundException {
+
+		for (int i = 0; i < size; i++) {
+			target.add(readValue(dis));
+		}
+	}
+
+	private void readEntries(DataInputStream dis, Map<Object, Object> target)
+			throws IOException, ClassNotFoundException {
+
+		int size = dis.readInt();
+		for (int i = 0; i < size; i++) {
+			Object key = readValue(dis);
+			target.put(key, readValue(dis));
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInputStream dis) throws IOException {
+		return (dis.readBoolean() ? dis.readUTF() : null);
+	}
+
+	@Nullable
+	private static String[] readStrings(DataInputStream dis) throws IOException {
+		int length = dis.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] values = new String[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = dis.readUTF();
+		}
+		return values;
+	}
+
+
+	/**
+	 * {@link RootBeanDefinition} restored with the annotation metadata of its
+	 * introspected class and {@code @Bean} factory method, considering only
+	 * {@code @Bean} methods as factory methods, just like the original definition
+	 * registered for a {@code @Bean} method.
+	 */
+	@SuppressWarnings("serial")
+	private static class SnapshotBeanDefinition extends RootBeanDefinition implements AnnotatedBeanDefinition {
+
+		private final AnnotationMetadata annotationMetadata;
+
+		@Nullable
+		private final MethodMetadata factoryMethodMetadata;
+
+		public SnapshotBeanDefinition(AnnotationMetadata annotationMetadata,
+				@Nullable MethodMetadata factoryMethodMetadata) {
+
+			this.annotationMetadata = annotationMetadata;
+			this.factoryMethodMetadata = factoryMethodMetadata;
+		}
+
+		private SnapshotBeanDefinition(SnapshotBeanDefinition original) {
+			super(original);
+			this.annotationMetadata = original.annotationMetadata;
+			this.factoryMethodMetadata = original.factoryMethodMetadata;
+		}
+
+		@Override
+		public AnnotationMetadata getMetadata() {
+			return this.annotationMetadata;
+		}
+
+		@Override
+		@Nullable
+		public MethodMetadata getFactoryMethodMetadata() {
+			return this.factoryMethodMetadata;
+		}
+
+		@Override
+		public boolean isFactoryMethod(Method candidate) {
+			return (super.isFactoryMethod(candidate) &&
+					(this.factoryMethodMetadata == null || BeanAnnotationHelper.isBeanAnnotated(candidate)));
+		}
+
+		@Override
+		public SnapshotBeanDefinition cloneBeanDefinition() {
+			return new SnapshotBeanDefinition(this);
+		}
+	}
+
+
+	/**
+	 * {@link ImportRegistry} backed by the importing class names recorded in a snapshot,
+	 * introspecting each importing class on first access.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClassNames;
+
+		@Nullable
+		private final ClassLoader classLoader;
+
+		private final Map<String, AnnotationMetadata> metadataCache = new ConcurrentHashMap<>();
+
+		public SnapshotImportRegistry(Map<String, String> importingClassNames, @Nullable ClassLoader classLoader) {
+			this.importingClassNames = importingClassNames;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClassName = this.importingClassNames.get(importedClass);
+			if (importingClassName == null) {
+				return null;
+			}
+			return this.metadataCache.computeIfAbsent(importingClassName, className ->
+					new StandardAnnotationMetadata(ClassUtils.resolveClassName(className, this.classLoader), true));
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.importingClassNames.values().removeIf(importingClass::equals);
+		}
+	}
+
+}
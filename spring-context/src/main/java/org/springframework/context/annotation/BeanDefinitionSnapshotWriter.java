@@ -0,0 +1,482 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.LookupOverride;
+import org.springframework.beans.factory.support.ManagedArray;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedProperties;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.MethodOverride;
+import org.springframework.beans.factory.support.ReplaceOverride;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.StandardMethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import static org.springframework.context.annotation.BeanDefinitionSnapshotReader.*;
+
+/**
+ * Writes the bean definitions of a not yet refreshed {@link GenericApplicationContext}
+ * into a compact binary snapshot, after processing all configuration classes in the
+ * same way as {@link ConfigurationClassPostProcessor} would do on refresh: that is,
+ * with component scanning, {@code @Bean} methods, {@code @Import} graphs and all
+ * conditions evaluated against the context's {@code Environment}.
+ *
+ * <p>Intended for use at build time, for immutable deployment artifacts: a
+ * {@link SnapshotApplicationContext} then loads the resulting snapshot at runtime
+ * without any classpath scanning or configuration class parsing.
+ *
+ * <p>Bean definitions can only be written if all of their constructor arguments,
+ * property values and attributes are made up of plain values, bean references,
+ * inner beans and managed collections, as created by the standard readers.
+ * Definitions with an instance supplier are not supported either.
+ *
+ * <p>For annotated bean definitions, the introspected class and the signature of
+ * the {@code @Bean} factory method are recorded as well, so that the annotation
+ * metadata and the factory method selection among overloaded {@code @Bean}
+ * methods remain the same as in a regular annotation-based context.
+ *
+ * @since 5.1
+ * @see BeanDefinitionSnapshotReader
+ * @see SnapshotApplicationContext
+ */
+public class BeanDefinitionSnapshotWriter {
+
+	private final GenericApplicationContext context;
+
+
+	/**
+	 * Create a new {@code BeanDefinitionSnapshotWriter} for the given context.
+	 * @param context the context to write the bean definitions of, with all
+	 * configuration classes, scanned packages and active profiles registered
+	 * but not refreshed yet
+	 */
+	public BeanDefinitionSnapshotWriter(GenericApplicationContext context) {
+		Assert.notNull(context, "GenericApplicationContext must not be null");
+		Assert.state(!context.isActive(), "Context must not have been refreshed yet");
+		this.context = context;
+	}
+
+
+	/**
+	 * Process the configuration classes of the context and write all resulting
+	 * bean definitions to the given stream. The stream is not closed.
+	 * @param out the stream to write to
+	 * @return the number of bean definitions written
+	 * @throws IOException in case of I/O errors
+	 * @throws IllegalStateException if a bean definition cannot be represented in a snapshot
+	 */
+	public int write(OutputStream out) throws IOException {
+		DefaultListableBeanFactory beanFactory = this.context.getDefaultListableBeanFactory();
+		processConfigurationClasses(beanFactory);
+
+		DataOutputStream dos = new DataOutputStream(out);
+		dos.writeInt(MAGIC);
+		dos.writeShort(VERSION);
+		writeStrings(dos, this.context.getEnvironment().getActiveProfiles());
+
+		String[] beanNames = beanFactory.getBeanDefinitionNames();
+		dos.writeInt(beanNames.length);
+		List<String> configClassNames = new ArrayList<>();
+		for (String beanName : beanNames) {
+			BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+			dos.writeUTF(beanName);
+			writeStrings(dos, beanFactory.getAliases(beanName));
+			writeBeanDefinition(dos, beanName, bd);
+			if (bd.getBeanClassName() != null && (ConfigurationClassUtils.isFullConfigurationClass(bd) ||
+					ConfigurationClassUtils.isLiteConfigurationClass(bd))) {
+				configClassNames.add(bd.getBeanClassName());
+			}
+		}
+
+		// Importing classes for ImportAware configuration classes
+		Object importRegistry = beanFactory.getSingleton(ConfigurationClassPostProcessor.IMPORT_REGISTRY_BEAN_NAME);
+		List<String[]> imports = new ArrayList<>();
+		if (importRegistry instanceof ImportRegistry) {
+			for (String configClassName : configClassNames) {
+				AnnotationMetadata importingClass = ((ImportRegistry) importRegistry).getImportingClassFor(configClassName);
+				if (importingClass != null) {
+					imports.add(new String[] {configClassName, importingClass.getClassName()});
+				}
+			}
+		}
+		dos.writeInt(imports.size());
+		for (String[] entry : imports) {
+			dos.writeUTF(entry[0]);
+			dos.writeUTF(entry[1]);
+		}
+		dos.flush();
+		return beanNames.length;
+	}
+
+	private void processConfigurationClasses(DefaultListableBeanFactory beanFactory) {
+		ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+		postProcessor.setEnvironment(this.context.getEnvironment());
+		postProcessor.setResourceLoader(this.context);
+		ClassLoader classLoader = this.context.getClassLoader();
+		if (classLoader != null) {
+			postProcessor.setBeanClassLoader(classLoader);
+		}
+		postProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+	}
+
+	private void writeBeanDefinition(DataOutputStream dos, String beanName, BeanDefinition bd) throws IOException {
+		if (!(bd instanceof AbstractBeanDefinition)) {
+			throw new IllegalStateException("Cannot write bean definition for bean '" + beanName +
+					"' to snapshot: not an AbstractBeanDefinition - " + bd);
+		}
+		AbstractBeanDefinition abd = (AbstractBeanDefinition) bd;
+		if (abd.getInstanceSupplier() != null) {
+			throw new IllegalStateException("Cannot write bean definition for bean '" + beanName +
+					"' to snapshot: instance suppliers are not supported");
+		}
+
+		boolean root = (abd instanceof RootBeanDefinition);
+		dos.writeBoolean(root);
+		writeNullableString(dos, abd.getParentName());
+		writeAnnotationMetadata(dos, beanName, abd);
+		writeNullableString(dos, abd.getBeanClassName());
+		writeNullableString(dos, abd.getScope());
+		dos.writeBoolean(abd.isAbstract());
+		dos.writeBoolean(abd.isLazyInit());
+		dos.writeInt(abd.getAutowireMode());
+		dos.writeInt(abd.getDependencyCheck());
+		writeStrings(dos, abd.getDependsOn());
+		dos.writeBoolean(abd.isAutowireCandidate());
+		dos.writeBoolean(abd.isPrimary());
+		dos.writeBoolean(abd.isNonPublicAccessAllowed());
+		dos.writeBoolean(abd.isLenientConstructorResolution());
+		writeNullableString(dos, abd.getFactoryBeanName());
+		writeNullableString(dos, abd.getFactoryMethodName());
+		// Instance @Bean methods are registered with a unique factory method name
+		dos.writeBoolean(abd.getFactoryBeanName() != null && abd instanceof AnnotatedBeanDefinition &&
+				((AnnotatedBeanDefinition) abd).getFactoryMethodMetadata() != null);
+		writeNullableString(dos, abd.getInitMethodName());
+		dos.writeBoolean(abd.isEnforceInitMethod());
+		writeNullableString(dos, abd.getDestroyMethodName());
+		dos.writeBoolean(abd.isEnforceDestroyMethod());
+		dos.writeBoolean(abd.isSynthetic());
+		dos.writeInt(abd.getRole());
+		writeNullableString(dos, abd.getDescription());
+
+		Set<AutowireCandidateQualifier> qualifiers = abd.getQualifiers();
+		dos.writeInt(qualifiers.size());
+		for (AutowireCandidateQualifier qualifier : qualifiers) {
+			dos.writeUTF(qualifier.getTypeName());
+			String[] attributeNames = qualifier.attributeNames();
+			dos.writeInt(attributeNames.length);
+			for (String attributeName : attributeNames) {
+				dos.writeUTF(attributeName);
+				writeValue(dos, beanName, qualifier.getAttribute(attributeName));
+			}
+		}
+
+		ConstructorArgumentValues cav = abd.getConstructorArgumentValues();
+		Map<Integer, ConstructorArgumentValues.ValueHolder> indexedArgs = cav.getIndexedArgumentValues();
+		dos.writeInt(indexedArgs.size());
+		for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : indexedArgs.entrySet()) {
+			dos.writeInt(entry.getKey());
+			writeValueHolder(dos, beanName, entry.getValue());
+		}
+		List<ConstructorArgumentValues.ValueHolder> genericArgs = cav.getGenericArgumentValues();
+		dos.writeInt(genericArgs.size());
+		for (ConstructorArgumentValues.ValueHolder valueHolder : genericArgs) {
+			writeValueHolder(dos, beanName, valueHolder);
+		}
+
+		PropertyValue[] pvs = abd.getPropertyValues().getPropertyValues();
+		dos.writeInt(pvs.length);
+		for (PropertyValue pv : pvs) {
+			dos.writeUTF(pv.getName());
+			writeValue(dos, beanName, pv.getValue());
+		}
+
+		Set<MethodOverride> overrides = abd.getMethodOverrides().getOverrides();
+		dos.writeInt(overrides.size());
+		for (MethodOverride override : overrides) {
+			if (override instanceof LookupOverride) {
+				dos.writeByte(OVERRIDE_LOOKUP);
+				dos.writeUTF(override.getMethodName());
+				writeNullableString(dos, ((LookupOverride) override).getBeanName());
+			}
+			else if (override instanceof ReplaceOverride) {
+				dos.writeByte(OVERRIDE_REPLACE);
+				dos.writeUTF(override.getMethodName());
+				dos.writeUTF(((ReplaceOverride) override).getMethodReplacerBeanName());
+				writeStrings(dos, StringUtils.toStringArray(((ReplaceOverride) override).getTypeIdentifiers()));
+			}
+			else {
+				throw new IllegalStateException("Cannot write bean definition for bean '" + beanName +
+						"' to snapshot: unsupported method override " + override);
+			}
+		}
+
+		String[] attributeNames = abd.attributeNames();
+		dos.writeInt(attributeNames.length);
+		for (String attributeName : attributeNames) {
+			dos.writeUTF(attributeName);
+			writeValue(dos, beanName, abd.getAttribute(attributeName));
+		}
+
+		BeanDefinitionHolder decoratedDefinition = (root ? ((RootBeanDefinition) abd).getDecoratedDefinition() : null);
+		writeValue(dos, beanName, decoratedDefinition);
+	}
+
+	private void writeAnnotationMetadata(DataOutputStream dos, String beanName, AbstractBeanDefinition abd)
+			throws IOException {
+
+		if (!(abd instanceof AnnotatedBeanDefinition)) {
+			writeNullableString(dos, null);
+			return;
+		}
+		AnnotatedBeanDefinition annotatedBd = (AnnotatedBeanDefinition) abd;
+		writeNullableString(dos, annotatedBd.getMetadata().getClassName());
+		MethodMetadata factoryMethodMetadata = annotatedBd.getFactoryMethodMetadata();
+		dos.writeBoolean(factoryMethodMetadata != null);
+		if (factoryMethodMetadata != null) {
+			Method factoryMethod = resolveFactoryMethod(beanName, factoryMethodMetadata);
+			dos.writeUTF(factoryMethod.getDeclaringClass().getName());
+			dos.writeUTF(factoryMethod.getName());
+			Class<?>[] parameterTypes = factoryMethod.getParameterTypes();
+			String[] parameterTypeNames = new String[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypeNames[i] = parameterTypes[i].getName();
+			}
+			writeStrings(dos, parameterTypeNames);
+		}
+	}
+
+	private Method resolveFactoryMethod(String beanName, MethodMetadata factoryMethodMetadata) {
+		if (factoryMethodMetadata instanceof StandardMethodMetadata) {
+			return ((StandardMethodMetadata) factoryMethodMetadata).getIntrospectedMethod();
+		}
+		// ASM-based metadata: find the declared method with the same name and return type
+		Class<?> declaringClass = ClassUtils.resolveClassName(
+				factoryMethodMetadata.getDeclaringClassName(), this.context.getClassLoader());
+		Method factoryMethod = null;
+		for (Method candidate : declaringClass.getDeclaredMethods()) {
+			if (candidate.getName().equals(factoryMethodMetadata.getMethodName()) &&
+					Modifier.isStatic(candidate.getModifiers()) == factoryMethodMetadata.isStatic() &&
+					ClassUtils.getQualifiedName(candidate.getReturnType()).equals(
+							factoryMethodMetadata.getReturnTypeName()) && !candidate.isBridge()) {
+				if (factoryMethod != null) {
+					throw new IllegalStateException("Cannot write bean definition for bean '" + beanName +
+							"' to snapshot: ambiguous factory method '" + candidate.getName() + "' in " +
+							declaringClass.getName());
+				}
+				factoryMethod = candidate;
+			}
+		}
+		if (factoryMethod == null) {
+			throw new IllegalStateException("Cannot write bean definition for bean '" + beanName +
+					"' to snapshot: factory method '" + factoryMethodMetadata.getMethodName() +
+					"' not found in " + declaringClass.getName());
+		}
+		return factoryMethod;
+	}
+
+	private void writeValueHolder(DataOutputStream dos, String beanName,
+			ConstructorArgumentValues.ValueHolder valueHolder) throws IOException {
+
+		writeValue(dos, beanName, valueHolder.getValue());
+		writeNullableString(dos, valueHolder.getType());
+		writeNullableString(dos, valueHolder.getName());
+	}
+
+	private void writeValue(DataOutputStream dos, String beanName, @Nullable Object value) throws IOException {
+		if (value == null) {
+			dos.writeByte(VALUE_NULL);
+		}
+		else if (value instanceof String) {
+			dos.writeByte(VALUE_STRING);
+			dos.writeUTF((String) value);
+		}
+		else if (value instanceof TypedStringValue) {
+			TypedStringValue typedValue = (TypedStringValue) value;
+			dos.writeByte(VALUE_TYPED_STRING);
+			writeNullableString(dos, typedValue.getValue());
+			writeNullableString(dos, (typedValue.hasTargetType() ?
+					typedValue.getTargetType().getName() : typedValue.getTargetTypeName()));
+			dos.writeBoolean(typedValue.isDynamic());
+		}
+		else if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference ref = (RuntimeBeanReference) value;
+			dos.writeByte(VALUE_BEAN_REFERENCE);
+			dos.writeUTF(ref.getBeanName());
+			dos.writeBoolean(ref.isToParent());
+		}
+		else if (value instanceof RuntimeBeanNameReference) {
+			dos.writeByte(VALUE_BEAN_NAME_REFERENCE);
+			dos.writeUTF(((RuntimeBeanNameReference) value).getBeanName());
+		}
+		else if (value instanceof Boolean) {
+			dos.writeByte(VALUE_BOOLEAN);
+			dos.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			dos.writeByte(VALUE_INTEGER);
+			dos.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			dos.writeByte(VALUE_LONG);
+			dos.writeLong((Long) value);
+		}
+		else if (value instanceof Class) {
+			dos.writeByte(VALUE_CLASS);
+			dos.writeUTF(((Class<?>) value).getName());
+		}
+		else if (value instanceof Enum) {
+			dos.writeByte(VALUE_ENUM);
+			dos.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+			dos.writeUTF(((Enum<?>) value).name());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			BeanDefinitionHolder holder = (BeanDefinitionHolder) value;
+			dos.writeByte(VALUE_BEAN_DEFINITION_HOLDER);
+			dos.writeUTF(holder.getBeanName());
+			writeStrings(dos, holder.getAliases());
+			writeBeanDefinition(dos, holder.getBeanName(), holder.getBeanDefinition());
+		}
+		else if (value instanceof BeanDefinition) {
+			dos.writeByte(VALUE_BEAN_DEFINITION);
+			writeBeanDefinition(dos, beanName, (BeanDefinition) value);
+		}
+		else if (value instanceof ManagedArray) {
+			ManagedArray array = (ManagedArray) value;
+			dos.writeByte(VALUE_ARRAY);
+			writeNullableString(dos, array.getElementTypeName());
+			dos.writeBoolean(array.isMergeEnabled());
+			writeElements(dos, beanName, array);
+		}
+		else if (value instanceof ManagedList) {
+			ManagedList<?> list = (ManagedList<?>) value;
+			dos.writeByte(VALUE_MANAGED_LIST);
+			writeNullableString(dos, list.getElementTypeName());
+			dos.writeBoolean(list.isMergeEnabled());
+			writeElements(dos, beanName, list);
+		}
+		else if (value instanceof ManagedSet) {
+			ManagedSet<?> set = (ManagedSet<?>) value;
+			dos.writeByte(VALUE_MANAGED_SET);
+			writeNullableString(dos, set.getElementTypeName());
+			dos.writeBoolean(set.isMergeEnabled());
+			writeElements(dos, beanName, set);
+		}
+		else if (value instanceof ManagedMap) {
+			ManagedMap<?, ?> map = (ManagedMap<?, ?>) value;
+			dos.writeByte(VALUE_MANAGED_MAP);
+			writeNullableString(dos, map.getKeyTypeName());
+			writeNullableString(dos, map.getValueTypeName());
+			dos.writeBoolean(map.isMergeEnabled());
+			writeEntries(dos, beanName, map);
+		}
+		else if (value instanceof ManagedProperties) {
+			ManagedProperties props = (ManagedProperties) value;
+			dos.writeByte(VALUE_MANAGED_PROPERTIES);
+			dos.writeBoolean(props.isMergeEnabled());
+			writeEntries(dos, beanName, props);
+		}
+		else if (value instanceof List) {
+			dos.writeByte(VALUE_LIST);
+			writeElements(dos, beanName, (List<?>) value);
+		}
+		else if (value instanceof Set) {
+			dos.writeByte(VALUE_SET);
+			writeElements(dos, beanName, (Set<?>) value);
+		}
+		else if (value instanceof Properties) {
+			dos.writeByte(VALUE_PROPERTIES);
+			writeEntries(dos, beanName, (Properties) value);
+		}
+		else if (value instanceof Map) {
+			dos.writeByte(VALUE_MAP);
+			writeEntries(dos, beanName, (Map<?, ?>) value);
+		}
+		else if (value instanceof String[]) {
+			dos.writeByte(VALUE_STRING_ARRAY);
+			writeStrings(dos, (String[]) value);
+		}
+		else {
+			throw new IllegalStateException("Cannot write bean definition for bean '" + beanName +
+					"' to snapshot: unsupported value of type [" + value.getClass().getName() + "]");
+		}
+	}
+
+	private void writeElements(DataOutputStream dos, String beanName, Collection<?> elements) throws IOException {
+		dos.writeInt(elements.size());
+		for (Object element : elements) {
+			writeValue(dos, beanName, element);
+		}
+	}
+
+	private void writeEntries(DataOutputStream dos, String beanName, Map<?, ?> entries) throws IOException {
+		dos.writeInt(entries.size());
+		for (Map.Entry<?, ?> entry : entries.entrySet()) {
+			writeValue(dos, beanName, entry.getKey());
+			writeValue(dos, beanName, entry.getValue());
+		}
+	}
+
+	private static void writeNullableString(DataOutputStream dos, @Nullable String value) throws IOException {
+		dos.writeBoolean(value != null);
+		if (value != null) {
+			dos.writeUTF(value);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream dos, @Nullable String[] values) throws IOException {
+		if (values == null) {
+			dos.writeInt(-1);
+			return;
+		}
+		dos.writeInt(values.length);
+		for (String value : values) {
+			dos.writeUTF(value);
+		}
+	}
+
+}
@@ -37,6 +37,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
@@ -57,6 +58,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
@@ -91,7 +94,7 @@ import static org.springframework.context.annotation.AnnotationConfigUtils.*;
 public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPostProcessor,
 		PriorityOrdered, ResourceLoaderAware, BeanClassLoaderAware, EnvironmentAware {
 
-	private static final String IMPORT_REGISTRY_BEAN_NAME =
+	static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
 
@@ -264,7 +267,13 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		/**
 		 * 实现代理增强全配置类（@Configuration标注的类）
 		 */
-		enhanceConfigurationClasses(beanFactory);
+		StartupStep enhanceConfigClasses = beanFactory.getApplicationStartup().start("spring.context.config-classes.enhance");
+		try {
+			enhanceConfigurationClasses(beanFactory);
+		}
+		finally {
+			enhanceConfigClasses.end();
+		}
 		/**
 		 * 将ImportAwareBeanPostProcessor这个BeanPostProcessor
 		 * 这个bean后置处理器类添加到BeanFactory中，以便后续执行bean后置处理器的时候可以调用到
@@ -370,8 +379,15 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			/**
 			 * 这一步完成扫描给定目录下bean对象为BeanDefinition并添加进BeanDefinitionMap的动作
 			 */
-			parser.parse(candidates);
-			parser.validate();
+			StartupStep processConfig = getApplicationStartup(registry).start("spring.context.config-classes.parse")
+					.tag("classCount", () -> String.valueOf(candidates.size()));
+			try {
+				parser.parse(candidates);
+				parser.validate();
+			}
+			finally {
+				processConfig.end();
+			}
 
 			/**
 			 * 从上一步解析出来的结果中取出ConfigurationClass配置类信息
@@ -431,6 +447,14 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	/**
+	 * Determine the {@link ApplicationStartup} to record steps with for the given registry.
+	 */
+	private static ApplicationStartup getApplicationStartup(BeanDefinitionRegistry registry) {
+		return (registry instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT);
+	}
+
 	/**
 	 * 后置处理器中在BeanFactory中查找对应的Configuration类的BeanDefinition定义，然后
 	 * 通过ConfigurationClassEnhancer增强任何候选对象。候选状态由BeanDefinition属性元数据确定
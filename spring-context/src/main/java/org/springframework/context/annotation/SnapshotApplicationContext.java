@@ -0,0 +1,113 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Standalone application context that loads its bean definitions from a snapshot
+ * written by {@link BeanDefinitionSnapshotWriter}, typically at build time, instead
+ * of scanning the classpath and parsing configuration classes on startup.
+ *
+ * <p>The annotation config processors get registered as well, unless already
+ * contained in the snapshot: {@code @Configuration} classes are enhanced and
+ * {@code @Autowired} injection applies just like in an
+ * {@link AnnotationConfigApplicationContext}.
+ *
+ * @since 5.1
+ * @see #load
+ * @see BeanDefinitionSnapshotReader
+ * @see BeanDefinitionSnapshotWriter
+ */
+public class SnapshotApplicationContext extends GenericApplicationContext {
+
+	private final BeanDefinitionSnapshotReader reader = new BeanDefinitionSnapshotReader(this);
+
+
+	/**
+	 * Create a new SnapshotApplicationContext that needs to be
+	 * {@link #load loaded} and then manually {@link #refresh refreshed}.
+	 */
+	public SnapshotApplicationContext() {
+		this.reader.setEnvironment(getEnvironment());
+	}
+
+	/**
+	 * Create a new SnapshotApplicationContext, loading bean definitions
+	 * from the given snapshot resources and automatically refreshing the context.
+	 * @param resources the snapshot resources to load from
+	 */
+	public SnapshotApplicationContext(Resource... resources) {
+		this();
+		load(resources);
+		refresh();
+	}
+
+	/**
+	 * Create a new SnapshotApplicationContext, loading bean definitions
+	 * from the given snapshot locations and automatically refreshing the context.
+	 * @param resourceLocations the snapshot locations to load from
+	 */
+	public SnapshotApplicationContext(String... resourceLocations) {
+		this();
+		load(resourceLocations);
+		refresh();
+	}
+
+
+	/**
+	 * Delegates the given environment to the underlying {@link BeanDefinitionSnapshotReader}.
+	 * Should be called before any call to {@code #load}.
+	 */
+	@Override
+	public void setEnvironment(ConfigurableEnvironment environment) {
+		super.setEnvironment(environment);
+		this.reader.setEnvironment(getEnvironment());
+	}
+
+	@Override
+	public void setClassLoader(@Nullable ClassLoader classLoader) {
+		super.setClassLoader(classLoader);
+		this.reader.setBeanClassLoader(classLoader);
+	}
+
+	/**
+	 * Load bean definitions from the given snapshot resources.
+	 * @param resources one or more resources to load from
+	 */
+	public void load(Resource... resources) {
+		for (Resource resource : resources) {
+			this.reader.loadBeanDefinitions(resource);
+		}
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(this);
+	}
+
+	/**
+	 * Load bean definitions from the given snapshot locations.
+	 * @param resourceLocations one or more resource locations to load from
+	 */
+	public void load(String... resourceLocations) {
+		for (String resourceLocation : resourceLocations) {
+			this.reader.loadBeanDefinitions(getResource(resourceLocation));
+		}
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(this);
+	}
+
+}
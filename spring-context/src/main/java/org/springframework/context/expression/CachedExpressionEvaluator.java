@@ -21,6 +21,8 @@ import java.util.Map;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -49,10 +51,11 @@ public abstract class CachedExpressionEvaluator {
 	}
 
 	/**
-	 * Create a new instance with a default {@link SpelExpressionParser}.
+	 * Create a new instance with a default {@link SpelExpressionParser},
+	 * backed by a {@link SpelExpressionCache} of its own.
 	 */
 	protected CachedExpressionEvaluator() {
-		this(new SpelExpressionParser());
+		this(new SpelExpressionParser(new SpelParserConfiguration(), new SpelExpressionCache()));
 	}
 
 
@@ -76,6 +76,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -174,6 +176,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Nullable
 	private ConfigurableEnvironment environment;
 
+	/** Application startup metrics */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	/** BeanFactoryPostProcessors to apply on refresh */
 	/**
 	 * 初始化存放BeanFactoryPostProcessor数据的List
@@ -326,6 +331,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return new StandardEnvironment();
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Return this context's internal bean factory as AutowireCapableBeanFactory,
 	 * if already available.
@@ -414,7 +430,14 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			/**
 			 * 获取应用程序上下文中的应用事件广播器并调用以发布事件
 			 */
-			getApplicationEventMulticaster().multicastEvent(applicationEvent, eventType);
+			StartupStep eventPublication = this.applicationStartup.start("spring.context.event.publish")
+					.tag("eventType", applicationEvent.getClass().getName());
+			try {
+				getApplicationEventMulticaster().multicastEvent(applicationEvent, eventType);
+			}
+			finally {
+				eventPublication.end();
+			}
 		}
 
 		// Publish event via parent context as well...
@@ -535,6 +558,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	public void refresh() throws BeansException, IllegalStateException {
 		// 使用锁
 		synchronized (this.startupShutdownMonitor) {
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
+
 			// Prepare this context for refreshing.
 			/**
 			 * 准备工作，包括设置启动时间，是否激活标识位，
@@ -562,23 +587,29 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				 */
 				postProcessBeanFactory(beanFactory);
 
-				// Invoke factory processors registered as beans in the context.
-				/**
-				 * 先扫描指定目录下的所有交给Spring管理的对象，将其添加到Spring上下文环境的BeanDefinitionMap中
-				 * 然后执行开发人员自定义的ProcessBeanFactory和spring内部自己定义的ProcessBeanFactory的实现类，
-				 * 以实现个性化配置对象关系的功能。
-				 * 这一步完成之后，就已经将开发人员交给Spring管理的类添加到ApplicationContext中的BeanDefinitionMap中了
-				 *
-				 * ProcessBeanFactory作用：
-				 * 实现该接口后可个性化设置BeanFactory中的BeanDefinitions数据
-				 */
-				invokeBeanFactoryPostProcessors(beanFactory);
-
-				// Register bean processors that intercept bean creation.
-				/**
-				 * 注册beanPostProcessor
-				 */
-				registerBeanPostProcessors(beanFactory);
+				StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+				try {
+					// Invoke factory processors registered as beans in the context.
+					/**
+					 * 先扫描指定目录下的所有交给Spring管理的对象，将其添加到Spring上下文环境的BeanDefinitionMap中
+					 * 然后执行开发人员自定义的ProcessBeanFactory和spring内部自己定义的ProcessBeanFactory的实现类，
+					 * 以实现个性化配置对象关系的功能。
+					 * 这一步完成之后，就已经将开发人员交给Spring管理的类添加到ApplicationContext中的BeanDefinitionMap中了
+					 *
+					 * ProcessBeanFactory作用：
+					 * 实现该接口后可个性化设置BeanFactory中的BeanDefinitions数据
+					 */
+					invokeBeanFactoryPostProcessors(beanFactory);
+
+					// Register bean processors that intercept bean creation.
+					/**
+					 * 注册beanPostProcessor
+					 */
+					registerBeanPostProcessors(beanFactory);
+				}
+				finally {
+					beanPostProcess.end();
+				}
 
 				// Initialize message source for this context.
 				initMessageSource();
@@ -632,6 +663,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Reset common introspection caches in Spring's core, since we
 				// might not ever need metadata for singleton beans anymore...
 				resetCommonCaches();
+				contextRefresh.end();
 			}
 		}
 	}
@@ -693,6 +725,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	protected void prepareBeanFactory(ConfigurableListableBeanFactory beanFactory) {
 		// Tell the internal bean factory to use the context's class loader etc.
 		beanFactory.setBeanClassLoader(getClassLoader());
+		beanFactory.setApplicationStartup(getApplicationStartup());
 		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
 		beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
 
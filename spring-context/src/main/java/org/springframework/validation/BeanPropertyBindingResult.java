@@ -20,7 +20,7 @@ import java.io.Serializable;
 
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.ConfigurablePropertyAccessor;
-import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.MethodHandleBeanWrapper;
 import org.springframework.lang.Nullable;
 
 /**
@@ -104,13 +104,15 @@ public class BeanPropertyBindingResult extends AbstractPropertyBindingResult imp
 
 	/**
 	 * Create a new {@link BeanWrapper} for the underlying target object.
+	 * <p>As of 5.1, this is a {@link MethodHandleBeanWrapper}, reusing the
+	 * precomputed property metadata of the target class for every binding.
 	 * @see #getTarget()
 	 */
 	protected BeanWrapper createBeanWrapper() {
 		if (this.target == null) {
 			throw new IllegalStateException("Cannot access properties on null bean instance '" + getObjectName() + "'");
 		}
-		return PropertyAccessorFactory.forBeanPropertyAccess(this.target);
+		return new MethodHandleBeanWrapper(this.target);
 	}
 
 }
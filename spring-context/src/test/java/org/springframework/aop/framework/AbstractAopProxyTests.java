@@ -559,6 +559,45 @@ public abstract class AbstractAopProxyTests {
 		proxied.incrementViaProxy();
 	}
 
+	@Test
+	public void testFrozenProxyWithStaticTarget() throws Throwable {
+		TestBean target = new TestBean();
+		target.setAge(21);
+		ProxyFactory pc = new ProxyFactory(target);
+		NopInterceptor nop = new NopInterceptor();
+		pc.addAdvice(nop);
+		CountingBeforeAdvice cba = new CountingBeforeAdvice();
+		NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+		pointcut.addMethodName("getAge");
+		pc.addAdvisor(new DefaultPointcutAdvisor(pointcut, cba));
+		pc.setFrozen(true);
+		ITestBean proxied = (ITestBean) createProxy(pc);
+
+		assertEquals(21, proxied.getAge());
+		proxied.setAge(22);
+		assertEquals(22, proxied.getAge());
+		assertEquals(22, target.getAge());
+		assertEquals(3, nop.getCount());
+		assertEquals(2, cba.getCalls());
+		assertEquals(2, cba.getCalls("getAge"));
+	}
+
+	@Test
+	public void testFrozenProxyCanExposeProxyToAdvisedMethods() throws Throwable {
+		NeedsToSeeProxy target = new NeedsToSeeProxy();
+		AdvisedSupport pc = new AdvisedSupport(INeedsToSeeProxy.class);
+		pc.setTarget(target);
+		NopInterceptor nop = new NopInterceptor();
+		pc.addAdvice(nop);
+		pc.setExposeProxy(true);
+		pc.setFrozen(true);
+
+		INeedsToSeeProxy proxied = (INeedsToSeeProxy) createAopProxy(pc).getProxy();
+		proxied.incrementViaProxy();
+		assertEquals(1, target.getCount());
+		assertEquals(2, nop.getCount());
+	}
+
 	@Test
 	public void testTargetCanGetInvocation() throws Throwable {
 		final InvocationCheckExposedInvocationTestBean expectedTarget = new InvocationCheckExposedInvocationTestBean();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.junit.Test;
 
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
 import org.springframework.tests.sample.beans.IOther;
 import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -145,6 +146,32 @@ public class JdkDynamicProxyTests extends AbstractAopProxyTests implements Seria
 		assertTrue(proxy.doWithVarargs(MyEnum.A, MyOtherEnum.C));
 	}
 
+	@Test
+	public void testFrozenProxyPicksUpAdviceAddedAfterUnfreezing() throws Throwable {
+		TestBean target = new TestBean();
+		ProxyFactory pf = new ProxyFactory(target);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		proxy.setAge(21);
+		assertEquals(1, nop.getCount());
+
+		pf.setFrozen(false);
+		NopInterceptor nop2 = new NopInterceptor();
+		pf.addAdvice(nop2);
+		pf.setFrozen(true);
+		assertEquals(21, proxy.getAge());
+		assertEquals(2, nop.getCount());
+		assertEquals(1, nop2.getCount());
+
+		pf.setFrozen(false);
+		pf.removeAdvice(nop);
+		assertEquals(21, proxy.getAge());
+		assertEquals(2, nop.getCount());
+		assertEquals(2, nop2.getCount());
+	}
+
 
 	public interface Foo {
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStartupStep;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link org.springframework.core.metrics.ApplicationStartup}
+ * recording during an application context refresh.
+ */
+public class ApplicationStartupTests {
+
+	@Test
+	public void refreshRecordsSteps() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(1000);
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setApplicationStartup(startup);
+		ctx.register(StartupConfig.class);
+		ctx.scan("org.springframework.context.annotation.componentscan.simple");
+		ctx.refresh();
+		ctx.close();
+
+		List<BufferedStartupStep> steps = startup.getBufferedSteps();
+		List<String> names = steps.stream().map(StartupStep::getName).collect(Collectors.toList());
+		assertTrue(names.contains("spring.context.base-package.scan"));
+		assertTrue(names.contains("spring.context.beans.post-process"));
+		assertTrue(names.contains("spring.context.beandef-registry.post-process"));
+		assertTrue(names.contains("spring.context.bean-factory.post-process"));
+		assertTrue(names.contains("spring.context.config-classes.parse"));
+		assertTrue(names.contains("spring.context.config-classes.enhance"));
+		assertTrue(names.contains("spring.context.event.publish"));
+		assertTrue(names.contains("spring.context.lifecycle.start"));
+
+		BufferedStartupStep refresh = findStep(steps, "spring.context.refresh", null);
+		assertNull(refresh.getParentId());
+		BufferedStartupStep testBean = findStep(steps, "spring.beans.instantiate", "testBean");
+		BufferedStartupStep spouse = findStep(steps, "spring.beans.instantiate", "spouse");
+		assertEquals(Long.valueOf(testBean.getId()), spouse.getParentId());
+		assertEquals(Long.valueOf(refresh.getId()), testBean.getParentId());
+		assertTrue(refresh.getDuration().compareTo(testBean.getDuration()) >= 0);
+		findStep(steps, "spring.context.lifecycle.start", "lifecycle");
+	}
+
+	@Test
+	public void stepsEndedOnFailure() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(1000);
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.setApplicationStartup(startup);
+		ctx.register(StartupConfig.class);
+		ctx.addBeanFactoryPostProcessor(beanFactory -> {
+			throw new IllegalStateException("Expected failure");
+		});
+		try {
+			ctx.refresh();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals("Expected failure", ex.getMessage());
+		}
+
+		List<BufferedStartupStep> steps = startup.getBufferedSteps();
+		List<String> names = steps.stream().map(StartupStep::getName).collect(Collectors.toList());
+		assertTrue(names.contains("spring.context.bean-factory.post-process"));
+		assertTrue(names.contains("spring.context.beans.post-process"));
+		assertTrue(names.contains("spring.context.refresh"));
+	}
+
+	private static BufferedStartupStep findStep(List<BufferedStartupStep> steps, String name, String beanName) {
+		for (BufferedStartupStep step : steps) {
+			if (step.getName().equals(name)) {
+				if (beanName == null) {
+					return step;
+				}
+				for (StartupStep.Tag tag : step.getTags()) {
+					if (tag.getKey().equals("beanName") && tag.getValue().equals(beanName)) {
+						return step;
+					}
+				}
+			}
+		}
+		throw new AssertionError("No step '" + name + "' found for bean '" + beanName + "'");
+	}
+
+
+	@Configuration
+	static class StartupConfig {
+
+		@Bean
+		public TestBean testBean(TestBean spouse) {
+			TestBean testBean = new TestBean("testBean");
+			testBean.setSpouse(spouse);
+			return testBean;
+		}
+
+		@Bean
+		@Lazy
+		public TestBean spouse() {
+			return new TestBean("spouse");
+		}
+
+		@Bean
+		public SmartLifecycle lifecycle() {
+			return new StartupLifecycle();
+		}
+	}
+
+
+	static class StartupLifecycle implements SmartLifecycle {
+
+		private volatile boolean running;
+
+		@Override
+		public void start() {
+			this.running = true;
+		}
+
+		@Override
+		public void stop() {
+			this.running = false;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return this.running;
+		}
+
+		@Override
+		public boolean isAutoStartup() {
+			return true;
+		}
+
+		@Override
+		public void stop(Runnable callback) {
+			stop();
+			callback.run();
+		}
+
+		@Override
+		public int getPhase() {
+			return 0;
+		}
+	}
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshotWriter}, {@link BeanDefinitionSnapshotReader}
+ * and {@link SnapshotApplicationContext}.
+ */
+public class BeanDefinitionSnapshotTests {
+
+	@Test
+	public void configurationClassesFromSnapshot() throws IOException {
+		AnnotationConfigApplicationContext source = new AnnotationConfigApplicationContext();
+		source.register(SnapshotConfig.class);
+		ByteArrayResource snapshot = writeSnapshot(source);
+
+		SnapshotApplicationContext ctx = new SnapshotApplicationContext(snapshot);
+		TestBean spouse = ctx.getBean("spouse", TestBean.class);
+		TestBean testBean = ctx.getBean("testBean", TestBean.class);
+		assertSame(spouse, testBean.getSpouse());
+		assertTrue(ctx.getBean(SnapshotConfig.class).getClass().getName().contains("$$EnhancerBySpringCGLIB$$"));
+		assertFalse(ctx.containsBean("devBean"));
+		assertEquals("snapshot", ctx.getBean("greeting", String.class));
+		assertTrue(ctx.getBeanDefinition("testBean") instanceof RootBeanDefinition);
+		ctx.close();
+	}
+
+	@Test
+	public void annotationMetadataFromSnapshot() throws IOException {
+		AnnotationConfigApplicationContext source = new AnnotationConfigApplicationContext();
+		source.register(SnapshotConfig.class);
+		ByteArrayResource snapshot = writeSnapshot(source);
+
+		SnapshotApplicationContext ctx = new SnapshotApplicationContext(snapshot);
+		BeanDefinition bd = ctx.getBeanDefinition("testBean");
+		assertTrue(bd instanceof AnnotatedBeanDefinition);
+		assertEquals(SnapshotConfig.class.getName(), ((AnnotatedBeanDefinition) bd).getMetadata().getClassName());
+		assertEquals("testBean", ((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata().getMethodName());
+		bd = ctx.getBeanDefinition("beanDefinitionSnapshotTests.SnapshotConfig");
+		assertTrue(bd instanceof AnnotatedBeanDefinition);
+		assertTrue(((AnnotatedBeanDefinition) bd).getMetadata().isAnnotated(EnableGreeting.class.getName()));
+		assertNull(((AnnotatedBeanDefinition) bd).getFactoryMethodMetadata());
+		ctx.close();
+	}
+
+	@Test
+	public void overloadedBeanMethodFromSnapshot() throws IOException {
+		AnnotationConfigApplicationContext source = new AnnotationConfigApplicationContext();
+		source.register(OverloadedConfig.class);
+		ByteArrayResource snapshot = writeSnapshot(source);
+
+		SnapshotApplicationContext ctx = new SnapshotApplicationContext(snapshot);
+		assertEquals("number 42", ctx.getBean("overloaded", String.class));
+		ctx.close();
+
+		AnnotationConfigApplicationContext reference = new AnnotationConfigApplicationContext(OverloadedConfig.class);
+		assertEquals("number 42", reference.getBean("overloaded", String.class));
+		reference.close();
+	}
+
+	@Test
+	public void profilesFromSnapshot() throws IOException {
+		AnnotationConfigApplicationContext source = new AnnotationConfigApplicationContext();
+		source.getEnvironment().setActiveProfiles("dev");
+		source.register(SnapshotConfig.class);
+		ByteArrayResource snapshot = writeSnapshot(source);
+
+		SnapshotApplicationContext ctx = new SnapshotApplicationContext(snapshot);
+		assertArrayEquals(new String[] {"dev"}, ctx.getEnvironment().getActiveProfiles());
+		assertEquals("dev", ctx.getBean("devBean", TestBean.class).getName());
+		ctx.close();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void profileMismatch() throws IOException {
+		AnnotationConfigApplicationContext source = new AnnotationConfigApplicationContext();
+		source.getEnvironment().setActiveProfiles("dev");
+		source.register(SnapshotConfig.class);
+		ByteArrayResource snapshot = writeSnapshot(source);
+
+		SnapshotApplicationContext ctx = new SnapshotApplicationContext();
+		ctx.getEnvironment().setActiveProfiles("prod");
+		ctx.load(snapshot);
+	}
+
+	@Test
+	public void genericBeanDefinitionsFromSnapshot() throws IOException {
+		GenericApplicationContext source = new GenericApplicationContext();
+		RootBeanDefinition spouse = new RootBeanDefinition(TestBean.class);
+		spouse.getPropertyValues().add("name", "spouse");
+		source.registerBeanDefinition("spouse", spouse);
+		RootBeanDefinition testBean = new RootBeanDefinition(TestBean.class);
+		testBean.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		testBean.getConstructorArgumentValues().addIndexedArgumentValue(0, "tb");
+		testBean.getConstructorArgumentValues().addIndexedArgumentValue(1, 42);
+		ManagedList<Object> friends = new ManagedList<>();
+		friends.add(new RuntimeBeanReference("spouse"));
+		friends.add(new RootBeanDefinition(TestBean.class));
+		testBean.getPropertyValues().add("friends", friends);
+		source.registerBeanDefinition("testBean", testBean);
+		source.registerAlias("testBean", "alias");
+		ByteArrayResource snapshot = writeSnapshot(source);
+
+		SnapshotApplicationContext ctx = new SnapshotApplicationContext(snapshot);
+		TestBean tb = ctx.getBean("alias", TestBean.class);
+		assertNotSame(tb, ctx.getBean("testBean"));
+		assertEquals("tb", tb.getName());
+		assertEquals(42, tb.getAge());
+		assertEquals(2, tb.getFriends().size());
+		assertSame(ctx.getBean("spouse"), tb.getFriends().iterator().next());
+		ctx.close();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void instanceSupplierNotSupported() throws IOException {
+		GenericApplicationContext source = new GenericApplicationContext();
+		source.registerBean("testBean", TestBean.class, () -> new TestBean());
+		writeSnapshot(source);
+	}
+
+
+	private static ByteArrayResource writeSnapshot(GenericApplicationContext context) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new BeanDefinitionSnapshotWriter(context).write(out);
+		return new ByteArrayResource(out.toByteArray());
+	}
+
+
+	@Configuration
+	@EnableGreeting("snapshot")
+	static class SnapshotConfig {
+
+		@Bean
+		public TestBean spouse() {
+			return new TestBean("spouse");
+		}
+
+		@Bean
+		public TestBean testBean() {
+			TestBean testBean = new TestBean("testBean");
+			testBean.setSpouse(spouse());
+			return testBean;
+		}
+
+		@Bean
+		@Profile("dev")
+		public TestBean devBean() {
+			return new TestBean("dev");
+		}
+	}
+
+
+	@Configuration
+	static class OverloadedConfig {
+
+		@Bean
+		public String overloaded() {
+			return "plain";
+		}
+
+		@Bean
+		public String overloaded(Integer number) {
+			return "number " + number;
+		}
+
+		public String overloaded(Integer number, Integer other) {
+			return "numbers " + number + " " + other;
+		}
+
+		@Bean
+		public Integer number() {
+			return 42;
+		}
+	}
+
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Import(GreetingConfig.class)
+	@interface EnableGreeting {
+
+		String value();
+	}
+
+
+	@Configuration
+	static class GreetingConfig implements ImportAware {
+
+		private String greeting;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.greeting = (String) importMetadata.getAnnotationAttributes(EnableGreeting.class.getName()).get("value");
+		}
+
+		@Bean
+		public String greeting() {
+			return this.greeting;
+		}
+	}
+
+}
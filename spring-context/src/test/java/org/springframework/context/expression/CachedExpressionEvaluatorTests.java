@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Test;
 
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -64,6 +65,25 @@ public class CachedExpressionEvaluatorTests {
 		assertEquals("Cached expression should be based on type", 2, expressionEvaluator.testCache.size());
 	}
 
+	@Test
+	public void defaultParserParsesExpressionOnceAcrossElements() {
+		DefaultExpressionEvaluator evaluator = new DefaultExpressionEvaluator();
+		Method toString = ReflectionUtils.findMethod(getClass(), "toString");
+		Method hashCode = ReflectionUtils.findMethod(getClass(), "hashCode");
+
+		Expression first = evaluator.getTestExpression("1 + 1", toString, getClass());
+		Expression second = evaluator.getTestExpression("1 + 1", hashCode, getClass());
+		assertEquals(2, first.getValue());
+		assertEquals(2, second.getValue());
+		assertEquals("Expression should be cached per element", 2, evaluator.testCache.size());
+
+		SpelExpressionCache expressionCache = evaluator.getParser().getExpressionCache();
+		assertNotNull(expressionCache);
+		assertSame(first, second);
+		assertEquals("Expression should have been parsed once", 1, expressionCache.getMissCount());
+		assertEquals(1, expressionCache.getHitCount());
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -86,4 +106,14 @@ public class CachedExpressionEvaluatorTests {
 		}
 	}
 
+
+	private static class DefaultExpressionEvaluator extends CachedExpressionEvaluator {
+
+		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
+
+		public Expression getTestExpression(String expression, Method method, Class<?> type) {
+			return getExpression(this.testCache, new AnnotatedElementKey(method, type), expression);
+		}
+	}
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Benchmarks for {@link StringDecoder}, splitting a stream of data buffers
+ * into lines, as well as for {@link DataBufferUtils#join}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class StringDecoderBenchmark {
+
+	@Benchmark
+	public List<String> decodeLines(DecoderData data) {
+		return data.decoder.decode(data.createBuffers(), data.elementType,
+				MimeTypeUtils.TEXT_PLAIN, Collections.emptyMap()).collectList().block();
+	}
+
+	@Benchmark
+	public String decodeToMono(DecoderData data) {
+		return data.decoder.decodeToMono(data.createBuffers(), data.elementType,
+				MimeTypeUtils.TEXT_PLAIN, Collections.emptyMap()).block();
+	}
+
+	@Benchmark
+	public int join(DecoderData data) {
+		DataBuffer joined = DataBufferUtils.join(data.createBuffers()).block();
+		int count = joined.readableByteCount();
+		DataBufferUtils.release(joined);
+		return count;
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class DecoderData {
+
+		@Param({"10", "1000"})
+		public int lineCount;
+
+		@Param({"64"})
+		public int chunkSize;
+
+		public final StringDecoder decoder = StringDecoder.allMimeTypes();
+
+		public final ResolvableType elementType = ResolvableType.forClass(String.class);
+
+		private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+		private List<byte[]> chunks;
+
+		@Setup
+		public void setup() {
+			StringBuilder content = new StringBuilder();
+			for (int i = 0; i < this.lineCount; i++) {
+				content.append("data line number ").append(i).append('\n');
+			}
+			byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+			this.chunks = new ArrayList<>();
+			for (int offset = 0; offset < bytes.length; offset += this.chunkSize) {
+				byte[] chunk = new byte[Math.min(this.chunkSize, bytes.length - offset)];
+				System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+				this.chunks.add(chunk);
+			}
+		}
+
+		public Flux<DataBuffer> createBuffers() {
+			return Flux.fromIterable(this.chunks).map(this.bufferFactory::wrap);
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Benchmarks for {@link GenericConversionService#convert} with the default
+ * converters, comparing a regular service against a frozen one.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GenericConversionServiceBenchmark {
+
+	@Benchmark
+	public Object stringToInteger(ConversionData data) {
+		return data.conversionService.convert("4711", Integer.class);
+	}
+
+	@Benchmark
+	public Object stringToPrimitiveInt(ConversionData data) {
+		return data.conversionService.convert("4711", int.class);
+	}
+
+	@Benchmark
+	public Object integerToString(ConversionData data) {
+		return data.conversionService.convert(4711, String.class);
+	}
+
+	@Benchmark
+	public Object stringToEnum(ConversionData data) {
+		return data.conversionService.convert("MILLISECONDS", java.util.concurrent.TimeUnit.class);
+	}
+
+	@Benchmark
+	public Object stringToLongWithTypeDescriptors(ConversionData data) {
+		return data.conversionService.convert("4711", data.stringType, data.longType);
+	}
+
+	@Benchmark
+	public Object stringToList(ConversionData data) {
+		return data.conversionService.convert("1,2,3", data.listType);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ConversionData {
+
+		@Param({"false", "true"})
+		public boolean frozen;
+
+		public DefaultConversionService conversionService;
+
+		public final TypeDescriptor stringType = TypeDescriptor.valueOf(String.class);
+
+		public final TypeDescriptor longType = TypeDescriptor.valueOf(Long.class);
+
+		public final TypeDescriptor listType =
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+
+		@Setup
+		public void setup() {
+			this.conversionService = new DefaultConversionService();
+			if (this.frozen) {
+				this.conversionService.freeze();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher#match}, matching a set of typical
+ * request paths against a set of typical request mapping patterns -
+ * also with pattern caches filled up to their limit, for cache hits
+ * as well as for misses which require eviction.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/", "/resources/**", "/api/users", "/api/users/{userId}",
+			"/api/users/{userId}/orders/{orderId}", "/api/*/status", "/static/**/*.css",
+			"/files/{filename:.+}", "/admin/**", "/api/v?/health"};
+
+	private static final String[] PATHS = {
+			"/", "/resources/css/main.css", "/api/users", "/api/users/42",
+			"/api/users/42/orders/1234", "/api/orders/status", "/static/css/site/main.css",
+			"/files/report.pdf", "/unknown/path/to/resource", "/api/v1/health"};
+
+
+	@Benchmark
+	public void matchAllPatterns(PatternData data, Blackhole bh) {
+		for (String path : data.paths) {
+			for (String pattern : data.patterns) {
+				bh.consume(data.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAllPatternsWithFullCache(FullCacheData data, Blackhole bh) {
+		for (String path : data.paths) {
+			for (String pattern : data.patterns) {
+				bh.consume(data.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchDistinctPatternsWithFullCache(FullCacheData data, Blackhole bh) {
+		int counter = data.counter++;
+		bh.consume(data.pathMatcher.match("/distinct/" + counter + "*", "/distinct/" + counter));
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(PatternData data, Blackhole bh) {
+		bh.consume(data.pathMatcher.extractUriTemplateVariables("/api/users/{userId}/orders/{orderId}",
+				"/api/users/42/orders/1234"));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class PatternData {
+
+		@Param({"true", "false"})
+		public boolean cachePatterns;
+
+		public AntPathMatcher pathMatcher;
+
+		public final String[] patterns = PATTERNS;
+
+		public final String[] paths = PATHS;
+
+		@Setup
+		public void setup() {
+			this.pathMatcher = new AntPathMatcher();
+			this.pathMatcher.setCachePatterns(this.cachePatterns);
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class FullCacheData {
+
+		public AntPathMatcher pathMatcher;
+
+		public final String[] patterns = PATTERNS;
+
+		public final String[] paths = PATHS;
+
+		public int counter;
+
+		@Setup
+		public void setup() {
+			this.pathMatcher = new AntPathMatcher();
+			// Fill both pattern caches with distinct patterns up to their limit
+			for (int i = 0; i < AntPathMatcher.DEFAULT_CACHE_LIMIT; i++) {
+				this.pathMatcher.match("/filler/" + i + "*", "/filler/" + i);
+			}
+		}
+	}
+
+}
@@ -37,6 +37,7 @@ import org.springframework.core.SerializableTypeWrapper.TypeProvider;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
@@ -93,6 +94,12 @@ public class ResolvableType implements Serializable {
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	private static final ConcurrentReferenceHashMap<Class<?>, ResolvableType> classCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	static final ConcurrentLruCache<AssignabilityCacheKey, Boolean> assignabilityCache =
+			new ConcurrentLruCache<>(1024, key -> key.targetType.isAssignableFrom(key.sourceType, null));
+
 
 	/**
 	 * The underlying Java type being managed.
@@ -247,7 +254,7 @@ public class ResolvableType implements Serializable {
 	 * @see #isAssignableFrom(ResolvableType)
 	 */
 	public boolean isAssignableFrom(Class<?> other) {
-		return isAssignableFrom(forClass(other), null);
+		return isAssignableFrom(forClass(other));
 	}
 
 	/**
@@ -262,9 +269,23 @@ public class ResolvableType implements Serializable {
 	 * {@code ResolvableType}; {@code false} otherwise
 	 */
 	public boolean isAssignableFrom(ResolvableType other) {
+		Assert.notNull(other, "ResolvableType must not be null");
+		if (isAssignabilityCacheable() && other.isAssignabilityCacheable()) {
+			return assignabilityCache.get(new AssignabilityCacheKey(this, other));
+		}
 		return isAssignableFrom(other, null);
 	}
 
+	/**
+	 * Determine whether top-level assignability checks against this type may be
+	 * cached: only for regular instances (subclasses such as forRawClass variants
+	 * apply different rules) and only for types without any type variables,
+	 * the outcome for which would depend on the resolution context.
+	 */
+	private boolean isAssignabilityCacheable() {
+		return (getClass() == ResolvableType.class && this.componentType == null && isFullyResolved(this.type));
+	}
+
 	private boolean isAssignableFrom(ResolvableType other, @Nullable Map<Type, Type> matchedBefore) {
 		Assert.notNull(other, "ResolvableType must not be null");
 
@@ -963,7 +984,16 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(@Nullable Class<?> clazz) {
-		return new ResolvableType(clazz);
+		Class<?> classToUse = (clazz != null ? clazz : Object.class);
+		ResolvableType resolvableType = classCache.get(classToUse);
+		if (resolvableType == null) {
+			resolvableType = new ResolvableType(classToUse);
+			ResolvableType existing = classCache.putIfAbsent(classToUse, resolvableType);
+			if (existing != null) {
+				resolvableType = existing;
+			}
+		}
+		return resolvableType;
 	}
 
 	/**
@@ -1389,6 +1419,9 @@ public class ResolvableType implements Serializable {
 		// For simple Class references, build the wrapper right away -
 		// no expensive resolution necessary, so not worth caching...
 		if (type instanceof Class) {
+			if (typeProvider == null && variableResolver == null) {
+				return forClass((Class<?>) type);
+			}
 			return new ResolvableType(type, typeProvider, variableResolver, (ResolvableType) null);
 		}
 
@@ -1402,16 +1435,51 @@ public class ResolvableType implements Serializable {
 			cachedType = new ResolvableType(type, typeProvider, variableResolver, resultType.hash);
 			cache.put(cachedType, cachedType);
 		}
+		if (typeProvider == null && variableResolver == null) {
+			// Self-contained type (e.g. a ParameterizedType): share the cached instance,
+			// including its lazily resolved generics, supertype and interfaces.
+			return cachedType;
+		}
 		resultType.resolved = cachedType.resolved;
 		return resultType;
 	}
 
+	private static boolean isFullyResolved(Type type) {
+		if (type instanceof Class) {
+			return true;
+		}
+		if (type instanceof ParameterizedType) {
+			return isFullyResolved(((ParameterizedType) type).getActualTypeArguments());
+		}
+		if (type instanceof GenericArrayType) {
+			return isFullyResolved(((GenericArrayType) type).getGenericComponentType());
+		}
+		if (type instanceof WildcardType) {
+			WildcardType wildcardType = (WildcardType) type;
+			return (isFullyResolved(wildcardType.getUpperBounds()) && isFullyResolved(wildcardType.getLowerBounds()));
+		}
+		// TypeVariable or EmptyType
+		return false;
+	}
+
+	private static boolean isFullyResolved(Type[] types) {
+		for (Type type : types) {
+			if (!isFullyResolved(type)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
-	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache.
+	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache,
+	 * including the cached {@code Class}-based instances and assignability results.
 	 * @since 4.2
 	 */
 	public static void clearCache() {
 		cache.clear();
+		classCache.clear();
+		assignabilityCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
@@ -1638,6 +1706,43 @@ public class ResolvableType implements Serializable {
 	}
 
 
+	/**
+	 * Cache key for top-level assignability checks between two types.
+	 */
+	static final class AssignabilityCacheKey {
+
+		final ResolvableType targetType;
+
+		final ResolvableType sourceType;
+
+		private final int hash;
+
+		AssignabilityCacheKey(ResolvableType targetType, ResolvableType sourceType) {
+			this.targetType = targetType;
+			this.sourceType = sourceType;
+			this.hash = 31 * targetType.hashCode() + sourceType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof AssignabilityCacheKey)) {
+				return false;
+			}
+			AssignabilityCacheKey otherKey = (AssignabilityCacheKey) other;
+			return (this.hash == otherKey.hash && this.targetType.equals(otherKey.targetType) &&
+					this.sourceType.equals(otherKey.sourceType));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+
+
 	@SuppressWarnings("serial")
 	static class EmptyType implements Type, Serializable {
 
@@ -1909,6 +1909,7 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		MergedAnnotationMetadata.clearCache();
 	}
 
 
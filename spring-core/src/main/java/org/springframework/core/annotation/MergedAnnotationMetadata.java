@@ -0,0 +1,303 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cached view of the merged annotations on a given {@link AnnotatedElement},
+ * as an alternative to repeated {@link AnnotatedElementUtils} lookups against
+ * the same element on hot code paths such as bean post-processing, handler
+ * method detection and transaction/cache attribute parsing.
+ *
+ * <p>On first access, all annotations <em>present</em> on the element
+ * (directly or as meta-annotations at any depth) are flattened into an
+ * immutable map of merged {@link AnnotationAttributes}, with
+ * {@link AliasFor @AliasFor} and convention-based attribute overrides
+ * resolved, following the <em>get semantics</em> of
+ * {@link AnnotatedElementUtils#getMergedAnnotationAttributes}. Synthesized
+ * annotations as well as <em>find semantics</em> lookups across type and
+ * method hierarchies are lazily resolved and cached per annotation type.
+ *
+ * <p>Instances are shared per element and soft-referenced, getting cleared
+ * along with the other annotation caches in {@link AnnotationUtils#clearCache()}.
+ *
+ * <p>Mainly for internal use within the framework.
+ *
+ * @since 5.1
+ * @see AnnotatedElementUtils
+ */
+public final class MergedAnnotationMetadata {
+
+	/** Marker for annotation types which are not present */
+	private static final Object NOT_PRESENT = new Object();
+
+	private static final Map<AnnotatedElement, MergedAnnotationMetadata> metadataCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+
+	private final AnnotatedElement element;
+
+	/** Merged attributes (or introspection failures) keyed by annotation type name */
+	private final Map<String, Object> mergedAttributes;
+
+	private final Map<Class<? extends Annotation>, Object> mergedAnnotations = new ConcurrentHashMap<>(4);
+
+	private final Map<Class<? extends Annotation>, Object> foundAttributes = new ConcurrentHashMap<>(4);
+
+	private final Map<Class<? extends Annotation>, Object> foundAnnotations = new ConcurrentHashMap<>(4);
+
+
+	private MergedAnnotationMetadata(AnnotatedElement element) {
+		this.element = element;
+		this.mergedAttributes = introspect(element);
+	}
+
+
+	/**
+	 * Return the annotated element that this metadata has been built for.
+	 */
+	public AnnotatedElement getElement() {
+		return this.element;
+	}
+
+	/**
+	 * Return the fully qualified class names of all annotation types
+	 * <em>present</em> on the element, directly or as meta-annotations,
+	 * in the order of their discovery.
+	 */
+	public Set<String> getAnnotationTypes() {
+		return this.mergedAttributes.keySet();
+	}
+
+	/**
+	 * Determine whether an annotation of the given type is <em>present</em>
+	 * on the element, directly or as a meta-annotation.
+	 * @see AnnotatedElementUtils#isAnnotated(AnnotatedElement, Class)
+	 */
+	public boolean isPresent(Class<? extends Annotation> annotationType) {
+		return this.mergedAttributes.containsKey(annotationType.getName());
+	}
+
+	/**
+	 * Determine whether an annotation of the given type is <em>present</em>
+	 * on the element, directly or as a meta-annotation.
+	 * @see AnnotatedElementUtils#isAnnotated(AnnotatedElement, String)
+	 */
+	public boolean isPresent(String annotationName) {
+		return this.mergedAttributes.containsKey(annotationName);
+	}
+
+	/**
+	 * Return the merged attributes of the given annotation type,
+	 * following <em>get semantics</em>.
+	 * @param annotationType the annotation type to look for
+	 * @return a copy of the merged {@code AnnotationAttributes},
+	 * or {@code null} if not present
+	 * @see AnnotatedElementUtils#getMergedAnnotationAttributes(AnnotatedElement, Class)
+	 */
+	@Nullable
+	public AnnotationAttributes getAttributes(Class<? extends Annotation> annotationType) {
+		return getAttributes(annotationType.getName());
+	}
+
+	/**
+	 * Return the merged attributes of the given annotation type,
+	 * following <em>get semantics</em>.
+	 * @param annotationName the fully qualified class name of the annotation type
+	 * @return a copy of the merged {@code AnnotationAttributes},
+	 * or {@code null} if not present
+	 * @see AnnotatedElementUtils#getMergedAnnotationAttributes(AnnotatedElement, String)
+	 */
+	@Nullable
+	public AnnotationAttributes getAttributes(String annotationName) {
+		AnnotationAttributes attributes = getMergedAttributes(annotationName);
+		return (attributes != null ? new AnnotationAttributes(attributes) : null);
+	}
+
+	/**
+	 * Return the merged annotation of the given type, following <em>get
+	 * semantics</em> and synthesized once per element.
+	 * @param annotationType the annotation type to look for
+	 * @return the merged, synthesized {@code Annotation}, or {@code null} if not present
+	 * @see AnnotatedElementUtils#getMergedAnnotation(AnnotatedElement, Class)
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+		Object annotation = this.mergedAnnotations.get(annotationType);
+		if (annotation == null) {
+			annotation = NOT_PRESENT;
+			AnnotationAttributes attributes = getMergedAttributes(annotationType.getName());
+			if (attributes != null) {
+				A direct = (!(this.element instanceof Class) ? this.element.getAnnotation(annotationType) : null);
+				annotation = (direct != null ? AnnotationUtils.synthesizeAnnotation(direct, this.element) :
+						AnnotationUtils.synthesizeAnnotation(attributes, annotationType, this.element));
+			}
+			this.mergedAnnotations.put(annotationType, annotation);
+		}
+		return (annotation != NOT_PRESENT ? (A) annotation : null);
+	}
+
+	/**
+	 * Determine whether an annotation of the given type is available on the
+	 * element or within its type or method hierarchy, following <em>find semantics</em>.
+	 * @see AnnotatedElementUtils#hasAnnotation(AnnotatedElement, Class)
+	 */
+	public boolean hasAnnotation(Class<? extends Annotation> annotationType) {
+		return (isPresent(annotationType) || findMergedAttributes(annotationType) != null);
+	}
+
+	/**
+	 * Find the merged attributes of the given annotation type on the element
+	 * or within its type or method hierarchy, following <em>find semantics</em>.
+	 * @param annotationType the annotation type to look for
+	 * @return a copy of the merged {@code AnnotationAttributes}, or {@code null} if not found
+	 * @see AnnotatedElementUtils#findMergedAnnotationAttributes(AnnotatedElement, Class, boolean, boolean)
+	 */
+	@Nullable
+	public AnnotationAttributes findAttributes(Class<? extends Annotation> annotationType) {
+		AnnotationAttributes attributes = findMergedAttributes(annotationType);
+		return (attributes != null ? new AnnotationAttributes(attributes) : null);
+	}
+
+	/**
+	 * Find the merged annotation of the given type on the element or within its
+	 * type or method hierarchy, following <em>find semantics</em> and synthesized
+	 * once per element.
+	 * @param annotationType the annotation type to look for
+	 * @return the merged, synthesized {@code Annotation}, or {@code null} if not found
+	 * @see AnnotatedElementUtils#findMergedAnnotation(AnnotatedElement, Class)
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <A extends Annotation> A findAnnotation(Class<A> annotationType) {
+		Object annotation = this.foundAnnotations.get(annotationType);
+		if (annotation == null) {
+			annotation = AnnotatedElementUtils.findMergedAnnotation(this.element, annotationType);
+			if (annotation == null) {
+				annotation = NOT_PRESENT;
+			}
+			this.foundAnnotations.put(annotationType, annotation);
+		}
+		return (annotation != NOT_PRESENT ? (A) annotation : null);
+	}
+
+	@Nullable
+	private AnnotationAttributes getMergedAttributes(String annotationName) {
+		Object attributes = this.mergedAttributes.get(annotationName);
+		if (attributes instanceof RuntimeException) {
+			// Misconfigured annotation: rethrow on each access, as a direct lookup would do
+			throw (RuntimeException) attributes;
+		}
+		return (AnnotationAttributes) attributes;
+	}
+
+	@Nullable
+	private AnnotationAttributes findMergedAttributes(Class<? extends Annotation> annotationType) {
+		Object attributes = this.foundAttributes.get(annotationType);
+		if (attributes == null) {
+			attributes = AnnotatedElementUtils.findMergedAnnotationAttributes(this.element, annotationType, false, false);
+			if (attributes == null) {
+				attributes = NOT_PRESENT;
+			}
+			this.foundAttributes.put(annotationType, attributes);
+		}
+		return (attributes != NOT_PRESENT ? (AnnotationAttributes) attributes : null);
+	}
+
+
+	@Override
+	public String toString() {
+		return "MergedAnnotationMetadata for " + this.element + ": " + getAnnotationTypes();
+	}
+
+
+	/**
+	 * Obtain the (cached) merged annotation metadata for the given element.
+	 * @param element the annotated element to introspect
+	 * @return the corresponding metadata (never {@code null})
+	 */
+	public static MergedAnnotationMetadata forElement(AnnotatedElement element) {
+		Assert.notNull(element, "AnnotatedElement must not be null");
+		MergedAnnotationMetadata metadata = metadataCache.get(element);
+		if (metadata == null) {
+			metadata = new MergedAnnotationMetadata(element);
+			MergedAnnotationMetadata existing = metadataCache.putIfAbsent(element, metadata);
+			if (existing != null) {
+				metadata = existing;
+			}
+		}
+		return metadata;
+	}
+
+	/**
+	 * Clear the internal merged annotation metadata cache.
+	 * @see AnnotationUtils#clearCache()
+	 */
+	public static void clearCache() {
+		metadataCache.clear();
+	}
+
+	private static Map<String, Object> introspect(AnnotatedElement element) {
+		Annotation[] annotations;
+		try {
+			annotations = element.getAnnotations();
+		}
+		catch (Throwable ex) {
+			AnnotationUtils.handleIntrospectionFailure(element, ex);
+			return Collections.emptyMap();
+		}
+		if (annotations.length == 0) {
+			return Collections.emptyMap();
+		}
+
+		Set<String> annotationTypes = new LinkedHashSet<>();
+		for (Annotation annotation : annotations) {
+			if (!AnnotationUtils.isInJavaLangAnnotationPackage(annotation)) {
+				annotationTypes.add(annotation.annotationType().getName());
+				annotationTypes.addAll(AnnotatedElementUtils.getMetaAnnotationTypes(element, annotation.annotationType()));
+			}
+		}
+		Map<String, Object> result = new LinkedHashMap<>(annotationTypes.size());
+		for (String annotationType : annotationTypes) {
+			try {
+				AnnotationAttributes attributes =
+						AnnotatedElementUtils.getMergedAnnotationAttributes(element, annotationType);
+				if (attributes != null) {
+					result.put(annotationType, attributes);
+				}
+			}
+			catch (AnnotationConfigurationException ex) {
+				result.put(annotationType, ex);
+			}
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+}
@@ -21,9 +21,9 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -31,8 +31,8 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
@@ -43,6 +43,7 @@ import org.springframework.util.MimeTypeUtils;
  * realigns the incoming data buffers so that each buffer ends with a newline.
  * This is to make sure that multibyte characters are decoded properly, and do not cross buffer
  * boundaries. The default delimiters ({@code \n}, {@code \r\n})can be customized.
+ * A limit on the number of bytes buffered per line can be set through {@link #setMaxInMemorySize}.
  *
  * <p>Partially inspired by Netty's {@code DelimiterBasedFrameDecoder}.
  *
@@ -55,8 +56,6 @@ import org.springframework.util.MimeTypeUtils;
  */
 public class StringDecoder extends AbstractDataBufferDecoder<String> {
 
-	private static final DataBuffer END_FRAME = new DefaultDataBufferFactory().wrap(new byte[0]);
-
 	/**
 	 * The default charset to use, i.e. "UTF-8".
 	 */
@@ -72,6 +71,9 @@ public class StringDecoder extends AbstractDataBufferDecoder<String> {
 
 	private final boolean stripDelimiter;
 
+	private int maxInMemorySize = -1;
+
+
 	private StringDecoder(List<String> delimiters, boolean stripDelimiter, MimeType... mimeTypes) {
 		super(mimeTypes);
 		Assert.notEmpty(delimiters, "'delimiters' must not be empty");
@@ -80,6 +82,28 @@ public class StringDecoder extends AbstractDataBufferDecoder<String> {
 	}
 
 
+	/**
+	 * Set the maximum number of bytes that can be buffered for a single frame,
+	 * i.e. a line including its delimiter, while looking for the next delimiter.
+	 * If the limit is exceeded, decoding fails with a {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. no limit. Consider setting a limit
+	 * for line-delimited streams from untrusted sources.
+	 * @param byteCount the maximum number of bytes per frame, or -1 for no limit
+	 * @since 5.1
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit per frame.
+	 * @since 5.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		return (super.canDecode(elementType, mimeType) &&
@@ -90,130 +114,145 @@ public class StringDecoder extends AbstractDataBufferDecoder<String> {
 	public Flux<String> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		List<byte[]> delimiterBytes = getDelimiterBytes(mimeType);
+		byte[][] delimiterBytes = getDelimiterBytes(mimeType);
 
-		Flux<DataBuffer> inputFlux = Flux.from(inputStream)
-				.flatMap(dataBuffer -> splitOnDelimiter(dataBuffer, delimiterBytes))
-				.bufferUntil(StringDecoder::isEndFrame)
-				.flatMap(StringDecoder::joinUntilEndFrame);
+		Flux<DataBuffer> inputFlux = Flux.defer(() -> {
+			FrameSplitter splitter = new FrameSplitter(delimiterBytes);
+			return Flux.from(inputStream)
+					.concatMapIterable(splitter::split)
+					.concatWith(Mono.defer(splitter::lastFrame))
+					.doFinally(signalType -> splitter.releaseParts());
+		});
 		return super.decode(inputFlux, elementType, mimeType, hints);
 	}
 
-	private List<byte[]> getDelimiterBytes(@Nullable MimeType mimeType) {
+	private byte[][] getDelimiterBytes(@Nullable MimeType mimeType) {
 		Charset charset = getCharset(mimeType);
-		return this.delimiters.stream()
-				.map(s -> s.getBytes(charset))
-				.collect(Collectors.toList());
+		byte[][] result = new byte[this.delimiters.size()][];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = this.delimiters.get(i).getBytes(charset);
+		}
+		return result;
 	}
 
-	/**
-	 * Splits the given data buffer on delimiter boundaries. The returned Flux contains a
-	 * {@link #END_FRAME} buffer after each delimiter.
-	 */
-	private Flux<DataBuffer> splitOnDelimiter(DataBuffer dataBuffer, List<byte[]> delimiterBytes) {
-		List<DataBuffer> frames = new ArrayList<>();
-		do {
-			int length = Integer.MAX_VALUE;
-			byte[] matchingDelimiter = null;
-			for (byte[] delimiter : delimiterBytes) {
-				int idx = indexOf(dataBuffer, delimiter);
-				if (idx >= 0 && idx < length) {
-					length = idx;
-					matchingDelimiter = delimiter;
-				}
-			}
-			DataBuffer frame;
-			int readPosition = dataBuffer.readPosition();
-			if (matchingDelimiter != null) {
-				if (this.stripDelimiter) {
-					frame = dataBuffer.slice(readPosition, length);
-				}
-				else {
-					frame = dataBuffer.slice(readPosition, length + matchingDelimiter.length);
-				}
-				dataBuffer.readPosition(readPosition + length + matchingDelimiter.length);
-
-				frames.add(DataBufferUtils.retain(frame));
-				frames.add(END_FRAME);
-			}
-			else {
-				frame = dataBuffer.slice(readPosition, dataBuffer.readableByteCount());
-				dataBuffer.readPosition(readPosition + dataBuffer.readableByteCount());
-				frames.add(DataBufferUtils.retain(frame));
-			}
-		}
-		while (dataBuffer.readableByteCount() > 0);
+	@Override
+	protected String decodeDataBuffer(DataBuffer dataBuffer, ResolvableType elementType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
+		Charset charset = getCharset(mimeType);
+		CharBuffer charBuffer = charset.decode(dataBuffer.asByteBuffer());
 		DataBufferUtils.release(dataBuffer);
-		return Flux.fromIterable(frames);
+		return charBuffer.toString();
+	}
+
+	private static Charset getCharset(@Nullable MimeType mimeType) {
+		if (mimeType != null && mimeType.getCharset() != null) {
+			return mimeType.getCharset();
+		}
+		else {
+			return DEFAULT_CHARSET;
+		}
 	}
 
+
 	/**
-	 * Finds the given delimiter in the given data buffer. Return the index of the delimiter, or
-	 * -1 if not found.
+	 * Splits a stream of data buffers into frames, one per delimiter, in a single
+	 * pass over the data. Parts of a frame spanning several data buffers are kept
+	 * (retained) until the delimiter arrives, up to {@link #setMaxInMemorySize}.
+	 * <p>Splitting and releasing are mutually exclusive, since a cancellation
+	 * may release the parts while a data buffer is being split on another thread.
+	 * Data buffers passed in after the parts have been released are released
+	 * right away, without producing any frames.
 	 */
-	private static int indexOf(DataBuffer dataBuffer, byte[] delimiter) {
-		for (int i = dataBuffer.readPosition(); i < dataBuffer.writePosition(); i++) {
-			int dataBufferPos = i;
-			int delimiterPos = 0;
-			while (delimiterPos < delimiter.length) {
-				if (dataBuffer.getByte(dataBufferPos) != delimiter[delimiterPos]) {
-					break;
-				}
-				else {
-					dataBufferPos++;
-					if (dataBufferPos == dataBuffer.writePosition() &&
-							delimiterPos != delimiter.length - 1) {
-						return -1;
+	class FrameSplitter {
+
+		private final DataBufferUtils.Matcher matcher;
+
+		private final List<DataBuffer> parts = new ArrayList<>();
+
+		private int partsSize;
+
+		private boolean released;
+
+		public FrameSplitter(byte[][] delimiters) {
+			this.matcher = DataBufferUtils.matcher(delimiters);
+		}
+
+		/**
+		 * Split the given data buffer, returning the frames completed in it.
+		 * The given buffer is released; remaining bytes are kept for the next frame.
+		 */
+		public synchronized List<DataBuffer> split(DataBuffer dataBuffer) {
+			if (this.released) {
+				DataBufferUtils.release(dataBuffer);
+				return Collections.emptyList();
+			}
+			List<DataBuffer> frames = new ArrayList<>();
+			try {
+				int readPosition = dataBuffer.readPosition();
+				int writePosition = dataBuffer.writePosition();
+				do {
+					int end = this.matcher.match(dataBuffer, readPosition, writePosition);
+					if (end == -1) {
+						addPart(dataBuffer, readPosition, writePosition - readPosition);
+						break;
 					}
+					addPart(dataBuffer, readPosition, end + 1 - readPosition);
+					frames.add(joinParts(this.matcher.delimiter().length));
+					readPosition = end + 1;
 				}
-				delimiterPos++;
+				while (readPosition < writePosition);
 			}
-
-			if (delimiterPos == delimiter.length) {
-				return i - dataBuffer.readPosition();
+			catch (RuntimeException ex) {
+				frames.forEach(DataBufferUtils::release);
+				throw ex;
+			}
+			finally {
+				DataBufferUtils.release(dataBuffer);
 			}
+			return frames;
 		}
-		return -1;
-	}
 
-	/**
-	 * Checks whether the given buffer is {@link #END_FRAME}.
-	 */
-	private static boolean isEndFrame(DataBuffer dataBuffer) {
-		return dataBuffer == END_FRAME;
-	}
-
-	/**
-	 * Joins the given list of buffers into a single buffer.
-	 */
-	private static Mono<DataBuffer> joinUntilEndFrame(List<DataBuffer> dataBuffers) {
-		if (!dataBuffers.isEmpty()) {
-			int lastIdx = dataBuffers.size() - 1;
-			if (isEndFrame(dataBuffers.get(lastIdx))) {
-				dataBuffers.remove(lastIdx);
+		private void addPart(DataBuffer dataBuffer, int index, int length) {
+			if (maxInMemorySize >= 0 && this.partsSize + length > maxInMemorySize) {
+				clearParts();
+				throw new DataBufferLimitException(
+						"Exceeded limit on max bytes per frame to buffer: " + maxInMemorySize);
 			}
+			this.parts.add(DataBufferUtils.retain(dataBuffer.slice(index, length)));
+			this.partsSize += length;
 		}
-		Flux<DataBuffer> flux = Flux.fromIterable(dataBuffers);
-		return DataBufferUtils.join(flux);
-	}
 
-	@Override
-	protected String decodeDataBuffer(DataBuffer dataBuffer, ResolvableType elementType,
-			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+		private DataBuffer joinParts(int delimiterLength) {
+			DataBuffer frame = (this.parts.size() == 1 ? this.parts.get(0) :
+					this.parts.get(0).factory().join(this.parts));
+			this.parts.clear();
+			this.partsSize = 0;
+			if (stripDelimiter && delimiterLength > 0) {
+				frame.writePosition(frame.writePosition() - delimiterLength);
+			}
+			return frame;
+		}
 
-		Charset charset = getCharset(mimeType);
-		CharBuffer charBuffer = charset.decode(dataBuffer.asByteBuffer());
-		DataBufferUtils.release(dataBuffer);
-		return charBuffer.toString();
-	}
+		/**
+		 * Return the remaining bytes after the last delimiter as a final frame, if any.
+		 */
+		public synchronized Mono<DataBuffer> lastFrame() {
+			return (this.released || this.parts.isEmpty() ? Mono.empty() : Mono.just(joinParts(0)));
+		}
 
-	private static Charset getCharset(@Nullable MimeType mimeType) {
-		if (mimeType != null && mimeType.getCharset() != null) {
-			return mimeType.getCharset();
+		/**
+		 * Release all parts kept so far, and any data buffer passed in afterwards.
+		 */
+		public synchronized void releaseParts() {
+			this.released = true;
+			clearParts();
 		}
-		else {
-			return DEFAULT_CHARSET;
+
+		private void clearParts() {
+			this.parts.forEach(DataBufferUtils::release);
+			this.parts.clear();
+			this.partsSize = 0;
 		}
 	}
 
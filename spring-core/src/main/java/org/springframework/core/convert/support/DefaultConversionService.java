@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -61,6 +61,7 @@ public class DefaultConversionService extends GenericConversionService {
 	 * This accessor is only meant as a fallback for code paths which
 	 * need simple type coercion but cannot access a longer-lived
 	 * {@code ConversionService} instance any other way.
+	 * <p>As of 5.1, the shared instance is {@linkplain #freeze() frozen}.
 	 * @return the shared {@code ConversionService} instance (never {@code null})
 	 * @since 4.3.5
 	 */
@@ -71,6 +72,7 @@ public class DefaultConversionService extends GenericConversionService {
 				cs = sharedInstance;
 				if (cs == null) {
 					cs = new DefaultConversionService();
+					cs.freeze();
 					sharedInstance = cs;
 				}
 			}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
@@ -78,6 +79,10 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/** Converters per source class and target class, once frozen */
+	@Nullable
+	private volatile Map<Class<?>, Map<Class<?>, DispatchEntry>> dispatchTable;
+
 
 	// ConverterRegistry implementation
 
@@ -102,6 +107,7 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	@Override
 	public void addConverter(GenericConverter converter) {
+		assertNotFrozen();
 		this.converters.add(converter);
 		invalidateCache();
 	}
@@ -122,16 +128,51 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	@Override
 	public void removeConvertible(Class<?> sourceType, Class<?> targetType) {
+		assertNotFrozen();
 		this.converters.remove(sourceType, targetType);
 		invalidateCache();
 	}
 
+	/**
+	 * Freeze the converter registrations of this service: any subsequent
+	 * attempt to add or remove converters will fail.
+	 * <p>A frozen service dispatches conversions between plain types (classes
+	 * without generics or annotations, as in {@link #convert(Object, Class)}) through
+	 * a table of converters per source class and target class, built up on
+	 * first use of each pair. This avoids the creation of type descriptors and
+	 * cache keys on every conversion, and resolves the converters produced by
+	 * a {@link ConverterFactory} once per target type.
+	 * <p>Converters for such a class pair are determined once through
+	 * {@link #getConverter}, so subclasses need to return a consistent result
+	 * for the same pair of plain types.
+	 * @since 5.1
+	 * @see #isFrozen()
+	 */
+	public void freeze() {
+		if (this.dispatchTable == null) {
+			this.dispatchTable = new ConcurrentReferenceHashMap<>(64);
+		}
+	}
+
+	/**
+	 * Return whether the converter registrations of this service have been frozen.
+	 * @since 5.1
+	 * @see #freeze()
+	 */
+	public boolean isFrozen() {
+		return (this.dispatchTable != null);
+	}
+
 
 	// ConversionService implementation
 
 	@Override
 	public boolean canConvert(@Nullable Class<?> sourceType, Class<?> targetType) {
 		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		Map<Class<?>, Map<Class<?>, DispatchEntry>> table = this.dispatchTable;
+		if (table != null && sourceType != null) {
+			return (getDispatchEntry(table, sourceType, targetType).converter != null);
+		}
 		return canConvert((sourceType != null ? TypeDescriptor.valueOf(sourceType) : null),
 				TypeDescriptor.valueOf(targetType));
 	}
@@ -142,6 +183,10 @@ public class GenericConversionService implements ConfigurableConversionService {
 		if (sourceType == null) {
 			return true;
 		}
+		Map<Class<?>, Map<Class<?>, DispatchEntry>> table = this.dispatchTable;
+		if (table != null && isPlainType(sourceType) && isPlainType(targetType)) {
+			return (getDispatchEntry(table, sourceType.getType(), targetType.getType()).converter != null);
+		}
 		GenericConverter converter = getConverter(sourceType, targetType);
 		return (converter != null);
 	}
@@ -171,6 +216,11 @@ public class GenericConversionService implements ConfigurableConversionService {
 	@Nullable
 	public <T> T convert(@Nullable Object source, Class<T> targetType) {
 		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		Map<Class<?>, Map<Class<?>, DispatchEntry>> table = this.dispatchTable;
+		if (table != null && source != null) {
+			DispatchEntry entry = getDispatchEntry(table, source.getClass(), targetType);
+			return (T) dispatch(source, entry.sourceType, entry.targetType, entry);
+		}
 		return (T) convert(source, TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType));
 	}
 
@@ -186,6 +236,11 @@ public class GenericConversionService implements ConfigurableConversionService {
 			throw new IllegalArgumentException("Source to convert from must be an instance of [" +
 					sourceType + "]; instead it was a [" + source.getClass().getName() + "]");
 		}
+		Map<Class<?>, Map<Class<?>, DispatchEntry>> table = this.dispatchTable;
+		if (table != null && source != null && isPlainType(sourceType) && isPlainType(targetType)) {
+			DispatchEntry entry = getDispatchEntry(table, sourceType.getType(), targetType.getType());
+			return dispatch(source, sourceType, targetType, entry);
+		}
 		GenericConverter converter = getConverter(sourceType, targetType);
 		if (converter != null) {
 			Object result = ConversionUtils.invokeConverter(converter, source, sourceType, targetType);
@@ -306,6 +361,62 @@ public class GenericConversionService implements ConfigurableConversionService {
 		this.converterCache.clear();
 	}
 
+	private void assertNotFrozen() {
+		Assert.state(this.dispatchTable == null, "Cannot modify converters of a frozen ConversionService");
+	}
+
+	/**
+	 * Determine whether the given type descriptor is equivalent to a
+	 * descriptor for its plain type, as obtained through {@link TypeDescriptor#valueOf}.
+	 */
+	private static boolean isPlainType(TypeDescriptor typeDescriptor) {
+		return (typeDescriptor.getAnnotations().length == 0 &&
+				typeDescriptor.getResolvableType().getType() instanceof Class &&
+				!typeDescriptor.isArray() && !typeDescriptor.isCollection() && !typeDescriptor.isMap());
+	}
+
+	private DispatchEntry getDispatchEntry(
+			Map<Class<?>, Map<Class<?>, DispatchEntry>> table, Class<?> sourceType, Class<?> targetType) {
+
+		Map<Class<?>, DispatchEntry> entries = table.get(sourceType);
+		if (entries == null) {
+			entries = new ConcurrentHashMap<>(8);
+			Map<Class<?>, DispatchEntry> existing = table.putIfAbsent(sourceType, entries);
+			if (existing != null) {
+				entries = existing;
+			}
+		}
+		DispatchEntry entry = entries.get(targetType);
+		if (entry == null) {
+			entry = new DispatchEntry(TypeDescriptor.valueOf(sourceType), TypeDescriptor.valueOf(targetType));
+			entries.put(targetType, entry);
+		}
+		return entry;
+	}
+
+	@Nullable
+	private Object dispatch(Object source, TypeDescriptor sourceType, TypeDescriptor targetType, DispatchEntry entry) {
+		Object result;
+		if (entry.directConverter != null) {
+			try {
+				result = entry.directConverter.convert(source);
+			}
+			catch (ConversionFailedException ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new ConversionFailedException(sourceType, targetType, source, ex);
+			}
+		}
+		else if (entry.converter != null) {
+			result = ConversionUtils.invokeConverter(entry.converter, source, sourceType, targetType);
+		}
+		else {
+			return handleConverterNotFound(source, sourceType, targetType);
+		}
+		return handleResult(sourceType, targetType, result);
+	}
+
 	@Nullable
 	private Object handleConverterNotFound(
 			@Nullable Object source, @Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
@@ -443,6 +554,42 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * Entry in the dispatch table of a frozen service, holding the converter
+	 * for a pair of plain types.
+	 */
+	private final class DispatchEntry {
+
+		final TypeDescriptor sourceType;
+
+		final TypeDescriptor targetType;
+
+		@Nullable
+		final GenericConverter converter;
+
+		// The underlying Converter, if adapted from a Converter or ConverterFactory
+		@Nullable
+		final Converter<Object, Object> directConverter;
+
+		@SuppressWarnings("unchecked")
+		public DispatchEntry(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+			this.converter = getConverter(sourceType, targetType);
+			if (this.converter instanceof ConverterAdapter) {
+				this.directConverter = ((ConverterAdapter) this.converter).converter;
+			}
+			else if (this.converter instanceof ConverterFactoryAdapter) {
+				this.directConverter = (Converter<Object, Object>)
+						((ConverterFactoryAdapter) this.converter).converterFactory.getConverter(targetType.getObjectType());
+			}
+			else {
+				this.directConverter = null;
+			}
+		}
+	}
+
+
 	/**
 	 * Key for use with the converter cache.
 	 */
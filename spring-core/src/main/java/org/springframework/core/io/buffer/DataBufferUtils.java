@@ -28,6 +28,7 @@ import java.nio.channels.CompletionHandler;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -504,6 +505,216 @@ public abstract class DataBufferUtils {
 	}
 
 
+	/**
+	 * Return a {@link Matcher} for the given delimiter.
+	 * The matcher can be used to find the delimiters in a stream of data buffers.
+	 * @param delimiter the delimiter bytes to find
+	 * @return the matcher
+	 * @since 5.1
+	 */
+	public static Matcher matcher(byte[] delimiter) {
+		Assert.isTrue(delimiter.length > 0, "Delimiter must not be empty");
+		return new KnuthMorrisPrattMatcher(delimiter);
+	}
+
+	/**
+	 * Return a {@link Matcher} for the given delimiters.
+	 * The matcher can be used to find the delimiters in a stream of data buffers,
+	 * in a single pass over the data regardless of the number of delimiters.
+	 * @param delimiters the delimiters bytes to find
+	 * @return the matcher
+	 * @since 5.1
+	 */
+	public static Matcher matcher(byte[]... delimiters) {
+		Assert.isTrue(delimiters.length > 0, "Delimiters must not be empty");
+		return (delimiters.length == 1 ? matcher(delimiters[0]) : new CompositeMatcher(delimiters));
+	}
+
+
+	/**
+	 * Contract to find delimiter(s) against one or more data buffers that can
+	 * be passed one at a time to the {@link #match(DataBuffer)} method.
+	 * <p>Implementations are stateful: a delimiter that starts at the end of
+	 * one data buffer and ends at the start of the next one is found as well.
+	 * Instances are therefore not thread-safe and meant to be used for a single
+	 * stream of data buffers only.
+	 * @since 5.1
+	 * @see #matcher(byte[])
+	 * @see #matcher(byte[]...)
+	 */
+	public interface Matcher {
+
+		/**
+		 * Find the first matching delimiter in the readable bytes of the given
+		 * data buffer, taking partial matches from previous buffers into account.
+		 * @param dataBuffer the data buffer to search (its read position stays as-is)
+		 * @return the index of the last byte of the matching delimiter within the
+		 * given buffer, or {@code -1} if no delimiter has been completed in the buffer
+		 */
+		int match(DataBuffer dataBuffer);
+
+		/**
+		 * Find the first matching delimiter in the given data buffer, starting at
+		 * the given index, and up to (but not including) the given end index.
+		 * @param dataBuffer the data buffer to search
+		 * @param startIndex the index to start searching at
+		 * @param endIndex the index to stop searching at
+		 * @return the index of the last byte of the matching delimiter,
+		 * or {@code -1} if no delimiter has been completed in the given range
+		 */
+		int match(DataBuffer dataBuffer, int startIndex, int endIndex);
+
+		/**
+		 * Return the delimiter from the last invocation of {@link #match(DataBuffer)}
+		 * that found a match (not to be modified).
+		 */
+		byte[] delimiter();
+
+		/**
+		 * Reset the state of this matcher, discarding any partial match.
+		 */
+		void reset();
+	}
+
+
+	/**
+	 * Implementation of {@link Matcher} that uses the Knuth-Morris-Pratt algorithm,
+	 * carrying the length of the current partial match over from one buffer to the next.
+	 * @see <a href="https://www.nayuki.io/page/knuth-morris-pratt-string-matching">Knuth-Morris-Pratt string matching</a>
+	 */
+	private static class KnuthMorrisPrattMatcher implements Matcher {
+
+		private final byte[] delimiter;
+
+		private final int[] table;
+
+		private int matches = 0;
+
+		public KnuthMorrisPrattMatcher(byte[] delimiter) {
+			this.delimiter = Arrays.copyOf(delimiter, delimiter.length);
+			this.table = longestSuffixPrefixTable(delimiter);
+		}
+
+		private static int[] longestSuffixPrefixTable(byte[] delimiter) {
+			int[] result = new int[delimiter.length];
+			result[0] = 0;
+			for (int i = 1; i < delimiter.length; i++) {
+				int j = result[i - 1];
+				while (j > 0 && delimiter[i] != delimiter[j]) {
+					j = result[j - 1];
+				}
+				if (delimiter[i] == delimiter[j]) {
+					j++;
+				}
+				result[i] = j;
+			}
+			return result;
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			return match(dataBuffer, dataBuffer.readPosition(), dataBuffer.writePosition());
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer, int startIndex, int endIndex) {
+			for (int i = startIndex; i < endIndex; i++) {
+				if (match(dataBuffer.getByte(i))) {
+					reset();
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Advance the partial match with the given byte.
+		 * @return {@code true} if the delimiter has been completed with this byte
+		 */
+		boolean match(byte b) {
+			while (this.matches > 0 && b != this.delimiter[this.matches]) {
+				this.matches = this.table[this.matches - 1];
+			}
+			if (b == this.delimiter[this.matches]) {
+				this.matches++;
+				if (this.matches == this.delimiter.length) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			return this.delimiter;
+		}
+
+		@Override
+		public void reset() {
+			this.matches = 0;
+		}
+	}
+
+
+	/**
+	 * Implementation of {@link Matcher} that advances one Knuth-Morris-Pratt matcher
+	 * per delimiter with each byte. If several delimiters end at the same byte
+	 * (e.g. {@code \r\n} and {@code \n}), the longest one is chosen.
+	 */
+	private static class CompositeMatcher implements Matcher {
+
+		private final KnuthMorrisPrattMatcher[] matchers;
+
+		@Nullable
+		private byte[] matchedDelimiter;
+
+		public CompositeMatcher(byte[][] delimiters) {
+			this.matchers = new KnuthMorrisPrattMatcher[delimiters.length];
+			for (int i = 0; i < delimiters.length; i++) {
+				Assert.isTrue(delimiters[i].length > 0, "Delimiter must not be empty");
+				this.matchers[i] = new KnuthMorrisPrattMatcher(delimiters[i]);
+			}
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			return match(dataBuffer, dataBuffer.readPosition(), dataBuffer.writePosition());
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer, int startIndex, int endIndex) {
+			for (int i = startIndex; i < endIndex; i++) {
+				byte b = dataBuffer.getByte(i);
+				KnuthMorrisPrattMatcher longest = null;
+				for (KnuthMorrisPrattMatcher matcher : this.matchers) {
+					if (matcher.match(b) && (longest == null || matcher.delimiter.length > longest.delimiter.length)) {
+						longest = matcher;
+					}
+				}
+				if (longest != null) {
+					this.matchedDelimiter = longest.delimiter;
+					reset();
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			Assert.state(this.matchedDelimiter != null, "No matched delimiter");
+			return this.matchedDelimiter;
+		}
+
+		@Override
+		public void reset() {
+			for (KnuthMorrisPrattMatcher matcher : this.matchers) {
+				matcher.reset();
+			}
+		}
+	}
+
+
 	private static class ReadableByteChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
 
 		private final ReadableByteChannel channel;
@@ -111,12 +111,16 @@ public class NettyDataBufferFactory implements DataBufferFactory {
 	 * Return the given Netty {@link DataBuffer} as a {@link ByteBuf}. Returns the
 	 * {@linkplain NettyDataBuffer#getNativeBuffer() native buffer} if {@code buffer} is
 	 * a {@link NettyDataBuffer}; returns {@link Unpooled#wrappedBuffer(ByteBuffer)}
-	 * otherwise.
+	 * otherwise. A buffer from a {@link TrackingDataBufferFactory} is no longer
+	 * tracked after this call, with its target buffer being converted instead.
 	 * @param buffer the {@code DataBuffer} to return a {@code ByteBuf} for.
 	 * @return the netty {@code ByteBuf}
 	 */
 	public static ByteBuf toByteBuf(DataBuffer buffer) {
-		if (buffer instanceof NettyDataBuffer) {
+		if (buffer instanceof TrackingDataBufferFactory.TrackedDataBuffer) {
+			return toByteBuf(((TrackingDataBufferFactory.TrackedDataBuffer) buffer).untrack());
+		}
+		else if (buffer instanceof NettyDataBuffer) {
 			return ((NettyDataBuffer) buffer).getNativeBuffer();
 		}
 		else {
@@ -0,0 +1,478 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link DefaultDataBufferFactory} which pools the memory of the
+ * buffers it allocates, for runtimes without Netty's pooled {@code ByteBufAllocator}
+ * such as Servlet containers and Undertow.
+ *
+ * <p>Buffers allocated by this factory are {@link PooledDataBuffer} instances
+ * with an initial reference count of 1. Once released, their memory is returned
+ * to one of several power-of-two size classes: first to a small cache local to
+ * the releasing thread, then to a bounded pool shared between threads, which
+ * in turn is filled with chunks carved out of larger slabs. Allocations beyond
+ * the maximum pooled capacity as well as {@linkplain #wrap wrapped} buffers
+ * are not pooled.
+ *
+ * <p>As with Netty's pooled buffers, slices share the reference count of the
+ * buffer they have been created from, and a buffer must not be accessed anymore
+ * once it has been released. A buffer which is garbage collected without having
+ * been released does not leak any memory but is not returned to the pool either;
+ * {@linkplain #setLeakDetection leak detection} may be switched on to log such
+ * buffers along with the place where they were allocated.
+ *
+ * @since 5.1
+ * @see PooledDataBuffer
+ * @see DataBufferUtils#release(DataBuffer)
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers: 64 KB.
+	 * @see #PooledDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum amount of memory to keep in the shared pool: 16 MB.
+	 * @see #PooledDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_MAX_POOLED_MEMORY = 16 * 1024 * 1024;
+
+	private static final int MIN_POOLED_CAPACITY = 64;
+
+	private static final int SLAB_CAPACITY = 64 * 1024;
+
+	private static final int MAX_POOLED_BUFFERS_PER_SIZE = 1024;
+
+	private static final int MAX_THREAD_LOCAL_BUFFERS_PER_SIZE = 16;
+
+	private static final int MAX_THREAD_LOCAL_MEMORY_PER_SIZE = 32 * 1024;
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+	private static final Log logger = LogFactory.getLog(PooledDataBufferFactory.class);
+
+
+	private final boolean preferDirect;
+
+	private final SizeClass[] sizeClasses;
+
+	private final ThreadLocal<ArrayDeque<ByteBuffer>[]> threadLocalCaches =
+			ThreadLocal.withInitial(this::createThreadLocalCache);
+
+	private boolean useThreadLocalCache = true;
+
+	private boolean leakDetection = false;
+
+	private final LongAdder activeBufferCount = new LongAdder();
+
+	private final ReferenceQueue<PooledDefaultDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled rather than heap buffers.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_MAX_POOLED_MEMORY);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with the given settings.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity to use for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the maximum capacity of buffers to pool
+	 * (rounded up to the next power of two)
+	 * @param maxPooledMemory the maximum number of bytes to keep in the shared
+	 * pool, divided evenly between all size classes
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int defaultInitialCapacity,
+			int maxPooledCapacity, int maxPooledMemory) {
+
+		super(preferDirect, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity > 0, "'maxPooledCapacity' should be larger than 0");
+		Assert.isTrue(maxPooledMemory > 0, "'maxPooledMemory' should be larger than 0");
+		this.preferDirect = preferDirect;
+		this.sizeClasses = new SizeClass[sizeClassIndex(maxPooledCapacity) + 1];
+		int maxMemoryPerSize = maxPooledMemory / this.sizeClasses.length;
+		for (int i = 0; i < this.sizeClasses.length; i++) {
+			this.sizeClasses[i] = new SizeClass(MIN_POOLED_CAPACITY << i, maxMemoryPerSize);
+		}
+	}
+
+
+	/**
+	 * Specify whether to keep a small number of released buffers per thread,
+	 * avoiding contention on the shared pool for buffers that are allocated
+	 * and released on the same thread.
+	 * <p>Default is "true". Turn this off in order to not keep any buffer memory
+	 * associated with threads that are not under control of the application.
+	 */
+	public void setUseThreadLocalCache(boolean useThreadLocalCache) {
+		this.useThreadLocalCache = useThreadLocalCache;
+	}
+
+	/**
+	 * Specify whether to track allocated buffers in order to log a warning
+	 * for each buffer that is garbage collected without having been released.
+	 * <p>Default is "false". Note that the stack trace for every allocation is
+	 * recorded when switched on, so this is meant for diagnostic purposes only.
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return the number of buffers that have been allocated but not released yet.
+	 */
+	public long getActiveBufferCount() {
+		return this.activeBufferCount.sum();
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		if (this.leakDetection) {
+			reportLeaks();
+		}
+		PooledDefaultDataBuffer dataBuffer = new PooledDefaultDataBuffer(this, acquire(initialCapacity));
+		if (this.leakDetection) {
+			dataBuffer.leakTracker = new LeakTracker(dataBuffer, this.leakQueue);
+			this.leakTrackers.add(dataBuffer.leakTracker);
+		}
+		this.activeBufferCount.increment();
+		return dataBuffer;
+	}
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect + ")";
+	}
+
+
+	/**
+	 * Obtain a native buffer with a position of 0 and a limit of the given capacity,
+	 * backed by pooled memory if possible.
+	 */
+	private ByteBuffer acquire(int capacity) {
+		int index = sizeClassIndex(capacity);
+		if (index >= this.sizeClasses.length) {
+			return allocate(capacity);
+		}
+		SizeClass sizeClass = this.sizeClasses[index];
+		ByteBuffer chunk = null;
+		if (this.useThreadLocalCache && sizeClass.maxThreadLocalBuffers > 0) {
+			ArrayDeque<ByteBuffer> cache = this.threadLocalCaches.get()[index];
+			if (cache != null) {
+				chunk = cache.pollLast();
+			}
+		}
+		if (chunk == null) {
+			chunk = sizeClass.pool.poll();
+			if (chunk == null) {
+				chunk = allocateSlab(sizeClass);
+			}
+		}
+		((Buffer) chunk).clear().limit(capacity);
+		return chunk;
+	}
+
+	/**
+	 * Allocate a slab of memory for the given size class, returning its first
+	 * chunk and offering the remaining chunks to the shared pool.
+	 */
+	private ByteBuffer allocateSlab(SizeClass sizeClass) {
+		int chunkCapacity = sizeClass.capacity;
+		int chunkCount = Math.max(Math.min(SLAB_CAPACITY / chunkCapacity, sizeClass.maxPooledBuffers), 1);
+		ByteBuffer slab = allocate(chunkCapacity * chunkCount);
+		ByteBuffer firstChunk = null;
+		for (int i = 0; i < chunkCount; i++) {
+			((Buffer) slab).limit((i + 1) * chunkCapacity).position(i * chunkCapacity);
+			ByteBuffer chunk = slab.slice();
+			if (firstChunk == null) {
+				firstChunk = chunk;
+			}
+			else if (!sizeClass.pool.offer(chunk)) {
+				break;
+			}
+		}
+		return firstChunk;
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	/**
+	 * Return the given native buffer to the pool, unless it is not pooled memory.
+	 */
+	private void recycle(ByteBuffer chunk) {
+		int capacity = chunk.capacity();
+		int index = sizeClassIndex(capacity);
+		if (chunk.isDirect() != this.preferDirect || index >= this.sizeClasses.length ||
+				this.sizeClasses[index].capacity != capacity) {
+			return;
+		}
+		SizeClass sizeClass = this.sizeClasses[index];
+		if (this.useThreadLocalCache && sizeClass.maxThreadLocalBuffers > 0) {
+			ArrayDeque<ByteBuffer>[] caches = this.threadLocalCaches.get();
+			ArrayDeque<ByteBuffer> cache = caches[index];
+			if (cache == null) {
+				cache = new ArrayDeque<>(sizeClass.maxThreadLocalBuffers);
+				caches[index] = cache;
+			}
+			if (cache.size() < sizeClass.maxThreadLocalBuffers) {
+				cache.addLast(chunk);
+				return;
+			}
+		}
+		sizeClass.pool.offer(chunk);
+	}
+
+	private void released(PooledDefaultDataBuffer dataBuffer, ByteBuffer chunk) {
+		LeakTracker leakTracker = dataBuffer.leakTracker;
+		if (leakTracker != null) {
+			this.leakTrackers.remove(leakTracker);
+			leakTracker.clear();
+		}
+		this.activeBufferCount.decrement();
+		recycle(chunk);
+	}
+
+	private void reportLeaks() {
+		Reference<? extends PooledDefaultDataBuffer> reference;
+		while ((reference = this.leakQueue.poll()) != null) {
+			LeakTracker leakTracker = (LeakTracker) reference;
+			if (this.leakTrackers.remove(leakTracker)) {
+				this.activeBufferCount.decrement();
+				logger.warn("DataBuffer was garbage-collected without having been released " +
+						"- make sure to call DataBufferUtils.release(DataBuffer) once a buffer " +
+						"has been consumed", leakTracker.allocationPoint);
+			}
+		}
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private ArrayDeque<ByteBuffer>[] createThreadLocalCache() {
+		return new ArrayDeque[this.sizeClasses.length];
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return Integer.numberOfLeadingZeros(MIN_POOLED_CAPACITY - 1) - Integer.numberOfLeadingZeros(capacity - 1);
+	}
+
+
+	/**
+	 * Pooled memory for buffers of a specific capacity.
+	 */
+	private static final class SizeClass {
+
+		final int capacity;
+
+		final int maxPooledBuffers;
+
+		final int maxThreadLocalBuffers;
+
+		final Queue<ByteBuffer> pool;
+
+		SizeClass(int capacity, int maxMemory) {
+			this.capacity = capacity;
+			this.maxPooledBuffers = Math.max(Math.min(maxMemory / capacity, MAX_POOLED_BUFFERS_PER_SIZE), 1);
+			this.maxThreadLocalBuffers =
+					Math.min(MAX_THREAD_LOCAL_MEMORY_PER_SIZE / capacity, MAX_THREAD_LOCAL_BUFFERS_PER_SIZE);
+			this.pool = new ArrayBlockingQueue<>(this.maxPooledBuffers);
+		}
+	}
+
+
+	/**
+	 * {@link DefaultDataBuffer} variant with a reference count, returning its
+	 * native buffer to the pool once released.
+	 */
+	private static class PooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private static final AtomicIntegerFieldUpdater<PooledDefaultDataBuffer> REF_COUNT_UPDATER =
+				AtomicIntegerFieldUpdater.newUpdater(PooledDefaultDataBuffer.class, "refCount");
+
+		private final PooledDataBufferFactory dataBufferFactory;
+
+		private ByteBuffer chunk;
+
+		// Whether slices may still point into the current chunk
+		private boolean sliced;
+
+		@Nullable
+		LeakTracker leakTracker;
+
+		private volatile int refCount = 1;
+
+		PooledDefaultDataBuffer(PooledDataBufferFactory dataBufferFactory, ByteBuffer chunk) {
+			super(dataBufferFactory, chunk);
+			this.dataBufferFactory = dataBufferFactory;
+			this.chunk = chunk;
+		}
+
+		@Override
+		ByteBuffer allocate(int capacity, boolean direct) {
+			if (this.refCount <= 0) {
+				throw new IllegalStateException("DataBuffer has been released already");
+			}
+			return (direct == this.dataBufferFactory.preferDirect ?
+					this.dataBufferFactory.acquire(capacity) : super.allocate(capacity, direct));
+		}
+
+		@Override
+		void setNativeBuffer(ByteBuffer byteBuffer) {
+			super.setNativeBuffer(byteBuffer);
+			ByteBuffer oldChunk = this.chunk;
+			this.chunk = byteBuffer;
+			if (this.sliced) {
+				// Existing slices keep reading the old chunk: leave it to the garbage collector
+				this.sliced = false;
+			}
+			else {
+				this.dataBufferFactory.recycle(oldChunk);
+			}
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+			this.sliced = true;
+			return new PooledSlicedDataBuffer(slice, this, length);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			int refCount;
+			do {
+				refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("DataBuffer has been released already");
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount + 1));
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			int refCount;
+			do {
+				refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("DataBuffer has been released already");
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount - 1));
+			if (refCount > 1) {
+				return false;
+			}
+			ByteBuffer chunk = this.chunk;
+			super.setNativeBuffer(EMPTY_BUFFER);
+			this.dataBufferFactory.released(this, chunk);
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("PooledDataBuffer (r: %d, w %d, c %d)",
+					readPosition(), writePosition(), capacity());
+		}
+	}
+
+
+	/**
+	 * Slice of a {@link PooledDefaultDataBuffer}, sharing its reference count.
+	 */
+	private static class PooledSlicedDataBuffer extends DefaultDataBuffer.SlicedDefaultDataBuffer
+			implements PooledDataBuffer {
+
+		private final PooledDefaultDataBuffer parent;
+
+		PooledSlicedDataBuffer(ByteBuffer byteBuffer, PooledDefaultDataBuffer parent, int length) {
+			super(byteBuffer, parent.dataBufferFactory, length);
+			this.parent = parent;
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+			return new PooledSlicedDataBuffer(slice, this.parent, length);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+	}
+
+
+	/**
+	 * Phantom reference to an allocated buffer, enqueued once the buffer
+	 * has been garbage collected without having been released.
+	 */
+	private static final class LeakTracker extends PhantomReference<PooledDefaultDataBuffer> {
+
+		final Throwable allocationPoint = new Throwable("DataBuffer allocated at");
+
+		LeakTracker(PooledDefaultDataBuffer dataBuffer, ReferenceQueue<PooledDefaultDataBuffer> queue) {
+			super(dataBuffer, queue);
+		}
+	}
+
+}
@@ -0,0 +1,619 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataBufferFactory} decorator which keeps track of the buffers allocated
+ * through it, in order to find buffers which are never
+ * {@linkplain DataBufferUtils#release(DataBuffer) released}.
+ *
+ * <p>Buffers obtained from this factory are reference-counted
+ * {@link PooledDataBuffer} wrappers around the buffers of the target factory,
+ * remaining tracked until their reference count drops to 0. Slices share the
+ * reference count of the buffer they have been created from. Buffers handed
+ * over to Netty via {@link NettyDataBufferFactory#toByteBuf} are no longer
+ * tracked, since Netty takes over their release at that point.
+ *
+ * <p>Live buffers may be inspected through {@link #getLiveAllocations()}, along
+ * with aggregate counts which can be exposed as metrics. By default, the stack
+ * trace of each allocation is recorded, and the first class on that stack
+ * outside of this package and of the Reactor, Netty and JDK libraries is
+ * considered the owner of the buffer, typically a codec or a handler.
+ *
+ * <p>In tests, {@link #checkForLeaks()} or {@link #checkForLeaks(Duration)}
+ * can be called once all data has been consumed.
+ *
+ * @since 5.1
+ * @see #createChild(DataBufferFactory)
+ */
+public class TrackingDataBufferFactory implements DataBufferFactory {
+
+	private static final String UNKNOWN_OWNER = "unknown";
+
+	private static final String[] EXCLUDED_OWNER_PREFIXES = {"org.springframework.core.io.buffer.",
+			"reactor.", "io.netty.", "java.", "javax.", "jdk.", "sun."};
+
+
+	private final DataBufferFactory delegate;
+
+	@Nullable
+	private final TrackingDataBufferFactory parent;
+
+	private boolean recordAllocationSites = true;
+
+	private final Set<Allocation> liveAllocations = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder allocatedCount = new LongAdder();
+
+	private final LongAdder releasedCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code TrackingDataBufferFactory} for the given target factory.
+	 * @param delegate the factory to obtain the actual buffers from
+	 */
+	public TrackingDataBufferFactory(DataBufferFactory delegate) {
+		this(delegate, null);
+	}
+
+	private TrackingDataBufferFactory(DataBufferFactory delegate, @Nullable TrackingDataBufferFactory parent) {
+		Assert.notNull(delegate, "DataBufferFactory delegate must not be null");
+		this.delegate = delegate;
+		this.parent = parent;
+		if (parent != null) {
+			this.recordAllocationSites = parent.recordAllocationSites;
+		}
+	}
+
+
+	/**
+	 * Return the factory that this factory obtains the actual buffers from.
+	 */
+	public DataBufferFactory getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Specify whether to record the stack trace of each allocation, exposed
+	 * through {@link Allocation#getAllocationSite()} and used to determine
+	 * the {@linkplain Allocation#getOwner() owner} of each buffer.
+	 * <p>Default is "true". Switch this off to reduce the tracking overhead
+	 * to a few counters, e.g. in a production environment.
+	 */
+	public void setRecordAllocationSites(boolean recordAllocationSites) {
+		this.recordAllocationSites = recordAllocationSites;
+	}
+
+	/**
+	 * Create a child factory for the given target factory, tracking its buffers
+	 * individually as well as part of this factory's buffers, e.g. for decorating
+	 * the buffer factory of each server response.
+	 * @param delegate the factory to obtain the actual buffers from
+	 * @return the child factory, inheriting this factory's settings
+	 */
+	public TrackingDataBufferFactory createChild(DataBufferFactory delegate) {
+		return new TrackingDataBufferFactory(delegate, this);
+	}
+
+
+	@Override
+	public DataBuffer allocateBuffer() {
+		return track(this.delegate.allocateBuffer());
+	}
+
+	@Override
+	public DataBuffer allocateBuffer(int initialCapacity) {
+		return track(this.delegate.allocateBuffer(initialCapacity));
+	}
+
+	@Override
+	public DataBuffer wrap(ByteBuffer byteBuffer) {
+		return track(this.delegate.wrap(byteBuffer));
+	}
+
+	@Override
+	public DataBuffer wrap(byte[] bytes) {
+		return track(this.delegate.wrap(bytes));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation passes the untracked target buffers to the target
+	 * factory, tracking the joined buffer instead.
+	 */
+	@Override
+	public DataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "'dataBuffers' must not be empty");
+		List<DataBuffer> targetBuffers = new ArrayList<>(dataBuffers.size());
+		for (DataBuffer dataBuffer : dataBuffers) {
+			targetBuffers.add(dataBuffer instanceof TrackedDataBuffer ?
+					((TrackedDataBuffer) dataBuffer).untrack() : dataBuffer);
+		}
+		return track(this.delegate.join(targetBuffers));
+	}
+
+
+	/**
+	 * Return the buffers which have been allocated but not released yet.
+	 */
+	public Collection<Allocation> getLiveAllocations() {
+		return Collections.unmodifiableList(new ArrayList<>(this.liveAllocations));
+	}
+
+	/**
+	 * Return the number of buffers which have been allocated but not released yet.
+	 */
+	public int getLiveCount() {
+		return this.liveAllocations.size();
+	}
+
+	/**
+	 * Return the current total capacity of all buffers which have been
+	 * allocated but not released yet.
+	 */
+	public long getLiveBytes() {
+		long bytes = 0;
+		for (Allocation allocation : this.liveAllocations) {
+			bytes += allocation.getCapacity();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Return the current total capacity of all buffers which have been
+	 * allocated but not released yet, grouped by {@linkplain Allocation#getOwner() owner}.
+	 * @return a sorted map from owner to number of bytes
+	 */
+	public Map<String, Long> getLiveBytesByOwner() {
+		Map<String, Long> result = new TreeMap<>();
+		for (Allocation allocation : this.liveAllocations) {
+			result.merge(allocation.getOwner(), (long) allocation.getCapacity(), Long::sum);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the total number of buffers allocated through this factory.
+	 */
+	public long getAllocatedCount() {
+		return this.allocatedCount.sum();
+	}
+
+	/**
+	 * Return the total number of buffers which have been released, or handed
+	 * over to Netty, after having been allocated through this factory.
+	 */
+	public long getReleasedCount() {
+		return this.releasedCount.sum();
+	}
+
+	/**
+	 * Check that all buffers allocated through this factory have been released.
+	 * @throws IllegalStateException if there are buffers which have not been
+	 * released, with the allocation site of the first such buffer as the cause
+	 * (if recorded)
+	 */
+	public void checkForLeaks() {
+		Collection<Allocation> allocations = getLiveAllocations();
+		if (!allocations.isEmpty()) {
+			StringBuilder message = new StringBuilder();
+			message.append(allocations.size()).append(" data buffer(s) not released: ");
+			Throwable cause = null;
+			for (Allocation allocation : allocations) {
+				message.append("\n").append(allocation);
+				if (cause == null) {
+					cause = allocation.getAllocationSite();
+				}
+			}
+			throw new IllegalStateException(message.toString(), cause);
+		}
+	}
+
+	/**
+	 * Check that all buffers allocated through this factory have been released,
+	 * waiting up to the given timeout for buffers which are released asynchronously.
+	 * @param timeout the maximum time to wait
+	 * @throws IllegalStateException if there are still buffers which have not
+	 * been released after the given timeout
+	 * @see #checkForLeaks()
+	 */
+	public void checkForLeaks(Duration timeout) {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (!this.liveAllocations.isEmpty() && System.nanoTime() < deadline) {
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		checkForLeaks();
+	}
+
+	@Override
+	public String toString() {
+		return "TrackingDataBufferFactory (" + this.delegate + ")";
+	}
+
+
+	private DataBuffer track(DataBuffer dataBuffer) {
+		Throwable allocationSite = (this.recordAllocationSites ? new Throwable("DataBuffer allocated") : null);
+		Allocation allocation = new Allocation(this, dataBuffer, allocationSite);
+		for (TrackingDataBufferFactory factory = this; factory != null; factory = factory.parent) {
+			factory.allocatedCount.increment();
+			factory.liveAllocations.add(allocation);
+		}
+		return new TrackedDataBuffer(dataBuffer, allocation);
+	}
+
+	private void released(Allocation allocation) {
+		for (TrackingDataBufferFactory factory = this; factory != null; factory = factory.parent) {
+			if (factory.liveAllocations.remove(allocation)) {
+				factory.releasedCount.increment();
+			}
+		}
+	}
+
+	private static String determineOwner(@Nullable Throwable allocationSite) {
+		if (allocationSite != null) {
+			for (StackTraceElement element : allocationSite.getStackTrace()) {
+				String className = element.getClassName();
+				if (Arrays.stream(EXCLUDED_OWNER_PREFIXES).noneMatch(className::startsWith)) {
+					return className;
+				}
+			}
+		}
+		return UNKNOWN_OWNER;
+	}
+
+
+	/**
+	 * Information about a buffer which has been allocated through a
+	 * {@link TrackingDataBufferFactory} and which has not been released yet.
+	 */
+	public static final class Allocation {
+
+		private final TrackingDataBufferFactory factory;
+
+		private final DataBuffer dataBuffer;
+
+		@Nullable
+		private final Throwable allocationSite;
+
+		private final String owner;
+
+		private final long timestamp = System.currentTimeMillis();
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		Allocation(TrackingDataBufferFactory factory, DataBuffer dataBuffer, @Nullable Throwable allocationSite) {
+			this.factory = factory;
+			this.dataBuffer = dataBuffer;
+			this.allocationSite = allocationSite;
+			this.owner = determineOwner(allocationSite);
+		}
+
+		/**
+		 * Return the class considered responsible for the buffer, typically a
+		 * codec or a handler, or "unknown" if the allocation site is not recorded.
+		 */
+		public String getOwner() {
+			return this.owner;
+		}
+
+		/**
+		 * Return the current capacity of the buffer.
+		 */
+		public int getCapacity() {
+			return this.dataBuffer.capacity();
+		}
+
+		/**
+		 * Return the time of the allocation, in milliseconds since the epoch.
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		/**
+		 * Return a {@code Throwable} carrying the stack trace of the allocation,
+		 * or {@code null} if not recorded.
+		 * @see #setRecordAllocationSites
+		 */
+		@Nullable
+		public Throwable getAllocationSite() {
+			return this.allocationSite;
+		}
+
+		void retain() {
+			int refCount;
+			do {
+				refCount = this.refCount.get();
+				assertNotReleased(refCount);
+			}
+			while (!this.refCount.compareAndSet(refCount, refCount + 1));
+		}
+
+		boolean release() {
+			int refCount;
+			do {
+				refCount = this.refCount.get();
+				assertNotReleased(refCount);
+			}
+			while (!this.refCount.compareAndSet(refCount, refCount - 1));
+			if (refCount == 1) {
+				this.factory.released(this);
+				return true;
+			}
+			return false;
+		}
+
+		private void assertNotReleased(int refCount) {
+			if (refCount <= 0) {
+				throw new IllegalStateException("DataBuffer has been released already");
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "DataBuffer of " + getCapacity() + " bytes allocated by " + this.owner;
+		}
+	}
+
+
+	/**
+	 * {@link PooledDataBuffer} wrapper for a tracked target buffer.
+	 */
+	static final class TrackedDataBuffer implements PooledDataBuffer {
+
+		private final DataBuffer delegate;
+
+		private final Allocation allocation;
+
+		TrackedDataBuffer(DataBuffer delegate, Allocation allocation) {
+			this.delegate = delegate;
+			this.allocation = allocation;
+		}
+
+		/**
+		 * Hand one reference to this buffer over to the caller, returning the
+		 * target buffer. The allocation stops being tracked once all other
+		 * references (e.g. of slices sharing it) have been released as well.
+		 */
+		DataBuffer untrack() {
+			this.allocation.release();
+			return this.delegate;
+		}
+
+		@Override
+		public DataBufferFactory factory() {
+			return this.allocation.factory;
+		}
+
+		@Override
+		public int indexOf(IntPredicate predicate, int fromIndex) {
+			return this.delegate.indexOf(predicate, fromIndex);
+		}
+
+		@Override
+		public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+			return this.delegate.lastIndexOf(predicate, fromIndex);
+		}
+
+		@Override
+		public int readableByteCount() {
+			return this.delegate.readableByteCount();
+		}
+
+		@Override
+		public int writableByteCount() {
+			return this.delegate.writableByteCount();
+		}
+
+		@Override
+		public int capacity() {
+			return this.delegate.capacity();
+		}
+
+		@Override
+		public DataBuffer capacity(int capacity) {
+			this.delegate.capacity(capacity);
+			return this;
+		}
+
+		@Override
+		public int readPosition() {
+			return this.delegate.readPosition();
+		}
+
+		@Override
+		public DataBuffer readPosition(int readPosition) {
+			this.delegate.readPosition(readPosition);
+			return this;
+		}
+
+		@Override
+		public int writePosition() {
+			return this.delegate.writePosition();
+		}
+
+		@Override
+		public DataBuffer writePosition(int writePosition) {
+			this.delegate.writePosition(writePosition);
+			return this;
+		}
+
+		@Override
+		public byte getByte(int index) {
+			return this.delegate.getByte(index);
+		}
+
+		@Override
+		public byte read() {
+			return this.delegate.read();
+		}
+
+		@Override
+		public DataBuffer read(byte[] destination) {
+			this.delegate.read(destination);
+			return this;
+		}
+
+		@Override
+		public DataBuffer read(byte[] destination, int offset, int length) {
+			this.delegate.read(destination, offset, length);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(byte b) {
+			this.delegate.write(b);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(byte[] source) {
+			this.delegate.write(source);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(byte[] source, int offset, int length) {
+			this.delegate.write(source, offset, length);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(DataBuffer... buffers) {
+			DataBuffer[] targetBuffers = new DataBuffer[buffers.length];
+			for (int i = 0; i < buffers.length; i++) {
+				targetBuffers[i] = (buffers[i] instanceof TrackedDataBuffer ?
+						((TrackedDataBuffer) buffers[i]).delegate : buffers[i]);
+			}
+			this.delegate.write(targetBuffers);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(ByteBuffer... buffers) {
+			this.delegate.write(buffers);
+			return this;
+		}
+
+		@Override
+		public DataBuffer slice(int index, int length) {
+			return new TrackedDataBuffer(this.delegate.slice(index, length), this.allocation);
+		}
+
+		@Override
+		public ByteBuffer asByteBuffer() {
+			return this.delegate.asByteBuffer();
+		}
+
+		@Override
+		public ByteBuffer asByteBuffer(int index, int length) {
+			return this.delegate.asByteBuffer(index, length);
+		}
+
+		@Override
+		public InputStream asInputStream() {
+			return this.delegate.asInputStream();
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			if (!releaseOnClose) {
+				return this.delegate.asInputStream();
+			}
+			return new FilterInputStream(this.delegate.asInputStream()) {
+				private boolean closed;
+				@Override
+				public void close() throws IOException {
+					super.close();
+					if (!this.closed) {
+						this.closed = true;
+						release();
+					}
+				}
+			};
+		}
+
+		@Override
+		public OutputStream asOutputStream() {
+			return this.delegate.asOutputStream();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.allocation.retain();
+			DataBufferUtils.retain(this.delegate);
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			boolean released = this.allocation.release();
+			DataBufferUtils.release(this.delegate);
+			return released;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof TrackedDataBuffer)) {
+				return false;
+			}
+			return this.delegate.equals(((TrackedDataBuffer) other).delegate);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.delegate.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "Tracked" + this.delegate;
+		}
+	}
+
+}
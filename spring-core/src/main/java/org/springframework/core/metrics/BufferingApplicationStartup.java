@@ -0,0 +1,255 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory, exposing them as a timeline of {@link BufferedStartupStep} entries
+ * with their start time, duration, tags and parent/child correlation once ended.
+ *
+ * <p>Parent/child correlation is thread-bound: a step started while another step
+ * is in progress on the same thread is considered a child of that step. Steps
+ * beyond the configured capacity get dropped, with only their number retained.
+ *
+ * @since 5.1
+ * @see #getBufferedSteps()
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final AtomicLong idSequence = new AtomicLong();
+
+	private final ThreadLocal<BufferedStartupStep> currentStep =
+			new NamedThreadLocal<>("Current startup step");
+
+	private final Queue<BufferedStartupStep> bufferedSteps = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger bufferedStepCount = new AtomicInteger();
+
+	private final AtomicInteger droppedStepCount = new AtomicInteger();
+
+
+	/**
+	 * Create a new {@code BufferingApplicationStartup}.
+	 * @param capacity the maximum number of steps to buffer
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+
+	@Override
+	public StartupStep start(String name) {
+		Assert.notNull(name, "Step name must not be null");
+		BufferedStartupStep parent = this.currentStep.get();
+		BufferedStartupStep step = new BufferedStartupStep(this.idSequence.incrementAndGet(), name, parent, this);
+		this.currentStep.set(step);
+		return step;
+	}
+
+	private void record(BufferedStartupStep step) {
+		if (this.currentStep.get() == step) {
+			BufferedStartupStep parent = step.parent;
+			if (parent != null) {
+				this.currentStep.set(parent);
+			}
+			else {
+				this.currentStep.remove();
+			}
+		}
+		if (this.bufferedStepCount.incrementAndGet() <= this.capacity) {
+			this.bufferedSteps.add(step);
+		}
+		else {
+			this.bufferedStepCount.decrementAndGet();
+			this.droppedStepCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Return a snapshot of all ended steps buffered so far, in the order of
+	 * their start.
+	 */
+	public List<BufferedStartupStep> getBufferedSteps() {
+		List<BufferedStartupStep> steps = new ArrayList<>(this.bufferedSteps);
+		steps.sort(Comparator.comparingLong(BufferedStartupStep::getId));
+		return steps;
+	}
+
+	/**
+	 * Return the number of steps which got dropped because the buffer
+	 * was full at the time they ended.
+	 */
+	public int getDroppedStepCount() {
+		return this.droppedStepCount.get();
+	}
+
+
+	/**
+	 * {@link StartupStep} implementation recorded by a {@link BufferingApplicationStartup}.
+	 */
+	public static final class BufferedStartupStep implements StartupStep {
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final BufferedStartupStep parent;
+
+		private final BufferingApplicationStartup startup;
+
+		private final Instant startTime;
+
+		private final long startNanos;
+
+		private final List<Tag> tags = new ArrayList<>(4);
+
+		@Nullable
+		private volatile Duration duration;
+
+		BufferedStartupStep(long id, String name, @Nullable BufferedStartupStep parent,
+				BufferingApplicationStartup startup) {
+
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+			this.startup = startup;
+			this.startTime = Instant.now();
+			this.startNanos = System.nanoTime();
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(this.duration == null, "StartupStep has already ended");
+			this.tags.add(new SimpleTag(key, value));
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			List<Tag> tags = Collections.unmodifiableList(new ArrayList<>(this.tags));
+			return tags::iterator;
+		}
+
+		/**
+		 * Return the point in time when this step started.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the time this step took, or {@code null} if not ended yet.
+		 */
+		@Nullable
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public void end() {
+			Assert.state(this.duration == null, "StartupStep has already ended");
+			this.duration = Duration.ofNanos(System.nanoTime() - this.startNanos);
+			this.startup.record(this);
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("StartupStep '").append(this.name).append("' [id=").append(this.id);
+			if (this.parent != null) {
+				sb.append(", parentId=").append(this.parent.id);
+			}
+			for (Tag tag : this.tags) {
+				sb.append(", ").append(tag.getKey()).append('=').append(tag.getValue());
+			}
+			sb.append(", startTime=").append(this.startTime);
+			if (this.duration != null) {
+				sb.append(", duration=").append(this.duration.toMillis()).append("ms");
+			}
+			return sb.append(']').toString();
+		}
+	}
+
+
+	private static final class SimpleTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		SimpleTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Support package for recording metrics during application startup,
+ * e.g. for the individual steps of an application context refresh.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
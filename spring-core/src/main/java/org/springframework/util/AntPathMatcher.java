@@ -16,12 +16,12 @@
 
 package org.springframework.util;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,7 +75,8 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/" */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
-	private static final int CACHE_TURNOFF_THRESHOLD = 65536;
+	/** Default maximum number of entries in each of the pattern caches: 65536 */
+	public static final int DEFAULT_CACHE_LIMIT = 65536;
 
 	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
@@ -90,12 +91,15 @@ public class AntPathMatcher implements PathMatcher {
 
 	private boolean trimTokens = false;
 
-	@Nullable
-	private volatile Boolean cachePatterns;
+	private boolean cachePatterns = true;
 
-	private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<>(256);
+	private int cacheLimit = DEFAULT_CACHE_LIMIT;
 
-	final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<>(256);
+	private volatile ConcurrentLruCache<String, String[]> tokenizedPatternCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, this::tokenizePath);
+
+	volatile ConcurrentLruCache<String, AntPathStringMatcher> stringMatcherCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, this::createStringMatcher);
 
 
 	/**
@@ -147,23 +151,38 @@ public class AntPathMatcher implements PathMatcher {
 	/**
 	 * Specify whether to cache parsed pattern metadata for patterns passed
 	 * into this matcher's {@link #match} method. A value of {@code true}
-	 * activates an unlimited pattern cache; a value of {@code false} turns
-	 * the pattern cache off completely.
-	 * <p>Default is for the cache to be on, but with the variant to automatically
-	 * turn it off when encountering too many patterns to cache at runtime
-	 * (the threshold is 65536), assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * activates a pattern cache bounded by the {@link #setCacheLimit cache limit};
+	 * a value of {@code false} turns the pattern cache off completely.
+	 * <p>Default is for the cache to be on. As of 5.1, it is not turned off
+	 * automatically anymore when encountering too many patterns at runtime;
+	 * the least recently used patterns get evicted instead.
 	 * @since 4.0.1
+	 * @see #setCacheLimit
 	 * @see #getStringMatcher(String)
 	 */
 	public void setCachePatterns(boolean cachePatterns) {
 		this.cachePatterns = cachePatterns;
+		initPatternCaches();
+	}
+
+	/**
+	 * Specify the maximum number of entries in each of the pattern caches
+	 * (tokenized patterns and compiled pattern segments), evicting the least
+	 * recently used entries beyond that limit.
+	 * <p>Default is 65536.
+	 * @since 5.1
+	 * @see #setCachePatterns
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit >= 0, "Cache limit must not be negative");
+		this.cacheLimit = cacheLimit;
+		initPatternCaches();
 	}
 
-	private void deactivatePatternCache() {
-		this.cachePatterns = false;
-		this.tokenizedPatternCache.clear();
-		this.stringMatcherCache.clear();
+	private void initPatternCaches() {
+		int sizeLimit = (this.cachePatterns ? this.cacheLimit : 0);
+		this.tokenizedPatternCache = new ConcurrentLruCache<>(sizeLimit, this::tokenizePath);
+		this.stringMatcherCache = new ConcurrentLruCache<>(sizeLimit, this::createStringMatcher);
 	}
 
 
@@ -379,25 +398,7 @@ public class AntPathMatcher implements PathMatcher {
 	 * @return the tokenized pattern parts
 	 */
 	protected String[] tokenizePattern(String pattern) {
-		String[] tokenized = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			tokenized = this.tokenizedPatternCache.get(pattern);
-		}
-		if (tokenized == null) {
-			tokenized = tokenizePath(pattern);
-			if (cachePatterns == null && this.tokenizedPatternCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return tokenized;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.tokenizedPatternCache.put(pattern, tokenized);
-			}
-		}
-		return tokenized;
+		return this.tokenizedPatternCache.get(pattern);
 	}
 
 	/**
@@ -424,36 +425,20 @@ public class AntPathMatcher implements PathMatcher {
 	/**
 	 * Build or retrieve an {@link AntPathStringMatcher} for the given pattern.
 	 * <p>The default implementation checks this AntPathMatcher's internal cache
-	 * (see {@link #setCachePatterns}), creating a new AntPathStringMatcher instance
-	 * if no cached copy is found.
-	 * <p>When encountering too many patterns to cache at runtime (the threshold is 65536),
-	 * it turns the default cache off, assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * (see {@link #setCachePatterns} and {@link #setCacheLimit}), creating a new
+	 * AntPathStringMatcher instance if no cached copy is found.
 	 * <p>This method may be overridden to implement a custom cache strategy.
 	 * @param pattern the pattern to match against (never {@code null})
 	 * @return a corresponding AntPathStringMatcher (never {@code null})
 	 * @see #setCachePatterns
+	 * @see #setCacheLimit
 	 */
 	protected AntPathStringMatcher getStringMatcher(String pattern) {
-		AntPathStringMatcher matcher = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			matcher = this.stringMatcherCache.get(pattern);
-		}
-		if (matcher == null) {
-			matcher = new AntPathStringMatcher(pattern, this.caseSensitive);
-			if (cachePatterns == null && this.stringMatcherCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return matcher;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.stringMatcherCache.put(pattern, matcher);
-			}
-		}
-		return matcher;
+		return this.stringMatcherCache.get(pattern);
+	}
+
+	private AntPathStringMatcher createStringMatcher(String pattern) {
+		return new AntPathStringMatcher(pattern, this.caseSensitive);
 	}
 
 	/**
@@ -618,9 +603,13 @@ public class AntPathMatcher implements PathMatcher {
 
 
 	/**
-	 * Tests whether or not a string matches against a pattern via a {@link Pattern}.
+	 * Tests whether or not a string matches against a pattern.
 	 * <p>The pattern may contain special characters: '*' means zero or more characters; '?' means one and
 	 * only one character; '{' and '}' indicate a URI template pattern. For example <tt>/users/{user}</tt>.
+	 * <p>As of 5.1, patterns without custom regular expressions in URI template variables
+	 * (i.e. only using '*', '?' and plain <tt>{var}</tt> placeholders) are matched directly
+	 * against the characters of the given string, with the same greedy semantics as the
+	 * equivalent {@link Pattern}. Only <tt>{var:regex}</tt> placeholders require a {@link Pattern}.
 	 */
 	protected static class AntPathStringMatcher {
 
@@ -628,6 +617,16 @@ public class AntPathMatcher implements PathMatcher {
 
 		private static final String DEFAULT_VARIABLE_PATTERN = "(.*)";
 
+		private final String rawPattern;
+
+		private final boolean caseSensitive;
+
+		private final boolean exactMatch;
+
+		@Nullable
+		private final GlobElement[] globElements;
+
+		@Nullable
 		private final Pattern pattern;
 
 		private final List<String> variableNames = new LinkedList<>();
@@ -637,22 +636,39 @@ public class AntPathMatcher implements PathMatcher {
 		}
 
 		public AntPathStringMatcher(String pattern, boolean caseSensitive) {
+			this.rawPattern = pattern;
+			this.caseSensitive = caseSensitive;
+			this.exactMatch = (pattern.indexOf('*') == -1 && pattern.indexOf('?') == -1 && pattern.indexOf('{') == -1);
+			if (this.exactMatch) {
+				this.globElements = null;
+				this.pattern = null;
+				return;
+			}
+
 			StringBuilder patternBuilder = new StringBuilder();
+			List<GlobElement> elements = new ArrayList<>();
+			boolean customRegex = false;
 			Matcher matcher = GLOB_PATTERN.matcher(pattern);
 			int end = 0;
 			while (matcher.find()) {
 				patternBuilder.append(quote(pattern, end, matcher.start()));
+				if (end < matcher.start()) {
+					elements.add(new GlobElement(pattern.substring(end, matcher.start()), false, -1));
+				}
 				String match = matcher.group();
 				if ("?".equals(match)) {
 					patternBuilder.append('.');
+					elements.add(new GlobElement(null, true, -1));
 				}
 				else if ("*".equals(match)) {
 					patternBuilder.append(".*");
+					elements.add(new GlobElement(null, false, -1));
 				}
 				else if (match.startsWith("{") && match.endsWith("}")) {
 					int colonIdx = match.indexOf(':');
 					if (colonIdx == -1) {
 						patternBuilder.append(DEFAULT_VARIABLE_PATTERN);
+						elements.add(new GlobElement(null, false, this.variableNames.size()));
 						this.variableNames.add(matcher.group(1));
 					}
 					else {
@@ -662,13 +678,30 @@ public class AntPathMatcher implements PathMatcher {
 						patternBuilder.append(')');
 						String variableName = match.substring(1, colonIdx);
 						this.variableNames.add(variableName);
+						customRegex = true;
 					}
 				}
 				end = matcher.end();
 			}
 			patternBuilder.append(quote(pattern, end, pattern.length()));
-			this.pattern = (caseSensitive ? Pattern.compile(patternBuilder.toString()) :
-					Pattern.compile(patternBuilder.toString(), Pattern.CASE_INSENSITIVE));
+			if (end < pattern.length()) {
+				elements.add(new GlobElement(pattern.substring(end), false, -1));
+			}
+
+			if (customRegex) {
+				this.globElements = null;
+				this.pattern = (caseSensitive ? Pattern.compile(patternBuilder.toString()) :
+						Pattern.compile(patternBuilder.toString(), Pattern.CASE_INSENSITIVE));
+			}
+			else {
+				this.globElements = elements.toArray(new GlobElement[0]);
+				int minLength = 0;
+				for (int i = this.globElements.length - 1; i >= 0; i--) {
+					this.globElements[i].minRemaining = minLength;
+					minLength += this.globElements[i].getMinLength();
+				}
+				this.pattern = null;
+			}
 		}
 
 		private String quote(String s, int start, int end) {
@@ -683,6 +716,24 @@ public class AntPathMatcher implements PathMatcher {
 		 * @return {@code true} if the string matches against the pattern, or {@code false} otherwise.
 		 */
 		public boolean matchStrings(String str, @Nullable Map<String, String> uriTemplateVariables) {
+			if (this.exactMatch) {
+				return (str.length() == this.rawPattern.length() && regionMatches(str, 0, this.rawPattern));
+			}
+			else if (this.globElements != null) {
+				String[] values = (uriTemplateVariables != null && !this.variableNames.isEmpty() ?
+						new String[this.variableNames.size()] : null);
+				if (!matchGlob(str, 0, 0, values)) {
+					return false;
+				}
+				if (values != null) {
+					for (int i = 0; i < values.length; i++) {
+						uriTemplateVariables.put(this.variableNames.get(i), values[i]);
+					}
+				}
+				return true;
+			}
+
+			Assert.state(this.pattern != null, "No Pattern");
 			Matcher matcher = this.pattern.matcher(str);
 			if (matcher.matches()) {
 				if (uriTemplateVariables != null) {
@@ -705,6 +756,107 @@ public class AntPathMatcher implements PathMatcher {
 				return false;
 			}
 		}
+
+		/**
+		 * Match the glob elements from the given index against the given string
+		 * from the given position, trying the longest candidate for each '*' and
+		 * <tt>{var}</tt> first, just like a greedy <tt>.*</tt> in a regular expression.
+		 */
+		private boolean matchGlob(String str, int elementIndex, int pos, @Nullable String[] values) {
+			GlobElement[] elements = this.globElements;
+			Assert.state(elements != null, "No glob elements");
+			for (int i = elementIndex; i < elements.length; i++) {
+				GlobElement element = elements[i];
+				if (element.literal != null) {
+					if (!regionMatches(str, pos, element.literal)) {
+						return false;
+					}
+					pos += element.literal.length();
+				}
+				else if (element.singleChar) {
+					if (pos >= str.length() || isLineTerminator(str.charAt(pos))) {
+						return false;
+					}
+					pos += Character.charCount(str.codePointAt(pos));
+				}
+				else {
+					int maxEnd = pos;
+					while (maxEnd < str.length() && !isLineTerminator(str.charAt(maxEnd))) {
+						maxEnd++;
+					}
+					maxEnd = Math.min(maxEnd, str.length() - element.minRemaining);
+					for (int end = maxEnd; end >= pos; end--) {
+						if (end > 0 && end < str.length() &&
+								Character.isHighSurrogate(str.charAt(end - 1)) && Character.isLowSurrogate(str.charAt(end))) {
+							// Never split a surrogate pair, as a regular expression wouldn't either
+							continue;
+						}
+						if (matchGlob(str, i + 1, end, values)) {
+							if (values != null && element.variableIndex >= 0) {
+								values[element.variableIndex] = str.substring(pos, end);
+							}
+							return true;
+						}
+					}
+					return false;
+				}
+			}
+			return (pos == str.length());
+		}
+
+		private boolean regionMatches(String str, int pos, String literal) {
+			if (this.caseSensitive) {
+				return str.startsWith(literal, pos);
+			}
+			if (pos + literal.length() > str.length()) {
+				return false;
+			}
+			// ASCII-only case folding, consistent with Pattern.CASE_INSENSITIVE
+			for (int i = 0; i < literal.length(); i++) {
+				char c1 = literal.charAt(i);
+				char c2 = str.charAt(pos + i);
+				if (c1 != c2 && toLowerCaseAscii(c1) != toLowerCaseAscii(c2)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static char toLowerCaseAscii(char c) {
+			return (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+		}
+
+		private static boolean isLineTerminator(char c) {
+			// Not matched by '.' in a regular expression without DOTALL flag
+			return (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029');
+		}
+
+
+		/**
+		 * A literal, a '?', or a '*' (possibly capturing a URI template variable)
+		 * within a pattern segment.
+		 */
+		private static class GlobElement {
+
+			@Nullable
+			final String literal;
+
+			final boolean singleChar;
+
+			final int variableIndex;
+
+			int minRemaining;
+
+			GlobElement(@Nullable String literal, boolean singleChar, int variableIndex) {
+				this.literal = literal;
+				this.singleChar = singleChar;
+				this.variableIndex = variableIndex;
+			}
+
+			int getMinLength() {
+				return (this.literal != null ? this.literal.length() : (this.singleChar ? 1 : 0));
+			}
+		}
 	}
 
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+/**
+ * Allocation-free tokenizer for a {@link CharSequence}, exposing the start
+ * and end offsets of each token instead of creating a substring per token.
+ * Designed for performance-sensitive code paths such as request path matching
+ * and header value parsing, as an alternative to {@link java.util.StringTokenizer}
+ * and {@link StringUtils#tokenizeToStringArray}.
+ *
+ * <p>Follows the semantics of {@link StringUtils#tokenizeToStringArray}:
+ * each character in the given delimiters {@code String} is a delimiter on its
+ * own, consecutive delimiters never produce empty tokens, and tokens may be
+ * trimmed (as per {@link String#trim()}), with empty tokens after trimming
+ * being skipped or not.
+ *
+ * <pre class="code">
+ * CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(path, "/");
+ * while (tokenizer.next()) {
+ *     if (tokenizer.tokenEquals("**")) {
+ *         ...
+ *     }
+ *     int start = tokenizer.getStart();
+ *     int end = tokenizer.getEnd();
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe but may be reused for further input
+ * via {@link #reset(CharSequence)}.
+ *
+ * @since 5.1
+ * @see StringUtils#tokenizeToStringArray
+ */
+public final class CharSequenceTokenizer {
+
+	private final String delimiters;
+
+	private final boolean trimTokens;
+
+	private final boolean ignoreEmptyTokens;
+
+	private CharSequence source;
+
+	private int position;
+
+	private int start = -1;
+
+	private int end = -1;
+
+
+	/**
+	 * Create a new tokenizer for the given source, trimming tokens
+	 * and ignoring empty tokens.
+	 * @param source the {@code CharSequence} to tokenize
+	 * @param delimiters the delimiter characters, assembled as a {@code String}
+	 * (each of the characters is individually considered as a delimiter)
+	 */
+	public CharSequenceTokenizer(CharSequence source, String delimiters) {
+		this(source, delimiters, true, true);
+	}
+
+	/**
+	 * Create a new tokenizer for the given source.
+	 * @param source the {@code CharSequence} to tokenize
+	 * @param delimiters the delimiter characters, assembled as a {@code String}
+	 * (each of the characters is individually considered as a delimiter)
+	 * @param trimTokens trim the tokens as per {@link String#trim()}
+	 * @param ignoreEmptyTokens skip tokens that are empty after trimming
+	 */
+	public CharSequenceTokenizer(CharSequence source, String delimiters,
+			boolean trimTokens, boolean ignoreEmptyTokens) {
+
+		Assert.notNull(source, "Source must not be null");
+		Assert.notNull(delimiters, "Delimiters must not be null");
+		this.source = source;
+		this.delimiters = delimiters;
+		this.trimTokens = trimTokens;
+		this.ignoreEmptyTokens = ignoreEmptyTokens;
+	}
+
+
+	/**
+	 * Reset this tokenizer to the beginning of the given source,
+	 * keeping the delimiter and trimming settings.
+	 * @param source the {@code CharSequence} to tokenize
+	 * @return this tokenizer, for call chaining
+	 */
+	public CharSequenceTokenizer reset(CharSequence source) {
+		Assert.notNull(source, "Source must not be null");
+		this.source = source;
+		this.position = 0;
+		this.start = -1;
+		this.end = -1;
+		return this;
+	}
+
+	/**
+	 * Advance to the next token.
+	 * @return {@code true} if a further token has been found,
+	 * {@code false} if the end of the source has been reached
+	 */
+	public boolean next() {
+		CharSequence source = this.source;
+		int length = source.length();
+		while (this.position < length) {
+			int tokenStart = this.position;
+			while (tokenStart < length && isDelimiter(source.charAt(tokenStart))) {
+				tokenStart++;
+			}
+			if (tokenStart == length) {
+				this.position = length;
+				break;
+			}
+			int tokenEnd = tokenStart + 1;
+			while (tokenEnd < length && !isDelimiter(source.charAt(tokenEnd))) {
+				tokenEnd++;
+			}
+			this.position = tokenEnd;
+			if (this.trimTokens) {
+				while (tokenStart < tokenEnd && source.charAt(tokenStart) <= ' ') {
+					tokenStart++;
+				}
+				while (tokenEnd > tokenStart && source.charAt(tokenEnd - 1) <= ' ') {
+					tokenEnd--;
+				}
+			}
+			if (!this.ignoreEmptyTokens || tokenStart < tokenEnd) {
+				this.start = tokenStart;
+				this.end = tokenEnd;
+				return true;
+			}
+		}
+		this.start = -1;
+		this.end = -1;
+		return false;
+	}
+
+	private boolean isDelimiter(char c) {
+		String delimiters = this.delimiters;
+		return (delimiters.length() == 1 ? delimiters.charAt(0) == c : delimiters.indexOf(c) != -1);
+	}
+
+	/**
+	 * Return the start offset (inclusive) of the current token in the source.
+	 */
+	public int getStart() {
+		assertCurrentToken();
+		return this.start;
+	}
+
+	/**
+	 * Return the end offset (exclusive) of the current token in the source.
+	 */
+	public int getEnd() {
+		assertCurrentToken();
+		return this.end;
+	}
+
+	/**
+	 * Return the length of the current token.
+	 */
+	public int getLength() {
+		assertCurrentToken();
+		return this.end - this.start;
+	}
+
+	/**
+	 * Check whether the current token consists of exactly the given characters,
+	 * without creating a {@code String} for the token.
+	 * @param candidate the characters to compare with
+	 */
+	public boolean tokenEquals(CharSequence candidate) {
+		assertCurrentToken();
+		int length = this.end - this.start;
+		if (candidate.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (this.source.charAt(this.start + i) != candidate.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the current token as a {@code String}.
+	 * <p>Note that this creates a new {@code String} unless the token spans
+	 * the entire source {@code String}; use the offset-based accessors where
+	 * possible.
+	 */
+	public String getToken() {
+		assertCurrentToken();
+		return this.source.subSequence(this.start, this.end).toString();
+	}
+
+	private void assertCurrentToken() {
+		Assert.state(this.start >= 0, "No current token - call next() first");
+	}
+
+
+	@Override
+	public String toString() {
+		return "CharSequenceTokenizer for delimiters \"" + this.delimiters + "\" at position " + this.position;
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
+ *
+ * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
+ * the cached values and approximates LRU ordering through a "second chance"
+ * (CLOCK) eviction queue: a cache hit merely marks its entry as recently used,
+ * and an entry marked that way is skipped once when choosing the entry to evict.
+ * Cache hits are therefore constant-time and non-blocking at any cache size.
+ * Values for missing keys are generated through the given generator function
+ * outside of any lock; only the registration of a new entry and the resulting
+ * eviction happen under an exclusive lock. Concurrent misses for the same key
+ * may generate a value more than once, with the first registered value winning.
+ *
+ * <p>Mainly for internal use within the framework, for caches of derived
+ * values with a large or unbounded key space (such as parsed expressions).
+ *
+ * @since 5.1
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ * @see #get
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final Function<K, V> generator;
+
+	private final Map<K, Node<K, V>> cache = new ConcurrentHashMap<>();
+
+	private final Deque<Node<K, V>> queue = new ArrayDeque<>();
+
+	private final Lock lock = new ReentrantLock();
+
+	private volatile int size = 0;
+
+
+	/**
+	 * Create a new cache instance with the given limit and generator function.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 * (must not return {@code null})
+	 */
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		Assert.notNull(generator, "Generator function must not be null");
+		this.sizeLimit = sizeLimit;
+		this.generator = generator;
+	}
+
+
+	/**
+	 * Retrieve an entry from the cache, potentially triggering generation
+	 * of the value.
+	 * @param key the key to retrieve the entry for
+	 * @return the cached or newly generated value
+	 */
+	public V get(K key) {
+		if (this.sizeLimit == 0) {
+			return this.generator.apply(key);
+		}
+
+		Node<K, V> cached = this.cache.get(key);
+		if (cached != null) {
+			return cached.access();
+		}
+
+		// Generate value outside of the lock, not blocking other readers and writers
+		V value = this.generator.apply(key);
+		Assert.state(value != null, "Cache generator function must not return null");
+
+		this.lock.lock();
+		try {
+			// Retrying in case of a concurrent generation for the same key
+			cached = this.cache.get(key);
+			if (cached != null) {
+				return cached.access();
+			}
+			// Make room first, so that the new entry is never the eviction candidate
+			while (this.queue.size() >= this.sizeLimit) {
+				evictLeastRecentlyUsed();
+			}
+			Node<K, V> node = new Node<>(key, value);
+			this.cache.put(key, node);
+			this.queue.offer(node);
+			this.size = this.cache.size();
+			return value;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Evict the first entry in the queue which has not been used since
+	 * it was last considered, giving recently used entries a second chance.
+	 * <p>Only to be called under the lock.
+	 */
+	private void evictLeastRecentlyUsed() {
+		while (true) {
+			Node<K, V> candidate = this.queue.poll();
+			if (candidate == null) {
+				return;
+			}
+			if (candidate.accessed) {
+				candidate.accessed = false;
+				this.queue.offer(candidate);
+			}
+			else {
+				this.cache.remove(candidate.key, candidate);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Determine whether the given key is present in this cache.
+	 * @param key the key to check for
+	 * @return {@code true} if the key is present,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean contains(K key) {
+		return this.cache.containsKey(key);
+	}
+
+	/**
+	 * Immediately remove the given key and any associated value.
+	 * @param key the key to evict the entry for
+	 * @return {@code true} if the key was present before,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean remove(K key) {
+		this.lock.lock();
+		try {
+			Node<K, V> node = this.cache.remove(key);
+			if (node == null) {
+				return false;
+			}
+			this.queue.remove(node);
+			this.size = this.cache.size();
+			return true;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Immediately remove all entries from this cache.
+	 */
+	public void clear() {
+		this.lock.lock();
+		try {
+			this.cache.clear();
+			this.queue.clear();
+			this.size = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 * @see #sizeLimit()
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value).
+	 * @see #size()
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+
+	/**
+	 * A cached value along with its "recently used" marker.
+	 */
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		volatile boolean accessed;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		V access() {
+			// Avoid a volatile write (and cache line contention) for hot entries
+			if (!this.accessed) {
+				this.accessed = true;
+			}
+			return this.value;
+		}
+	}
+
+}
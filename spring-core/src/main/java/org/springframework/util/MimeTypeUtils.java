@@ -48,6 +48,14 @@ public abstract class MimeTypeUtils {
 
 	private static final Random RND = new SecureRandom();
 
+	/**
+	 * Cache of parsed mime types by their raw value, e.g. from a Content-Type header.
+	 * Bounded with constant-time hits, since keys may be client-controlled.
+	 * Declared ahead of the mime type constants below since those get parsed as well.
+	 */
+	private static final ConcurrentLruCache<String, MimeType> cachedMimeTypes =
+			new ConcurrentLruCache<>(64, MimeTypeUtils::parseMimeTypeInternal);
+
 	/**
 	 * Comparator used by {@link #sortBySpecificity(List)}.
 	 */
@@ -170,6 +178,8 @@ public abstract class MimeTypeUtils {
 
 	/**
 	 * Parse the given String into a single {@code MimeType}.
+	 * <p>Recently parsed mime types are cached: the returned instance may be
+	 * shared with other callers, which is fine since {@code MimeType} is immutable.
 	 * @param mimeType the string to parse
 	 * @return the mime type
 	 * @throws InvalidMimeTypeException if the string cannot be parsed
@@ -178,7 +188,14 @@ public abstract class MimeTypeUtils {
 		if (!StringUtils.hasLength(mimeType)) {
 			throw new InvalidMimeTypeException(mimeType, "'mimeType' must not be empty");
 		}
+		// Do not cache multipart mime types with random boundaries
+		if (mimeType.startsWith("multipart")) {
+			return parseMimeTypeInternal(mimeType);
+		}
+		return cachedMimeTypes.get(mimeType);
+	}
 
+	private static MimeType parseMimeTypeInternal(String mimeType) {
 		int index = mimeType.indexOf(';');
 		String fullType = (index >= 0 ? mimeType.substring(0, index) : mimeType).trim();
 		if (fullType.isEmpty()) {
@@ -255,10 +272,10 @@ public abstract class MimeTypeUtils {
 		if (!StringUtils.hasLength(mimeTypes)) {
 			return Collections.emptyList();
 		}
-		String[] tokens = StringUtils.tokenizeToStringArray(mimeTypes, ",");
-		List<MimeType> result = new ArrayList<>(tokens.length);
-		for (String token : tokens) {
-			result.add(parseMimeType(token));
+		List<MimeType> result = new ArrayList<>();
+		CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(mimeTypes, ",");
+		while (tokenizer.next()) {
+			result.add(parseMimeType(tokenizer.getToken()));
 		}
 		return result;
 	}
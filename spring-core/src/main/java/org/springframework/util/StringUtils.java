@@ -403,14 +403,14 @@ public abstract class StringUtils {
 		int pos = 0;  // our position in the old string
 		int patLen = oldPattern.length();
 		while (index >= 0) {
-			sb.append(inString.substring(pos, index));
+			sb.append(inString, pos, index);
 			sb.append(newPattern);
 			pos = index + patLen;
 			index = inString.indexOf(oldPattern, pos);
 		}
 
 		// append any characters to the right of a match
-		sb.append(inString.substring(pos));
+		sb.append(inString, pos, inString.length());
 		return sb.toString();
 	}
 
@@ -629,7 +629,7 @@ public abstract class StringUtils {
 	 * @return the normalized path
 	 */
 	public static String cleanPath(String path) {
-		if (!hasLength(path)) {
+		if (!hasLength(path) || isCleanPath(path)) {
 			return path;
 		}
 		String pathToUse = replace(path, WINDOWS_FOLDER_SEPARATOR, FOLDER_SEPARATOR);
@@ -687,6 +687,34 @@ public abstract class StringUtils {
 		return prefix + collectionToDelimitedString(pathElements, FOLDER_SEPARATOR);
 	}
 
+	/**
+	 * Check whether the given path is already normalized as far as
+	 * {@link #cleanPath} is concerned: without Windows separators and
+	 * without "." or ".." elements (conservatively also considering
+	 * elements after a ':' prefix separator).
+	 */
+	private static boolean isCleanPath(String path) {
+		if (path.indexOf('\\') != -1) {
+			return false;
+		}
+		int length = path.length();
+		int index = path.indexOf('.');
+		while (index != -1) {
+			boolean elementStart = (index == 0 || path.charAt(index - 1) == '/' || path.charAt(index - 1) == ':');
+			if (elementStart) {
+				int next = index + 1;
+				if (next < length && path.charAt(next) == '.') {
+					next++;
+				}
+				if (next == length || path.charAt(next) == '/') {
+					return false;
+				}
+			}
+			index = path.indexOf('.', index + 1);
+		}
+		return true;
+	}
+
 	/**
 	 * Compare two paths after normalization of them.
 	 * @param path1 first path for comparison
@@ -1074,8 +1102,8 @@ public abstract class StringUtils {
 	}
 
 	/**
-	 * Tokenize the given {@code String} into a {@code String} array via a
-	 * {@link StringTokenizer}.
+	 * Tokenize the given {@code String} into a {@code String} array,
+	 * following {@link StringTokenizer} semantics.
 	 * <p>Trims tokens and omits empty tokens.
 	 * <p>The given {@code delimiters} string can consist of any number of
 	 * delimiter characters. Each of those characters can be used to separate
@@ -1094,8 +1122,8 @@ public abstract class StringUtils {
 	}
 
 	/**
-	 * Tokenize the given {@code String} into a {@code String} array via a
-	 * {@link StringTokenizer}.
+	 * Tokenize the given {@code String} into a {@code String} array,
+	 * following {@link StringTokenizer} semantics.
 	 * <p>The given {@code delimiters} string can consist of any number of
 	 * delimiter characters. Each of those characters can be used to separate
 	 * tokens. A delimiter is always a single character; for multi-character
@@ -1111,6 +1139,7 @@ public abstract class StringUtils {
 	 * @see java.util.StringTokenizer
 	 * @see String#trim()
 	 * @see #delimitedListToStringArray
+	 * @see CharSequenceTokenizer
 	 */
 	public static String[] tokenizeToStringArray(
 			@Nullable String str, String delimiters, boolean trimTokens, boolean ignoreEmptyTokens) {
@@ -1119,18 +1148,18 @@ public abstract class StringUtils {
 			return new String[0];
 		}
 
-		StringTokenizer st = new StringTokenizer(str, delimiters);
-		List<String> tokens = new ArrayList<>();
-		while (st.hasMoreTokens()) {
-			String token = st.nextToken();
-			if (trimTokens) {
-				token = token.trim();
-			}
-			if (!ignoreEmptyTokens || token.length() > 0) {
-				tokens.add(token);
-			}
+		// Count first, then extract: no intermediate collection needed
+		CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(str, delimiters, trimTokens, ignoreEmptyTokens);
+		int count = 0;
+		while (tokenizer.next()) {
+			count++;
+		}
+		String[] tokens = new String[count];
+		tokenizer.reset(str);
+		for (int i = 0; i < count && tokenizer.next(); i++) {
+			tokens[i] = tokenizer.getToken();
 		}
-		return toStringArray(tokens);
+		return tokens;
 	}
 
 	/**
@@ -1175,25 +1204,34 @@ public abstract class StringUtils {
 			return new String[] {str};
 		}
 
-		List<String> result = new ArrayList<>();
 		if ("".equals(delimiter)) {
+			String[] result = new String[str.length()];
 			for (int i = 0; i < str.length(); i++) {
-				result.add(deleteAny(str.substring(i, i + 1), charsToDelete));
+				result[i] = deleteAny(str.substring(i, i + 1), charsToDelete);
 			}
+			return result;
 		}
-		else {
-			int pos = 0;
-			int delPos;
-			while ((delPos = str.indexOf(delimiter, pos)) != -1) {
-				result.add(deleteAny(str.substring(pos, delPos), charsToDelete));
-				pos = delPos + delimiter.length();
-			}
-			if (str.length() > 0 && pos <= str.length()) {
-				// Add rest of String, but not in case of empty input.
-				result.add(deleteAny(str.substring(pos), charsToDelete));
-			}
+
+		// Count first, then extract: no intermediate collection needed
+		if (str.isEmpty()) {
+			return new String[0];
 		}
-		return toStringArray(result);
+		int count = 1;
+		int delPos = str.indexOf(delimiter);
+		while (delPos != -1) {
+			count++;
+			delPos = str.indexOf(delimiter, delPos + delimiter.length());
+		}
+		String[] result = new String[count];
+		int pos = 0;
+		for (int i = 0; i < count - 1; i++) {
+			delPos = str.indexOf(delimiter, pos);
+			result[i] = deleteAny(str.substring(pos, delPos), charsToDelete);
+			pos = delPos + delimiter.length();
+		}
+		// Add rest of String
+		result[count - 1] = deleteAny(str.substring(pos), charsToDelete);
+		return result;
 	}
 
 	/**
@@ -1335,6 +1335,60 @@ public class ResolvableTypeTests {
 		assertThat(type.resolveGeneric(), equalTo(Integer.class));
 	}
 
+	@Test
+	public void classAndSelfContainedTypesAreShared() throws Exception {
+		assertSame(ResolvableType.forClass(String.class), ResolvableType.forClass(String.class));
+		assertSame(ResolvableType.forClass(null), ResolvableType.forClass(Object.class));
+		assertSame(ResolvableType.forClass(String.class), ResolvableType.forType(String.class));
+		Type listType = Fields.class.getField("stringList").getGenericType();
+		assertSame(ResolvableType.forType(listType), ResolvableType.forType(listType));
+		assertNotSame(ResolvableType.forRawClass(String.class), ResolvableType.forClass(String.class));
+	}
+
+	@Test
+	public void assignabilityWithSharedInstances() throws Exception {
+		ResolvableType stringList = ResolvableType.forField(Fields.class.getField("stringList"));
+		ResolvableType charSequenceList = ResolvableType.forClassWithGenerics(List.class, CharSequence.class);
+		ResolvableType arrayListOfString = ResolvableType.forClassWithGenerics(ArrayList.class, String.class);
+		for (int i = 0; i < 2; i++) {
+			assertTrue(stringList.isAssignableFrom(arrayListOfString));
+			assertFalse(charSequenceList.isAssignableFrom(arrayListOfString));
+			assertTrue(ResolvableType.forClass(List.class).isAssignableFrom(arrayListOfString));
+			assertFalse(stringList.isAssignableFrom(ResolvableType.forClass(ArrayList.class)));
+			assertTrue(ResolvableType.forRawClass(List.class).isAssignableFrom(ResolvableType.forClass(ArrayList.class)));
+		}
+		ResolvableType.clearCache();
+		assertTrue(stringList.isAssignableFrom(arrayListOfString));
+	}
+
+	@Test
+	public void repeatedAssignabilityCheckServedFromCache() throws Exception {
+		ResolvableType.clearCache();
+		ResolvableType stringList = ResolvableType.forField(Fields.class.getField("stringList"));
+		ResolvableType arrayList = ResolvableType.forClass(ArrayList.class);
+		assertFalse(stringList.isAssignableFrom(arrayList));
+		assertEquals(1, ResolvableType.assignabilityCache.size());
+
+		// Equal but distinct instances share the cached result for the type pair
+		ResolvableType sameStringList = ResolvableType.forField(Fields.class.getField("stringList"));
+		assertNotSame(stringList, sameStringList);
+		assertFalse(sameStringList.isAssignableFrom(ArrayList.class));
+		assertEquals(1, ResolvableType.assignabilityCache.size());
+		assertTrue(ResolvableType.assignabilityCache.contains(
+				new ResolvableType.AssignabilityCacheKey(sameStringList, arrayList)));
+	}
+
+	@Test
+	public void assignabilityWithTypeVariablesNotCached() throws Exception {
+		ResolvableType.clearCache();
+		ResolvableType parameterizedType = ResolvableType.forField(Fields.class.getField("parameterizedType"));
+		assertTrue(parameterizedType.isAssignableFrom(ResolvableType.forClass(ArrayList.class)));
+		ResolvableType typedParameterizedType =
+				ResolvableType.forField(Fields.class.getField("parameterizedType"), TypedFields.class);
+		assertTrue(typedParameterizedType.isAssignableFrom(ResolvableType.forClassWithGenerics(List.class, String.class)));
+		assertEquals(0, ResolvableType.assignabilityCache.size());
+	}
+
 
 	private ResolvableType testSerialization(ResolvableType type) throws Exception {
 		ByteArrayOutputStream bos = new ByteArrayOutputStream();
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link MergedAnnotationMetadata}.
+ */
+public class MergedAnnotationMetadataTests {
+
+	@After
+	public void clearCache() {
+		AnnotationUtils.clearCache();
+	}
+
+
+	@Test
+	public void directAndMetaPresentAnnotations() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ComposedClass.class);
+		assertTrue(metadata.isPresent(Composed.class));
+		assertTrue(metadata.isPresent(Base.class));
+		assertTrue(metadata.isPresent(Base.class.getName()));
+		assertFalse(metadata.isPresent(Other.class));
+		assertTrue(metadata.getAnnotationTypes().contains(Composed.class.getName()));
+		assertTrue(metadata.getAnnotationTypes().contains(Base.class.getName()));
+		assertFalse(metadata.getAnnotationTypes().contains(Retention.class.getName()));
+	}
+
+	@Test
+	public void mergedAttributesMatchAnnotatedElementUtils() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ComposedClass.class);
+		AnnotationAttributes attributes = metadata.getAttributes(Base.class);
+		assertEquals(AnnotatedElementUtils.getMergedAnnotationAttributes(ComposedClass.class, Base.class), attributes);
+		assertEquals("composed", attributes.getString("value"));
+		assertEquals("composed", attributes.getString("name"));
+		assertNull(metadata.getAttributes(Other.class));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void annotationTypesAreImmutable() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ComposedClass.class);
+		metadata.getAnnotationTypes().add(Other.class.getName());
+	}
+
+	@Test
+	public void attributesAreCopies() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ComposedClass.class);
+		metadata.getAttributes(Base.class).put("value", "changed");
+		assertEquals("composed", metadata.getAttributes(Base.class).getString("value"));
+	}
+
+	@Test
+	public void synthesizedAnnotationIsCached() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ComposedClass.class);
+		Base base = metadata.getAnnotation(Base.class);
+		assertNotNull(base);
+		assertEquals("composed", base.name());
+		assertSame(base, metadata.getAnnotation(Base.class));
+		assertNull(metadata.getAnnotation(Other.class));
+	}
+
+	@Test
+	public void findSemanticsOnInterfaceMethod() throws Exception {
+		Method method = ComposedClass.class.getMethod("handle");
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(method);
+		assertFalse(metadata.isPresent(Base.class));
+		assertNull(metadata.getAttributes(Base.class));
+		assertTrue(metadata.hasAnnotation(Base.class));
+		assertEquals("interface", metadata.findAttributes(Base.class).getString("name"));
+		Base base = metadata.findAnnotation(Base.class);
+		assertEquals("interface", base.value());
+		assertSame(base, metadata.findAnnotation(Base.class));
+		assertFalse(metadata.hasAnnotation(Other.class));
+	}
+
+	@Test
+	public void metadataIsSharedUntilCacheCleared() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(ComposedClass.class);
+		assertSame(metadata, MergedAnnotationMetadata.forElement(ComposedClass.class));
+		AnnotationUtils.clearCache();
+		assertNotSame(metadata, MergedAnnotationMetadata.forElement(ComposedClass.class));
+	}
+
+	@Test
+	public void unannotatedElement() {
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(Object.class);
+		assertTrue(metadata.getAnnotationTypes().isEmpty());
+		assertNull(metadata.getAnnotation(Base.class));
+		assertFalse(metadata.hasAnnotation(Base.class));
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	@interface Base {
+
+		@AliasFor("name")
+		String value() default "";
+
+		@AliasFor("value")
+		String name() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Base
+	@interface Composed {
+
+		@AliasFor(annotation = Base.class)
+		String name() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Other {
+	}
+
+
+	interface Handler {
+
+		@Base(name = "interface")
+		void handle();
+	}
+
+
+	@Composed(name = "composed")
+	static class ComposedClass implements Handler {
+
+		@Override
+		public void handle() {
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import reactor.test.StepVerifier;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.util.MimeTypeUtils;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -75,11 +76,13 @@ public class ByteArrayEncoderTests extends AbstractDataBufferAllocatingTestCase
 					byte[] buf = new byte[3];
 					b.read(buf);
 					assertArrayEquals(fooBytes, buf);
+					DataBufferUtils.release(b);
 				})
 				.consumeNextWith(b -> {
 					byte[] buf = new byte[3];
 					b.read(buf);
 					assertArrayEquals(barBytes, buf);
+					DataBufferUtils.release(b);
 				})
 				.expectComplete()
 				.verify();
@@ -18,8 +18,11 @@ package org.springframework.core.codec;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import reactor.core.publisher.Flux;
@@ -29,6 +32,8 @@ import reactor.test.StepVerifier;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.util.MimeTypeUtils;
 
 import static org.junit.Assert.*;
@@ -148,6 +153,108 @@ public class StringDecoderTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void decodeDelimiterAcrossBuffers() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("abc\r"),
+				stringBuffer("\ndef\r"),
+				stringBuffer("\n"),
+				stringBuffer("ghi")
+		);
+
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext("abc")
+				.expectNext("def")
+				.expectNext("ghi")
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void decodeCustomDelimiters() {
+		this.decoder = StringDecoder.allMimeTypes(Arrays.asList("--", "||"), true);
+
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("abc-"),
+				stringBuffer("-de|f|"),
+				stringBuffer("|gh-i--"),
+				stringBuffer("||")
+		);
+
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext("abc")
+				.expectNext("de|f")
+				.expectNext("gh-i")
+				.expectNext("")
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void decodeWithMaxInMemorySize() {
+		this.decoder.setMaxInMemorySize(5);
+
+		Flux<DataBuffer> source = Flux.just(stringBuffer("abcd\n"), stringBuffer("ef"), stringBuffer("g\nhi"));
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext("abcd")
+				.expectNext("efg")
+				.expectNext("hi")
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void decodeExceedingMaxInMemorySize() {
+		this.decoder.setMaxInMemorySize(5);
+
+		Flux<DataBuffer> source = Flux.just(stringBuffer("abc\nde"), stringBuffer("fgh"), stringBuffer("ij\n"));
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext("abc")
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
+	@Test
+	public void cancelDuringSplit() throws Exception {
+		StringDecoder.FrameSplitter splitter =
+				this.decoder.new FrameSplitter(new byte[][] {"\n".getBytes(StandardCharsets.UTF_8)});
+		CountDownLatch splitting = new CountDownLatch(1);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		Thread thread = new Thread(() -> {
+			try {
+				for (int i = 0; i < 1000; i++) {
+					if (i == 10) {
+						splitting.countDown();
+					}
+					splitter.split(stringBuffer("foo\nbar")).forEach(DataBufferUtils::release);
+				}
+			}
+			catch (Throwable ex) {
+				failure.set(ex);
+			}
+		});
+		thread.start();
+		splitting.await();
+		splitter.releaseParts();
+		thread.join();
+
+		assertNull(failure.get());
+		StepVerifier.create(splitter.lastFrame()).expectComplete().verify();
+	}
+
 	@Test
 	public void decodeEmptyFlux() {
 		Flux<DataBuffer> source = Flux.empty();
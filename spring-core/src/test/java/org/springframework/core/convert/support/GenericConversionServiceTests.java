@@ -511,6 +511,112 @@ public class GenericConversionServiceTests {
 		assertTrue(converter.getSourceTypes().stream().allMatch(td -> Integer.class.equals(td.getType())));
 	}
 
+	@Test
+	public void frozenServiceRejectsModifications() {
+		conversionService.addConverter(new ColorConverter());
+		assertFalse(conversionService.isFrozen());
+		conversionService.freeze();
+		assertTrue(conversionService.isFrozen());
+		try {
+			conversionService.addConverterFactory(new StringToNumberConverterFactory());
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		try {
+			conversionService.removeConvertible(String.class, Color.class);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		assertEquals(Color.BLACK, conversionService.convert("#000000", Color.class));
+	}
+
+	@Test
+	public void frozenServiceConversions() {
+		DefaultConversionService.addDefaultConverters(conversionService);
+		conversionService.freeze();
+
+		assertTrue(conversionService.canConvert(String.class, int.class));
+		assertTrue(conversionService.canConvert(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Long.class)));
+		assertFalse(conversionService.canConvert(String.class, Resource.class));
+		assertEquals(Integer.valueOf(3), conversionService.convert("3", int.class));
+		assertEquals(Integer.valueOf(3), conversionService.convert("3", Integer.class));
+		assertEquals(Long.valueOf(3), conversionService.convert("3", TypeDescriptor.valueOf(Long.class)));
+		assertEquals("3", conversionService.convert(3, String.class));
+		assertEquals(Boolean.TRUE, conversionService.convert("yes", boolean.class));
+		assertEquals(EnumWithSubclass.FIRST, conversionService.convert("FIRST", EnumWithSubclass.class));
+		assertEquals(Collections.singletonList("a"), conversionService.convert("a", List.class));
+		assertNull(conversionService.convert("", Integer.class));
+		assertNull(conversionService.convert(null, Integer.class));
+		try {
+			conversionService.convert(null, int.class);
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			// expected
+		}
+		try {
+			conversionService.convert("", int.class);
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			// expected
+		}
+		try {
+			conversionService.convert("x", Integer.class);
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			assertEquals(String.class, ex.getSourceType().getType());
+			assertEquals(Integer.class, ex.getTargetType().getType());
+			assertTrue(ex.getCause() instanceof NumberFormatException);
+		}
+		try {
+			conversionService.convert("x", Resource.class);
+			fail("Should have thrown ConverterNotFoundException");
+		}
+		catch (ConverterNotFoundException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void frozenServiceResolvesConverterFactoryOncePerTargetType() {
+		CountingConverterFactory factory = new CountingConverterFactory();
+		conversionService.addConverterFactory(factory);
+		conversionService.freeze();
+		assertEquals(Integer.valueOf(1), conversionService.convert("1", Integer.class));
+		assertEquals(Long.valueOf(1), conversionService.convert("1", Long.class));
+		int converterRequests = factory.getConverterRequests();
+		for (int i = 0; i < 5; i++) {
+			assertEquals(Integer.valueOf(i), conversionService.convert(String.valueOf(i), Integer.class));
+			assertEquals(Long.valueOf(i), conversionService.convert(String.valueOf(i), Long.class));
+		}
+		assertEquals(converterRequests, factory.getConverterRequests());
+	}
+
+	@Test
+	public void frozenServiceWithConditionalConverterForAnnotatedTypes() throws Exception {
+		conversionService.addConverter(new ColorConverter());
+		conversionService.addConverter(new MyConditionalColorConverter());
+		conversionService.freeze();
+
+		assertEquals(Color.BLACK, conversionService.convert("#000000", Color.class));
+		assertEquals(Color.BLACK, conversionService.convert("000000xxxx",
+				new TypeDescriptor(getClass().getField("activeColor"))));
+		assertEquals(Color.BLACK, conversionService.convert(" #000000 ",
+				new TypeDescriptor(getClass().getField("inactiveColor"))));
+		assertEquals(Color.BLACK, conversionService.convert("#000000", TypeDescriptor.valueOf(Color.class)));
+	}
+
+	@Test
+	public void sharedDefaultConversionServiceIsFrozen() {
+		assertTrue(((GenericConversionService) DefaultConversionService.getSharedInstance()).isFrozen());
+	}
+
 	@Test
 	public void convertOptimizeArray() {
 		// SPR-9566
@@ -976,6 +1082,24 @@ public class GenericConversionServiceTests {
 	}
 
 
+	private static class CountingConverterFactory implements ConverterFactory<String, Number> {
+
+		private final StringToNumberConverterFactory delegate = new StringToNumberConverterFactory();
+
+		private int converterRequests = 0;
+
+		@Override
+		public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
+			this.converterRequests++;
+			return this.delegate.getConverter(targetType);
+		}
+
+		public int getConverterRequests() {
+			return this.converterRequests;
+		}
+	}
+
+
 	private static class ColorConverter implements Converter<String, Color> {
 
 		@Override
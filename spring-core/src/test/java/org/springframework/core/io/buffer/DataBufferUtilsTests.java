@@ -333,4 +333,46 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 		release(result);
 	}
 
+	@Test
+	public void matcher() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+
+		byte[] delims = "ooba".getBytes(StandardCharsets.UTF_8);
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delims);
+		assertEquals(-1, matcher.match(foo));
+		assertEquals(1, matcher.match(bar));
+		assertArrayEquals(delims, matcher.delimiter());
+
+		release(foo, bar);
+	}
+
+	@Test
+	public void matcherWithPartialMatches() {
+		DataBuffer buffer = stringBuffer("aababaabab");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("abaab".getBytes(StandardCharsets.UTF_8));
+		assertEquals(7, matcher.match(buffer));
+		assertEquals(-1, matcher.match(buffer, 8, buffer.writePosition()));
+
+		release(buffer);
+	}
+
+	@Test
+	public void matcherWithMultipleDelimiters() {
+		DataBuffer foo = stringBuffer("foo\r");
+		DataBuffer bar = stringBuffer("\nbar\nbaz");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+		assertEquals(-1, matcher.match(foo));
+		assertEquals(0, matcher.match(bar));
+		assertArrayEquals("\r\n".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+		assertEquals(4, matcher.match(bar, 1, bar.writePosition()));
+		assertArrayEquals("\n".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+		assertEquals(-1, matcher.match(bar, 5, bar.writePosition()));
+
+		release(foo, bar);
+	}
+
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.springframework.core.io.buffer.support.DataBufferTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PooledDataBufferFactory}.
+ */
+public class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory();
+
+
+	@Test
+	public void reuseReleasedBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertTrue(buffer instanceof PooledDataBuffer);
+		assertEquals(100, buffer.capacity());
+		ByteBuffer nativeBuffer = ((DefaultDataBuffer) buffer).getNativeBuffer();
+		assertEquals(1, this.bufferFactory.getActiveBufferCount());
+		assertTrue(DataBufferUtils.release(buffer));
+		assertEquals(0, this.bufferFactory.getActiveBufferCount());
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(120);
+		assertEquals(120, other.capacity());
+		assertSameMemory(nativeBuffer, ((DefaultDataBuffer) other).getNativeBuffer());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void reuseReleasedBufferWithoutThreadLocalCache() {
+		// 5 size classes from 64 to 1024 bytes, with room for a single buffer of 1024 bytes
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 256, 1024, 5 * 1024);
+		bufferFactory.setUseThreadLocalCache(false);
+		DataBuffer buffer = bufferFactory.allocateBuffer(1000);
+		ByteBuffer nativeBuffer = ((DefaultDataBuffer) buffer).getNativeBuffer();
+		DataBufferUtils.release(buffer);
+
+		DataBuffer other = bufferFactory.allocateBuffer(1000);
+		assertSameMemory(nativeBuffer, ((DefaultDataBuffer) other).getNativeBuffer());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void allocateFromSlab() {
+		DataBuffer buffer1 = this.bufferFactory.allocateBuffer(64);
+		DataBuffer buffer2 = this.bufferFactory.allocateBuffer(64);
+		ByteBuffer nativeBuffer1 = ((DefaultDataBuffer) buffer1).getNativeBuffer();
+		ByteBuffer nativeBuffer2 = ((DefaultDataBuffer) buffer2).getNativeBuffer();
+		assertSame(nativeBuffer1.array(), nativeBuffer2.array());
+		assertNotEquals(nativeBuffer1.arrayOffset(), nativeBuffer2.arrayOffset());
+		DataBufferUtils.release(buffer1);
+		DataBufferUtils.release(buffer2);
+	}
+
+	@Test
+	public void doNotPoolBeyondMaxPooledCapacity() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 256, 1024, 1024 * 1024);
+		DataBuffer buffer = bufferFactory.allocateBuffer(2048);
+		assertTrue(buffer instanceof PooledDataBuffer);
+		ByteBuffer nativeBuffer = ((DefaultDataBuffer) buffer).getNativeBuffer();
+		DataBufferUtils.release(buffer);
+
+		DataBuffer other = bufferFactory.allocateBuffer(2048);
+		assertNotSame(nativeBuffer.array(), ((DefaultDataBuffer) other).getNativeBuffer().array());
+		DataBufferUtils.release(other);
+		assertEquals(0, bufferFactory.getActiveBufferCount());
+	}
+
+	@Test
+	public void increaseCapacity() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		ByteBuffer nativeBuffer = ((DefaultDataBuffer) buffer).getNativeBuffer();
+		byte[] bytes = new byte[100];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		buffer.write(bytes);
+		assertEquals(128, buffer.capacity());
+		byte[] result = new byte[100];
+		buffer.read(result);
+		assertArrayEquals(bytes, result);
+		assertEquals(1, this.bufferFactory.getActiveBufferCount());
+
+		// The initial memory has been returned to the pool
+		DataBuffer other = this.bufferFactory.allocateBuffer(64);
+		assertSameMemory(nativeBuffer, ((DefaultDataBuffer) other).getNativeBuffer());
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(buffer);
+		assertEquals(0, this.bufferFactory.getActiveBufferCount());
+	}
+
+	@Test
+	public void increaseCapacityDoesNotRecycleSlicedMemory() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = buffer.slice(3, 3);
+		buffer.write(new byte[100]);
+		assertEquals(128, buffer.capacity());
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(64);
+		byte[] bytes = new byte[64];
+		Arrays.fill(bytes, (byte) 'x');
+		other.write(bytes);
+		assertEquals("bar", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(buffer);
+		assertEquals(0, this.bufferFactory.getActiveBufferCount());
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = DataBufferUtils.retain(buffer.slice(3, 3));
+		assertTrue(slice instanceof PooledDataBuffer);
+		assertFalse(DataBufferUtils.release(buffer));
+		assertEquals("bar", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		assertEquals(1, this.bufferFactory.getActiveBufferCount());
+		assertTrue(DataBufferUtils.release(slice));
+		assertEquals(0, this.bufferFactory.getActiveBufferCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void writeAfterRelease() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		DataBufferUtils.release(buffer);
+		buffer.write(new byte[32]);
+	}
+
+	@Test
+	public void join() {
+		DataBuffer buffer1 = this.bufferFactory.allocateBuffer(16).write("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer buffer2 = this.bufferFactory.allocateBuffer(16).write("bar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer result = this.bufferFactory.join(Arrays.asList(buffer1, buffer2));
+		assertTrue(result instanceof PooledDataBuffer);
+		assertEquals("foobar", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		assertEquals(1, this.bufferFactory.getActiveBufferCount());
+		DataBufferUtils.release(result);
+		assertEquals(0, this.bufferFactory.getActiveBufferCount());
+	}
+
+	@Test
+	public void directBuffers() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(true);
+		DataBuffer buffer = bufferFactory.allocateBuffer(100);
+		assertTrue(((DefaultDataBuffer) buffer).getNativeBuffer().isDirect());
+		buffer.write(new byte[200]);
+		assertTrue(((DefaultDataBuffer) buffer).getNativeBuffer().isDirect());
+		DataBufferUtils.release(buffer);
+		assertEquals(0, bufferFactory.getActiveBufferCount());
+	}
+
+	@Test
+	public void wrapIsNotPooled() {
+		DataBuffer buffer = this.bufferFactory.wrap(new byte[] {'a'});
+		assertFalse(buffer instanceof PooledDataBuffer);
+		assertEquals(0, this.bufferFactory.getActiveBufferCount());
+	}
+
+
+	private static void assertSameMemory(ByteBuffer expected, ByteBuffer actual) {
+		assertSame(expected.array(), actual.array());
+		assertEquals(expected.arrayOffset(), actual.arrayOffset());
+	}
+
+}
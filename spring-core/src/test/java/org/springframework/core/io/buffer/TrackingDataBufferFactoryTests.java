@@ -0,0 +1,183 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CharSequenceEncoder;
+import org.springframework.core.io.buffer.support.DataBufferTestUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link TrackingDataBufferFactory}.
+ */
+public class TrackingDataBufferFactoryTests {
+
+	private final TrackingDataBufferFactory bufferFactory =
+			new TrackingDataBufferFactory(new DefaultDataBufferFactory());
+
+
+	@Test
+	public void allocateAndRelease() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		assertTrue(buffer instanceof PooledDataBuffer);
+		assertSame(this.bufferFactory, buffer.factory());
+		assertEquals(1, this.bufferFactory.getLiveCount());
+		assertEquals(16, this.bufferFactory.getLiveBytes());
+
+		assertTrue(DataBufferUtils.release(buffer));
+		assertEquals(0, this.bufferFactory.getLiveCount());
+		assertEquals(1, this.bufferFactory.getAllocatedCount());
+		assertEquals(1, this.bufferFactory.getReleasedCount());
+		this.bufferFactory.checkForLeaks();
+	}
+
+	@Test
+	public void allocateFromEncoder() {
+		DataBuffer buffer = CharSequenceEncoder.textPlainOnly().encode(Mono.just("foo"), this.bufferFactory,
+				ResolvableType.forClass(String.class), null, Collections.emptyMap()).blockFirst();
+		String owner = CharSequenceEncoder.class.getName();
+		TrackingDataBufferFactory.Allocation allocation = this.bufferFactory.getLiveAllocations().iterator().next();
+		assertEquals(owner, allocation.getOwner());
+		assertNotNull(allocation.getAllocationSite());
+		assertEquals(Collections.singletonMap(owner, (long) buffer.capacity()), this.bufferFactory.getLiveBytesByOwner());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void retainAndRelease() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		DataBufferUtils.retain(buffer);
+		assertFalse(DataBufferUtils.release(buffer));
+		assertEquals(1, this.bufferFactory.getLiveCount());
+		assertTrue(DataBufferUtils.release(buffer));
+		assertEquals(0, this.bufferFactory.getLiveCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tooManyReleases() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		DataBufferUtils.release(buffer);
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void sliceSharesAllocation() {
+		DataBuffer buffer = this.bufferFactory.wrap("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = DataBufferUtils.retain(buffer.slice(3, 3));
+		assertFalse(DataBufferUtils.release(buffer));
+		assertEquals("bar", DataBufferTestUtils.dumpString(slice, StandardCharsets.UTF_8));
+		assertEquals(1, this.bufferFactory.getLiveCount());
+		assertTrue(DataBufferUtils.release(slice));
+		assertEquals(0, this.bufferFactory.getLiveCount());
+	}
+
+	@Test
+	public void checkForLeaks() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		try {
+			this.bufferFactory.checkForLeaks();
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException ex) {
+			assertTrue(ex.getMessage().contains("1 data buffer(s) not released"));
+			assertNotNull(ex.getCause());
+		}
+		DataBufferUtils.release(buffer);
+		this.bufferFactory.checkForLeaks();
+	}
+
+	@Test
+	public void checkForLeaksWithTimeout() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		Thread thread = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+			}
+			catch (InterruptedException ex) {
+				// ignore
+			}
+			DataBufferUtils.release(buffer);
+		});
+		thread.start();
+		this.bufferFactory.checkForLeaks(Duration.ofSeconds(5));
+		thread.join();
+	}
+
+	@Test
+	public void withoutAllocationSites() {
+		this.bufferFactory.setRecordAllocationSites(false);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		TrackingDataBufferFactory.Allocation allocation = this.bufferFactory.getLiveAllocations().iterator().next();
+		assertEquals("unknown", allocation.getOwner());
+		assertNull(allocation.getAllocationSite());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	public void join() {
+		DataBuffer buffer1 = this.bufferFactory.wrap("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer buffer2 = this.bufferFactory.wrap("bar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer result = this.bufferFactory.join(Arrays.asList(buffer1, buffer2));
+		assertEquals(1, this.bufferFactory.getLiveCount());
+		assertEquals("foobar", DataBufferTestUtils.dumpString(result, StandardCharsets.UTF_8));
+		DataBufferUtils.release(result);
+		this.bufferFactory.checkForLeaks();
+	}
+
+	@Test
+	public void childFactory() {
+		TrackingDataBufferFactory child = this.bufferFactory.createChild(new DefaultDataBufferFactory());
+		DataBuffer buffer = child.allocateBuffer(16);
+		assertSame(child, buffer.factory());
+		assertEquals(1, child.getLiveCount());
+		assertEquals(1, this.bufferFactory.getLiveCount());
+		DataBufferUtils.release(buffer);
+		assertEquals(0, child.getLiveCount());
+		assertEquals(0, this.bufferFactory.getLiveCount());
+		assertEquals(1, this.bufferFactory.getReleasedCount());
+	}
+
+	@Test
+	public void handOverToNetty() {
+		PooledByteBufAllocator allocator = new PooledByteBufAllocator(true);
+		TrackingDataBufferFactory bufferFactory = new TrackingDataBufferFactory(new NettyDataBufferFactory(allocator));
+		DataBuffer buffer = bufferFactory.allocateBuffer(16);
+		ByteBuf byteBuf = NettyDataBufferFactory.toByteBuf(buffer);
+		assertEquals(0, bufferFactory.getLiveCount());
+		assertEquals(1, byteBuf.refCnt());
+		byteBuf.release();
+	}
+
+	@Test
+	public void releaseOnInputStreamClose() throws Exception {
+		DataBuffer buffer = this.bufferFactory.wrap(new byte[] {'a'});
+		buffer.asInputStream(true).close();
+		assertEquals(0, this.bufferFactory.getLiveCount());
+	}
+
+}
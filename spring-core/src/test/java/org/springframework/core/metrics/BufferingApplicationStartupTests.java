@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStartupStep;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BufferingApplicationStartup} and the default
+ * {@link ApplicationStartup}.
+ */
+public class BufferingApplicationStartupTests {
+
+	@Test
+	public void defaultStartupDoesNotRecord() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("spring.test");
+		assertSame(step, ApplicationStartup.DEFAULT.start("spring.other"));
+		assertSame(step, step.tag("key", "value"));
+		assertSame(step, step.tag("key", () -> {
+			throw new IllegalStateException("Should not be invoked");
+		}));
+		assertFalse(step.getTags().iterator().hasNext());
+		assertNull(step.getParentId());
+		step.end();
+	}
+
+	@Test
+	public void stepsWithParentAndTags() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("spring.outer").tag("name", "outer");
+		StartupStep inner = startup.start("spring.inner").tag("name", () -> "inner");
+		inner.end();
+		StartupStep sibling = startup.start("spring.sibling");
+		sibling.end();
+		outer.end();
+		StartupStep next = startup.start("spring.next");
+		next.end();
+
+		List<BufferedStartupStep> steps = startup.getBufferedSteps();
+		assertEquals(4, steps.size());
+		assertEquals("spring.outer", steps.get(0).getName());
+		assertNull(steps.get(0).getParentId());
+		assertEquals("spring.inner", steps.get(1).getName());
+		assertEquals(Long.valueOf(outer.getId()), steps.get(1).getParentId());
+		assertEquals(Long.valueOf(outer.getId()), steps.get(2).getParentId());
+		assertNull(steps.get(3).getParentId());
+
+		Iterator<StartupStep.Tag> tags = steps.get(1).getTags().iterator();
+		StartupStep.Tag tag = tags.next();
+		assertEquals("name", tag.getKey());
+		assertEquals("inner", tag.getValue());
+		assertFalse(tags.hasNext());
+		assertNotNull(steps.get(0).getStartTime());
+		assertTrue(steps.get(0).getDuration().compareTo(steps.get(1).getDuration()) >= 0);
+	}
+
+	@Test
+	public void stepsBeyondCapacityGetDropped() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			startup.start("spring.step").end();
+		}
+		assertEquals(2, startup.getBufferedSteps().size());
+		assertEquals(3, startup.getDroppedStepCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void cannotTagEndedStep() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+		StartupStep step = startup.start("spring.step");
+		step.end();
+		step.tag("key", "value");
+	}
+
+}
@@ -615,11 +615,13 @@ public class AntPathMatcherTests {
 		match();
 		assertTrue(pathMatcher.stringMatcherCache.size() > 20);
 
-		for (int i = 0; i < 65536; i++) {
-			pathMatcher.match("test" + i, "test");
+		for (int i = 0; i < 65536 + 100; i++) {
+			pathMatcher.match("test" + i, "test" + i);
 		}
-		// Cache turned off because it went beyond the threshold
-		assertTrue(pathMatcher.stringMatcherCache.isEmpty());
+		// Cache keeps being alive, evicting the least recently used patterns
+		assertEquals(AntPathMatcher.DEFAULT_CACHE_LIMIT, pathMatcher.stringMatcherCache.size());
+		assertTrue(pathMatcher.stringMatcherCache.contains("test65635"));
+		assertFalse(pathMatcher.stringMatcherCache.contains("test0"));
 	}
 
 	@Test
@@ -628,11 +630,24 @@ public class AntPathMatcherTests {
 		match();
 		assertTrue(pathMatcher.stringMatcherCache.size() > 20);
 
-		for (int i = 0; i < 65536; i++) {
+		for (int i = 0; i < 1000; i++) {
 			pathMatcher.match("test" + i, "test" + i);
 		}
-		// Cache keeps being alive due to the explicit cache setting
-		assertTrue(pathMatcher.stringMatcherCache.size() > 65536);
+		assertTrue(pathMatcher.stringMatcherCache.size() > 1000);
+	}
+
+	@Test
+	public void cacheLimit() {
+		pathMatcher.setCacheLimit(100);
+		for (int i = 0; i < 1000; i++) {
+			pathMatcher.match("/test" + i + "/*", "/test" + i + "/foo");
+			pathMatcher.match("/foo/bar", "/foo/bar");
+		}
+		assertEquals(100, pathMatcher.stringMatcherCache.size());
+		assertTrue(pathMatcher.stringMatcherCache.contains("foo"));
+		assertTrue(pathMatcher.stringMatcherCache.contains("test999"));
+		assertFalse(pathMatcher.stringMatcherCache.contains("test0"));
+		assertTrue(pathMatcher.match("/test0/*", "/test0/foo"));
 	}
 
 	@Test
@@ -671,7 +686,44 @@ public class AntPathMatcherTests {
 	public void cachePatternsSetToFalse() {
 		pathMatcher.setCachePatterns(false);
 		match();
-		assertTrue(pathMatcher.stringMatcherCache.isEmpty());
+		assertEquals(0, pathMatcher.stringMatcherCache.size());
+	}
+
+	@Test
+	public void uriTemplateVariablesWithGreedyMatching() {
+		Map<String, String> result = pathMatcher.extractUriTemplateVariables("/{first}-{second}", "/a-b-c");
+		assertEquals("a-b", result.get("first"));
+		assertEquals("c", result.get("second"));
+
+		result = pathMatcher.extractUriTemplateVariables("/{name}.{ext}", "/archive.tar.gz");
+		assertEquals("archive.tar", result.get("name"));
+		assertEquals("gz", result.get("ext"));
+
+		result = pathMatcher.extractUriTemplateVariables("/a?{name}*z", "/abxyz");
+		assertEquals("xy", result.get("name"));
+	}
+
+	@Test
+	public void stringMatcherConsistentWithRegex() {
+		String[] patterns = {"*", "?", "a*", "*a", "a*b*c", "?b?", "{x}", "{x}-{y}", "*.{ext}",
+				"a?c*", "A*B", "x**y", "{x}?{y}", "a{b", "}{x}", "*\u00e9*"};
+		String[] strings = {"", "a", "b", "abc", "aXbYc", "ab", "abbc", "a-b-c", "x.tar.gz", "AbC",
+				"aBc", "xy", "x*y", "a\nb", "{x}", "a{b", "}z", "caf\u00e9", "\ud83d\ude00", "a\ud83d\ude00c"};
+		for (boolean caseSensitive : new boolean[] {true, false}) {
+			for (String pattern : patterns) {
+				AntPathMatcher.AntPathStringMatcher matcher = new AntPathMatcher.AntPathStringMatcher(pattern, caseSensitive);
+				AntPathMatcher.AntPathStringMatcher regexMatcher =
+						new AntPathMatcher.AntPathStringMatcher(pattern + "{regex:}", caseSensitive);
+				for (String str : strings) {
+					Map<String, String> variables = new LinkedHashMap<>();
+					Map<String, String> regexVariables = new LinkedHashMap<>();
+					assertEquals(pattern + " vs " + str, regexMatcher.matchStrings(str, regexVariables),
+							matcher.matchStrings(str, variables));
+					regexVariables.remove("regex");
+					assertEquals(pattern + " vs " + str, regexVariables, variables);
+				}
+			}
+		}
 	}
 
 	@Test
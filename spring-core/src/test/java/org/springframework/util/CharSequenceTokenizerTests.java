@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringTokenizer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CharSequenceTokenizer}.
+ */
+public class CharSequenceTokenizerTests {
+
+	@Test
+	public void pathSegments() {
+		CharSequenceTokenizer tokenizer = new CharSequenceTokenizer("/api//users/42/", "/");
+		assertTrue(tokenizer.next());
+		assertEquals(1, tokenizer.getStart());
+		assertEquals(4, tokenizer.getEnd());
+		assertTrue(tokenizer.tokenEquals("api"));
+		assertTrue(tokenizer.next());
+		assertEquals(6, tokenizer.getStart());
+		assertEquals(5, tokenizer.getLength());
+		assertEquals("users", tokenizer.getToken());
+		assertTrue(tokenizer.next());
+		assertTrue(tokenizer.tokenEquals("42"));
+		assertFalse(tokenizer.tokenEquals("4"));
+		assertFalse(tokenizer.next());
+		assertFalse(tokenizer.next());
+	}
+
+	@Test
+	public void multipleDelimiters() {
+		assertTokens(tokens(new CharSequenceTokenizer("a,b;c , d", ",;")), "a", "b", "c", "d");
+	}
+
+	@Test
+	public void withoutTrimming() {
+		assertTokens(tokens(new CharSequenceTokenizer("a, b ,c", ",", false, true)), "a", " b ", "c");
+	}
+
+	@Test
+	public void withEmptyTokensAfterTrimming() {
+		assertTokens(tokens(new CharSequenceTokenizer("a, ,b", ",", true, false)), "a", "", "b");
+		assertTokens(tokens(new CharSequenceTokenizer("a, ,b", ",", true, true)), "a", "b");
+	}
+
+	@Test
+	public void noTokens() {
+		assertFalse(new CharSequenceTokenizer("", ",").next());
+		assertFalse(new CharSequenceTokenizer(",,,", ",").next());
+		assertFalse(new CharSequenceTokenizer(" , ", ",").next());
+	}
+
+	@Test
+	public void noDelimiters() {
+		assertTokens(tokens(new CharSequenceTokenizer("a,b", "")), "a,b");
+	}
+
+	@Test
+	public void wholeSourceTokenIsSameString() {
+		String source = "token";
+		CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(source, ",");
+		assertTrue(tokenizer.next());
+		assertSame(source, tokenizer.getToken());
+	}
+
+	@Test
+	public void reset() {
+		CharSequenceTokenizer tokenizer = new CharSequenceTokenizer("a/b", "/");
+		assertTokens(tokens(tokenizer), "a", "b");
+		assertTokens(tokens(tokenizer.reset(new StringBuilder("c/d/e"))), "c", "d", "e");
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void noCurrentToken() {
+		new CharSequenceTokenizer("a", ",").getStart();
+	}
+
+	@Test
+	public void consistentWithStringTokenizer() {
+		String[] sources = {"", " ", "a", " a ", "a,,b", ",a,", " a , b , c ", "a\tb,c"};
+		for (String source : sources) {
+			List<String> expected = new ArrayList<>();
+			StringTokenizer st = new StringTokenizer(source, ",\t");
+			while (st.hasMoreTokens()) {
+				String token = st.nextToken().trim();
+				if (!token.isEmpty()) {
+					expected.add(token);
+				}
+			}
+			assertEquals(source, expected, tokens(new CharSequenceTokenizer(source, ",\t")));
+		}
+	}
+
+
+	private static List<String> tokens(CharSequenceTokenizer tokenizer) {
+		List<String> tokens = new ArrayList<>();
+		while (tokenizer.next()) {
+			tokens.add(tokenizer.getToken());
+		}
+		return tokens;
+	}
+
+	private static void assertTokens(List<String> actual, String... expected) {
+		assertArrayEquals(expected, actual.toArray());
+	}
+
+}
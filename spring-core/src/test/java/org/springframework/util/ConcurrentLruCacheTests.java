@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+public class ConcurrentLruCacheTests {
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> {
+		this.generated.incrementAndGet();
+		return key + "1";
+	});
+
+
+	@Test
+	public void getAndSize() {
+		assertEquals(2, this.cache.sizeLimit());
+		assertEquals(0, this.cache.size());
+		assertEquals("k11", this.cache.get("k1"));
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertEquals("k11", this.cache.get("k1"));
+		assertEquals(1, this.generated.get());
+		assertEquals("k21", this.cache.get("k2"));
+		assertEquals(2, this.cache.size());
+		assertEquals("k31", this.cache.get("k3"));
+		assertEquals(2, this.cache.size());
+		assertEquals(3, this.generated.get());
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryGetsEvicted() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.get("k1");
+		this.cache.get("k3");
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+	}
+
+	@Test
+	public void recentlyUsedEntriesSurviveRepeatedEviction() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		for (int i = 3; i < 10; i++) {
+			this.cache.get("k1");
+			this.cache.get("k" + i);
+			assertTrue(this.cache.contains("k1"));
+			assertEquals(2, this.cache.size());
+		}
+	}
+
+	@Test
+	public void hitsDoNotWaitForConcurrentGeneration() throws Exception {
+		CountDownLatch generating = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ConcurrentLruCache<String, String> blockingCache = new ConcurrentLruCache<>(1, key -> {
+			if (key.equals("slow")) {
+				generating.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return key + "1";
+		});
+		assertEquals("k11", blockingCache.get("k1"));
+		CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> blockingCache.get("slow"));
+		try {
+			assertTrue(generating.await(5, TimeUnit.SECONDS));
+			assertEquals("k11", CompletableFuture.supplyAsync(() -> blockingCache.get("k1")).get(5, TimeUnit.SECONDS));
+		}
+		finally {
+			release.countDown();
+		}
+		assertEquals("slow1", slow.get(5, TimeUnit.SECONDS));
+		assertEquals(1, blockingCache.size());
+		assertTrue(blockingCache.contains("slow"));
+	}
+
+	@Test
+	public void removeAndClear() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		assertTrue(this.cache.remove("k1"));
+		assertFalse(this.cache.remove("k1"));
+		assertEquals(1, this.cache.size());
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertFalse(this.cache.contains("k2"));
+	}
+
+	@Test
+	public void zeroSizeLimitAlwaysGenerates() {
+		ConcurrentLruCache<String, String> noCache = new ConcurrentLruCache<>(0, key -> key + this.generated.incrementAndGet());
+		assertEquals("k1", noCache.get("k"));
+		assertEquals("k2", noCache.get("k"));
+		assertEquals(0, noCache.size());
+		assertFalse(noCache.contains("k"));
+	}
+
+}
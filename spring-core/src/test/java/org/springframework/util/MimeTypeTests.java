@@ -276,6 +276,17 @@ public class MimeTypeTests {
 		assertEquals("Invalid amount of mime types", 0, mimeTypes.size());
 	}
 
+	@Test
+	public void parseMimeTypeCached() {
+		MimeType mimeType = MimeTypeUtils.parseMimeType("text/x-cached;charset=UTF-8");
+		assertSame(mimeType, MimeTypeUtils.parseMimeType("text/x-cached;charset=UTF-8"));
+
+		String multipart = "multipart/mixed;boundary=" + new String(MimeTypeUtils.generateMultipartBoundary());
+		mimeType = MimeTypeUtils.parseMimeType(multipart);
+		assertEquals(mimeType, MimeTypeUtils.parseMimeType(multipart));
+		assertNotSame(mimeType, MimeTypeUtils.parseMimeType(multipart));
+	}
+
 	@Test
 	public void compareTo() {
 		MimeType audioBasic = new MimeType("audio", "basic");
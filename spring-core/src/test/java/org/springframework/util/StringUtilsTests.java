@@ -381,6 +381,18 @@ public class StringUtilsTests {
 		assertEquals("file:///c:/path/to/the%20file.txt", StringUtils.cleanPath("file:///c:/some/../path/to/the%20file.txt"));
 	}
 
+	@Test
+	public void testCleanPathWithNormalizedPath() {
+		String path = "/mypath/.hidden/my.file..txt";
+		assertSame(path, StringUtils.cleanPath(path));
+		path = "file:mypath//myfile/";
+		assertSame(path, StringUtils.cleanPath(path));
+		assertEquals("mypath/myfile", StringUtils.cleanPath("./mypath/myfile"));
+		assertEquals("mypath", StringUtils.cleanPath("mypath/."));
+		assertEquals("", StringUtils.cleanPath("mypath/.."));
+		assertEquals("file:mypath", StringUtils.cleanPath("file:./mypath"));
+	}
+
 	@Test
 	public void testPathEquals() {
 		assertTrue("Must be true for the same strings",
@@ -556,6 +568,14 @@ public class StringUtilsTests {
 		assertEquals("b", sa[2]);
 	}
 
+	@Test
+	public void testDelimitedListToStringArrayWithEmptyElements() {
+		assertArrayEquals(new String[] {"", "a", "", "b", ""}, StringUtils.delimitedListToStringArray(",a,,b,", ","));
+		assertArrayEquals(new String[] {"a", "b"}, StringUtils.delimitedListToStringArray("a::b", "::"));
+		assertArrayEquals(new String[] {"a", ""}, StringUtils.delimitedListToStringArray("a::", "::"));
+		assertArrayEquals(new String[] {"ab", "c"}, StringUtils.delimitedListToStringArray("a\nb,c", ",", "\n"));
+	}
+
 	@Test
 	public void testDelimitedListToStringArrayWithNullDelimiter() {
 		String[] sa = StringUtils.delimitedListToStringArray("a,b", null);
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelCompiler;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks for SpEL evaluation, comparing interpreted against
+ * compiled expressions.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelEvaluationBenchmark {
+
+	@Benchmark
+	public Object propertyAccess(ExpressionData data) {
+		return data.propertyAccess.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object methodInvocation(ExpressionData data) {
+		return data.methodInvocation.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object arithmeticAndComparison(ExpressionData data) {
+		return data.arithmeticAndComparison.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object selection(ExpressionData data) {
+		return data.selection.getValue(data.context, data.root);
+	}
+
+	@Benchmark
+	public Object parse(ExpressionData data) {
+		return data.parser.parseExpression("name.length() > 3 and age * 2 >= 40");
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ExpressionData {
+
+		@Param({"interpreted", "compiled"})
+		public String mode;
+
+		public final SpelExpressionParser parser = new SpelExpressionParser();
+
+		public final EvaluationContext context = new StandardEvaluationContext();
+
+		public final Person root = new Person("Juergen", 42, Arrays.asList(1, 5, 10, 20, 50));
+
+		public Expression propertyAccess;
+
+		public Expression methodInvocation;
+
+		public Expression arithmeticAndComparison;
+
+		public Expression selection;
+
+		@Setup
+		public void setup() {
+			this.propertyAccess = prepare("name");
+			this.methodInvocation = prepare("name.substring(1, 4).toUpperCase()");
+			this.arithmeticAndComparison = prepare("age * 2 + 1 > 80 and name != null");
+			this.selection = prepare("scores.?[#this > 5]");
+		}
+
+		private Expression prepare(String expressionString) {
+			Expression expression = this.parser.parseExpression(expressionString);
+			// Evaluate once for type information, as needed for compilation
+			expression.getValue(this.context, this.root);
+			if ("compiled".equals(this.mode) && !SpelCompiler.compile(expression)) {
+				throw new IllegalStateException("Expression not compilable: " + expressionString);
+			}
+			return expression;
+		}
+	}
+
+
+	public static class Person {
+
+		private final String name;
+
+		private final int age;
+
+		private final List<Integer> scores;
+
+		public Person(String name, int age, List<Integer> scores) {
+			this.name = name;
+			this.age = age;
+			this.scores = scores;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public List<Integer> getScores() {
+			return this.scores;
+		}
+	}
+
+}
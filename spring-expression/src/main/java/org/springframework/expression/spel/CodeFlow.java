@@ -60,6 +60,13 @@ public class CodeFlow implements Opcodes {
 	 */
 	private final Deque<List<String>> compilationScopes;
 
+	/**
+	 * Local variables holding the active context object, if different from the
+	 * target passed into the evaluation method: for example the current element
+	 * while generating the criteria of a selection or projection.
+	 */
+	private final Deque<Integer> targetVariables = new ArrayDeque<>();
+
 	/**
 	 * As SpEL ast nodes are called to generate code for the main evaluation method
 	 * they can register to add a field to this class. Any registered FieldAdders
@@ -89,6 +96,12 @@ public class CodeFlow implements Opcodes {
 	 */
 	private int nextFreeVariableId = 1;
 
+	/**
+	 * The next available local variable in the main evaluation method
+	 * (0 is 'this', 1 the target and 2 the EvaluationContext).
+	 */
+	private int nextLocalVariableId = 3;
+
 
 	/**
 	 * Construct a new {@code CodeFlow} for the given class.
@@ -105,13 +118,47 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * registered through {@link #enterTargetScope} if any.
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
+		Integer targetVariable = this.targetVariables.peek();
+		mv.visitVarInsn(ALOAD, (targetVariable != null ? targetVariable : 1));
+	}
+
+	/**
+	 * Push the byte code to load the root object (i.e. what was passed as the first
+	 * argument to CompiledExpression.getValue(target, context)), ignoring any active
+	 * context object registered through {@link #enterTargetScope}.
+	 * @param mv the visitor into which the load instruction should be inserted
+	 * @since 5.1
+	 */
+	public void loadRootObject(MethodVisitor mv) {
 		mv.visitVarInsn(ALOAD, 1);
 	}
 
+	/**
+	 * Enter a scope in which the given local variable holds the active context object,
+	 * to be loaded by {@link #loadTarget} instead of the root object. For example,
+	 * selection criteria are generated against the current element.
+	 * @param variableId the local variable holding the active context object,
+	 * or 1 for the root object
+	 * @since 5.1
+	 * @see #nextLocalVariableId()
+	 */
+	public void enterTargetScope(int variableId) {
+		this.targetVariables.push(variableId);
+	}
+
+	/**
+	 * Exit a scope entered through {@link #enterTargetScope}.
+	 * @since 5.1
+	 */
+	public void exitTargetScope() {
+		this.targetVariables.pop();
+	}
+
 	/**
 	 * Push the bytecode to load the EvaluationContext (the second parameter passed to
 	 * the compiled expression method).
@@ -225,6 +272,15 @@ public class CodeFlow implements Opcodes {
 		return this.nextFreeVariableId++;
 	}
 
+	/**
+	 * Allocate a local variable in the main evaluation method, e.g. for holding
+	 * an iterator and the current element while generating a loop.
+	 * @since 5.1
+	 */
+	public int nextLocalVariableId() {
+		return this.nextLocalVariableId++;
+	}
+
 	public String getClassName() {
 		return this.className;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -142,4 +142,31 @@ public class SpelParserConfiguration {
 		return this.maximumAutoGrowSize;
 	}
 
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof SpelParserConfiguration)) {
+			return false;
+		}
+		SpelParserConfiguration otherConfig = (SpelParserConfiguration) other;
+		return (this.compilerMode == otherConfig.compilerMode &&
+				this.compilerClassLoader == otherConfig.compilerClassLoader &&
+				this.autoGrowNullReferences == otherConfig.autoGrowNullReferences &&
+				this.autoGrowCollections == otherConfig.autoGrowCollections &&
+				this.maximumAutoGrowSize == otherConfig.maximumAutoGrowSize);
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.compilerMode.hashCode();
+		hashCode = 29 * hashCode + System.identityHashCode(this.compilerClassLoader);
+		hashCode = 29 * hashCode + (this.autoGrowNullReferences ? 1 : 0);
+		hashCode = 29 * hashCode + (this.autoGrowCollections ? 1 : 0);
+		hashCode = 29 * hashCode + this.maximumAutoGrowSize;
+		return hashCode;
+	}
+
 }
@@ -89,6 +89,10 @@ public class Indexer extends SpelNodeImpl {
 	@Nullable
 	private IndexedType indexedType;
 
+	// Whether the last map key had to be converted to the key type of the map,
+	// in which case compiled code (passing the key as-is) would not find the entry
+	private volatile boolean mapKeyConverted;
+
 
 	public Indexer(int pos, SpelNodeImpl expr) {
 		super(pos, expr);
@@ -152,6 +156,7 @@ public class Indexer extends SpelNodeImpl {
 			if (targetDescriptor.getMapKeyTypeDescriptor() != null) {
 				key = state.convertValue(key, targetDescriptor.getMapKeyTypeDescriptor());
 			}
+			this.mapKeyConverted = (key == null || key.getClass() != index.getClass());
 			this.indexedType = IndexedType.MAP;
 			return new MapIndexingValueRef(state.getTypeConverter(), (Map<?, ?>) target, key, targetDescriptor);
 		}
@@ -200,7 +205,8 @@ public class Indexer extends SpelNodeImpl {
 			return this.children[0].isCompilable();
 		}
 		else if (this.indexedType == IndexedType.MAP) {
-			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
+			return (!this.mapKeyConverted &&
+					(this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable()));
 		}
 		else if (this.indexedType == IndexedType.OBJECT) {
 			// If the string name is changing the accessor is clearly going to change (so no compilation possible)
@@ -210,6 +216,17 @@ public class Indexer extends SpelNodeImpl {
 		}
 		return false;
 	}
+
+	@Override
+	public String getNonCompilableReason() {
+		if (this.indexedType == IndexedType.MAP && this.mapKeyConverted) {
+			return "map key needs to be converted to the key type of the map";
+		}
+		if (this.indexedType == IndexedType.OBJECT || this.indexedType == IndexedType.STRING) {
+			return "only supported for indexing into arrays, lists, maps and properties with a literal name";
+		}
+		return super.getNonCompilableReason();
+	}
 	
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
@@ -255,18 +272,13 @@ public class Indexer extends SpelNodeImpl {
 						//depthPlusOne(exitTypeDescriptor)+"Ljava/lang/Object;");
 				insn = AALOAD;
 			}
-			SpelNodeImpl index = this.children[0];
-			cf.enterCompilationScope();
-			index.generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateIndexCode(mv, cf, this.children[0], false);
 			mv.visitInsn(insn);
 		}
 
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
-			cf.enterCompilationScope();
-			this.children[0].generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateIndexCode(mv, cf, this.children[0], false);
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
 
@@ -280,9 +292,7 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
-				cf.enterCompilationScope();
-				this.children[0].generateCode(mv, cf);
-				cf.exitCompilationScope();
+				generateIndexCode(mv, cf, this.children[0], true);
 			}
 			mv.visitMethodInsn(
 					INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
@@ -318,6 +328,18 @@ public class Indexer extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	private void generateIndexCode(MethodVisitor mv, CodeFlow cf, SpelNodeImpl indexNode, boolean boxIndex) {
+		// The index gets evaluated against the root object, as in getValueRef
+		cf.enterCompilationScope();
+		cf.enterTargetScope(1);
+		indexNode.generateCode(mv, cf);
+		if (boxIndex) {
+			CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
+		}
+		cf.exitTargetScope();
+		cf.exitCompilationScope();
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder("[");
@@ -294,6 +294,25 @@ public class MethodReference extends SpelNodeImpl {
 
 		return true;
 	}
+
+	@Override
+	public String getNonCompilableReason() {
+		CachedMethodExecutor executorToCheck = this.cachedExecutor;
+		if (executorToCheck == null) {
+			return "method not invoked yet";
+		}
+		if (executorToCheck.hasProxyTarget()) {
+			return "method invoked on a JDK proxy";
+		}
+		if (!(executorToCheck.get() instanceof ReflectiveMethodExecutor)) {
+			return "method resolved by a custom MethodResolver";
+		}
+		ReflectiveMethodExecutor executor = (ReflectiveMethodExecutor) executorToCheck.get();
+		if (executor.didArgumentConversionOccur()) {
+			return "arguments required type conversion";
+		}
+		return "method declared on a non-public type: " + executor.getMethod().getDeclaringClass().getName();
+	}
 	
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
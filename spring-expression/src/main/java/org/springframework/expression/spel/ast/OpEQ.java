@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -51,17 +51,9 @@ public class OpEQ extends Operator {
 	// because it allows for simple object comparison
 	@Override
 	public boolean isCompilable() {
-		SpelNodeImpl left = getLeftOperand();
-		SpelNodeImpl right = getRightOperand();
-		if (!left.isCompilable() || !right.isCompilable()) {
-			return false;
-		}
-
-		String leftDesc = left.exitTypeDescriptor;
-		String rightDesc = right.exitTypeDescriptor;
-		DescriptorComparison dc = DescriptorComparison.checkNumericCompatibility(leftDesc,
-				rightDesc, this.leftActualDescriptor, this.rightActualDescriptor);
-		return (!dc.areNumbers || dc.areCompatible);
+		// Any operand types: the generated code delegates to the same equality check
+		// as the interpreter, including the comparison of mixed numeric types
+		return (getLeftOperand().isCompilable() && getRightOperand().isCompilable());
 	}
 
 	@Override
@@ -335,6 +335,18 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		return (accessorToUse instanceof CompilablePropertyAccessor &&
 				((CompilablePropertyAccessor) accessorToUse).isCompilable());
 	}
+
+	@Override
+	public String getNonCompilableReason() {
+		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		if (accessorToUse == null) {
+			return "property not read yet, or read from a null target";
+		}
+		if (!(accessorToUse instanceof CompilablePropertyAccessor)) {
+			return "property accessor does not support compilation: " + accessorToUse.getClass().getName();
+		}
+		return "property accessor cannot compile access to this property (e.g. a non-public type)";
+	}
 	
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
@@ -33,6 +33,7 @@ import org.springframework.expression.spel.SpelNode;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * The common supertype of all AST nodes in a parsed Spring Expression Language
@@ -175,6 +176,24 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		return false;
 	}
 
+	/**
+	 * Describe why this node cannot be compiled to bytecode in its current state,
+	 * assuming that its child nodes can be compiled. Only meaningful if
+	 * {@link #isCompilable()} returns {@code false}.
+	 * @return a human-readable reason, for diagnostic purposes
+	 * @since 5.1
+	 */
+	public String getNonCompilableReason() {
+		Method generateCode = ReflectionUtils.findMethod(getClass(), "generateCode", MethodVisitor.class, CodeFlow.class);
+		if (generateCode == null || generateCode.getDeclaringClass() == SpelNodeImpl.class) {
+			return "not supported by the compiler";
+		}
+		if (this.exitTypeDescriptor == null) {
+			return "no type information available: not evaluated yet, or evaluated to null";
+		}
+		return "not compilable for the types seen during evaluation";
+	}
+
 	/**
 	 * Generate the bytecode for this node into the supplied visitor. Context info about
 	 * the current expression being compiled is available in the codeflow object. For
@@ -66,7 +66,18 @@ public class VariableReference extends SpelNodeImpl {
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
+			TypedValue result = state.getActiveContextObject();
+			Object value = result.getValue();
+			String descriptor = (value != null && Modifier.isPublic(value.getClass().getModifiers()) ?
+					CodeFlow.toDescriptorFromObject(value) : "Ljava/lang/Object");
+			// Keep a type common to all values seen so far, e.g. for the elements of
+			// a selection or projection: a checkcast to the type of the last value only
+			// would fail for a mixed-type collection in compiled code.
+			if (this.exitTypeDescriptor != null && !this.exitTypeDescriptor.equals(descriptor)) {
+				descriptor = "Ljava/lang/Object";
+			}
+			this.exitTypeDescriptor = descriptor;
+			return result;
 		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
@@ -111,7 +122,18 @@ public class VariableReference extends SpelNodeImpl {
 	
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
-		if (this.name.equals(ROOT)) {
+		if (this.name.equals(THIS)) {
+			// The active context object: either already on the stack within a compound
+			// expression, or the target (possibly the current element of a selection)
+			String descriptor = cf.lastDescriptor();
+			if (descriptor == null) {
+				cf.loadTarget(mv);
+			}
+			else {
+				CodeFlow.insertBoxIfNecessary(mv, descriptor);
+			}
+		}
+		else if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
 		else {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.EvaluationException;
@@ -75,6 +78,10 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private volatile int failedAttempts = 0;
 
+	// Notified on successful compilation, if the expression comes from a SpelExpressionCache
+	@Nullable
+	private Runnable compilationCallback;
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -86,6 +93,14 @@ public class SpelExpression implements Expression {
 	}
 
 
+	/**
+	 * Set a callback to be notified whenever this expression has been compiled.
+	 * @see SpelExpressionCache
+	 */
+	void setCompilationCallback(Runnable compilationCallback) {
+		this.compilationCallback = compilationCallback;
+	}
+
 	/**
 	 * Set the evaluation context that will be used if none is specified on an evaluation call.
 	 * @param evaluationContext the evaluation context to use
@@ -518,11 +533,47 @@ public class SpelExpression implements Expression {
 				if (this.compiledAst == null) {
 					this.failedAttempts++;
 				}
+				else if (this.compilationCallback != null) {
+					this.compilationCallback.run();
+				}
 			}
 		}
 		return (this.compiledAst != null);
 	}
 
+	/**
+	 * Determine why this expression cannot be compiled in its current state.
+	 * <p>Compilation depends on the type information gathered while interpreting
+	 * the expression, so the result may change after further evaluations.
+	 * @return a description for each node of the Abstract Syntax Tree which
+	 * prevents compilation, or an empty list if the expression is compilable
+	 * @since 5.1
+	 * @see #compileExpression()
+	 */
+	public List<String> getCompilationDiagnostics() {
+		List<String> diagnostics = new ArrayList<>();
+		collectCompilationDiagnostics(this.ast, diagnostics);
+		return diagnostics;
+	}
+
+	private void collectCompilationDiagnostics(SpelNodeImpl node, List<String> diagnostics) {
+		if (node.isCompilable()) {
+			return;
+		}
+		boolean childNotCompilable = false;
+		for (int i = 0; i < node.getChildCount(); i++) {
+			SpelNodeImpl child = (SpelNodeImpl) node.getChild(i);
+			if (!child.isCompilable()) {
+				collectCompilationDiagnostics(child, diagnostics);
+				childNotCompilable = true;
+			}
+		}
+		if (!childNotCompilable) {
+			diagnostics.add(node.getClass().getSimpleName() + " '" + node.toStringAST() + "' at position " +
+					node.getStartPosition() + ": " + node.getNonCompilableReason());
+		}
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
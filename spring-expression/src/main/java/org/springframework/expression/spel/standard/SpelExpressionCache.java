@@ -0,0 +1,223 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Bounded cache of parsed SpEL expressions, keyed by expression string,
+ * {@link ParserContext} settings and {@link SpelParserConfiguration}.
+ * Used by a {@link SpelExpressionParser} which has been created with
+ * a cache, returning the same {@link Expression} instance for repeated
+ * parse requests - along with its AST and its compiled form, if any.
+ *
+ * <p>Expressions obtained from a cache are shared between all callers
+ * of all parsers using the same cache, so they must not be modified,
+ * e.g. through {@link SpelExpression#setEvaluationContext}. Since the
+ * compiled form of an expression is based on the types seen during its
+ * evaluations, sharing an expression between call sites which evaluate
+ * it against different types may cause compiled code to be reverted
+ * or - in {@link org.springframework.expression.spel.SpelCompilerMode#IMMEDIATE}
+ * mode - to fail. A cache is therefore meant to be held by a specific
+ * component for its own set of expressions, e.g. through a parser passed to
+ * a single expression resolver or evaluator instance, rather than being
+ * shared across an entire application.
+ *
+ * <p>Exposes hit, miss and compilation counts for monitoring purposes.
+ *
+ * @since 5.1
+ * @see SpelExpressionParser#SpelExpressionParser(SpelParserConfiguration, SpelExpressionCache)
+ */
+public class SpelExpressionCache {
+
+	/** Default maximum number of expressions held by a cache: 1024 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+
+	private final ConcurrentLruCache<ExpressionKey, Expression> cache;
+
+	private final LongAdder requestCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder compilationCount = new LongAdder();
+
+
+	/**
+	 * Create a new cache with a limit of {@link #DEFAULT_CACHE_LIMIT} expressions.
+	 */
+	public SpelExpressionCache() {
+		this(DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new cache with the given limit.
+	 * @param cacheLimit the maximum number of expressions to hold
+	 * (0 indicates no caching, always parsing the expression)
+	 */
+	public SpelExpressionCache(int cacheLimit) {
+		this.cache = new ConcurrentLruCache<>(cacheLimit, this::parseExpression);
+	}
+
+
+	/**
+	 * Return the parsed expression for the given expression string,
+	 * parsing it with the given parser if not cached yet.
+	 * @param parser the parser to use for parsing
+	 * @param expressionString the raw expression string to parse
+	 * @param context a context for influencing the expression parsing routine
+	 * @return the cached or newly parsed expression
+	 * @throws ParseException if an exception occurred during parsing
+	 */
+	Expression getExpression(SpelExpressionParser parser, String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		this.requestCount.increment();
+		return this.cache.get(new ExpressionKey(parser, expressionString, context));
+	}
+
+	private Expression parseExpression(ExpressionKey key) {
+		this.missCount.increment();
+		Expression expression = key.parser.parseExpressionInternal(key.expressionString, key.context);
+		if (expression instanceof SpelExpression) {
+			((SpelExpression) expression).setCompilationCallback(this.compilationCount::increment);
+		}
+		else if (expression instanceof CompositeStringExpression) {
+			for (Expression part : ((CompositeStringExpression) expression).getExpressions()) {
+				if (part instanceof SpelExpression) {
+					((SpelExpression) part).setCompilationCallback(this.compilationCount::increment);
+				}
+			}
+		}
+		return expression;
+	}
+
+	/**
+	 * Return the number of parse requests which were served from this cache.
+	 */
+	public long getHitCount() {
+		return this.requestCount.sum() - this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of parse requests which required actual parsing.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of times that expressions obtained from this cache
+	 * have been compiled, i.e. the number of classes generated for them
+	 * by the {@link SpelCompiler}.
+	 */
+	public long getCompilationCount() {
+		return this.compilationCount.sum();
+	}
+
+	/**
+	 * Return the current number of expressions in this cache.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of expressions in this cache.
+	 */
+	public int getCacheLimit() {
+		return this.cache.sizeLimit();
+	}
+
+	/**
+	 * Remove all expressions from this cache. Statistics are not reset.
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+
+	@Override
+	public String toString() {
+		return "SpelExpressionCache: size " + size() + " of " + getCacheLimit() + ", " + getHitCount() +
+				" hits, " + getMissCount() + " misses, " + getCompilationCount() + " compilations";
+	}
+
+
+	/**
+	 * Cache key for an expression. Holds on to the parser and the original
+	 * context for parsing, but only considers their relevant settings
+	 * for equality.
+	 */
+	private static final class ExpressionKey {
+
+		private final SpelExpressionParser parser;
+
+		private final String expressionString;
+
+		@Nullable
+		private final ParserContext context;
+
+		private final boolean template;
+
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		public ExpressionKey(SpelExpressionParser parser, String expressionString, @Nullable ParserContext context) {
+			this.parser = parser;
+			this.expressionString = expressionString;
+			this.context = context;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionKey)) {
+				return false;
+			}
+			ExpressionKey otherKey = (ExpressionKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix) &&
+					this.parser.getConfiguration().equals(otherKey.parser.getConfiguration()));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.prefix));
+		}
+	}
+
+}
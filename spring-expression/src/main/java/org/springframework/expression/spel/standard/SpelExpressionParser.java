@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.standard;
 
+import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateAwareExpressionParser;
@@ -34,12 +35,16 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	@Nullable
+	private final SpelExpressionCache expressionCache;
+
 
 	/**
 	 * Create a parser with default settings.
 	 */
 	public SpelExpressionParser() {
 		this.configuration = new SpelParserConfiguration();
+		this.expressionCache = null;
 	}
 
 	/**
@@ -47,10 +52,59 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	 * @param configuration custom configuration options
 	 */
 	public SpelExpressionParser(SpelParserConfiguration configuration) {
+		this(configuration, null);
+	}
+
+	/**
+	 * Create a parser with the specified configuration, obtaining parsed
+	 * expressions from the given cache.
+	 * <p>Expressions returned from {@link #parseExpression} are shared with
+	 * all other parsers using the same cache and configuration, and must
+	 * not be modified. {@link #parseRaw} always parses a new expression.
+	 * @param configuration custom configuration options
+	 * @param expressionCache the cache to use (may be {@code null} for none)
+	 * @since 5.1
+	 * @see SpelExpressionCache
+	 */
+	public SpelExpressionParser(SpelParserConfiguration configuration, @Nullable SpelExpressionCache expressionCache) {
 		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
 		this.configuration = configuration;
+		this.expressionCache = expressionCache;
+	}
+
+
+	/**
+	 * Return the configuration of this parser.
+	 * @since 5.1
+	 */
+	public SpelParserConfiguration getConfiguration() {
+		return this.configuration;
 	}
 
+	/**
+	 * Return the cache that this parser obtains parsed expressions from, if any.
+	 * @since 5.1
+	 */
+	@Nullable
+	public SpelExpressionCache getExpressionCache() {
+		return this.expressionCache;
+	}
+
+	@Override
+	public Expression parseExpression(String expressionString, @Nullable ParserContext context) throws ParseException {
+		if (this.expressionCache != null) {
+			return this.expressionCache.getExpression(this, expressionString, context);
+		}
+		return super.parseExpression(expressionString, context);
+	}
+
+	/**
+	 * Parse the given expression without going through the cache.
+	 * @see SpelExpressionCache
+	 */
+	Expression parseExpressionInternal(String expressionString, @Nullable ParserContext context) throws ParseException {
+		return super.parseExpression(expressionString, context);
+	}
 
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		return doParseExpression(expressionString, null);
@@ -1555,7 +1555,11 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		// number types are not the same
 		expression = parse("1 == 3.0d");
-		assertCantCompile(expression);
+		assertCanCompile(expression);
+		assertFalse((Boolean) expression.getValue());
+		expression = parse("3 == 3.0d");
+		assertCanCompile(expression);
+		assertTrue((Boolean) expression.getValue());
 
 		Double d = 3.0d;
 		expression = parse("#root==3.0d");
@@ -1698,9 +1702,13 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertCanCompile(expression);
 		assertTrue((Boolean) expression.getValue());
 
-		// not compatible number types
+		// number types are not the same
 		expression = parse("1 != 3.0d");
-		assertCantCompile(expression);
+		assertCanCompile(expression);
+		assertTrue((Boolean) expression.getValue());
+		expression = parse("3 != 3.0d");
+		assertCanCompile(expression);
+		assertFalse((Boolean) expression.getValue());
 
 		expression = parse("T(Integer).valueOf(3) != 4");
 		assertTrue((Boolean) expression.getValue());
@@ -4785,6 +4793,167 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertTrue(expression.getValue(new GenericMessageTestHelper2<>(6), Boolean.TYPE));
 	}
 
+	@Test
+	public void selection() throws Exception {
+		List<Integer> numbers = new ArrayList<>();
+		Collections.addAll(numbers, 1, 2, 3, 4, 5);
+
+		expression = parse("?[#this > 2]");
+		assertEquals("[3, 4, 5]", expression.getValue(numbers).toString());
+		assertCanCompile(expression);
+		assertEquals("[3, 4, 5]", expression.getValue(numbers).toString());
+		assertEquals("[]", expression.getValue(Collections.emptyList()).toString());
+
+		expression = parse("^[#this > 2]");
+		assertEquals(3, expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(3, expression.getValue(numbers));
+		assertNull(expression.getValue(Collections.singletonList(1)));
+
+		expression = parse("$[#this > 2]");
+		assertEquals(5, expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(5, expression.getValue(numbers));
+		assertNull(expression.getValue(Collections.singletonList(1)));
+
+		// Criteria evaluated against each element, with #root still referring to the root object
+		List<String> strings = new ArrayList<>();
+		Collections.addAll(strings, "a", "bb", "ccc");
+		expression = parse("?[length() > #root.size() - 2]");
+		assertEquals("[bb, ccc]", expression.getValue(strings).toString());
+		assertCanCompile(expression);
+		assertEquals("[bb, ccc]", expression.getValue(strings).toString());
+
+		// Nested selection
+		List<List<String>> nested = new ArrayList<>();
+		nested.add(strings);
+		nested.add(Collections.singletonList("dd"));
+		expression = parse("?[#this.?[length() == 2].size() == 1]");
+		assertEquals(2, ((List<?>) expression.getValue(nested)).size());
+		assertCanCompile(expression);
+		assertEquals(2, ((List<?>) expression.getValue(nested)).size());
+
+		// Null-safe selection
+		Map<String, List<Integer>> map = new HashMap<>();
+		map.put("numbers", numbers);
+		expression = parse("['numbers']?.?[#this < 3]");
+		assertEquals("[1, 2]", expression.getValue(map).toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2]", expression.getValue(map).toString());
+		map.put("numbers", null);
+		assertNull(expression.getValue(map));
+
+		// Selection over a Map is not compiled
+		Map<String, Integer> scores = new HashMap<>();
+		scores.put("a", 1);
+		expression = parse("?[value > 0]");
+		assertEquals(1, ((Map<?, ?>) expression.getValue(scores)).size());
+		assertCantCompile(expression);
+
+		// Selection criteria have to evaluate to a boolean
+		expression = parse("?[#this]");
+		assertEquals("[true]", expression.getValue(Collections.singletonList(true)).toString());
+		assertCanCompile(expression);
+		assertEquals("[true]", expression.getValue(Collections.singletonList(true)).toString());
+	}
+
+	@Test
+	public void selectionAndProjectionOverMixedTypes() throws Exception {
+		List<Object> mixed = new ArrayList<>();
+		Collections.addAll(mixed, 1, 2L, 3.0d, "x");
+
+		expression = parse("?[#this == 2]");
+		assertEquals("[2]", expression.getValue(mixed).toString());
+		assertCanCompile(expression);
+		assertEquals("[2]", expression.getValue(mixed).toString());
+		assertEquals(Long.class, ((List<?>) expression.getValue(mixed)).get(0).getClass());
+
+		expression = parse("![#this]");
+		assertEquals("[1, 2, 3.0, x]", expression.getValue(mixed).toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2, 3.0, x]", expression.getValue(mixed).toString());
+	}
+
+	@Test
+	public void projection() throws Exception {
+		List<Integer> numbers = new ArrayList<>();
+		Collections.addAll(numbers, 1, 2, 3);
+
+		expression = parse("![#this * 2]");
+		assertEquals("[2, 4, 6]", expression.getValue(numbers).toString());
+		assertCanCompile(expression);
+		assertEquals("[2, 4, 6]", expression.getValue(numbers).toString());
+
+		List<String> strings = new ArrayList<>();
+		Collections.addAll(strings, "a", "bb", "ccc");
+		expression = parse("![length()]");
+		assertEquals("[1, 2, 3]", expression.getValue(strings).toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2, 3]", expression.getValue(strings).toString());
+
+		// Combined with selection
+		expression = parse("?[length() > 1].![toUpperCase()]");
+		assertEquals("[BB, CCC]", expression.getValue(strings).toString());
+		assertCanCompile(expression);
+		assertEquals("[BB, CCC]", expression.getValue(strings).toString());
+
+		// Projection of an array is not compiled
+		expression = parse("![#this * 2]");
+		assertEquals(2, ((Integer[]) expression.getValue(new Integer[] {1, 2})).length);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void indexIntoMapWithNonStringKeys() throws Exception {
+		Map<Integer, String> map = new HashMap<>();
+		map.put(1, "one");
+		map.put(2, "two");
+
+		expression = parse("[1]");
+		assertEquals("one", expression.getValue(map));
+		assertCanCompile(expression);
+		assertEquals("one", expression.getValue(map));
+		assertNull(expression.getValue(Collections.singletonMap(3, "three")));
+
+		// Key evaluated against the root object, not against the map
+		expression = parse("#root[#root.size() - 1]");
+		assertEquals("one", expression.getValue(map));
+		assertCanCompile(expression);
+		assertEquals("one", expression.getValue(map));
+	}
+
+	@Test
+	public void compilationDiagnostics() throws Exception {
+		SpelExpression expression = (SpelExpression) parse("?[#this > 2]");
+		assertEquals(Collections.singletonList("VariableReference '#this' at position 2: " +
+				"no type information available: not evaluated yet, or evaluated to null"),
+				expression.getCompilationDiagnostics());
+
+		List<Integer> numbers = new ArrayList<>();
+		Collections.addAll(numbers, 1, 2, 3);
+		expression.getValue(numbers);
+		assertTrue(expression.getCompilationDiagnostics().isEmpty());
+		assertCanCompile(expression);
+
+		expression = (SpelExpression) parse("?[#this > 2]");
+		expression.getValue(new Integer[] {1, 2, 3});
+		assertEquals(Collections.singletonList("Selection '?[(#this > 2)]' at position 0: " +
+				"only supported for selection over an Iterable (as seen during evaluation)"),
+				expression.getCompilationDiagnostics());
+
+		// Safe navigation on a null value leaves no type information behind
+		expression = (SpelExpression) parse("['name']?.length()");
+		expression.getValue(Collections.singletonMap("name", null));
+		assertEquals(Collections.singletonList("MethodReference 'length()' at position 10: method not invoked yet"),
+				expression.getCompilationDiagnostics());
+		assertCantCompile(expression);
+
+		expression = (SpelExpression) parse("'abc' matches 'a.*'");
+		expression.getValue();
+		assertEquals(Collections.singletonList("OperatorMatches '('abc' matches 'a.*')' at position 6: " +
+				"not supported by the compiler"), expression.getCompilationDiagnostics());
+	}
+
 	@Test
 	public void indexerMapAccessor_12045() throws Exception {
 		SpelParserConfiguration spc = new SpelParserConfiguration(
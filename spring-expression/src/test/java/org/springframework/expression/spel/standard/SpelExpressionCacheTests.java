@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SpelExpressionCache}.
+ */
+public class SpelExpressionCacheTests {
+
+	private final SpelExpressionCache cache = new SpelExpressionCache(2);
+
+	private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+
+
+	@Test
+	public void sameExpressionForSameString() {
+		Expression expression = this.parser.parseExpression("1 + 2");
+		assertSame(expression, this.parser.parseExpression("1 + 2"));
+		assertSame(expression, new SpelExpressionParser(new SpelParserConfiguration(), this.cache).parseExpression("1 + 2"));
+		assertEquals(3, expression.getValue());
+		assertNotSame(expression, this.parser.parseExpression("1+2"));
+		assertEquals(2, this.cache.getHitCount());
+		assertEquals(2, this.cache.getMissCount());
+		assertEquals(2, this.cache.size());
+	}
+
+	@Test
+	public void differentExpressionForDifferentConfiguration() {
+		Expression expression = this.parser.parseExpression("1 + 2");
+		SpelExpressionParser otherParser = new SpelExpressionParser(
+				new SpelParserConfiguration(true, true), this.cache);
+		assertNotSame(expression, otherParser.parseExpression("1 + 2"));
+		assertSame(expression, this.parser.parseExpression("1 + 2"));
+	}
+
+	@Test
+	public void templateExpressions() {
+		Expression expression = this.parser.parseExpression("1 + 2");
+		Expression template = this.parser.parseExpression("1 + 2", ParserContext.TEMPLATE_EXPRESSION);
+		assertNotSame(expression, template);
+		assertEquals(3, expression.getValue());
+		assertEquals("1 + 2", template.getValue());
+
+		template = this.parser.parseExpression("#{1 + 2}", ParserContext.TEMPLATE_EXPRESSION);
+		assertSame(template, this.parser.parseExpression("#{1 + 2}", new TemplateParserContext()));
+		assertNotSame(template, this.parser.parseExpression("#{1 + 2}", new TemplateParserContext("${", "}")));
+		assertEquals("3", template.getValue(String.class));
+	}
+
+	@Test
+	public void parseRawNotCached() {
+		assertNotSame(this.parser.parseRaw("1 + 2"), this.parser.parseRaw("1 + 2"));
+		assertEquals(0, this.cache.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedExpressionGetsEvicted() {
+		Expression expression = this.parser.parseExpression("1");
+		this.parser.parseExpression("2");
+		this.parser.parseExpression("1");
+		this.parser.parseExpression("3");
+		assertEquals(2, this.cache.size());
+		assertSame(expression, this.parser.parseExpression("1"));
+		assertEquals(3, this.cache.getMissCount());
+		this.parser.parseExpression("2");
+		assertEquals(4, this.cache.getMissCount());
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertNotSame(expression, this.parser.parseExpression("1"));
+	}
+
+	@Test
+	public void parseExceptionNotCached() {
+		for (int i = 0; i < 2; i++) {
+			try {
+				this.parser.parseExpression("1 +");
+				fail("Should have thrown ParseException");
+			}
+			catch (ParseException ex) {
+				// expected
+			}
+		}
+		assertEquals(0, this.cache.size());
+		assertEquals(2, this.cache.getMissCount());
+	}
+
+	@Test
+	public void compilationCount() {
+		SpelExpressionParser compilingParser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()), this.cache);
+		Expression expression = compilingParser.parseExpression("'abc'.length()");
+		assertEquals(3, expression.getValue());
+		assertEquals(3, expression.getValue());
+		assertEquals(1, this.cache.getCompilationCount());
+		assertEquals(3, compilingParser.parseExpression("'abc'.length()").getValue());
+		assertEquals(1, this.cache.getCompilationCount());
+
+		Expression template = compilingParser.parseExpression("a#{'abc'.length()}", new TemplateParserContext());
+		assertEquals("a3", template.getValue());
+		assertEquals("a3", template.getValue());
+		assertEquals(2, this.cache.getCompilationCount());
+	}
+
+	@Test
+	public void zeroCacheLimitAlwaysParses() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), new SpelExpressionCache(0));
+		assertNotSame(parser.parseExpression("1 + 2"), parser.parseExpression("1 + 2"));
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.jdbc.core;
 
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -29,10 +30,11 @@ import java.util.Set;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.BeanPropertyTable;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.MethodHandleBeanWrapper;
 import org.springframework.beans.NotWritablePropertyException;
-import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
@@ -101,6 +103,10 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Column-to-property mapping for the most recently processed ResultSet */
+	@Nullable
+	private volatile ColumnMapping columnMapping;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -282,17 +288,15 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
 		Assert.state(this.mappedClass != null, "Mapped class was not specified");
 		T mappedObject = BeanUtils.instantiateClass(this.mappedClass);
-		BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+		MethodHandleBeanWrapper bw = new MethodHandleBeanWrapper(mappedObject);
 		initBeanWrapper(bw);
 
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columnCount = rsmd.getColumnCount();
+		ColumnMapping mapping = getColumnMapping(rs, rowNumber, bw.getPropertyTable());
 		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
 
-		for (int index = 1; index <= columnCount; index++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String field = lowerCaseName(column.replaceAll(" ", ""));
-			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+		for (int index = 1; index <= mapping.columns.length; index++) {
+			String column = mapping.columns[index - 1];
+			PropertyDescriptor pd = mapping.propertyDescriptors[index - 1];
 			if (pd != null) {
 				try {
 					Object value = getColumnValue(rs, index, pd);
@@ -301,7 +305,13 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
 					}
 					try {
-						bw.setPropertyValue(pd.getName(), value);
+						int propertyId = mapping.propertyIds[index - 1];
+						if (propertyId >= 0) {
+							bw.setPropertyValue(propertyId, value);
+						}
+						else {
+							bw.setPropertyValue(pd.getName(), value);
+						}
 					}
 					catch (TypeMismatchException ex) {
 						if (value == null && this.primitivesDefaultedForNullValue) {
@@ -326,12 +336,6 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
 				}
 			}
-			else {
-				// No PropertyDescriptor found
-				if (rowNumber == 0 && logger.isDebugEnabled()) {
-					logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
-				}
-			}
 		}
 
 		if (populatedProperties != null && !populatedProperties.equals(this.mappedProperties)) {
@@ -343,6 +347,40 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Obtain the column-to-property mapping for the given ResultSet, reusing
+	 * the mapping of the previous row for the same ResultSet.
+	 */
+	private ColumnMapping getColumnMapping(ResultSet rs, int rowNumber, BeanPropertyTable propertyTable)
+			throws SQLException {
+
+		ColumnMapping mapping = this.columnMapping;
+		if (mapping != null && rowNumber > 0 && mapping.resultSet.get() == rs &&
+				mapping.propertyTable == propertyTable) {
+			return mapping;
+		}
+
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		String[] columns = new String[columnCount];
+		PropertyDescriptor[] pds = new PropertyDescriptor[columnCount];
+		int[] propertyIds = new int[columnCount];
+		for (int index = 1; index <= columnCount; index++) {
+			String column = JdbcUtils.lookupColumnName(rsmd, index);
+			String field = lowerCaseName(column.replaceAll(" ", ""));
+			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+			columns[index - 1] = column;
+			pds[index - 1] = pd;
+			propertyIds[index - 1] = (pd != null ? propertyTable.getPropertyId(pd.getName()) : -1);
+			if (pd == null && rowNumber == 0 && logger.isDebugEnabled()) {
+				logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
+			}
+		}
+		mapping = new ColumnMapping(rs, propertyTable, columns, pds, propertyIds);
+		this.columnMapping = mapping;
+		return mapping;
+	}
+
 	/**
 	 * Initialize the given BeanWrapper to be used for row mapping.
 	 * To be called for each row.
@@ -387,4 +425,32 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return new BeanPropertyRowMapper<>(mappedClass);
 	}
 
+
+	/**
+	 * Resolved mapping of the columns of a ResultSet to bean properties,
+	 * referencing the ResultSet weakly in order to not retain any row data.
+	 */
+	private static final class ColumnMapping {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final BeanPropertyTable propertyTable;
+
+		final String[] columns;
+
+		final PropertyDescriptor[] propertyDescriptors;
+
+		final int[] propertyIds;
+
+		ColumnMapping(ResultSet resultSet, BeanPropertyTable propertyTable, String[] columns,
+				PropertyDescriptor[] propertyDescriptors, int[] propertyIds) {
+
+			this.resultSet = new WeakReference<>(resultSet);
+			this.propertyTable = propertyTable;
+			this.columns = columns;
+			this.propertyDescriptors = propertyDescriptors;
+			this.propertyIds = propertyIds;
+		}
+	}
+
 }
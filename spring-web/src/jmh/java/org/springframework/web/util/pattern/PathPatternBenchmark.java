@@ -0,0 +1,98 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Benchmarks for {@link PathPatternParser#parse} and {@link PathPattern#matches},
+ * using the same patterns and paths as the {@code AntPathMatcher} benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(PatternData data, Blackhole bh) {
+		for (PathContainer path : data.parsedPaths) {
+			for (PathPattern pattern : data.parsedPatterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void parseAndMatchAllPaths(PatternData data, Blackhole bh) {
+		for (String path : data.paths) {
+			PathContainer pathContainer = PathContainer.parsePath(path);
+			for (PathPattern pattern : data.parsedPatterns) {
+				bh.consume(pattern.matches(pathContainer));
+			}
+		}
+	}
+
+	@Benchmark
+	public void parseAllPatterns(PatternData data, Blackhole bh) {
+		for (String pattern : data.patterns) {
+			bh.consume(data.parser.parse(pattern));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class PatternData {
+
+		public final PathPatternParser parser = new PathPatternParser();
+
+		public final String[] patterns = {
+				"/", "/resources/**", "/api/users", "/api/users/{userId}",
+				"/api/users/{userId}/orders/{orderId}", "/api/*/status", "/static/**",
+				"/files/{filename:.+}", "/admin/**", "/api/v?/health"};
+
+		public final String[] paths = {
+				"/", "/resources/css/main.css", "/api/users", "/api/users/42",
+				"/api/users/42/orders/1234", "/api/orders/status", "/static/css/site/main.css",
+				"/files/report.pdf", "/unknown/path/to/resource", "/api/v1/health"};
+
+		public List<PathPattern> parsedPatterns;
+
+		public List<PathContainer> parsedPaths;
+
+		@Setup
+		public void setup() {
+			this.parsedPatterns = new ArrayList<>();
+			for (String pattern : this.patterns) {
+				this.parsedPatterns.add(this.parser.parse(pattern));
+			}
+			this.parsedPaths = new ArrayList<>();
+			for (String path : this.paths) {
+				this.parsedPaths.add(PathContainer.parsePath(path));
+			}
+		}
+	}
+
+}
@@ -44,6 +44,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.CharSequenceTokenizer;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -545,9 +546,9 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 		List<HttpMethod> result = new ArrayList<>();
 		String value = getFirst(ACCESS_CONTROL_ALLOW_METHODS);
 		if (value != null) {
-			String[] tokens = StringUtils.tokenizeToStringArray(value, ",");
-			for (String token : tokens) {
-				HttpMethod resolved = HttpMethod.resolve(token);
+			CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(value, ",");
+			while (tokenizer.next()) {
+				HttpMethod resolved = HttpMethod.resolve(tokenizer.getToken());
 				if (resolved != null) {
 					result.add(resolved);
 				}
@@ -691,15 +692,15 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	public Set<HttpMethod> getAllow() {
 		String value = getFirst(ALLOW);
 		if (!StringUtils.isEmpty(value)) {
-			String[] tokens = StringUtils.tokenizeToStringArray(value, ",");
-			List<HttpMethod> result = new ArrayList<>(tokens.length);
-			for (String token : tokens) {
-				HttpMethod resolved = HttpMethod.resolve(token);
+			Set<HttpMethod> result = EnumSet.noneOf(HttpMethod.class);
+			CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(value, ",");
+			while (tokenizer.next()) {
+				HttpMethod resolved = HttpMethod.resolve(tokenizer.getToken());
 				if (resolved != null) {
 					result.add(resolved);
 				}
 			}
-			return EnumSet.copyOf(result);
+			return result;
 		}
 		else {
 			return EnumSet.noneOf(HttpMethod.class);
@@ -1325,9 +1326,9 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 			List<String> result = new ArrayList<>();
 			for (String value : values) {
 				if (value != null) {
-					String[] tokens = StringUtils.tokenizeToStringArray(value, ",");
-					for (String token : tokens) {
-						result.add(token);
+					CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(value, ",");
+					while (tokenizer.next()) {
+						result.add(tokenizer.getToken());
 					}
 				}
 			}
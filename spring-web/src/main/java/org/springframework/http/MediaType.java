@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,7 +30,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.CharSequenceTokenizer;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -309,6 +312,24 @@ public class MediaType extends MimeType implements Serializable {
 
 	private static final String PARAM_QUALITY_FACTOR = "q";
 
+	/**
+	 * The media type constants above, keyed by their String value.
+	 * Only written during class initialization, hence safe for unsynchronized reads.
+	 */
+	private static final Map<String, MediaType> commonMediaTypes = new HashMap<>(32);
+
+	/**
+	 * Cache of recently parsed media types by their String value. Keys may come
+	 * from client-controlled headers: the cache is bounded, with constant-time
+	 * hits and values generated outside of its lock even when churning.
+	 */
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<>(64, MediaType::parseMediaTypeInternal);
+
+	/** Cache of recently parsed and sorted media type lists by their header value. */
+	private static final ConcurrentLruCache<String, List<MediaType>> cachedSortedMediaTypes =
+			new ConcurrentLruCache<>(64, MediaType::parseAndSortMediaTypesInternal);
+
 
 	static {
 		ALL = valueOf(ALL_VALUE);
@@ -334,6 +355,15 @@ public class MediaType extends MimeType implements Serializable {
 		TEXT_MARKDOWN = valueOf(TEXT_MARKDOWN_VALUE);
 		TEXT_PLAIN = valueOf(TEXT_PLAIN_VALUE);
 		TEXT_XML = valueOf(TEXT_XML_VALUE);
+
+		for (MediaType mediaType : new MediaType[] {ALL, APPLICATION_ATOM_XML, APPLICATION_FORM_URLENCODED,
+				APPLICATION_JSON, APPLICATION_JSON_UTF8, APPLICATION_OCTET_STREAM, APPLICATION_PDF,
+				APPLICATION_PROBLEM_JSON, APPLICATION_PROBLEM_JSON_UTF8, APPLICATION_PROBLEM_XML,
+				APPLICATION_RSS_XML, APPLICATION_STREAM_JSON, APPLICATION_XHTML_XML, APPLICATION_XML,
+				IMAGE_GIF, IMAGE_JPEG, IMAGE_PNG, MULTIPART_FORM_DATA, TEXT_EVENT_STREAM,
+				TEXT_HTML, TEXT_MARKDOWN, TEXT_PLAIN, TEXT_XML}) {
+			commonMediaTypes.put(mediaType.toString(), mediaType);
+		}
 	}
 
 
@@ -509,11 +539,29 @@ public class MediaType extends MimeType implements Serializable {
 
 	/**
 	 * Parse the given String into a single {@code MediaType}.
+	 * <p>The constants declared on this class as well as recently parsed media
+	 * types are returned as shared instances, which is fine since {@code MediaType}
+	 * is immutable.
 	 * @param mediaType the string to parse
 	 * @return the media type
 	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		if (!StringUtils.hasLength(mediaType)) {
+			return parseMediaTypeInternal(mediaType);
+		}
+		MediaType common = commonMediaTypes.get(mediaType);
+		if (common != null) {
+			return common;
+		}
+		// Do not cache multipart media types with random boundaries
+		if (mediaType.startsWith("multipart")) {
+			return parseMediaTypeInternal(mediaType);
+		}
+		return cachedMediaTypes.get(mediaType);
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		MimeType type;
 		try {
 			type = MimeTypeUtils.parseMimeType(mediaType);
@@ -540,10 +588,10 @@ public class MediaType extends MimeType implements Serializable {
 		if (!StringUtils.hasLength(mediaTypes)) {
 			return Collections.emptyList();
 		}
-		String[] tokens = StringUtils.tokenizeToStringArray(mediaTypes, ",");
-		List<MediaType> result = new ArrayList<>(tokens.length);
-		for (String token : tokens) {
-			result.add(parseMediaType(token));
+		List<MediaType> result = new ArrayList<>();
+		CharSequenceTokenizer tokenizer = new CharSequenceTokenizer(mediaTypes, ",");
+		while (tokenizer.next()) {
+			result.add(parseMediaType(tokenizer.getToken()));
 		}
 		return result;
 	}
@@ -573,6 +621,44 @@ public class MediaType extends MimeType implements Serializable {
 		}
 	}
 
+	/**
+	 * Parse the given list of (potentially) comma-separated strings into a
+	 * list of {@code MediaType} objects, sorted by specificity and quality
+	 * as per {@link #sortBySpecificityAndQuality(List)}.
+	 * <p>This method is meant for parsing an Accept header for content negotiation.
+	 * The result for a single header value is cached, since the same few Accept
+	 * headers tend to be sent by clients over and over again.
+	 * <p>Note that the returned list is unmodifiable, possibly shared with other
+	 * callers: create a copy of it before sorting or otherwise modifying it.
+	 * @param mediaTypes the header values to parse
+	 * @return an unmodifiable list of media types, sorted by specificity and quality
+	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
+	 * @since 5.1
+	 */
+	public static List<MediaType> parseAndSortMediaTypes(@Nullable List<String> mediaTypes) {
+		if (CollectionUtils.isEmpty(mediaTypes)) {
+			return Collections.emptyList();
+		}
+		else if (mediaTypes.size() == 1) {
+			String mediaType = mediaTypes.get(0);
+			if (!StringUtils.hasLength(mediaType)) {
+				return Collections.emptyList();
+			}
+			return cachedSortedMediaTypes.get(mediaType);
+		}
+		else {
+			List<MediaType> result = parseMediaTypes(mediaTypes);
+			sortBySpecificityAndQuality(result);
+			return Collections.unmodifiableList(result);
+		}
+	}
+
+	private static List<MediaType> parseAndSortMediaTypesInternal(String mediaTypes) {
+		List<MediaType> result = parseMediaTypes(mediaTypes);
+		sortBySpecificityAndQuality(result);
+		return Collections.unmodifiableList(result);
+	}
+
 	/**
 	 * Re-create the given mime types as media types.
 	 * @since 5.0
@@ -56,6 +56,11 @@ import static java.util.Collections.*;
  * for writing one or more {@link ResourceRegion}'s based on the HTTP ranges
  * specified in the request.
  *
+ * <p>File resources are written through {@link ZeroCopyHttpOutputMessage}
+ * where the response supports it. Note that on Tomcat this is not sendfile,
+ * which Tomcat does not apply to the asynchronous requests of the reactive
+ * Servlet adapter: larger files are written as memory-mapped buffers instead.
+ *
  * <p>For reading to a Resource, use {@link ResourceDecoder} wrapped with
  * {@link DecoderHttpMessageReader}.
  *
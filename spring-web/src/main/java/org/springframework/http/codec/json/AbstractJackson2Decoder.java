@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,6 +55,9 @@ import org.springframework.util.MimeType;
  */
 public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport implements HttpMessageDecoder<Object> {
 
+	private int maxInMemorySize = -1;
+
+
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
 	 */
@@ -63,6 +66,31 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	}
 
 
+	/**
+	 * Set the maximum number of input bytes to buffer for a single decoded value:
+	 * the entire JSON document when decoding to a {@code Mono}, or each element
+	 * of a top-level JSON array when decoding to a {@code Flux}. If the limit
+	 * is exceeded, decoding fails with a
+	 * {@link org.springframework.core.io.buffer.DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. no limit. Note that a top-level
+	 * JSON array decoded to a {@code Flux} only ever buffers one element at
+	 * a time, so the array itself may be of arbitrary size.
+	 * @param byteCount the maximum number of bytes per value, or -1 for no limit
+	 * @since 5.1
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		JavaType javaType = getObjectMapper().getTypeFactory().constructType(elementType.getType());
@@ -90,7 +118,7 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	private Flux<TokenBuffer> tokenize(Publisher<DataBuffer> input, boolean tokenizeArrayElements) {
 		Flux<DataBuffer> inputFlux = Flux.from(input);
 		JsonFactory factory = getObjectMapper().getFactory();
-		return Jackson2Tokenizer.tokenize(inputFlux, factory, tokenizeArrayElements);
+		return Jackson2Tokenizer.tokenize(inputFlux, factory, tokenizeArrayElements, this.maxInMemorySize);
 	}
 
 	private Flux<Object> decodeInternal(Flux<TokenBuffer> tokens, ResolvableType elementType,
@@ -17,8 +17,12 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -31,7 +35,9 @@ import reactor.core.publisher.Flux;
 
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -39,6 +45,12 @@ import org.springframework.util.Assert;
  * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
  * well-formed JSON object.
  *
+ * <p>Data buffers are fed to the non-blocking parser one at a time, as tokens
+ * are requested downstream. Heap-based buffers are fed through their backing
+ * array without copying. When tokenizing the elements of a top-level array,
+ * only the current element is kept in memory, so arrays of arbitrary size can
+ * be decoded into a {@code Flux} with bounded memory.
+ *
  * @author Arjen Poutsma
  * @since 5.0
  */
@@ -48,21 +60,42 @@ class Jackson2Tokenizer {
 
 	private final boolean tokenizeArrayElements;
 
+	private final int maxInMemorySize;
+
 	private TokenBuffer tokenBuffer;
 
 	private int objectDepth;
 
 	private int arrayDepth;
 
+	// Input byte offset at which the current token buffer started
+	private long tokenBufferOffset;
+
+	// Total number of input bytes fed to the parser
+	private long inputByteCount;
+
+	// Correction for the parser's byte offset, which depends on the feed's start index
+	private long offsetAdjustment;
+
 	// TODO: change to ByteBufferFeeder when supported by Jackson
 	private final ByteArrayFeeder inputFeeder;
 
+	// Reusable array for input buffers without accessible backing array
+	@Nullable
+	private byte[] inputCopy;
+
+	// Input buffers received from upstream but not fed to the parser yet
+	private final Queue<DataBuffer> pendingBuffers = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean terminated;
 
-	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements) {
+
+	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements, int maxInMemorySize) {
 		Assert.notNull(parser, "'parser' must not be null");
 
 		this.parser = parser;
 		this.tokenizeArrayElements = tokenizeArrayElements;
+		this.maxInMemorySize = maxInMemorySize;
 		this.tokenBuffer = new TokenBuffer(parser);
 		this.inputFeeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
 	}
@@ -79,38 +112,111 @@ class Jackson2Tokenizer {
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			boolean tokenizeArrayElements) {
 
-		try {
-			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
-			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements);
-			return dataBuffers.flatMap(tokenizer::tokenize, Flux::error, tokenizer::endOfInput);
-		}
-		catch (IOException ex) {
-			return Flux.error(ex);
-		}
+		return tokenize(dataBuffers, jsonFactory, tokenizeArrayElements, -1);
 	}
 
-	private Flux<TokenBuffer> tokenize(DataBuffer dataBuffer) {
-		byte[] bytes = new byte[dataBuffer.readableByteCount()];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} into {@code Flux<TokenBuffer>}.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param tokenizeArrayElements if {@code true} and the "top level" JSON
+	 * object is an array, each element is returned individually, immediately
+	 * after it is received.
+	 * @param maxInMemorySize the maximum number of input bytes for a single
+	 * token buffer, i.e. per array element or per top-level JSON value
+	 * (-1 for no limit)
+	 * @return the result token buffers
+	 * @since 5.1
+	 */
+	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			boolean tokenizeArrayElements, int maxInMemorySize) {
+
+		return Flux.defer(() -> {
+			try {
+				JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+				Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements, maxInMemorySize);
+				return dataBuffers
+						.doOnNext(tokenizer::addPendingBuffer)
+						.concatMapIterable(tokenizer::tokenize, 1)
+						.concatWith(Flux.defer(tokenizer::endOfInput))
+						.doFinally(signalType -> tokenizer.releasePendingBuffers());
+			}
+			catch (IOException ex) {
+				return Flux.error(ex);
+			}
+		});
+	}
 
+	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
+		// Buffers arrive in order: the given one is the head of the pending queue,
+		// unless it has been released already due to a concurrent cancellation
+		if (this.pendingBuffers.poll() != dataBuffer) {
+			return Collections.emptyList();
+		}
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
-			return parseTokenBufferFlux();
+			feedInput(dataBuffer);
+			return parseTokenBuffers();
 		}
 		catch (JsonProcessingException ex) {
-			return Flux.error(new DecodingException(
-					"JSON decoding error: " + ex.getOriginalMessage(), ex));
+			throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
 		}
 		catch (IOException ex) {
-			return Flux.error(ex);
+			throw new DecodingException("I/O error while parsing input stream", ex);
+		}
+		finally {
+			// Only release after parsing: the parser may read from the buffer's backing array
+			DataBufferUtils.release(dataBuffer);
+		}
+	}
+
+	private void feedInput(DataBuffer dataBuffer) throws IOException {
+		int length = dataBuffer.readableByteCount();
+		ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+		if (byteBuffer.hasArray()) {
+			int start = byteBuffer.arrayOffset() + byteBuffer.position();
+			this.inputFeeder.feedInput(byteBuffer.array(), start, start + length);
+		}
+		else {
+			byte[] bytes = this.inputCopy;
+			if (bytes == null || bytes.length < length) {
+				bytes = new byte[length];
+				this.inputCopy = bytes;
+			}
+			byteBuffer.get(bytes, 0, length);
+			this.inputFeeder.feedInput(bytes, 0, length);
+		}
+		if (this.maxInMemorySize >= 0) {
+			// The parser's reported byte offset includes the start index of the fed array
+			// (as of Jackson 2.9), so calibrate it against the actual number of input bytes
+			this.offsetAdjustment = this.inputByteCount - this.parser.getCurrentLocation().getByteOffset();
+			this.inputByteCount += length;
+		}
+	}
+
+	private void addPendingBuffer(DataBuffer dataBuffer) {
+		this.pendingBuffers.offer(dataBuffer);
+		if (this.terminated) {
+			// Arrived after a concurrent cancellation
+			releasePendingBuffers();
+		}
+	}
+
+	/**
+	 * Release input buffers which have been prefetched but not processed,
+	 * after an error or a cancellation.
+	 */
+	private void releasePendingBuffers() {
+		this.terminated = true;
+		DataBuffer dataBuffer;
+		while ((dataBuffer = this.pendingBuffers.poll()) != null) {
+			DataBufferUtils.release(dataBuffer);
 		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
 		this.inputFeeder.endOfInput();
 		try {
-			return parseTokenBufferFlux();
+			return Flux.fromIterable(parseTokenBuffers());
 		}
 		catch (JsonProcessingException ex) {
 			return Flux.error(new DecodingException(
@@ -121,7 +227,7 @@ class Jackson2Tokenizer {
 		}
 	}
 
-	private Flux<TokenBuffer> parseTokenBufferFlux() throws IOException {
+	private List<TokenBuffer> parseTokenBuffers() throws IOException {
 		List<TokenBuffer> result = new ArrayList<>();
 
 		while (true) {
@@ -140,7 +246,9 @@ class Jackson2Tokenizer {
 				processTokenArray(token, result);
 			}
 		}
-		return Flux.fromIterable(result);
+		// Check the size of the token buffer in progress, if any
+		checkInMemorySize();
+		return result;
 	}
 
 	private void updateDepth(JsonToken token) {
@@ -165,8 +273,7 @@ class Jackson2Tokenizer {
 
 		if ((token.isStructEnd() || token.isScalarValue()) &&
 				this.objectDepth == 0 && this.arrayDepth == 0) {
-			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			completeTokenBuffer(result);
 		}
 
 	}
@@ -179,8 +286,7 @@ class Jackson2Tokenizer {
 		if (this.objectDepth == 0 &&
 				(this.arrayDepth == 0 || this.arrayDepth == 1) &&
 				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
-			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			completeTokenBuffer(result);
 		}
 	}
 
@@ -189,4 +295,24 @@ class Jackson2Tokenizer {
 				(token == JsonToken.END_ARRAY && this.arrayDepth == 0));
 	}
 
+	private void completeTokenBuffer(List<TokenBuffer> result) {
+		checkInMemorySize();
+		result.add(this.tokenBuffer);
+		this.tokenBuffer = new TokenBuffer(this.parser);
+		if (this.maxInMemorySize >= 0) {
+			this.tokenBufferOffset = currentOffset();
+		}
+	}
+
+	private void checkInMemorySize() {
+		if (this.maxInMemorySize >= 0 && currentOffset() - this.tokenBufferOffset > this.maxInMemorySize) {
+			throw new DataBufferLimitException(
+					"Exceeded limit on max bytes per JSON value to buffer: " + this.maxInMemorySize);
+		}
+	}
+
+	private long currentOffset() {
+		return this.parser.getCurrentLocation().getByteOffset() + this.offsetAdjustment;
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.http.converter;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,6 +28,8 @@ import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.http.server.ServletZeroCopyUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StreamUtils;
 
@@ -37,6 +40,9 @@ import org.springframework.util.StreamUtils;
  * <p>By default, this converter can read all media types. The {@link MediaTypeFactory} is used
  * to determine the {@code Content-Type} of written resources.
  *
+ * <p>As of 5.1, file-based resources written to a {@link ServletServerHttpResponse}
+ * are transferred through zero-copy support of the Servlet container where available.
+ *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
  * @author Kazuki Shimizu
@@ -126,6 +132,11 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 
 	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
+
+		if (outputMessage instanceof ServletServerHttpResponse &&
+				transferFile(resource, (ServletServerHttpResponse) outputMessage)) {
+			return;
+		}
 		try {
 			InputStream in = resource.getInputStream();
 			try {
@@ -148,4 +159,17 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 		}
 	}
 
+	private boolean transferFile(Resource resource, ServletServerHttpResponse outputMessage) throws IOException {
+		if (!resource.isFile()) {
+			return false;
+		}
+		File file = resource.getFile();
+		if (!file.isFile()) {
+			return false;
+		}
+		// Write the headers to the Servlet response before handing over to the container
+		outputMessage.getBody();
+		return ServletZeroCopyUtils.transferFile(file, 0, file.length(), null, outputMessage.getServletResponse());
+	}
+
 }
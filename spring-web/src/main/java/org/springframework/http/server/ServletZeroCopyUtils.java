@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import org.eclipse.jetty.server.HttpOutput;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Utility methods for transferring file content to a Servlet response through
+ * zero-copy support of the Servlet container, sending the content from the
+ * file system cache to the socket without copying it through the heap.
+ *
+ * <p>Supported are Tomcat's sendfile support (driven by request attributes),
+ * Jetty's {@code HttpOutput.sendContent} with a memory-mapped buffer for
+ * regions of at least 48 KB, and Undertow's
+ * {@code ServletOutputStreamImpl.transferFrom}. On any other
+ * container, or for a wrapped response which may need to process the
+ * response body itself, the caller is expected to write the content.
+ *
+ * @since 5.1
+ * @see org.springframework.http.ZeroCopyHttpOutputMessage
+ */
+public abstract class ServletZeroCopyUtils {
+
+	private static final String TOMCAT_RESPONSE_FACADE = "org.apache.catalina.connector.ResponseFacade";
+
+	private static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+	private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+	private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+	private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+	/**
+	 * Minimum size of a file region to be sent as a memory-mapped buffer on
+	 * Jetty, analogous to the default of Tomcat's {@code sendfileSize} (48 KB).
+	 */
+	private static final long MIN_MAPPED_FILE_SIZE = 48 * 1024;
+
+	private static final boolean jettyPresent = ClassUtils.isPresent(
+			"org.eclipse.jetty.server.HttpOutput", ServletZeroCopyUtils.class.getClassLoader());
+
+	private static final boolean undertowPresent = ClassUtils.isPresent(
+			"io.undertow.servlet.spec.ServletOutputStreamImpl", ServletZeroCopyUtils.class.getClassLoader());
+
+
+	/**
+	 * Transfer the given region of a file to the response body through
+	 * zero-copy support of the Servlet container, if available.
+	 * <p>The response headers, including the content length, are expected to
+	 * have been set already, with nothing written to the response body yet.
+	 * Note that the response's {@link ServletOutputStream} will be obtained
+	 * on containers other than Tomcat.
+	 * @param file the file to transfer
+	 * @param position the position within the file from which the transfer is to begin
+	 * @param count the number of bytes to be transferred
+	 * @param request the current request, required for Tomcat's sendfile support
+	 * (may be {@code null} if not available)
+	 * @param response the current response
+	 * @return {@code true} if the file content has been transferred or is going
+	 * to be transferred by the container, {@code false} if the caller needs to
+	 * write the file content to the response body itself
+	 * @throws IOException in case of I/O errors
+	 */
+	public static boolean transferFile(File file, long position, long count,
+			@Nullable HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+		if (request != null && isTomcatSendfileSupported(request, response)) {
+			// Tomcat sends the file itself once the request has been processed
+			request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getCanonicalPath());
+			request.setAttribute(SENDFILE_START_ATTRIBUTE, position);
+			request.setAttribute(SENDFILE_END_ATTRIBUTE, position + count);
+			response.setContentLengthLong(count);
+			return true;
+		}
+		if (jettyPresent || undertowPresent) {
+			ServletOutputStream outputStream = response.getOutputStream();
+			if (jettyPresent && JettyDelegate.transferFile(file, position, count, outputStream)) {
+				return true;
+			}
+			if (undertowPresent && UndertowDelegate.transferFile(file, position, count, outputStream)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isTomcatSendfileSupported(HttpServletRequest request, HttpServletResponse response) {
+		// Tomcat does not apply sendfile to asynchronously processed requests
+		return (TOMCAT_RESPONSE_FACADE.equals(response.getClass().getName()) && !response.isCommitted() &&
+				!request.isAsyncStarted() && request.getDispatcherType() != DispatcherType.ASYNC &&
+				Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE)));
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on Jetty.
+	 */
+	private static class JettyDelegate {
+
+		public static boolean transferFile(File file, long position, long count, ServletOutputStream output)
+				throws IOException {
+
+			// A mapping is only released on garbage collection, keeping the file open
+			// until then: not worth it for small regions, which the caller writes instead
+			if (!(output instanceof HttpOutput) || count < MIN_MAPPED_FILE_SIZE || count > Integer.MAX_VALUE) {
+				return false;
+			}
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				((HttpOutput) output).sendContent(channel.map(FileChannel.MapMode.READ_ONLY, position, count));
+			}
+			return true;
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on Undertow.
+	 */
+	private static class UndertowDelegate {
+
+		public static boolean transferFile(File file, long position, long count, ServletOutputStream output)
+				throws IOException {
+
+			if (!(output instanceof ServletOutputStreamImpl)) {
+				return false;
+			}
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				// Undertow transfers from the current position up to the end of the file
+				if (position + count != channel.size()) {
+					return false;
+				}
+				channel.position(position);
+				((ServletOutputStreamImpl) output).transferFrom(channel);
+			}
+			return true;
+		}
+	}
+
+}
@@ -39,7 +39,7 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import org.springframework.core.io.buffer.DataBufferFactory;
-import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -70,7 +70,7 @@ public class ServletHttpHandlerAdapter implements Servlet {
 	@Nullable
 	private String servletPath;
 
-	private DataBufferFactory dataBufferFactory = new DefaultDataBufferFactory(false);
+	private DataBufferFactory dataBufferFactory = new PooledDataBufferFactory(false);
 
 
 	public ServletHttpHandlerAdapter(HttpHandler httpHandler) {
@@ -107,6 +107,11 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.servletPath;
 	}
 
+	/**
+	 * Set the {@link DataBufferFactory} to use for reading the request body
+	 * and for writing the response.
+	 * <p>By default this is a {@link PooledDataBufferFactory} for heap buffers.
+	 */
 	public void setDataBufferFactory(DataBufferFactory dataBufferFactory) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
 		this.dataBufferFactory = dataBufferFactory;
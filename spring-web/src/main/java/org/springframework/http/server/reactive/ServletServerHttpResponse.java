@@ -16,9 +16,13 @@
 
 package org.springframework.http.server.reactive;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import javax.servlet.AsyncContext;
 import javax.servlet.AsyncEvent;
 import javax.servlet.AsyncListener;
@@ -29,7 +33,10 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
@@ -46,6 +53,13 @@ import org.springframework.util.Assert;
  */
 class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 
+	/**
+	 * Minimum size of a file region to be written as a memory-mapped buffer,
+	 * analogous to the default of Tomcat's {@code sendfileSize} (48 KB).
+	 */
+	private static final long MIN_MAPPED_FILE_SIZE = 48 * 1024;
+
+
 	private final HttpServletResponse response;
 
 	private final ServletOutputStream outputStream;
@@ -140,6 +154,37 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 		return processor;
 	}
 
+	/**
+	 * Write the given region of a file as a memory-mapped buffer, for
+	 * subclasses which write {@link java.nio.ByteBuffer ByteBuffers} to the
+	 * container directly, avoiding a copy of the file content on the heap.
+	 * <p>A mapping is only released once the buffer has been garbage collected,
+	 * keeping the file open (and locked on Windows) until then. Regions below
+	 * 48 KB, for which a mapping does not pay off, as well as regions too large
+	 * for a single mapping are therefore read into regular buffers instead.
+	 * @param file the file to transfer
+	 * @param position the position within the file from which the transfer is to begin
+	 * @param count the number of bytes to be transferred
+	 * @return a publisher that indicates completion or error
+	 * @since 5.1
+	 */
+	protected Mono<Void> writeFileRegion(File file, long position, long count) {
+		if (count < MIN_MAPPED_FILE_SIZE || count > Integer.MAX_VALUE) {
+			Flux<DataBuffer> body = DataBufferUtils.read(
+					new FileSystemResource(file), position, bufferFactory(), this.bufferSize);
+			return writeWith(DataBufferUtils.takeUntilByteCount(body, count));
+		}
+		return Mono.defer(() -> {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, position, count);
+				return writeWith(Mono.just(bufferFactory().wrap(mappedBuffer)));
+			}
+			catch (IOException ex) {
+				return Mono.error(ex);
+			}
+		});
+	}
+
 	/**
 	 * Write the DataBuffer to the response body OutputStream.
 	 * Invoked only when {@link ServletOutputStream#isReady()} returns "true"
@@ -16,6 +16,7 @@
 
 package org.springframework.http.server.reactive;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import javax.servlet.AsyncContext;
@@ -26,16 +27,23 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.catalina.connector.CoyoteInputStream;
 import org.apache.catalina.connector.CoyoteOutputStream;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.Assert;
 
 /**
  * {@link ServletHttpHandlerAdapter} extension that uses Tomcat APIs for reading
  * from the request and writing to the response with {@link ByteBuffer}.
  *
+ * <p>The response is a {@link ZeroCopyHttpOutputMessage}, writing files of at
+ * least 48 KB as memory-mapped buffers through Tomcat's non-blocking
+ * {@link ByteBuffer} output. Note that this is not Tomcat's sendfile support,
+ * which does not apply to asynchronous requests.
+ *
  * @author Violeta Georgieva
  * @since 5.0
  * @see org.springframework.web.server.adapter.AbstractReactiveWebInitializer
@@ -108,7 +116,8 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 	}
 
 
-	private static final class TomcatServerHttpResponse extends ServletServerHttpResponse {
+	private static final class TomcatServerHttpResponse extends ServletServerHttpResponse
+			implements ZeroCopyHttpOutputMessage {
 
 		public TomcatServerHttpResponse(HttpServletResponse response, AsyncContext context,
 				DataBufferFactory factory, int bufferSize) throws IOException {
@@ -116,6 +125,11 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 			super(response, context, factory, bufferSize);
 		}
 
+		@Override
+		public Mono<Void> writeWith(File file, long position, long count) {
+			return writeFileRegion(file, position, count);
+		}
+
 		@Override
 		protected int writeToOutputStream(DataBuffer dataBuffer) throws IOException {
 			ByteBuffer input = dataBuffer.asByteBuffer();
@@ -111,6 +111,10 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 				Mono.defer(() -> {
 					try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
 						StreamSinkChannel destination = this.exchange.getResponseChannel();
+						// Write the headers first: with headers pending, Undertow copies
+						// from the current channel position, ignoring position and count
+						destination.write(ByteBuffer.allocate(0));
+						Channels.flushBlocking(destination);
 						Channels.transferBlocking(destination, source, position, count);
 						return Mono.empty();
 					}
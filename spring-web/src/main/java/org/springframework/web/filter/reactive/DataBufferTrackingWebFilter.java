@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter.reactive;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.TrackingDataBufferFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Reactive {@link WebFilter} that keeps track of the data buffers allocated
+ * through the {@linkplain ServerHttpResponse#bufferFactory() buffer factory}
+ * of each response, i.e. by encoders and handlers, in order to find buffers
+ * which are never released.
+ *
+ * <p>Each exchange gets its own child of the given {@link TrackingDataBufferFactory},
+ * which in turn exposes the aggregate counts for all exchanges. Buffers which
+ * are still live when an exchange completes are logged as a warning, along with
+ * the allocation site of the first such buffer.
+ *
+ * <p>With mock responses, e.g. in a {@code WebTestClient} test, the response
+ * body is only consumed after the exchange has completed. In such a case,
+ * switch off {@link #setCheckOnCompletion checkOnCompletion} and check the
+ * buffer factory once the response has been consumed instead:
+ *
+ * <pre class="code">
+ * DataBufferTrackingWebFilter filter = new DataBufferTrackingWebFilter();
+ * filter.setCheckOnCompletion(false);
+ * WebTestClient client = WebTestClient.bindToController(new MyController()).webFilter(filter).build();
+ * client.get().uri("/").exchange().expectBody(String.class).isEqualTo("...");
+ * filter.getBufferFactory().checkForLeaks();
+ * </pre>
+ *
+ * @since 5.1
+ * @see TrackingDataBufferFactory#createChild
+ */
+public class DataBufferTrackingWebFilter implements WebFilter {
+
+	private static final Log logger = LogFactory.getLog(DataBufferTrackingWebFilter.class);
+
+
+	private final TrackingDataBufferFactory bufferFactory;
+
+	private boolean checkOnCompletion = true;
+
+	private final LongAdder unreleasedOnCompletionCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code DataBufferTrackingWebFilter} with a default
+	 * {@link TrackingDataBufferFactory}.
+	 */
+	public DataBufferTrackingWebFilter() {
+		this(new TrackingDataBufferFactory(new DefaultDataBufferFactory()));
+	}
+
+	/**
+	 * Create a new {@code DataBufferTrackingWebFilter} for the given
+	 * {@link TrackingDataBufferFactory}, which aggregates the buffers of all
+	 * exchanges and determines the settings for each exchange.
+	 */
+	public DataBufferTrackingWebFilter(TrackingDataBufferFactory bufferFactory) {
+		Assert.notNull(bufferFactory, "TrackingDataBufferFactory must not be null");
+		this.bufferFactory = bufferFactory;
+	}
+
+
+	/**
+	 * Return the {@link TrackingDataBufferFactory} which aggregates the
+	 * buffers of all exchanges.
+	 */
+	public TrackingDataBufferFactory getBufferFactory() {
+		return this.bufferFactory;
+	}
+
+	/**
+	 * Specify whether to check for buffers which have not been released
+	 * when an exchange completes.
+	 * <p>Default is "true". Switch this off for mock responses which are
+	 * consumed after the completion of the exchange.
+	 */
+	public void setCheckOnCompletion(boolean checkOnCompletion) {
+		this.checkOnCompletion = checkOnCompletion;
+	}
+
+	/**
+	 * Return the number of buffers which had not been released when their
+	 * exchange completed.
+	 * @see #setCheckOnCompletion
+	 */
+	public long getUnreleasedOnCompletionCount() {
+		return this.unreleasedOnCompletionCount.sum();
+	}
+
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		ServerHttpResponse response = exchange.getResponse();
+		TrackingDataBufferFactory exchangeBufferFactory = this.bufferFactory.createChild(response.bufferFactory());
+		ServerHttpResponse trackingResponse = new ServerHttpResponseDecorator(response) {
+			@Override
+			public DataBufferFactory bufferFactory() {
+				return exchangeBufferFactory;
+			}
+		};
+		return chain.filter(exchange.mutate().response(trackingResponse).build())
+				.doFinally(signalType -> {
+					// Buffers may still be in flight for a cancelled exchange
+					if (this.checkOnCompletion && signalType != SignalType.CANCEL) {
+						checkForUnreleasedBuffers(exchange.getRequest(), exchangeBufferFactory);
+					}
+				});
+	}
+
+	private void checkForUnreleasedBuffers(ServerHttpRequest request, TrackingDataBufferFactory bufferFactory) {
+		Collection<TrackingDataBufferFactory.Allocation> allocations = bufferFactory.getLiveAllocations();
+		if (!allocations.isEmpty()) {
+			this.unreleasedOnCompletionCount.add(allocations.size());
+			if (logger.isWarnEnabled()) {
+				logger.warn(allocations.size() + " data buffer(s) not released on completion of " +
+						request.getMethod() + " \"" + request.getPath() + "\": " + allocations,
+						allocations.iterator().next().getAllocationSite());
+			}
+		}
+	}
+
+}
@@ -292,17 +292,16 @@ public class UrlPathHelper {
 	 * </ul>
 	 */
 	private String getSanitizedPath(final String path) {
-		String sanitized = path;
-		while (true) {
-			int index = sanitized.indexOf("//");
-			if (index < 0) {
-				break;
-			}
-			else {
-				sanitized = sanitized.substring(0, index) + sanitized.substring(index + 1);
-			}
+		int index = path.indexOf("//");
+		if (index == -1) {
+			return path;
+		}
+		StringBuilder sanitized = new StringBuilder(path);
+		while (index != -1) {
+			sanitized.deleteCharAt(index);
+			index = sanitized.indexOf("//", index);
 		}
-		return sanitized;
+		return sanitized.toString();
 	}
 
 	/**
@@ -504,21 +503,33 @@ public class UrlPathHelper {
 
 	private String removeSemicolonContentInternal(String requestUri) {
 		int semicolonIndex = requestUri.indexOf(';');
+		if (semicolonIndex == -1) {
+			return requestUri;
+		}
+		StringBuilder sb = new StringBuilder(requestUri);
 		while (semicolonIndex != -1) {
-			int slashIndex = requestUri.indexOf('/', semicolonIndex);
-			String start = requestUri.substring(0, semicolonIndex);
-			requestUri = (slashIndex != -1) ? start + requestUri.substring(slashIndex) : start;
-			semicolonIndex = requestUri.indexOf(';', semicolonIndex);
+			int slashIndex = sb.indexOf("/", semicolonIndex);
+			if (slashIndex != -1) {
+				sb.delete(semicolonIndex, slashIndex);
+			}
+			else {
+				sb.setLength(semicolonIndex);
+			}
+			semicolonIndex = sb.indexOf(";", semicolonIndex);
 		}
-		return requestUri;
+		return sb.toString();
 	}
 
 	private String removeJsessionid(String requestUri) {
-		int startIndex = requestUri.toLowerCase().indexOf(";jsessionid=");
-		if (startIndex != -1) {
-			int endIndex = requestUri.indexOf(';', startIndex + 12);
-			String start = requestUri.substring(0, startIndex);
-			requestUri = (endIndex != -1) ? start + requestUri.substring(endIndex) : start;
+		String key = ";jsessionid=";
+		int startIndex = requestUri.indexOf(';');
+		while (startIndex != -1) {
+			if (requestUri.regionMatches(true, startIndex, key, 0, key.length())) {
+				int endIndex = requestUri.indexOf(';', startIndex + key.length());
+				String start = requestUri.substring(0, startIndex);
+				return (endIndex != -1 ? start + requestUri.substring(endIndex) : start);
+			}
+			startIndex = requestUri.indexOf(';', startIndex + 1);
 		}
 		return requestUri;
 	}
@@ -17,6 +17,7 @@
 package org.springframework.http;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -26,6 +27,7 @@ import org.junit.Test;
 
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.MimeTypeUtils;
 
 import static org.junit.Assert.*;
 
@@ -143,6 +145,53 @@ public class MediaTypeTests {
 		assertEquals("Invalid amount of media types", 0, mediaTypes.size());
 	}
 
+	@Test
+	public void parseMediaTypeShared() {
+		assertSame(MediaType.APPLICATION_JSON, MediaType.parseMediaType("application/json"));
+		assertSame(MediaType.APPLICATION_JSON_UTF8, MediaType.parseMediaType("application/json;charset=UTF-8"));
+
+		MediaType mediaType = MediaType.parseMediaType("text/x-cached;q=0.5");
+		assertSame(mediaType, MediaType.parseMediaType("text/x-cached;q=0.5"));
+		assertEquals(0.5, mediaType.getQualityValue(), 0D);
+
+		String multipart = "multipart/mixed;boundary=" + new String(MimeTypeUtils.generateMultipartBoundary());
+		mediaType = MediaType.parseMediaType(multipart);
+		assertEquals(mediaType, MediaType.parseMediaType(multipart));
+		assertNotSame(mediaType, MediaType.parseMediaType(multipart));
+	}
+
+	@Test
+	public void parseAndSortMediaTypes() {
+		String s = "*/*;q=0.1, text/*, text/html;q=0.5, text/plain";
+		List<MediaType> mediaTypes = MediaType.parseAndSortMediaTypes(Collections.singletonList(s));
+		assertEquals(Arrays.asList(MediaType.TEXT_PLAIN, MediaType.parseMediaType("text/html;q=0.5"),
+				MediaType.parseMediaType("text/*"), MediaType.parseMediaType("*/*;q=0.1")), mediaTypes);
+		assertSame(mediaTypes, MediaType.parseAndSortMediaTypes(Collections.singletonList(s)));
+
+		List<MediaType> expected = new ArrayList<>(mediaTypes);
+		mediaTypes = MediaType.parseAndSortMediaTypes(Arrays.asList("text/html;q=0.5, */*;q=0.1", "text/*, text/plain"));
+		assertEquals(expected, mediaTypes);
+
+		assertEquals(0, MediaType.parseAndSortMediaTypes(null).size());
+		assertEquals(0, MediaType.parseAndSortMediaTypes(Collections.singletonList("")).size());
+	}
+
+	@Test
+	public void parseManyDistinctMediaTypes() {
+		MediaType mediaType = MediaType.parseMediaType("text/x-recent");
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(String.valueOf(i), MediaType.parseMediaType("text/x-distinct;v=" + i).getParameter("v"));
+			assertSame(mediaType, MediaType.parseMediaType("text/x-recent"));
+		}
+		assertEquals(MediaType.TEXT_HTML, MediaType.parseAndSortMediaTypes(
+				Collections.singletonList("text/html, text/x-distinct;v=1;q=0.5")).get(0));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void parseAndSortMediaTypesNotModifiable() {
+		MediaType.parseAndSortMediaTypes(Collections.singletonList("text/html, text/plain")).clear();
+	}
+
 	@Test
 	public void compareTo() {
 		MediaType audioBasic = new MediaType("audio", "basic");
@@ -18,6 +18,7 @@ package org.springframework.http.codec.json;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -29,15 +30,18 @@ import org.json.JSONException;
 import org.junit.Before;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 
 import static java.util.Arrays.*;
 import static java.util.Collections.*;
+import static org.junit.Assert.*;
 
 /**
  * @author Arjen Poutsma
@@ -186,6 +190,93 @@ public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase
 	}
 
 
+	@Test
+	public void tokenizeArrayElementsWithMaxInMemorySize() {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < 1000; i++) {
+			builder.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"n").append(i).append("\"}");
+		}
+		builder.append("]");
+		String json = builder.toString();
+		List<String> chunks = new ArrayList<>();
+		for (int i = 0; i < json.length(); i += 100) {
+			chunks.add(json.substring(i, Math.min(i + 100, json.length())));
+		}
+
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
+				Flux.fromIterable(chunks).map(this::stringBuffer), this.jsonFactory, true, 64);
+
+		StepVerifier.create(tokens)
+				.expectNextCount(1000)
+				.verifyComplete();
+	}
+
+	@Test
+	public void tokenizeArrayElementsExceedingMaxInMemorySize() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("[{\"id\":1},{\"id\":2,\"name\":\"abc"),
+				stringBuffer("defghijklmnopqrstuvwxyz\"},{\"id\":3}]"));
+
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 20);
+
+		StepVerifier.create(tokens)
+				.expectNextCount(1)
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
+	@Test
+	public void doNotTokenizeArrayElementsExceedingMaxInMemorySize() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"id\":1},"), stringBuffer("{\"id\":2}]"));
+
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, false, 15);
+
+		StepVerifier.create(tokens)
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
+	@Test
+	public void bufferReleasedOnConcurrentCancel() {
+		DataBuffer first = stringBuffer("[1,2,");
+		DataBuffer second = stringBuffer("3]");
+		BaseSubscriber<TokenBuffer> subscriber = new BaseSubscriber<TokenBuffer>() {};
+		// Cancel while the second buffer is on its way to the tokenizer
+		Flux<DataBuffer> source = Flux.just(first, second).hide()
+				.doOnNext(dataBuffer -> {
+					if (dataBuffer == second) {
+						subscriber.dispose();
+					}
+				});
+
+		Jackson2Tokenizer.tokenize(source, this.jsonFactory, true).subscribe(subscriber);
+		assertTrue(subscriber.isDisposed());
+	}
+
+	@Test
+	public void prefetchedBufferReleasedOnError() {
+		// Not fuseable, so that the next buffer gets prefetched without demand
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[1,2,"), stringBuffer("3]")).hide()
+				.concatWith(Flux.error(new IllegalStateException()));
+
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true);
+
+		StepVerifier.create(tokens, 2)
+				.expectNextCount(2)
+				.expectError(IllegalStateException.class)
+				.verify();
+	}
+
+	@Test
+	public void tokenizeWithResubscription() {
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
+				Flux.defer(() -> Flux.just(stringBuffer("[1,"), stringBuffer("2]"))), this.jsonFactory, true);
+
+		StepVerifier.create(tokens).expectNextCount(2).verifyComplete();
+		StepVerifier.create(tokens).expectNextCount(2).verifyComplete();
+	}
+
+
 	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
 
 		Flux<TokenBuffer> tokenBufferFlux = Jackson2Tokenizer.tokenize(
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.undertow.Undertow;
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.api.DeploymentManager;
+import io.undertow.servlet.util.ImmediateInstanceFactory;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.mock.web.test.MockHttpServletResponse;
+import org.springframework.util.SocketUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ServletZeroCopyUtils}, serving a file on embedded Servlet containers.
+ */
+@RunWith(Parameterized.class)
+public class ServletZeroCopyUtilsTests {
+
+	@Parameter
+	public String container;
+
+	private byte[] content;
+
+	private FileServlet servlet;
+
+	private int port;
+
+	private Runnable stopCallback;
+
+
+	@Parameters(name = "{0}")
+	public static Object[] containers() {
+		return new Object[] {"tomcat", "jetty", "undertow"};
+	}
+
+
+	@Before
+	public void startServer() throws Exception {
+		// Large enough for Jetty's memory-mapped transfer
+		this.content = new byte[64 * 1024];
+		new Random().nextBytes(this.content);
+		File file = Files.createTempFile("ServletZeroCopyUtilsTests", null).toFile();
+		file.deleteOnExit();
+		Files.write(file.toPath(), this.content);
+		this.servlet = new FileServlet(file);
+
+		this.port = SocketUtils.findAvailableTcpPort();
+		if (this.container.equals("tomcat")) {
+			Tomcat tomcat = new Tomcat();
+			tomcat.setBaseDir(new File(System.getProperty("java.io.tmpdir")).getAbsolutePath());
+			tomcat.setPort(this.port);
+			Context context = tomcat.addContext("", System.getProperty("java.io.tmpdir"));
+			Tomcat.addServlet(context, "fileServlet", this.servlet);
+			context.addServletMappingDecoded("/", "fileServlet");
+			tomcat.start();
+			this.stopCallback = () -> {
+				try {
+					tomcat.stop();
+					tomcat.destroy();
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			};
+		}
+		else if (this.container.equals("jetty")) {
+			Server jetty = new Server(this.port);
+			ServletContextHandler handler = new ServletContextHandler(jetty, "", false, false);
+			handler.addServlet(new ServletHolder(this.servlet), "/");
+			jetty.start();
+			this.stopCallback = () -> {
+				try {
+					jetty.stop();
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			};
+		}
+		else {
+			DeploymentInfo deploymentInfo = Servlets.deployment()
+					.setClassLoader(getClass().getClassLoader())
+					.setContextPath("").setDeploymentName("fileServlet")
+					.addServlet(Servlets.servlet("fileServlet", FileServlet.class,
+							new ImmediateInstanceFactory<>(this.servlet)).addMapping("/"));
+			DeploymentManager manager = Servlets.defaultContainer().addDeployment(deploymentInfo);
+			manager.deploy();
+			Undertow undertow = Undertow.builder()
+					.addHttpListener(this.port, "localhost").setHandler(manager.start()).build();
+			undertow.start();
+			this.stopCallback = undertow::stop;
+		}
+	}
+
+	@After
+	public void stopServer() {
+		this.stopCallback.run();
+	}
+
+
+	@Test
+	public void transferFile() throws Exception {
+		ResponseEntity<byte[]> response = get("/");
+		assertEquals(MediaType.APPLICATION_OCTET_STREAM, response.getHeaders().getContentType());
+		assertEquals(this.content.length, response.getHeaders().getContentLength());
+		assertArrayEquals(this.content, response.getBody());
+		assertTrue(this.servlet.isTransferred());
+	}
+
+	@Test
+	public void transferFileRegion() throws Exception {
+		ResponseEntity<byte[]> response = get("/?position=100&count=60000");
+		assertEquals(60000, response.getHeaders().getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(this.content, 100, 60100), response.getBody());
+		// Undertow only transfers regions up to the end of the file
+		assertEquals(!this.container.equals("undertow"), this.servlet.isTransferred());
+	}
+
+	@Test
+	public void transferSmallFileRegion() throws Exception {
+		ResponseEntity<byte[]> response = get("/?position=100&count=200");
+		assertEquals(200, response.getHeaders().getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(this.content, 100, 300), response.getBody());
+		// Jetty only transfers regions large enough to be worth a memory mapping
+		assertEquals(this.container.equals("tomcat"), this.servlet.isTransferred());
+	}
+
+	@Test
+	public void transferFileRegionUpToEnd() throws Exception {
+		int count = this.content.length - 100;
+		ResponseEntity<byte[]> response = get("/?position=100&count=" + count);
+		assertEquals(count, response.getHeaders().getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(this.content, 100, this.content.length), response.getBody());
+		assertTrue(this.servlet.isTransferred());
+	}
+
+	@Test
+	public void notTransferredWithoutContainerSupport() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertFalse(ServletZeroCopyUtils.transferFile(this.servlet.file, 0, 100, request, response));
+		assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(0, response.getContentLength());
+	}
+
+
+	private ResponseEntity<byte[]> get(String path) throws Exception {
+		URI url = new URI("http://localhost:" + this.port + path);
+		return new RestTemplate().exchange(RequestEntity.get(url).build(), byte[].class);
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class FileServlet extends HttpServlet {
+
+		private final File file;
+
+		// The container may complete the response before the servlet returns
+		private final BlockingQueue<Boolean> transferred = new LinkedBlockingQueue<>();
+
+		public FileServlet(File file) {
+			this.file = file;
+		}
+
+		@Override
+		protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			String position = request.getParameter("position");
+			String count = request.getParameter("count");
+			long start = (position != null ? Long.parseLong(position) : 0);
+			long length = (count != null ? Long.parseLong(count) : this.file.length());
+			response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+			response.setContentLengthLong(length);
+			boolean transferred = ServletZeroCopyUtils.transferFile(this.file, start, length, request, response);
+			this.transferred.add(transferred);
+			if (!transferred) {
+				try (InputStream in = new FileInputStream(this.file)) {
+					StreamUtils.copyRange(in, response.getOutputStream(), start, start + length - 1);
+				}
+			}
+		}
+
+		public boolean isTransferred() throws InterruptedException {
+			Boolean transferred = this.transferred.poll(5, TimeUnit.SECONDS);
+			assertNotNull("No response written", transferred);
+			return transferred;
+		}
+	}
+
+}
@@ -18,6 +18,9 @@ package org.springframework.http.server.reactive;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Test;
 import reactor.core.publisher.Mono;
@@ -28,13 +31,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
-import org.springframework.http.server.reactive.bootstrap.ReactorHttpServer;
-import org.springframework.http.server.reactive.bootstrap.UndertowHttpServer;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assume.assumeTrue;
 
 /**
  * @author Arjen Poutsma
@@ -51,9 +53,6 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 	@Test
 	public void zeroCopy() throws Exception {
 
-		// Zero-copy only does not support servlet
-		assumeTrue(server instanceof ReactorHttpServer || server instanceof UndertowHttpServer);
-
 		URI url = new URI("http://localhost:" + port);
 		RequestEntity<?> request = RequestEntity.get(url).build();
 		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
@@ -64,11 +63,44 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 		assertEquals(logo.contentLength(), response.getHeaders().getContentLength());
 		assertEquals(logo.contentLength(), response.getBody().length);
 		assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+		assertArrayEquals(StreamUtils.copyToByteArray(logo.getInputStream()), response.getBody());
+	}
+
+	@Test
+	public void zeroCopyRegion() throws Exception {
+		URI url = new URI("http://localhost:" + port + "/region");
+		RequestEntity<?> request = RequestEntity.get(url).build();
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+		Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
+		byte[] expected = Arrays.copyOfRange(StreamUtils.copyToByteArray(logo.getInputStream()), 100, 200);
 
+		assertEquals(100, response.getHeaders().getContentLength());
+		assertArrayEquals(expected, response.getBody());
+	}
+
+	@Test
+	public void zeroCopyLargeRegion() throws Exception {
+		// Large enough to be written as a memory-mapped buffer on Tomcat and Jetty
+		byte[] content = new byte[64 * 1024];
+		new Random().nextBytes(content);
+		File file = Files.createTempFile("ZeroCopyIntegrationTests", null).toFile();
+		file.deleteOnExit();
+		Files.write(file.toPath(), content);
+		this.handler.largeFile = file;
+
+		URI url = new URI("http://localhost:" + port + "/large");
+		RequestEntity<?> request = RequestEntity.get(url).build();
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+		assertEquals(60000, response.getHeaders().getContentLength());
+		assertArrayEquals(Arrays.copyOfRange(content, 100, 60100), response.getBody());
 	}
 
 	private static class ZeroCopyHandler implements HttpHandler {
 
+		private volatile File largeFile;
+
 		@Override
 		public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
 			try {
@@ -76,6 +108,14 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 				Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
 				File logoFile = logo.getFile();
 				zeroCopyResponse.getHeaders().setContentType(MediaType.IMAGE_PNG);
+				if (request.getURI().getPath().equals("/large")) {
+					zeroCopyResponse.getHeaders().setContentLength(60000);
+					return zeroCopyResponse.writeWith(this.largeFile, 100, 60000);
+				}
+				if (request.getURI().getPath().equals("/region")) {
+					zeroCopyResponse.getHeaders().setContentLength(100);
+					return zeroCopyResponse.writeWith(logoFile, 100, 100);
+				}
 				zeroCopyResponse.getHeaders().setContentLength(logoFile.length());
 				return zeroCopyResponse.writeWith(logoFile, 0, logoFile.length());
 			}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.filter.reactive;
+
+import java.time.Duration;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.TrackingDataBufferFactory;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
+import org.springframework.mock.web.test.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DataBufferTrackingWebFilter}.
+ */
+public class DataBufferTrackingWebFilterTests {
+
+	private final DataBufferTrackingWebFilter filter = new DataBufferTrackingWebFilter();
+
+
+	@Test
+	public void releasedBuffer() {
+		filter(exchange -> {
+			DataBuffer buffer = exchange.getResponse().bufferFactory().allocateBuffer(16);
+			DataBufferUtils.release(buffer);
+			return Mono.empty();
+		});
+		TrackingDataBufferFactory bufferFactory = this.filter.getBufferFactory();
+		assertEquals(1, bufferFactory.getAllocatedCount());
+		assertEquals(1, bufferFactory.getReleasedCount());
+		assertEquals(0, this.filter.getUnreleasedOnCompletionCount());
+		bufferFactory.checkForLeaks();
+	}
+
+	@Test
+	public void unreleasedBuffer() {
+		DataBuffer[] holder = new DataBuffer[1];
+		filter(exchange -> {
+			holder[0] = exchange.getResponse().bufferFactory().allocateBuffer(16);
+			return Mono.empty();
+		});
+		assertEquals(1, this.filter.getUnreleasedOnCompletionCount());
+		assertEquals(1, this.filter.getBufferFactory().getLiveCount());
+
+		DataBufferUtils.release(holder[0]);
+		assertEquals(0, this.filter.getBufferFactory().getLiveCount());
+		this.filter.getBufferFactory().checkForLeaks();
+	}
+
+	@Test
+	public void unreleasedBufferWithoutCheckOnCompletion() {
+		this.filter.setCheckOnCompletion(false);
+		filter(exchange -> {
+			exchange.getResponse().bufferFactory().allocateBuffer(16);
+			return Mono.empty();
+		});
+		assertEquals(0, this.filter.getUnreleasedOnCompletionCount());
+		assertEquals(1, this.filter.getBufferFactory().getLiveCount());
+	}
+
+	@Test
+	public void bufferFactoryPerExchange() {
+		DataBuffer[] holder = new DataBuffer[2];
+		filter(exchange -> {
+			holder[0] = exchange.getResponse().bufferFactory().allocateBuffer(16);
+			return Mono.empty();
+		});
+		filter(exchange -> {
+			holder[1] = exchange.getResponse().bufferFactory().allocateBuffer(16);
+			DataBufferUtils.release(holder[1]);
+			return Mono.empty();
+		});
+		assertNotSame(holder[0].factory(), holder[1].factory());
+		assertEquals(1, this.filter.getUnreleasedOnCompletionCount());
+		assertEquals(1, this.filter.getBufferFactory().getLiveCount());
+		DataBufferUtils.release(holder[0]);
+	}
+
+
+	private void filter(WebFilterChain chain) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/path"));
+		this.filter.filter(exchange, chain).block(Duration.ZERO);
+	}
+
+}
@@ -17,6 +17,7 @@ package org.springframework.web.reactive.accept;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
@@ -31,11 +32,16 @@ import org.springframework.web.server.ServerWebExchange;
  */
 public class HeaderContentTypeResolver implements RequestedContentTypeResolver {
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned list is unmodifiable, as obtained from
+	 * {@link MediaType#parseAndSortMediaTypes}.
+	 */
 	@Override
 	public List<MediaType> resolveMediaTypes(ServerWebExchange exchange) throws NotAcceptableStatusException {
 		try {
-			List<MediaType> mediaTypes = exchange.getRequest().getHeaders().getAccept();
-			MediaType.sortBySpecificityAndQuality(mediaTypes);
+			List<MediaType> mediaTypes = MediaType.parseAndSortMediaTypes(
+					exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT));
 			return !CollectionUtils.isEmpty(mediaTypes) ? mediaTypes : MEDIA_TYPE_ALL_LIST;
 		}
 		catch (InvalidMediaTypeException ex) {
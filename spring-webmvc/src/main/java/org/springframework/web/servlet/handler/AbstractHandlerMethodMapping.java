@@ -23,7 +23,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,10 +39,13 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
@@ -392,8 +397,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings that share a literal path prefix with the lookup path...
+			addMatchingMappings(this.mappingRegistry.getMappingsByPathPrefix(lookupPath), matches, request);
 		}
 
 		/**
@@ -500,6 +505,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	/**
 	 * Extract and return the URL paths contained in a mapping.
+	 * <p>The returned patterns also determine under which literal path prefix
+	 * a mapping is indexed for pattern lookups: a non-empty set must therefore
+	 * contain every pattern that the mapping may match with, whereas a mapping
+	 * that returns an empty set is considered a candidate for any lookup path.
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
@@ -540,6 +549,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		 */
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathSegmentIndex<T> pathSegmentIndex = new PathSegmentIndex<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -563,6 +574,24 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings that may match the given URL path, i.e. all mappings
+		 * whose patterns either start with a literal path prefix of the given URL
+		 * path or have no literal prefix at all. Not thread-safe.
+		 * <p>The index is only consulted with an {@link AntPathMatcher} that
+		 * uses the default "/" path separator, where literal pattern segments
+		 * must match literal path segments; with any other {@link PathMatcher}
+		 * or path separator all mappings are returned.
+		 * @see #acquireReadLock()
+		 * @see #getMappingPathPatterns
+		 */
+		public Collection<T> getMappingsByPathPrefix(String urlPath) {
+			if (!PathSegmentIndex.supports(getPathMatcher())) {
+				return this.mappingLookup.keySet();
+			}
+			return this.pathSegmentIndex.getCandidates(urlPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -607,6 +636,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
 				}
+				this.pathSegmentIndex.add(mapping, getMappingPathPatterns(mapping));
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -694,6 +724,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 						}
 					}
 				}
+				this.pathSegmentIndex.remove(definition.getMapping(), getMappingPathPatterns(definition.getMapping()));
 
 				removeMappingName(definition);
 
@@ -770,6 +801,119 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	}
 
 
+	/**
+	 * A trie of mappings keyed by the leading literal segments of their URL
+	 * patterns, e.g. "/orders/{id}/items" is kept under "orders". The last
+	 * segment of a pattern is never used as a key since it may still match
+	 * with a file extension or a trailing slash appended. Keys are compared
+	 * trimmed and lower-cased, so that candidates are a superset of the actual
+	 * matches for case-insensitive or token-trimming {@link AntPathMatcher}
+	 * configurations as well.
+	 */
+	private static class PathSegmentIndex<T> {
+
+		private static final String PATH_SEPARATOR = "/";
+
+		/**
+		 * Whether the index applies to the given {@code PathMatcher}, i.e. an
+		 * {@link AntPathMatcher} that tokenizes on the same path separator.
+		 */
+		public static boolean supports(PathMatcher pathMatcher) {
+			return (pathMatcher instanceof AntPathMatcher &&
+					("a" + PATH_SEPARATOR + "b").equals(pathMatcher.combine("a", "b")));
+		}
+
+		private final Node<T> root = new Node<>();
+
+		public void add(T mapping, Set<String> patterns) {
+			if (patterns.isEmpty()) {
+				this.root.mappings.add(mapping);
+				return;
+			}
+			for (String pattern : patterns) {
+				Node<T> node = this.root;
+				for (String segment : getLiteralPrefix(pattern)) {
+					node = node.children.computeIfAbsent(segment, key -> new Node<>());
+				}
+				if (!node.mappings.contains(mapping)) {
+					node.mappings.add(mapping);
+				}
+			}
+		}
+
+		public void remove(T mapping, Set<String> patterns) {
+			if (patterns.isEmpty()) {
+				this.root.mappings.remove(mapping);
+				return;
+			}
+			for (String pattern : patterns) {
+				remove(this.root, getLiteralPrefix(pattern), 0, mapping);
+			}
+		}
+
+		private void remove(Node<T> node, List<String> segments, int index, T mapping) {
+			if (index == segments.size()) {
+				node.mappings.remove(mapping);
+				return;
+			}
+			Node<T> child = node.children.get(segments.get(index));
+			if (child != null) {
+				remove(child, segments, index + 1, mapping);
+				if (child.isEmpty()) {
+					node.children.remove(segments.get(index));
+				}
+			}
+		}
+
+		public Collection<T> getCandidates(String path) {
+			Set<T> result = new LinkedHashSet<>(this.root.mappings);
+			Node<T> node = this.root;
+			for (String segment : tokenize(path)) {
+				node = node.children.get(normalize(segment));
+				if (node == null) {
+					break;
+				}
+				result.addAll(node.mappings);
+			}
+			return result;
+		}
+
+		private static List<String> getLiteralPrefix(String pattern) {
+			String[] segments = tokenize(pattern);
+			List<String> prefix = new ArrayList<>(segments.length);
+			for (int i = 0; i < segments.length - 1; i++) {
+				String segment = segments[i];
+				if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 ||
+						segment.indexOf('{') != -1 || segment.indexOf('}') != -1) {
+					break;
+				}
+				prefix.add(normalize(segment));
+			}
+			return prefix;
+		}
+
+		private static String[] tokenize(String path) {
+			return StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+		}
+
+		private static String normalize(String segment) {
+			return segment.trim().toLowerCase(Locale.ENGLISH);
+		}
+
+
+		private static class Node<T> {
+
+			private final Map<String, Node<T>> children = new HashMap<>(4);
+
+			private final List<T> mappings = new ArrayList<>(1);
+
+			public boolean isEmpty() {
+				return (this.children.isEmpty() && this.mappings.isEmpty());
+			}
+		}
+	}
+
+
 	/**
 	 * A thin wrapper around a matched HandlerMethod and its mapping, for the purpose of
 	 * comparing the best match with a comparator in the context of the current request.
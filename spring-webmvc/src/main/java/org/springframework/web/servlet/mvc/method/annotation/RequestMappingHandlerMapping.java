@@ -23,7 +23,7 @@ import java.util.Set;
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.context.EmbeddedValueResolverAware;
-import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.MergedAnnotationMetadata;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.Assert;
@@ -176,8 +176,8 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 	 */
 	@Override
 	protected boolean isHandler(Class<?> beanType) {
-		return (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class) ||
-				AnnotatedElementUtils.hasAnnotation(beanType, RequestMapping.class));
+		MergedAnnotationMetadata metadata = MergedAnnotationMetadata.forElement(beanType);
+		return (metadata.hasAnnotation(Controller.class) || metadata.hasAnnotation(RequestMapping.class));
 	}
 
 	/**
@@ -224,7 +224,7 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 		/**
 		 * 找出传入的element标注的{@link RequestMapping}的注解信息
 		 */
-		RequestMapping requestMapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
+		RequestMapping requestMapping = MergedAnnotationMetadata.forElement(element).findAnnotation(RequestMapping.class);
 		/**
 		 * 用于判断请求中的信息是否满足当前Handler(Controller类或Controller类中的方法)的条件
 		 */
@@ -322,8 +322,8 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 	protected CorsConfiguration initCorsConfiguration(Object handler, Method method, RequestMappingInfo mappingInfo) {
 		HandlerMethod handlerMethod = createHandlerMethod(handler, method);
 		Class<?> beanType = handlerMethod.getBeanType();
-		CrossOrigin typeAnnotation = AnnotatedElementUtils.findMergedAnnotation(beanType, CrossOrigin.class);
-		CrossOrigin methodAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, CrossOrigin.class);
+		CrossOrigin typeAnnotation = MergedAnnotationMetadata.forElement(beanType).findAnnotation(CrossOrigin.class);
+		CrossOrigin methodAnnotation = MergedAnnotationMetadata.forElement(method).findAnnotation(CrossOrigin.class);
 
 		if (typeAnnotation == null && methodAnnotation == null) {
 			return null;
@@ -16,6 +16,7 @@
 
 package org.springframework.web.servlet.resource;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -40,10 +41,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.http.server.ServletZeroCopyUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -99,6 +102,9 @@ import org.springframework.web.util.UrlPathHelper;
  * (if present) so that a {@code 304} status code will be returned as appropriate,
  * avoiding unnecessary overhead for resources that are already cached by the client.
  *
+ * <p>As of 5.1, resources in the file system are transferred through zero-copy
+ * support of the Servlet container where available, e.g. Tomcat's sendfile support.
+ *
  * @author Keith Donald
  * @author Jeremy Grelle
  * @author Juergen Hoeller
@@ -530,7 +536,9 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 			/**
 			 * 向响应流输出静态资源的二进制流信息
 			 */
-			this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
+			if (!transferFile(request, response, resource)) {
+				this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
+			}
 		}
 		else {
 			Assert.state(this.resourceRegionHttpMessageConverter != null, "Not initialized");
@@ -762,6 +770,32 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
 	}
 
+	/**
+	 * Transfer the given resource through zero-copy support of the Servlet
+	 * container, if it is a file and the container supports it for the given
+	 * response. The response headers are expected to have been set already.
+	 * @return {@code true} if the resource has been transferred, {@code false}
+	 * if it needs to be written to the response body instead
+	 * @see ServletZeroCopyUtils#transferFile
+	 */
+	private boolean transferFile(HttpServletRequest request, HttpServletResponse response, Resource resource)
+			throws IOException {
+
+		if (!resource.isFile()) {
+			return false;
+		}
+		File file = resource.getFile();
+		if (!file.isFile()) {
+			return false;
+		}
+		if (response.getContentType() == null) {
+			// Same default as in ResourceHttpMessageConverter
+			MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM);
+			response.setContentType(mediaType.toString());
+		}
+		return ServletZeroCopyUtils.transferFile(file, 0, file.length(), request, response);
+	}
+
 
 	@Override
 	public String toString() {
@@ -30,6 +30,8 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
@@ -106,8 +108,15 @@ public class EvalTag extends HtmlEscapingAwareTag {
 	private static final String EVALUATION_CONTEXT_PAGE_ATTRIBUTE =
 			"org.springframework.web.servlet.tags.EVALUATION_CONTEXT";
 
+	/**
+	 * Parsed expressions, shared across all tag instances since these
+	 * are typically created (or pooled) per page rather than long-lived.
+	 */
+	private static final SpelExpressionCache expressionCache = new SpelExpressionCache();
+
 
-	private final ExpressionParser expressionParser = new SpelExpressionParser();
+	private final ExpressionParser expressionParser =
+			new SpelExpressionParser(new SpelParserConfiguration(), expressionCache);
 
 	@Nullable
 	private Expression expression;
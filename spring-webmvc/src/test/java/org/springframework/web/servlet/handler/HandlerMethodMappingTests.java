@@ -17,6 +17,7 @@
 package org.springframework.web.servlet.handler;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -41,6 +42,7 @@ import org.springframework.web.util.UrlPathHelper;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -94,6 +96,56 @@ public class HandlerMethodMappingTests {
 		assertEquals(method1, result.getMethod());
 	}
 
+	@Test
+	public void patternMatchWithLiteralPrefix() throws Exception {
+		this.mapping.registerMapping("/orders/{id}/items", this.handler, this.method1);
+		this.mapping.registerMapping("/customers/{id}/items", this.handler, this.method2);
+
+		HandlerMethod result = this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/orders/1/items"));
+		assertEquals(method1, result.getMethod());
+
+		result = this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/customers/1/items"));
+		assertEquals(method2, result.getMethod());
+
+		assertNull(this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/invoices/1/items")));
+	}
+
+	@Test
+	public void mappingsByPathPrefix() throws Exception {
+		this.mapping = new PathPatternsHandlerMethodMapping();
+		this.mapping.registerMapping("/orders/{id}/items", this.handler, this.method1);
+		this.mapping.registerMapping("/customers/{id}", this.handler, this.method2);
+		this.mapping.registerMapping("/**", this.handler, this.method2);
+		this.mapping.registerMapping("/orders", this.handler, this.method1);
+
+		Collection<String> candidates = this.mapping.getMappingRegistry().getMappingsByPathPrefix("/orders/1/items");
+		assertEquals(3, candidates.size());
+		assertTrue(candidates.contains("/orders/{id}/items"));
+		assertTrue(candidates.contains("/**"));
+		assertTrue(candidates.contains("/orders"));
+
+		candidates = this.mapping.getMappingRegistry().getMappingsByPathPrefix("/Customers/1");
+		assertEquals(3, candidates.size());
+		assertTrue(candidates.contains("/customers/{id}"));
+
+		this.mapping.unregisterMapping("/customers/{id}");
+		candidates = this.mapping.getMappingRegistry().getMappingsByPathPrefix("/customers/1");
+		assertEquals(2, candidates.size());
+		assertTrue(candidates.contains("/**"));
+		assertTrue(candidates.contains("/orders"));
+	}
+
+	@Test
+	public void mappingsByPathPrefixWithCustomPathSeparator() throws Exception {
+		this.mapping = new PathPatternsHandlerMethodMapping();
+		this.mapping.setPathMatcher(new AntPathMatcher("."));
+		this.mapping.registerMapping("orders.{id}.items", this.handler, this.method1);
+		this.mapping.registerMapping("customers.{id}", this.handler, this.method2);
+
+		Collection<String> candidates = this.mapping.getMappingRegistry().getMappingsByPathPrefix("orders.1.items");
+		assertEquals(2, candidates.size());
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void ambiguousMatch() throws Exception {
 		this.mapping.registerMapping("/f?o", this.handler, this.method1);
@@ -293,6 +345,15 @@ public class HandlerMethodMappingTests {
 
 	}
 
+	private static class PathPatternsHandlerMethodMapping extends MyHandlerMethodMapping {
+
+		@Override
+		protected Set<String> getMappingPathPatterns(String key) {
+			return Collections.singleton(key);
+		}
+	}
+
+
 	private static class SimpleMappingNamingStrategy implements HandlerMethodMappingNamingStrategy<String> {
 
 		@Override